@@ -1,13 +1,15 @@
 package com.lbk.socialbanking.account.api;
 
+import com.lbk.socialbanking.account.api.dto.AccountPresence;
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
+import com.lbk.socialbanking.account.api.dto.AccountTotals;
+import com.lbk.socialbanking.account.api.dto.AccountType;
 import com.lbk.socialbanking.account.api.dto.GoalItem;
 import com.lbk.socialbanking.account.api.dto.LoanItem;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
 import com.lbk.socialbanking.common.api.dto.PageRequest;
 import com.lbk.socialbanking.common.api.dto.PaginatedResponse;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +37,16 @@ public interface AccountService {
      */
     PaginatedResponse<AccountSummary> listAccounts(String userId, PageRequest pageRequest);
 
+    /**
+     * List account summaries for a given user with pagination, valuing each amount in a base currency.
+     *
+     * @param userId       the ID of the user
+     * @param pageRequest  pagination details
+     * @param baseCurrency the currency to value amounts in, or null to skip valuation
+     * @return a paginated response of AccountSummary objects
+     */
+    PaginatedResponse<AccountSummary> listAccounts(String userId, PageRequest pageRequest, String baseCurrency);
+
     /**
      * List goal accounts for a given user with pagination.
      *
@@ -75,7 +87,39 @@ public interface AccountService {
      * Get account balances for a given user.
      *
      * @param userId the ID of the user
-     * @return a map of account IDs to their respective balances
+     * @return a map of account IDs to their balances in minor units (hundredths)
+     */
+    Map<String, Long> getBalancesByUserId(String userId);
+
+    /**
+     * Get balance totals per currency and account type for a given user.
+     *
+     * @param userId       the ID of the user
+     * @param baseCurrency the currency to value the net worth in, or null to skip valuation
+     * @return the AccountTotals of the user
+     */
+    AccountTotals getAccountTotals(String userId, String baseCurrency);
+
+    /**
+     * Get which account sections (account types, payees) a given user has anything in.
+     *
+     * @param userId the ID of the user
+     * @return the cached AccountPresence of the user
+     */
+    AccountPresence getAccountPresence(String userId);
+
+    /**
+     * Record that an account was opened for a given user.
+     *
+     * @param userId      the ID of the user
+     * @param accountType the type of the new account
+     */
+    void accountOpened(String userId, AccountType accountType);
+
+    /**
+     * Record that an account of a given user was closed.
+     *
+     * @param userId the ID of the user
      */
-    Map<String, BigDecimal> getBalancesByUserId(String userId);
+    void accountClosed(String userId);
 }
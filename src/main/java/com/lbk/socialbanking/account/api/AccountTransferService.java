@@ -0,0 +1,25 @@
+package com.lbk.socialbanking.account.api;
+
+import com.lbk.socialbanking.account.api.dto.TransferResult;
+
+import java.math.BigDecimal;
+
+/**
+ * AccountTransferService moves money between two accounts of the same user.
+ */
+public interface AccountTransferService {
+
+    /**
+     * Debit one account and credit another in a single database transaction. A
+     * {@code TransactionCompletedEvent} is published once the transfer has committed.
+     *
+     * @param userId        the ID of the user owning both accounts
+     * @param fromAccountId the account to debit
+     * @param toAccountId   the account to credit, in the same currency
+     * @param amount        the amount to move, positive with at most two decimals
+     * @param description   an optional note kept on the event, or null
+     * @return the committed transfer
+     */
+    TransferResult transfer(String userId, String fromAccountId, String toAccountId, BigDecimal amount,
+                            String description);
+}
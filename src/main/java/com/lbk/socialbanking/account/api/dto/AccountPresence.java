@@ -0,0 +1,39 @@
+package com.lbk.socialbanking.account.api.dto;
+
+/**
+ * Bitmap of the account sections a user has anything in, so that callers can skip queries for empty sections.
+ */
+public record AccountPresence(
+        int flags
+) {
+    public static final int SAVING = 1;
+    public static final int GOAL = 1 << 1;
+    public static final int LOAN = 1 << 2;
+    public static final int OTHER_ACCOUNT = 1 << 3;
+    public static final int PAYEES = 1 << 4;
+
+    private static final int ANY_ACCOUNT = SAVING | GOAL | LOAN | OTHER_ACCOUNT;
+
+    public static final AccountPresence NONE = new AccountPresence(0);
+
+    public static int flagOf(AccountType accountType) {
+        return switch (accountType) {
+            case SAVING -> SAVING;
+            case GOAL -> GOAL;
+            case LOAN -> LOAN;
+            case OTHER -> OTHER_ACCOUNT;
+        };
+    }
+
+    public boolean has(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    public boolean hasAccounts() {
+        return has(ANY_ACCOUNT);
+    }
+
+    public AccountPresence with(int flag) {
+        return (flags & flag) == flag ? this : new AccountPresence(flags | flag);
+    }
+}
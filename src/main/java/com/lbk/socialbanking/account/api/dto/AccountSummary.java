@@ -1,5 +1,8 @@
 package com.lbk.socialbanking.account.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.lbk.socialbanking.common.api.dto.Money;
+
 public record AccountSummary(
         String accountId,
         String type,
@@ -7,7 +10,9 @@ public record AccountSummary(
         String accountNumber,
         String issuer,
         String color,
-        double amount,
-        String status
+        Money amount,
+        String status,
+        // the amount valued in the requested base currency; null when no base currency was requested
+        @JsonInclude(JsonInclude.Include.NON_NULL) Money baseAmount
 ) {
 }
@@ -0,0 +1,26 @@
+package com.lbk.socialbanking.account.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.lbk.socialbanking.common.api.dto.Money;
+
+import java.util.List;
+
+/**
+ * Balance totals of a user, one entry per currency.
+ *
+ * @param baseNetWorth the net worth of all currencies valued in the requested base currency, or null when none was
+ *                     requested
+ */
+public record AccountTotals(
+        List<CurrencyTotal> currencies,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Money baseNetWorth
+) {
+    /**
+     * @param netWorth balances of all non-loan accounts minus the outstanding loan amounts
+     */
+    public record CurrencyTotal(String currency, Money netWorth, List<TypeTotal> types) {
+    }
+
+    public record TypeTotal(String type, Money total, long accounts) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.lbk.socialbanking.account.api.dto;
+
+/**
+ * Account types as stored in {@code accounts.type}. The column holds the exact upper-case code so that type filters
+ * are plain equality matches on the {@code (user_id, type)} index.
+ */
+public enum AccountType {
+    SAVING,
+    GOAL,
+    LOAN,
+    OTHER
+}
@@ -1,10 +1,12 @@
 package com.lbk.socialbanking.account.api.dto;
 
+import com.lbk.socialbanking.common.api.dto.Money;
+
 public record GoalItem(
         String goalId,
         String name,
         String status,
         String issuer,
-        double amount
+        Money amount
 ) {
 }
@@ -1,9 +1,11 @@
 package com.lbk.socialbanking.account.api.dto;
 
+import com.lbk.socialbanking.common.api.dto.Money;
+
 public record LoanItem(
         String loanId,
         String name,
         String status,
-        double outstandingAmount
+        Money outstandingAmount
 ) {
 }
@@ -0,0 +1,17 @@
+package com.lbk.socialbanking.account.api.dto;
+
+import com.lbk.socialbanking.common.api.dto.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed transfer between two accounts of a user.
+ */
+public record TransferResult(
+        String transferId,
+        String fromAccountId,
+        String toAccountId,
+        Money amount,
+        LocalDateTime completedAt
+) {
+}
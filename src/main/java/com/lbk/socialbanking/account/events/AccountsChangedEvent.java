@@ -0,0 +1,16 @@
+package com.lbk.socialbanking.account.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event published after an account of a user is opened or closed
+ */
+@Data
+@AllArgsConstructor
+public class AccountsChangedEvent {
+    private final String userId;
+    private final LocalDateTime timestamp;
+}
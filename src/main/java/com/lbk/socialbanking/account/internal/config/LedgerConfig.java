@@ -0,0 +1,27 @@
+package com.lbk.socialbanking.account.internal.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(LedgerProperties.class)
+class LedgerConfig {
+
+    /**
+     * Runs snapshot compactions. Rejects rather than discards when full, so a skipped compaction is retried by the
+     * next write to the account.
+     */
+    @Bean(name = "ledgerExecutor")
+    ThreadPoolTaskExecutor ledgerExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(1_000);
+        executor.setThreadNamePrefix("ledger-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -0,0 +1,11 @@
+package com.lbk.socialbanking.account.internal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param snapshotEvery ledger entries after a snapshot before it is moved forward; bounds the entries summed per
+ *                      balance read
+ */
+@ConfigurationProperties(prefix = "app.ledger")
+public record LedgerProperties(int snapshotEvery) {
+}
@@ -0,0 +1,25 @@
+package com.lbk.socialbanking.account.internal.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(ReconciliationProperties.class)
+class ReconciliationConfig {
+
+    /**
+     * Drives reconciliation runs off the shared scheduler thread, one at a time. A slot that comes up while a run is
+     * still going is rejected rather than queued.
+     */
+    @Bean(name = "reconciliationExecutor")
+    ThreadPoolTaskExecutor reconciliationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("reconciliation-run-");
+        return executor;
+    }
+}
@@ -0,0 +1,15 @@
+package com.lbk.socialbanking.account.internal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Balance reconciliation: when it runs ({@code "-"} disables it), how many account ranges are checked at once, the
+ * accounts per range, how many idle connections of the pool are left to online traffic before a range starts, and
+ * how long to wait before looking at the pool again when there are fewer.
+ */
+@ConfigurationProperties(prefix = "app.reconciliation")
+public record ReconciliationProperties(String cron, int parallelism, int rangeSize, int reserveConnections,
+                                       Duration backoff) {
+}
@@ -0,0 +1,110 @@
+package com.lbk.socialbanking.account.internal.fx;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An immutable set of FX rates. Rates are fixed-point longs ({@link #RATE_SCALE} decimals) giving the value of one unit
+ * of a currency in the pivot currency, so a conversion is one exact multiply and divide on minor units with
+ * half-even rounding and no lookups beyond the rate map.
+ */
+public final class FxRateSnapshot {
+
+    static final int RATE_SCALE = 10;
+
+    private final Map<String, Long> rates;
+    private final Instant loadedAt;
+
+    private FxRateSnapshot(Map<String, Long> rates, Instant loadedAt) {
+        this.rates = rates;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * @throws ArithmeticException when a rate has more than {@link #RATE_SCALE} decimals or does not fit
+     */
+    public static FxRateSnapshot of(Map<String, BigDecimal> rates, Instant loadedAt) {
+        Map<String, Long> scaled = new HashMap<>(rates.size() * 2);
+        rates.forEach((currency, rate) -> {
+            if (rate.signum() <= 0) {
+                throw new ArithmeticException("rate of " + currency + " must be positive");
+            }
+            scaled.put(currency, rate.setScale(RATE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+        });
+        return new FxRateSnapshot(Map.copyOf(scaled), loadedAt);
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public int size() {
+        return rates.size();
+    }
+
+    public boolean supports(String currency) {
+        return currency != null && rates.containsKey(currency);
+    }
+
+    /**
+     * Convert a batch of amounts into one base currency.
+     *
+     * @param minorUnits amounts in minor units, index-aligned with {@code currencies}
+     * @return the converted amounts in minor units of {@code baseCurrency}
+     * @throws ApiException when the base currency or one of the source currencies has no rate
+     */
+    public long[] toBase(long[] minorUnits, String[] currencies, String baseCurrency) {
+        long baseRate = rate(baseCurrency, HttpStatus.BAD_REQUEST, "UNSUPPORTED_CURRENCY");
+        long[] result = new long[minorUnits.length];
+        String lastCurrency = null;
+        long lastRate = 0;
+        for (int i = 0; i < minorUnits.length; i++) {
+            String currency = currencies[i];
+            if (!baseCurrency.equals(currency) && minorUnits[i] != 0) {
+                // A user's accounts are nearly always in one or two currencies; skip the lookup for runs.
+                if (currency == null || !currency.equals(lastCurrency)) {
+                    lastRate = rate(currency, HttpStatus.UNPROCESSABLE_ENTITY, "FX_RATE_UNAVAILABLE");
+                    lastCurrency = currency;
+                }
+                result[i] = convert(minorUnits[i], lastRate, baseRate);
+            } else {
+                result[i] = minorUnits[i];
+            }
+        }
+        return result;
+    }
+
+    private long rate(String currency, HttpStatus status, String code) {
+        Long rate = currency == null ? null : rates.get(currency);
+        if (rate == null) {
+            throw new ApiException(status, code, "No FX rate for currency " + currency);
+        }
+        return rate;
+    }
+
+    /**
+     * {@code minorUnits * fromRate / toRate}, rounded half-even.
+     */
+    static long convert(long minorUnits, long fromRate, long toRate) {
+        long high = Math.multiplyHigh(minorUnits, fromRate);
+        long low = minorUnits * fromRate;
+        if (high != (low >> 63)) {
+            return BigDecimal.valueOf(minorUnits).multiply(BigDecimal.valueOf(fromRate))
+                    .divide(BigDecimal.valueOf(toRate), 0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+        }
+        long quotient = low / toRate;
+        long remainder = Math.abs(low % toRate);
+        long twice = remainder << 1;
+        if (remainder > (Long.MAX_VALUE >> 1) || twice > toRate || (twice == toRate && (quotient & 1) != 0)) {
+            quotient += low < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,29 @@
+package com.lbk.socialbanking.account.internal.fx;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to {@code fx_rates}; the whole table is read at once into a snapshot.
+ */
+@Repository
+class FxRateStore {
+
+    private final JdbcTemplate jdbc;
+
+    FxRateStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    Map<String, BigDecimal> loadRates() {
+        Map<String, BigDecimal> rates = new HashMap<>();
+        jdbc.query("SELECT currency, rate FROM fx_rates", rs -> {
+            rates.put(rs.getString(1), rs.getBigDecimal(2));
+        });
+        return rates;
+    }
+}
@@ -0,0 +1,67 @@
+package com.lbk.socialbanking.account.internal.fx;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link FxRateSnapshot}. A refresh builds a complete new snapshot off to the side and swaps it in
+ * atomically, so a conversion never sees a mix of old and new rates.
+ */
+@Component
+public class FxRates {
+
+    private static final Logger log = LoggerFactory.getLogger(FxRates.class);
+
+    private static final long REFRESH_INTERVAL_MS = 60_000;
+
+    private final FxRateStore store;
+    private final Clock clock;
+    private final AtomicReference<FxRateSnapshot> snapshot = new AtomicReference<>();
+
+    @Autowired
+    FxRates(FxRateStore store) {
+        this(store, Clock.systemUTC());
+    }
+
+    FxRates(FxRateStore store, Clock clock) {
+        this.store = store;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = REFRESH_INTERVAL_MS, initialDelay = REFRESH_INTERVAL_MS)
+    void refresh() {
+        try {
+            var loaded = FxRateSnapshot.of(store.loadRates(), clock.instant());
+            var previous = snapshot.getAndSet(loaded);
+            if (previous == null || previous.size() != loaded.size()) {
+                log.info("Loaded {} FX rates", loaded.size());
+            }
+        } catch (Exception e) {
+            // Keep serving the previous snapshot; stale rates beat failing every valuation.
+            log.warn("Failed to refresh FX rates, keeping snapshot from {}",
+                    snapshot.get() == null ? "never" : snapshot.get().loadedAt(), e);
+        }
+    }
+
+    /**
+     * @throws ApiException when no snapshot has been loaded yet
+     */
+    public FxRateSnapshot current() {
+        var current = snapshot.get();
+        if (current == null) {
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", "FX rates are not loaded yet");
+        }
+        return current;
+    }
+}
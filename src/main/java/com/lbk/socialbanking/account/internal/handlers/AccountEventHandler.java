@@ -0,0 +1,74 @@
+package com.lbk.socialbanking.account.internal.handlers;
+
+import com.lbk.socialbanking.account.events.AccountsChangedEvent;
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import com.lbk.socialbanking.transaction.events.TransactionsCompletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AccountEventHandler {
+    private static final Logger log = LoggerFactory.getLogger(AccountEventHandler.class);
+
+    private static final String TOTALS_CACHE = "accountTotals";
+    // A first transaction sets the PAYEES bit, which the cached presence would otherwise miss for an hour.
+    private static final String PRESENCE_CACHE = "accountPresence";
+
+    private final CacheManager cacheManager;
+
+    public AccountEventHandler(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Handle transaction completion - balances moved and the user may have a first payee, so drop the cached totals
+     * and presence
+     */
+    @EventListener
+    public void handleTransactionCompleted(TransactionCompletedEvent event) {
+        log.debug("Transaction {} completed - invalidating account totals for user: {}", event.transactionId(), event.userId());
+        evictTotals(event.userId());
+        evict(PRESENCE_CACHE, event.userId());
+    }
+
+    /**
+     * Handle a batch of completed transactions - the same as one completion, but once per user of the batch
+     */
+    @EventListener
+    public void handleTransactionsCompleted(TransactionsCompletedEvent event) {
+        var userIds = event.userIds();
+        log.debug("{} transactions completed - invalidating account totals for {} users", event.transactions().size(), userIds.size());
+        for (String userId : userIds) {
+            evictTotals(userId);
+            evict(PRESENCE_CACHE, userId);
+        }
+    }
+
+    /**
+     * Handle account opening/closing - the set of accounts behind the totals changed
+     */
+    @EventListener
+    public void handleAccountsChanged(AccountsChangedEvent event) {
+        log.debug("Accounts changed - invalidating account totals for user: {}", event.getUserId());
+        evictTotals(event.getUserId());
+    }
+
+    private void evictTotals(String userId) {
+        evict(TOTALS_CACHE, userId);
+    }
+
+    private void evict(String cacheName, String userId) {
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(userId);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to evict cache '{}' for user: {}", cacheName, userId, e);
+        }
+    }
+}
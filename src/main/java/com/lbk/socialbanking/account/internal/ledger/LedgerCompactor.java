@@ -0,0 +1,68 @@
+package com.lbk.socialbanking.account.internal.ledger;
+
+import com.lbk.socialbanking.account.internal.config.LedgerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves the snapshot of an account forward once {@link LedgerProperties#snapshotEvery()} entries have piled up after
+ * it. Writers report the tail they saw after committing; compaction runs off the request thread, at most once per
+ * account at a time. A failed or rejected compaction is simply requested again by the next write.
+ */
+@Component
+public class LedgerCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerCompactor.class);
+
+    private final LedgerStore store;
+    private final TransactionTemplate tx;
+    private final TaskExecutor executor;
+    private final LedgerProperties props;
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    public LedgerCompactor(LedgerStore store, PlatformTransactionManager transactionManager,
+                           @Qualifier("ledgerExecutor") TaskExecutor executor, LedgerProperties props) {
+        this.store = store;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.executor = executor;
+        this.props = props;
+    }
+
+    /**
+     * @param tailEntries entries after the snapshot of the account, including the ones just committed
+     */
+    public void entriesAppended(String accountId, long tailEntries) {
+        if (tailEntries < props.snapshotEvery() || !queued.add(accountId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> compact(accountId));
+        } catch (TaskRejectedException e) {
+            queued.remove(accountId);
+            log.debug("Ledger compaction of account {} deferred, executor busy", accountId);
+        }
+    }
+
+    void compact(String accountId) {
+        try {
+            Long folded = tx.execute(status -> store.compact(accountId));
+            log.debug("Folded {} ledger entries into the snapshot of account {}", folded, accountId);
+        } catch (DataAccessException e) {
+            log.warn("Ledger compaction of account {} failed", accountId, e);
+        } finally {
+            queued.remove(accountId);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.lbk.socialbanking.account.internal.ledger;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the ledger: {@code ledger_entries} is an append-only journal and each
+ * {@code account_balances} row is the snapshot of its account up to {@code ledger_entry_id}.
+ * <p>
+ * Entries of an account are only appended while its snapshot row is locked, shared by credits and exclusive for
+ * debits, so credits to one account never wait on each other. Compaction locks the row exclusively; once it holds
+ * the lock every entry of the account is committed and the tail can be folded in without losing one that is still
+ * in flight. All methods must run in a {@code READ COMMITTED} transaction, so that each read sees the writes
+ * committed before the lock was granted.
+ * </p>
+ */
+@Repository
+public class LedgerStore {
+
+    static final String DEBIT = "DEBIT";
+    static final String CREDIT = "CREDIT";
+
+    private final JdbcTemplate jdbc;
+
+    public LedgerStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * The balance of an account and the number of entries after its snapshot.
+     */
+    public record Balance(BigDecimal amount, long tailEntries) {
+    }
+
+    /**
+     * Lock the snapshot row of an account and read its balance.
+     *
+     * @param exclusive true before a debit, which must see every other write; false before a credit
+     * @return null when the user has no balance row for the account
+     */
+    public Balance lock(String userId, String accountId, boolean exclusive) {
+        List<Snapshot> snapshot = jdbc.query(
+                "SELECT amount, ledger_entry_id FROM account_balances WHERE account_id = ? AND user_id = ? "
+                        + (exclusive ? "FOR UPDATE" : "FOR SHARE"),
+                (rs, i) -> new Snapshot(rs.getBigDecimal(1), rs.getLong(2)), accountId, userId);
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        Tail tail = tail(accountId, snapshot.getFirst().entryId());
+        BigDecimal amount = snapshot.getFirst().amount() == null ? BigDecimal.ZERO : snapshot.getFirst().amount();
+        return new Balance(amount.add(tail.sum()), tail.entries());
+    }
+
+    /**
+     * Append the two legs of a transfer. Both snapshot rows must already be locked.
+     */
+    public void appendTransfer(String transferId, String userId, String fromAccountId, String toAccountId,
+                               BigDecimal amount, LocalDateTime at) {
+        Timestamp createdAt = Timestamp.valueOf(at);
+        jdbc.batchUpdate("""
+                INSERT INTO ledger_entries (account_id, user_id, amount, entry_type, transfer_id, created_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, List.of(
+                new Object[]{fromAccountId, userId, amount.negate(), DEBIT, transferId, createdAt},
+                new Object[]{toAccountId, userId, amount, CREDIT, transferId, createdAt}));
+    }
+
+    /**
+     * Fold the entries after the snapshot of an account into it. The first fold also records the balance the account
+     * had before any entry, which reconciliation checks the snapshot against.
+     *
+     * @return the number of entries folded in
+     */
+    public long compact(String accountId) {
+        List<Long> watermark = jdbc.queryForList(
+                "SELECT ledger_entry_id FROM account_balances WHERE account_id = ? FOR UPDATE", Long.class, accountId);
+        if (watermark.isEmpty()) {
+            return 0;
+        }
+        Tail tail = tail(accountId, watermark.getFirst());
+        if (tail.entries() > 0) {
+            // MySQL assigns left to right, so opening_amount is captured from the amount before this fold.
+            jdbc.update("""
+                    UPDATE account_balances
+                    SET opening_amount = COALESCE(opening_amount, amount, 0),
+                        amount = COALESCE(amount, 0) + ?,
+                        ledger_entry_id = ?
+                    WHERE account_id = ?
+                    """, tail.sum(), tail.lastEntryId(), accountId);
+        }
+        return tail.entries();
+    }
+
+    private Tail tail(String accountId, long afterEntryId) {
+        return jdbc.queryForObject("""
+                SELECT COALESCE(SUM(amount), 0), COALESCE(MAX(entry_id), 0), COUNT(*) FROM ledger_entries
+                WHERE account_id = ? AND entry_id > ?
+                """, (rs, i) -> new Tail(rs.getBigDecimal(1), rs.getLong(2), rs.getLong(3)), accountId, afterEntryId);
+    }
+
+    private record Snapshot(BigDecimal amount, long entryId) {
+    }
+
+    private record Tail(BigDecimal sum, long lastEntryId, long entries) {
+    }
+}
@@ -26,8 +26,14 @@ public class AccountBalanceEntity {
     @Column(name = "user_id")
     private String userId;
 
+    /**
+     * The balance up to and including {@link #ledgerEntryId}; later ledger entries are added on read.
+     */
     private BigDecimal amount;
 
+    @Column(name = "ledger_entry_id")
+    private long ledgerEntryId;
+
     @Column(name = "dummy_col_4")
     private String dummyCol4;
 }
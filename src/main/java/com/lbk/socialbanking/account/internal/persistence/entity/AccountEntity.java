@@ -1,13 +1,18 @@
 package com.lbk.socialbanking.account.internal.persistence.entity;
 
+import com.lbk.socialbanking.account.api.dto.AccountType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "accounts")
@@ -24,7 +29,10 @@ public class AccountEntity {
     @Column(name = "user_id")
     private String userId;
 
-    private String type;
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private AccountType type;
+
     private String currency;
 
     @Column(name = "account_number")
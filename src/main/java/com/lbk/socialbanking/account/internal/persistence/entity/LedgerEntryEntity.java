@@ -0,0 +1,50 @@
+package com.lbk.socialbanking.account.internal.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One signed change of an account balance. Rows are only ever inserted, by {@code LedgerStore}; this mapping exists
+ * for the balance read queries.
+ */
+@Entity
+@Table(name = "ledger_entries")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntryEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @Column(name = "account_id")
+    private String accountId;
+
+    @Column(name = "user_id")
+    private String userId;
+
+    private BigDecimal amount;
+
+    @Column(name = "entry_type")
+    private String entryType;
+
+    @Column(name = "transfer_id")
+    private String transferId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
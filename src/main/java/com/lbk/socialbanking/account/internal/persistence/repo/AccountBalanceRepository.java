@@ -2,10 +2,33 @@ package com.lbk.socialbanking.account.internal.persistence.repo;
 
 import com.lbk.socialbanking.account.internal.persistence.entity.AccountBalanceEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface AccountBalanceRepository extends JpaRepository<AccountBalanceEntity, String> {
     List<AccountBalanceEntity> findByUserId(String userId);
-}
 
+    /**
+     * The balance of each account of the user: its snapshot plus the ledger entries after it. One statement, so the
+     * snapshot and its tail come from the same read view even when a compaction moves the snapshot forward in
+     * between; one range scan of {@code idx_ledger_entries_account_entry} per account. The amount comes back in minor
+     * units: the columns have two decimals, so times 100 it is a whole number and the row needs no {@code BigDecimal}.
+     */
+    @Query("""
+            select b.accountId as accountId,
+                   cast((coalesce(b.amount, 0) + coalesce((select sum(e.amount) from LedgerEntryEntity e
+                                                           where e.accountId = b.accountId
+                                                             and e.entryId > b.ledgerEntryId), 0)) * 100 as Long) as minorUnits
+            from AccountBalanceEntity b
+            where b.userId = :userId
+            """)
+    List<BalanceView> findBalancesByUserId(@Param("userId") String userId);
+
+    interface BalanceView {
+        String getAccountId();
+
+        long getMinorUnits();
+    }
+}
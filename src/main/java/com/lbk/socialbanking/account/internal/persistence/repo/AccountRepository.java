@@ -1,9 +1,14 @@
 package com.lbk.socialbanking.account.internal.persistence.repo;
 
+import com.lbk.socialbanking.account.api.dto.AccountType;
 import com.lbk.socialbanking.account.internal.persistence.entity.AccountEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -12,5 +17,49 @@ public interface AccountRepository extends JpaRepository<AccountEntity, String>
 
     Page<AccountEntity> findByUserId(String userId, Pageable pageable);
 
-    Page<AccountEntity> findByUserIdAndTypeIgnoreCase(String userId, String type, Pageable pageable);
+    Page<AccountEntity> findByUserIdAndType(String userId, AccountType type, Pageable pageable);
+
+    // Uncounted pages: a Slice reads limit + 1 rows and skips the count query.
+    Slice<AccountEntity> findSliceByUserId(String userId, Pageable pageable);
+
+    Slice<AccountEntity> findSliceByUserIdAndType(String userId, AccountType type, Pageable pageable);
+
+    // Keyset pages in account ID order; both secondary indexes end in the primary key, so no sort step is needed.
+    List<AccountEntity> findByUserIdAndAccountIdGreaterThanOrderByAccountIdAsc(String userId, String accountId, Limit limit);
+
+    List<AccountEntity> findByUserIdAndTypeAndAccountIdGreaterThanOrderByAccountIdAsc(String userId, AccountType type, String accountId, Limit limit);
+
+    /**
+     * Answered from the {@code (user_id, type)} index alone.
+     */
+    @Query("select distinct a.type from AccountEntity a where a.userId = :userId")
+    List<AccountType> findDistinctTypesByUserId(@Param("userId") String userId);
+
+    /**
+     * Balance totals per (currency, type) in one aggregation; accounts without a balance row count as zero. Each
+     * balance is its snapshot plus the ledger entries after it, read in the same statement so that a compaction
+     * committing meanwhile can neither drop nor double-count entries. Totals come back in minor units.
+     */
+    @Query("""
+            select a.currency as currency, a.type as type,
+                   cast((coalesce(sum(b.amount), 0)
+                       + coalesce(sum((select sum(e.amount) from LedgerEntryEntity e
+                                       where e.accountId = b.accountId and e.entryId > b.ledgerEntryId)), 0)) * 100 as Long) as totalMinorUnits,
+                   count(a) as accounts
+            from AccountEntity a
+            left join AccountBalanceEntity b on b.accountId = a.accountId
+            where a.userId = :userId
+            group by a.currency, a.type
+            """)
+    List<TotalView> sumBalancesByUserId(@Param("userId") String userId);
+
+    interface TotalView {
+        String getCurrency();
+
+        AccountType getType();
+
+        long getTotalMinorUnits();
+
+        long getAccounts();
+    }
 }
@@ -0,0 +1,33 @@
+package com.lbk.socialbanking.account.internal.reconciliation;
+
+import java.math.BigDecimal;
+
+/**
+ * A balance snapshot or ledger entry that does not reconcile.
+ *
+ * @param expected what the ledger history says, when there is a single expected amount
+ * @param actual   the stored amount
+ * @param entryId  the offending ledger entry, for entry-level findings
+ */
+record Discrepancy(String accountId, Kind kind, BigDecimal expected, BigDecimal actual, Long entryId,
+                   String transferId) {
+
+    enum Kind {
+        /**
+         * The snapshot is not its opening balance plus the entries folded into it.
+         */
+        SNAPSHOT_MISMATCH,
+        /**
+         * Entries were folded into the snapshot but the opening balance was never recorded.
+         */
+        MISSING_OPENING,
+        /**
+         * A transfer leg without an opposite leg of the negated amount.
+         */
+        UNMATCHED_LEG,
+        /**
+         * An entry for an account without a balance row, or owned by another user than the row.
+         */
+        ORPHAN_ENTRY
+    }
+}
@@ -0,0 +1,27 @@
+package com.lbk.socialbanking.account.internal.reconciliation;
+
+/**
+ * A keyset range of account IDs, {@code after < account_id <= upTo}. A null bound is open, so the ranges of a run
+ * cover every account ID, including ones that only appear in {@code ledger_entries}.
+ */
+record KeyRange(String after, String upTo) {
+
+    static final KeyRange ALL = new KeyRange(null, null);
+
+    String predicate(String column) {
+        if (after == null && upTo == null) {
+            return "TRUE";
+        }
+        if (after == null) {
+            return column + " <= ?";
+        }
+        return upTo == null ? column + " > ?" : column + " > ? AND " + column + " <= ?";
+    }
+
+    Object[] args() {
+        if (after == null) {
+            return upTo == null ? new Object[0] : new Object[]{upTo};
+        }
+        return upTo == null ? new Object[]{after} : new Object[]{after, upTo};
+    }
+}
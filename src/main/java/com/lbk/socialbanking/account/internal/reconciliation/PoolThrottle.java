@@ -0,0 +1,58 @@
+package com.lbk.socialbanking.account.internal.reconciliation;
+
+import com.lbk.socialbanking.account.internal.config.ReconciliationProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Holds reconciliation back while the connection pool is busy with online traffic. A range only starts when no
+ * request is waiting for a connection and more than {@link ReconciliationProperties#reserveConnections()}
+ * connections are free; otherwise it waits and looks again. Without a Hikari pool it never waits.
+ */
+@Component
+class PoolThrottle {
+
+    private final HikariDataSource pool;
+    private final int reserve;
+    private final long backoffMillis;
+
+    @Autowired
+    PoolThrottle(DataSource dataSource, ReconciliationProperties props) {
+        this(unwrap(dataSource), props.reserveConnections(), props.backoff());
+    }
+
+    PoolThrottle(HikariDataSource pool, int reserve, Duration backoff) {
+        this.pool = pool;
+        this.reserve = reserve;
+        this.backoffMillis = Math.max(1, backoff.toMillis());
+    }
+
+    void awaitHeadroom() throws InterruptedException {
+        while (!hasHeadroom()) {
+            Thread.sleep(backoffMillis);
+        }
+    }
+
+    boolean hasHeadroom() {
+        HikariPoolMXBean mx = pool == null ? null : pool.getHikariPoolMXBean();
+        if (mx == null) {
+            return true;
+        }
+        return mx.getThreadsAwaitingConnection() == 0
+                && pool.getMaximumPoolSize() - mx.getActiveConnections() > reserve;
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.lbk.socialbanking.account.internal.reconciliation;
+
+import com.lbk.socialbanking.account.internal.config.ReconciliationProperties;
+import com.lbk.socialbanking.account.internal.reconciliation.Discrepancy.Kind;
+import com.lbk.socialbanking.account.internal.reconciliation.ReconciliationStore.SnapshotRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks every balance snapshot against the ledger without stopping writes. Accounts are split into keyset ranges of
+ * {@link ReconciliationProperties#rangeSize()} which a fork-join pool of
+ * {@link ReconciliationProperties#parallelism()} threads checks in parallel. Each range is read in one read-only
+ * {@code REPEATABLE READ} transaction, so a snapshot, its watermark and its entries come from the same consistent
+ * view while transfers and compactions carry on, and what it finds goes to {@code reconciliation_discrepancies}.
+ * <p>
+ * A range holds one connection while it runs, so a run never uses more than {@code parallelism} connections, and
+ * each range first waits on the {@link PoolThrottle} until online traffic leaves room in the pool. A failed range is
+ * logged and counted; the others carry on.
+ * </p>
+ */
+@Component
+class ReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliationJob.class);
+
+    // Findings written per range; beyond that they are only counted, which bounds memory for a badly broken range.
+    static final int MAX_REPORTED_PER_RANGE = 1_000;
+
+    private final ReconciliationStore store;
+    private final PoolThrottle throttle;
+    private final TaskExecutor executor;
+    private final TransactionTemplate readTx;
+    private final ReconciliationProperties props;
+    private final Clock clock;
+
+    @Autowired
+    ReconciliationJob(ReconciliationStore store, PoolThrottle throttle,
+                      @Qualifier("reconciliationExecutor") TaskExecutor executor,
+                      PlatformTransactionManager transactionManager, ReconciliationProperties props) {
+        this(store, throttle, executor, transactionManager, props, Clock.systemUTC());
+    }
+
+    ReconciliationJob(ReconciliationStore store, PoolThrottle throttle, TaskExecutor executor,
+                      PlatformTransactionManager transactionManager, ReconciliationProperties props, Clock clock) {
+        this.store = store;
+        this.throttle = throttle;
+        this.executor = executor;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.readTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.props = props;
+        this.clock = clock;
+    }
+
+    record Summary(long accounts, long discrepancies, int failedRanges) {
+
+        static final Summary NONE = new Summary(0, 0, 0);
+        static final Summary FAILED_RANGE = new Summary(0, 0, 1);
+
+        Summary plus(Summary other) {
+            return new Summary(accounts + other.accounts, discrepancies + other.discrepancies,
+                    failedRanges + other.failedRanges);
+        }
+    }
+
+    /**
+     * Only hands the run over; the scheduler thread is shared with the card spend flush and the other periodic tasks,
+     * which must keep running while a run takes its time.
+     */
+    @Scheduled(cron = "${app.reconciliation.cron}")
+    void scheduled() {
+        String runKey = clock.instant().truncatedTo(ChronoUnit.MINUTES).toString();
+        try {
+            executor.execute(() -> {
+                try {
+                    run(runKey);
+                } catch (DataAccessException e) {
+                    log.warn("Balance reconciliation could not run", e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("Balance reconciliation {} skipped, the previous run is still going", runKey);
+        }
+    }
+
+    /**
+     * @param runKey the scheduled slot; every node computes the same key, and only the first to start it runs
+     * @return null when another node has the run
+     */
+    Summary run(String runKey) {
+        String runId = UUID.randomUUID().toString();
+        if (!store.startRun(runId, runKey, clock.instant())) {
+            log.debug("Balance reconciliation {} already running on another node", runKey);
+            return null;
+        }
+        long started = System.nanoTime();
+        Summary summary = null;
+        try {
+            List<KeyRange> ranges = ranges();
+            ForkJoinPool pool = newPool();
+            try {
+                summary = pool.invoke(new RangeTask(runId, ranges, 0, ranges.size()));
+            } finally {
+                pool.shutdownNow();
+            }
+        } finally {
+            Summary done = summary == null ? Summary.NONE : summary;
+            store.finishRun(runId, summary != null && summary.failedRanges() == 0 ? "COMPLETED" : "FAILED",
+                    done.accounts(), done.discrepancies(), done.failedRanges(), clock.instant());
+        }
+
+        log.info("Balance reconciliation {} checked {} accounts in {} ms: {} discrepancies, {} failed ranges",
+                runId, summary.accounts(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                summary.discrepancies(), summary.failedRanges());
+        return summary;
+    }
+
+    private List<KeyRange> ranges() {
+        List<KeyRange> ranges = new ArrayList<>();
+        String after = null;
+        for (String upTo; (upTo = store.nextBoundary(after, props.rangeSize())) != null; after = upTo) {
+            ranges.add(new KeyRange(after, upTo));
+        }
+        ranges.add(new KeyRange(after, null));
+        return ranges;
+    }
+
+    /**
+     * Capped at {@code parallelism} threads and allowed to saturate, so a blocked join never adds a thread and with it
+     * another connection.
+     */
+    private ForkJoinPool newPool() {
+        int parallelism = Math.max(1, props.parallelism());
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("reconciliation-" + thread.getPoolIndex());
+            return thread;
+        }, null, false, 0, parallelism, 1, pool -> true, 30, TimeUnit.SECONDS);
+    }
+
+    Summary check(String runId, KeyRange range) {
+        var findings = new Findings();
+        try {
+            throttle.awaitHeadroom();
+            Long accounts = readTx.execute(status -> {
+                long read = store.streamSnapshots(range, row -> findings.accept(verify(row)));
+                store.findUnmatchedLegs(range, findings::accept);
+                store.findOrphanEntries(range, findings::accept);
+                return read;
+            });
+            if (!findings.reported.isEmpty()) {
+                store.insertDiscrepancies(runId, findings.reported, clock.instant());
+            }
+            if (findings.count > findings.reported.size()) {
+                log.warn("Reconciliation range {} has {} discrepancies, reported the first {}",
+                        range, findings.count, findings.reported.size());
+            }
+            return new Summary(accounts == null ? 0 : accounts, findings.count, 0);
+        } catch (DataAccessException e) {
+            log.warn("Reconciliation of range {} failed", range, e);
+            return Summary.FAILED_RANGE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Summary.FAILED_RANGE;
+        }
+    }
+
+    /**
+     * @return null when the snapshot is its opening balance plus the entries folded into it
+     */
+    static Discrepancy verify(SnapshotRow row) {
+        BigDecimal actual = row.amount() == null ? BigDecimal.ZERO : row.amount();
+        if (row.openingAmount() == null) {
+            // Nothing folded in yet, so there is nothing to check the snapshot against.
+            return row.ledgerEntryId() == 0 ? null
+                    : new Discrepancy(row.accountId(), Kind.MISSING_OPENING, null, actual, row.ledgerEntryId(), null);
+        }
+        BigDecimal expected = row.openingAmount().add(row.folded());
+        return expected.compareTo(actual) == 0 ? null
+                : new Discrepancy(row.accountId(), Kind.SNAPSHOT_MISMATCH, expected, actual, row.ledgerEntryId(), null);
+    }
+
+    private static final class Findings {
+
+        private final List<Discrepancy> reported = new ArrayList<>();
+        private long count;
+
+        void accept(Discrepancy discrepancy) {
+            if (discrepancy == null) {
+                return;
+            }
+            count++;
+            if (reported.size() < MAX_REPORTED_PER_RANGE) {
+                reported.add(discrepancy);
+            }
+        }
+    }
+
+    /**
+     * Halves its slice of the ranges until one is left, then checks that range.
+     */
+    private final class RangeTask extends RecursiveTask<Summary> {
+
+        private final String runId;
+        private final List<KeyRange> ranges;
+        private final int from;
+        private final int to;
+
+        RangeTask(String runId, List<KeyRange> ranges, int from, int to) {
+            this.runId = runId;
+            this.ranges = ranges;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from == 1) {
+                return check(runId, ranges.get(from));
+            }
+            int mid = (from + to) >>> 1;
+            RangeTask left = new RangeTask(runId, ranges, from, mid);
+            left.fork();
+            Summary right = new RangeTask(runId, ranges, mid, to).compute();
+            return left.join().plus(right);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.lbk.socialbanking.account.internal.reconciliation;
+
+import com.lbk.socialbanking.account.internal.reconciliation.Discrepancy.Kind;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access for balance reconciliation. The range checks stream their rows with a fetch size (the URL sets
+ * {@code useCursorFetch}), so memory use does not depend on how many accounts or entries a range holds.
+ */
+@Repository
+class ReconciliationStore {
+
+    static final int FETCH_SIZE = 256;
+
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate streaming;
+
+    ReconciliationStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+        this.streaming = new JdbcTemplate(jdbc.getDataSource());
+        this.streaming.setFetchSize(FETCH_SIZE);
+    }
+
+    /**
+     * A balance snapshot with the sum of the ledger entries folded into it.
+     */
+    record SnapshotRow(String accountId, BigDecimal amount, BigDecimal openingAmount, long ledgerEntryId,
+                       BigDecimal folded) {
+    }
+
+    /**
+     * @return false when another node already started the run of this slot
+     */
+    boolean startRun(String runId, String runKey, Instant now) {
+        try {
+            jdbc.update("""
+                    INSERT INTO reconciliation_runs (run_id, run_key, status, started_at)
+                    VALUES (?, ?, 'RUNNING', ?)
+                    """, runId, runKey, Timestamp.from(now));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    void finishRun(String runId, String status, long accounts, long discrepancies, int failedRanges, Instant now) {
+        jdbc.update("""
+                UPDATE reconciliation_runs
+                SET status = ?, accounts = ?, discrepancies = ?, failed_ranges = ?, finished_at = ?
+                WHERE run_id = ?
+                """, status, accounts, discrepancies, failedRanges, Timestamp.from(now), runId);
+    }
+
+    /**
+     * The account ID {@code rangeSize} accounts after {@code after}; one short index range per call.
+     *
+     * @return null when fewer accounts are left
+     */
+    String nextBoundary(String after, int rangeSize) {
+        List<String> ids = after == null
+                ? jdbc.queryForList("SELECT account_id FROM account_balances ORDER BY account_id LIMIT 1 OFFSET ?",
+                String.class, rangeSize - 1)
+                : jdbc.queryForList("""
+                        SELECT account_id FROM account_balances WHERE account_id > ?
+                        ORDER BY account_id LIMIT 1 OFFSET ?
+                        """, String.class, after, rangeSize - 1);
+        return ids.isEmpty() ? null : ids.getFirst();
+    }
+
+    /**
+     * Stream the snapshots of a range with the sum of the entries up to each watermark.
+     *
+     * @return the number of snapshots read
+     */
+    long streamSnapshots(KeyRange range, Consumer<SnapshotRow> sink) {
+        long[] count = {0};
+        streaming.query("""
+                SELECT b.account_id, b.amount, b.opening_amount, b.ledger_entry_id,
+                       (SELECT COALESCE(SUM(e.amount), 0) FROM ledger_entries e
+                        WHERE e.account_id = b.account_id AND e.entry_id <= b.ledger_entry_id)
+                FROM account_balances b
+                WHERE %s
+                ORDER BY b.account_id
+                """.formatted(range.predicate("b.account_id")), (RowCallbackHandler) rs -> {
+            sink.accept(new SnapshotRow(rs.getString(1), rs.getBigDecimal(2), rs.getBigDecimal(3), rs.getLong(4),
+                    rs.getBigDecimal(5)));
+            count[0]++;
+        }, range.args());
+        return count[0];
+    }
+
+    /**
+     * Transfer legs in the range without an opposite leg of the negated amount. Both legs are written in one
+     * transaction, so a consistent read never sees half a transfer.
+     */
+    void findUnmatchedLegs(KeyRange range, Consumer<Discrepancy> sink) {
+        streaming.query("""
+                SELECT e.account_id, e.amount, e.entry_id, e.transfer_id
+                FROM ledger_entries e
+                WHERE %s AND e.transfer_id IS NOT NULL
+                  AND NOT EXISTS (SELECT 1 FROM ledger_entries o
+                                  WHERE o.transfer_id = e.transfer_id AND o.entry_id <> e.entry_id
+                                    AND o.entry_type <> e.entry_type AND o.amount = -e.amount)
+                """.formatted(range.predicate("e.account_id")),
+                (RowCallbackHandler) rs -> sink.accept(new Discrepancy(rs.getString(1), Kind.UNMATCHED_LEG, null,
+                        rs.getBigDecimal(2), rs.getLong(3), rs.getString(4))),
+                range.args());
+    }
+
+    /**
+     * Entries in the range whose account has no balance row or whose balance row belongs to another user.
+     */
+    void findOrphanEntries(KeyRange range, Consumer<Discrepancy> sink) {
+        streaming.query("""
+                SELECT e.account_id, e.amount, e.entry_id, e.transfer_id
+                FROM ledger_entries e
+                LEFT JOIN account_balances b ON b.account_id = e.account_id
+                WHERE %s AND (b.account_id IS NULL OR NOT (b.user_id <=> e.user_id))
+                """.formatted(range.predicate("e.account_id")),
+                (RowCallbackHandler) rs -> sink.accept(new Discrepancy(rs.getString(1), Kind.ORPHAN_ENTRY, null,
+                        rs.getBigDecimal(2), rs.getLong(3), rs.getString(4))),
+                range.args());
+    }
+
+    void insertDiscrepancies(String runId, List<Discrepancy> discrepancies, Instant now) {
+        Timestamp detectedAt = Timestamp.from(now);
+        jdbc.batchUpdate("""
+                        INSERT INTO reconciliation_discrepancies
+                            (run_id, account_id, kind, expected, actual, entry_id, transfer_id, detected_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                        """,
+                discrepancies.stream().map(d -> new Object[]{runId, d.accountId(), d.kind().name(), d.expected(),
+                        d.actual(), d.entryId(), d.transferId(), detectedAt}).toList());
+    }
+}
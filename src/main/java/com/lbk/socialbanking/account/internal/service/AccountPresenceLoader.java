@@ -0,0 +1,59 @@
+package com.lbk.socialbanking.account.internal.service;
+
+import com.lbk.socialbanking.account.api.dto.AccountPresence;
+import com.lbk.socialbanking.account.api.dto.AccountType;
+import com.lbk.socialbanking.account.internal.persistence.repo.AccountRepository;
+import com.lbk.socialbanking.transaction.api.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads and caches the {@link AccountPresence} of a user. Kept apart from {@link AccountServiceImpl} so that the
+ * service's own calls go through the cache proxy.
+ */
+@Component
+class AccountPresenceLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountPresenceLoader.class);
+
+    static final String PRESENCE_CACHE = "accountPresence";
+
+    private final AccountRepository accounts;
+    private final TransactionService transactionService;
+
+    AccountPresenceLoader(AccountRepository accounts, TransactionService transactionService) {
+        this.accounts = accounts;
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * Two index-only queries: the distinct account types of the user and whether any transaction (payee) exists.
+     */
+    @Cacheable(cacheNames = PRESENCE_CACHE, key = "#userId")
+    public AccountPresence load(String userId) {
+        int flags = 0;
+        for (AccountType type : accounts.findDistinctTypesByUserId(userId)) {
+            flags |= AccountPresence.flagOf(type);
+        }
+        if (transactionService.hasTransactions(userId)) {
+            flags |= AccountPresence.PAYEES;
+        }
+
+        log.debug("Loaded account presence {} for user: {}", Integer.toBinaryString(flags), userId);
+        return new AccountPresence(flags);
+    }
+
+    @CachePut(cacheNames = PRESENCE_CACHE, key = "#userId")
+    public AccountPresence put(String userId, AccountPresence presence) {
+        return presence;
+    }
+
+    @CacheEvict(cacheNames = PRESENCE_CACHE, key = "#userId")
+    public void evict(String userId) {
+        log.debug("Evicted account presence for user: {}", userId);
+    }
+}
@@ -1,50 +1,80 @@
 package com.lbk.socialbanking.account.internal.service;
 
 import com.lbk.socialbanking.account.api.AccountService;
+import com.lbk.socialbanking.account.api.dto.AccountPresence;
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
+import com.lbk.socialbanking.account.api.dto.AccountTotals;
+import com.lbk.socialbanking.account.api.dto.AccountType;
 import com.lbk.socialbanking.account.api.dto.GoalItem;
 import com.lbk.socialbanking.account.api.dto.LoanItem;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
+import com.lbk.socialbanking.account.events.AccountsChangedEvent;
+import com.lbk.socialbanking.account.internal.fx.FxRates;
 import com.lbk.socialbanking.account.internal.persistence.entity.AccountDetailEntity;
 import com.lbk.socialbanking.account.internal.persistence.entity.AccountEntity;
 import com.lbk.socialbanking.account.internal.persistence.repo.AccountBalanceRepository;
 import com.lbk.socialbanking.account.internal.persistence.repo.AccountDetailRepository;
 import com.lbk.socialbanking.account.internal.persistence.repo.AccountFlagRepository;
 import com.lbk.socialbanking.account.internal.persistence.repo.AccountRepository;
+import com.lbk.socialbanking.common.api.CursorCodec;
+import com.lbk.socialbanking.common.api.dto.Money;
 import com.lbk.socialbanking.common.api.dto.PageInfo;
 import com.lbk.socialbanking.common.api.dto.PageRequest;
 import com.lbk.socialbanking.common.api.dto.PaginatedResponse;
 import com.lbk.socialbanking.transaction.api.TransactionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 class AccountServiceImpl implements AccountService {
 
     private static final Logger log = LoggerFactory.getLogger(AccountServiceImpl.class);
 
-    private static final String TYPE_GOAL = "GOAL";
-    private static final String TYPE_LOAN = "LOAN";
     private static final String FLAG_FAVORITE = "FAVORITE";
+    private static final Sort KEYSET_ORDER = Sort.by("accountId");
+    static final CursorCodec.Scope ACCOUNTS_SCOPE = CursorCodec.scope("account.accounts");
+    static final CursorCodec.Scope GOALS_SCOPE = CursorCodec.scope("account.goals");
+    static final CursorCodec.Scope LOANS_SCOPE = CursorCodec.scope("account.loans");
+    static final CursorCodec.Scope PAYEES_SCOPE = CursorCodec.scope("account.payees");
 
     private final AccountRepository accounts;
     private final AccountBalanceRepository balances;
     private final AccountDetailRepository details;
     private final TransactionService transactionService;
     private final AccountFlagRepository flags;
+    private final AccountPresenceLoader presence;
+    private final AccountTotalsLoader totals;
+    private final FxRates fxRates;
+    private final CursorCodec cursors;
+    private final ApplicationEventPublisher eventPublisher;
 
     AccountServiceImpl(AccountRepository accounts, AccountBalanceRepository balances, AccountDetailRepository details,
-                       TransactionService transactionService, AccountFlagRepository flags) {
+                       TransactionService transactionService, AccountFlagRepository flags,
+                       AccountPresenceLoader presence, AccountTotalsLoader totals, FxRates fxRates,
+                       CursorCodec cursors, ApplicationEventPublisher eventPublisher) {
         this.accounts = accounts;
         this.balances = balances;
         this.details = details;
         this.transactionService = transactionService;
         this.flags = flags;
+        this.presence = presence;
+        this.totals = totals;
+        this.fxRates = fxRates;
+        this.cursors = cursors;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -52,7 +82,7 @@ class AccountServiceImpl implements AccountService {
         log.debug("Fetching accounts for user: {}", userId);
         long startTime = System.currentTimeMillis();
 
-        Map<String, BigDecimal> balByAcc = getBalancesByUserId(userId);
+        Map<String, Long> balByAcc = getBalancesByUserId(userId);
 
         Map<String, AccountDetailEntity> detByAcc = new HashMap<>();
         for (var d : details.findByUserId(userId)) {
@@ -70,41 +100,129 @@ class AccountServiceImpl implements AccountService {
 
     @Override
     public PaginatedResponse<AccountSummary> listAccounts(String userId, PageRequest pageRequest) {
+        return listAccounts(userId, pageRequest, null);
+    }
+
+    @Override
+    public PaginatedResponse<AccountSummary> listAccounts(String userId, PageRequest pageRequest, String baseCurrency) {
         log.debug("Fetching paginated accounts for user: {}, page: {}, limit: {}", userId, pageRequest.page(), pageRequest.limit());
 
-        Page<AccountEntity> accountPage =
-                accounts.findByUserId(userId, pageRequest.toPageable());
+        Slice<AccountEntity> accountPage = findPage(pageRequest, ACCOUNTS_SCOPE,
+                p -> accounts.findByUserId(userId, p),
+                p -> accounts.findSliceByUserId(userId, p),
+                (after, limit) -> accounts.findByUserIdAndAccountIdGreaterThanOrderByAccountIdAsc(userId, after, limit));
 
-        Map<String, BigDecimal> accBalance = getBalancesByUserId(userId);
+        Map<String, Long> accBalance = getBalancesByUserId(userId);
 
         Map<String, AccountDetailEntity> accDetail = new HashMap<>();
         for (var d : details.findByUserId(userId)) {
             accDetail.put(d.getAccountId(), d);
         }
 
-        log.info("Retrieved {} accounts for user: {} (page {} of {})", accountPage.getContent().size(), userId, pageRequest.page(), accountPage.getTotalPages());
-        return PaginatedResponse.fromSpringPage(accountPage.map(a -> mapToAccountSummary(a, accBalance, accDetail)));
+        var summaries = accountPage.stream()
+                .map(a -> mapToAccountSummary(a, accBalance, accDetail))
+                .toList();
+        if (baseCurrency != null) {
+            summaries = withBaseAmounts(summaries, baseCurrency);
+        }
+
+        var pageInfo = pageInfo(pageRequest, ACCOUNTS_SCOPE, accountPage);
+        log.info("Retrieved {} accounts for user: {} (page {}, hasNext {})", summaries.size(), userId, pageInfo.page(), pageInfo.hasNext());
+        return PaginatedResponse.of(summaries, pageInfo);
+    }
+
+    /**
+     * Fetch one page of accounts. Counted requests run the count query of a {@link Page}; uncounted ones read
+     * {@code limit + 1} rows in account ID order, by offset or after the account ID in the cursor.
+     */
+    private Slice<AccountEntity> findPage(PageRequest pageRequest, CursorCodec.Scope scope,
+                                          Function<Pageable, Page<AccountEntity>> counted,
+                                          Function<Pageable, Slice<AccountEntity>> byOffset,
+                                          BiFunction<String, Limit, List<AccountEntity>> afterKey) {
+        if (pageRequest.counted()) {
+            return counted.apply(pageRequest.toPageable());
+        }
+        String after = afterKey(scope, pageRequest.cursor());
+        if (after == null) {
+            return byOffset.apply(pageRequest.toPageable(KEYSET_ORDER));
+        }
+        int limit = pageRequest.limit();
+        var rows = afterKey.apply(after, Limit.of(limit + 1));
+        boolean hasNext = rows.size() > limit;
+        return new SliceImpl<>(hasNext ? rows.subList(0, limit) : rows, Pageable.ofSize(limit), hasNext);
+    }
+
+    private PageInfo pageInfo(PageRequest pageRequest, CursorCodec.Scope scope, Slice<AccountEntity> slice) {
+        if (pageRequest.counted() && slice instanceof Page<AccountEntity> page) {
+            return PageInfo.of(pageRequest.page(), pageRequest.limit(), page.getTotalElements());
+        }
+        String nextCursor = slice.hasNext() ? nextCursor(scope, slice.getContent().getLast().getAccountId()) : null;
+        return uncountedPageInfo(pageRequest, slice.hasNext(), nextCursor);
+    }
+
+    /**
+     * @return the sort key of the last row of the previous page, or null for no cursor
+     */
+    private String afterKey(CursorCodec.Scope scope, String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        var reader = cursors.reader(scope, cursor);
+        String key = reader.getString();
+        reader.finish();
+        return key;
+    }
+
+    private String nextCursor(CursorCodec.Scope scope, String lastKey) {
+        return cursors.writer(scope, false).putString(lastKey).encode();
+    }
+
+    private static PageInfo uncountedPageInfo(PageRequest pageRequest, boolean hasNext, String nextCursor) {
+        return PageInfo.uncounted(pageRequest.cursor() == null ? pageRequest.page() : null, pageRequest.limit(), hasNext, nextCursor);
+    }
+
+    /**
+     * Value all amounts of a page in one pass over the current rate snapshot.
+     */
+    private List<AccountSummary> withBaseAmounts(List<AccountSummary> summaries, String baseCurrency) {
+        long[] minorUnits = new long[summaries.size()];
+        String[] currencies = new String[summaries.size()];
+        for (int i = 0; i < minorUnits.length; i++) {
+            Money amount = summaries.get(i).amount();
+            minorUnits[i] = amount.minorUnits();
+            currencies[i] = amount.currency();
+        }
+        long[] converted = fxRates.current().toBase(minorUnits, currencies, baseCurrency);
+
+        List<AccountSummary> result = new ArrayList<>(summaries.size());
+        for (int i = 0; i < converted.length; i++) {
+            var s = summaries.get(i);
+            result.add(new AccountSummary(s.accountId(), s.type(), s.currency(), s.accountNumber(), s.issuer(),
+                    s.color(), s.amount(), s.status(), Money.of(converted[i], baseCurrency)));
+        }
+        return result;
     }
 
     private AccountSummary mapToAccountSummary(
             AccountEntity account,
-            Map<String, BigDecimal> balances,
+            Map<String, Long> balances,
             Map<String, AccountDetailEntity> details
     ) {
-        BigDecimal bal = balances.get(account.getAccountId());
+        Long bal = balances.get(account.getAccountId());
         var det = details.get(account.getAccountId());
-        double amount = bal == null ? 0.0 : bal.doubleValue();
+        Money amount = Money.of(bal == null ? 0 : bal, account.getCurrency());
         String color = det == null ? null : det.getColor();
         String status = det == null ? null : getStatus(det.getProgress());
         return new AccountSummary(
                 account.getAccountId(),
-                account.getType(),
+                account.getType().name(),
                 account.getCurrency(),
                 account.getAccountNumber(),
                 account.getIssuer(),
                 color,
                 amount,
-                status
+                status,
+                null
         );
     }
 
@@ -125,6 +243,11 @@ class AccountServiceImpl implements AccountService {
     public List<PayeeItem> listQuickPayees(String userId, int limit) {
         log.debug("Fetching {} quick payees for user: {}", limit, userId);
 
+        if (!presence.load(userId).has(AccountPresence.PAYEES)) {
+            log.debug("User: {} has no payees, skipping query", userId);
+            return List.of();
+        }
+
         Set<String> favorites = new HashSet<>();
         flags.findByUserIdAndFlagType(userId, FLAG_FAVORITE)
                 .forEach(f -> favorites.add(f.getAccountId()));
@@ -147,10 +270,19 @@ class AccountServiceImpl implements AccountService {
     public PaginatedResponse<PayeeItem> listQuickPayees(String userId, PageRequest pageRequest) {
         log.debug("Fetching paginated quick payees for user: {}, page: {}, limit: {}", userId, pageRequest.page(), pageRequest.limit());
 
+        if (!presence.load(userId).has(AccountPresence.PAYEES)) {
+            log.debug("User: {} has no payees, skipping query", userId);
+            return emptyPage(pageRequest);
+        }
+
         Set<String> favorites = new HashSet<>();
         flags.findByUserIdAndFlagType(userId, FLAG_FAVORITE)
                 .forEach(f -> favorites.add(f.getAccountId()));
 
+        if (!pageRequest.counted()) {
+            return listQuickPayeesUncounted(userId, pageRequest, favorites);
+        }
+
         var allPayees = transactionService.listTransactionSummaries(userId);
 
         int offset = pageRequest.getOffset();
@@ -177,26 +309,105 @@ class AccountServiceImpl implements AccountService {
         return PaginatedResponse.of(pageData, pagination);
     }
 
+    private PaginatedResponse<PayeeItem> listQuickPayeesUncounted(String userId, PageRequest pageRequest, Set<String> favorites) {
+        var slice = transactionService.listTransactionSummaries(
+                userId, afterKey(PAYEES_SCOPE, pageRequest.cursor()), pageRequest.page(), pageRequest.limit());
+
+        var pageData = slice.items().stream()
+                .map(t -> new PayeeItem(
+                        t.transactionId(),
+                        t.name(),
+                        t.image(),
+                        favorites.contains(t.transactionId())
+                ))
+                .toList();
+
+        String nextCursor = slice.hasNext() ? nextCursor(PAYEES_SCOPE, pageData.getLast().payeeId()) : null;
+        log.info("Retrieved {} quick payees for user: {} (hasNext {})", pageData.size(), userId, slice.hasNext());
+        return PaginatedResponse.of(pageData, uncountedPageInfo(pageRequest, slice.hasNext(), nextCursor));
+    }
+
     @Override
-    public Map<String, BigDecimal> getBalancesByUserId(String userId) {
+    public Map<String, Long> getBalancesByUserId(String userId) {
         log.debug("Fetching account balances for user: {}", userId);
 
-        Map<String, BigDecimal> result = new HashMap<>();
-        for (var b : balances.findByUserId(userId)) {
-            result.put(b.getAccountId(), b.getAmount());
+        // Snapshot plus the ledger entries appended after it, read in one statement.
+        Map<String, Long> result = new HashMap<>();
+        for (var b : balances.findBalancesByUserId(userId)) {
+            result.put(b.getAccountId(), b.getMinorUnits());
         }
 
         log.debug("Retrieved {} account balances for user: {}", result.size(), userId);
         return result;
     }
 
+    @Override
+    public AccountTotals getAccountTotals(String userId, String baseCurrency) {
+        AccountTotals totals = this.totals.load(userId);
+        if (baseCurrency == null) {
+            return totals;
+        }
+
+        var currencies = totals.currencies();
+        long[] netWorth = new long[currencies.size()];
+        String[] currencyCodes = new String[currencies.size()];
+        for (int i = 0; i < netWorth.length; i++) {
+            netWorth[i] = currencies.get(i).netWorth().minorUnits();
+            currencyCodes[i] = currencies.get(i).currency();
+        }
+        long base = 0;
+        for (long converted : fxRates.current().toBase(netWorth, currencyCodes, baseCurrency)) {
+            base = Math.addExact(base, converted);
+        }
+
+        log.debug("Valued account totals for user: {} in {}", userId, baseCurrency);
+        return new AccountTotals(currencies, Money.of(base, baseCurrency));
+    }
+
+    @Override
+    public AccountPresence getAccountPresence(String userId) {
+        return presence.load(userId);
+    }
+
+    @Override
+    public void accountOpened(String userId, AccountType accountType) {
+        // Setting a bit is always safe; the loaded value already includes the new row if it had to be read.
+        var updated = presence.load(userId).with(AccountPresence.flagOf(accountType));
+        presence.put(userId, updated);
+        eventPublisher.publishEvent(new AccountsChangedEvent(userId, LocalDateTime.now()));
+        log.info("Account of type {} opened for user: {}, presence now {}", accountType, userId, Integer.toBinaryString(updated.flags()));
+    }
+
+    @Override
+    public void accountClosed(String userId) {
+        // Other accounts of the same type may remain, so the bitmap is rebuilt on next read.
+        presence.evict(userId);
+        eventPublisher.publishEvent(new AccountsChangedEvent(userId, LocalDateTime.now()));
+        log.info("Account closed for user: {}, presence invalidated", userId);
+    }
+
+    private static <T> PaginatedResponse<T> emptyPage(PageRequest pageRequest) {
+        var pageInfo = pageRequest.counted()
+                ? PageInfo.of(pageRequest.page(), pageRequest.limit(), 0)
+                : uncountedPageInfo(pageRequest, false, null);
+        return PaginatedResponse.of(List.of(), pageInfo);
+    }
+
     @Override
     public PaginatedResponse<GoalItem> listGoalAccounts(String userId, PageRequest pageRequest) {
         log.debug("Fetching paginated GOAL accounts for user: {}, page: {}, limit: {}", userId, pageRequest.page(), pageRequest.limit());
 
-        Page<AccountEntity> goalPage = accounts.findByUserIdAndTypeIgnoreCase(userId, TYPE_GOAL, pageRequest.toPageable());
+        if (!presence.load(userId).has(AccountPresence.GOAL)) {
+            log.debug("User: {} has no GOAL accounts, skipping query", userId);
+            return emptyPage(pageRequest);
+        }
+
+        Slice<AccountEntity> goalPage = findPage(pageRequest, GOALS_SCOPE,
+                p -> accounts.findByUserIdAndType(userId, AccountType.GOAL, p),
+                p -> accounts.findSliceByUserIdAndType(userId, AccountType.GOAL, p),
+                (after, limit) -> accounts.findByUserIdAndTypeAndAccountIdGreaterThanOrderByAccountIdAsc(userId, AccountType.GOAL, after, limit));
 
-        Map<String, BigDecimal> balancesByAcc = getBalancesByUserId(userId);
+        Map<String, Long> balancesByAcc = getBalancesByUserId(userId);
         Map<String, AccountDetailEntity> detailsByAcc = new HashMap<>();
         for (var d : details.findByUserId(userId)) {
             detailsByAcc.put(d.getAccountId(), d);
@@ -207,13 +418,9 @@ class AccountServiceImpl implements AccountService {
                 .map(a -> new GoalItem(a.accountId(), a.accountNumber(), a.status(), a.issuer(), a.amount()))
                 .toList();
 
-        var pageInfo = PageInfo.of(
-                pageRequest.page(),
-                pageRequest.limit(),
-                goalPage.getTotalElements()
-        );
+        var pageInfo = pageInfo(pageRequest, GOALS_SCOPE, goalPage);
 
-        log.info("Retrieved {} GOAL accounts for user: {} (page {} of {})", goalItems.size(), userId, pageRequest.page(), pageInfo.totalPages());
+        log.info("Retrieved {} GOAL accounts for user: {} (page {}, hasNext {})", goalItems.size(), userId, pageInfo.page(), pageInfo.hasNext());
         return PaginatedResponse.of(goalItems, pageInfo);
     }
 
@@ -221,9 +428,17 @@ class AccountServiceImpl implements AccountService {
     public PaginatedResponse<LoanItem> listLoanAccounts(String userId, PageRequest pageRequest) {
         log.debug("Fetching paginated LOAN accounts for user: {}, page: {}, limit: {}", userId, pageRequest.page(), pageRequest.limit());
 
-        Page<AccountEntity> loanPage = accounts.findByUserIdAndTypeIgnoreCase(userId, TYPE_LOAN, pageRequest.toPageable());
+        if (!presence.load(userId).has(AccountPresence.LOAN)) {
+            log.debug("User: {} has no LOAN accounts, skipping query", userId);
+            return emptyPage(pageRequest);
+        }
 
-        Map<String, BigDecimal> balancesByAcc = getBalancesByUserId(userId);
+        Slice<AccountEntity> loanPage = findPage(pageRequest, LOANS_SCOPE,
+                p -> accounts.findByUserIdAndType(userId, AccountType.LOAN, p),
+                p -> accounts.findSliceByUserIdAndType(userId, AccountType.LOAN, p),
+                (after, limit) -> accounts.findByUserIdAndTypeAndAccountIdGreaterThanOrderByAccountIdAsc(userId, AccountType.LOAN, after, limit));
+
+        Map<String, Long> balancesByAcc = getBalancesByUserId(userId);
         Map<String, AccountDetailEntity> detailsByAcc = new HashMap<>();
         for (var d : details.findByUserId(userId)) {
             detailsByAcc.put(d.getAccountId(), d);
@@ -234,13 +449,9 @@ class AccountServiceImpl implements AccountService {
                 .map(a -> new LoanItem(a.accountId(), a.accountNumber(), a.status(), a.amount()))
                 .toList();
 
-        var pageInfo = PageInfo.of(
-                pageRequest.page(),
-                pageRequest.limit(),
-                loanPage.getTotalElements()
-        );
+        var pageInfo = pageInfo(pageRequest, LOANS_SCOPE, loanPage);
 
-        log.info("Retrieved {} LOAN accounts for user: {} (page {} of {})", loanItems.size(), userId, pageRequest.page(), pageInfo.totalPages());
+        log.info("Retrieved {} LOAN accounts for user: {} (page {}, hasNext {})", loanItems.size(), userId, pageInfo.page(), pageInfo.hasNext());
         return PaginatedResponse.of(loanItems, pageInfo);
     }
 }
@@ -0,0 +1,63 @@
+package com.lbk.socialbanking.account.internal.service;
+
+import com.lbk.socialbanking.account.api.dto.AccountTotals;
+import com.lbk.socialbanking.account.api.dto.AccountType;
+import com.lbk.socialbanking.account.internal.persistence.repo.AccountRepository;
+import com.lbk.socialbanking.common.api.dto.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregates and caches the balance totals of a user in their account currencies: the snapshots in
+ * {@code account_balances} plus the ledger entries after them. Base-currency valuation is applied on top by
+ * {@link AccountServiceImpl}, so one cached entry serves every base currency.
+ */
+@Component
+class AccountTotalsLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountTotalsLoader.class);
+
+    // Evicted by AccountEventHandler.
+    static final String TOTALS_CACHE = "accountTotals";
+
+    private final AccountRepository accounts;
+
+    AccountTotalsLoader(AccountRepository accounts) {
+        this.accounts = accounts;
+    }
+
+    @Cacheable(cacheNames = TOTALS_CACHE, key = "#userId")
+    public AccountTotals load(String userId) {
+        log.debug("Aggregating account totals for user: {}", userId);
+
+        // ArrayList rather than toList(): the cached value must be deserializable from Redis.
+        Map<String, List<AccountTotals.TypeTotal>> typesByCurrency =
+                new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+        Map<String, Long> netByCurrency = new HashMap<>();
+        for (var row : accounts.sumBalancesByUserId(userId)) {
+            long minorUnits = row.getTotalMinorUnits();
+            typesByCurrency.computeIfAbsent(row.getCurrency(), c -> new ArrayList<>())
+                    .add(new AccountTotals.TypeTotal(row.getType().name(), Money.of(minorUnits, row.getCurrency()), row.getAccounts()));
+            long signed = row.getType() == AccountType.LOAN ? -minorUnits : minorUnits;
+            netByCurrency.merge(row.getCurrency(), signed, Math::addExact);
+        }
+
+        var currencies = new ArrayList<AccountTotals.CurrencyTotal>(typesByCurrency.size());
+        typesByCurrency.forEach((currency, types) -> {
+            types.sort(Comparator.comparing(AccountTotals.TypeTotal::type));
+            currencies.add(new AccountTotals.CurrencyTotal(currency, Money.of(netByCurrency.get(currency), currency), types));
+        });
+
+        log.info("Aggregated account totals for user: {} in {} currencies", userId, currencies.size());
+        return new AccountTotals(currencies, null);
+    }
+}
@@ -0,0 +1,166 @@
+package com.lbk.socialbanking.account.internal.transfer;
+
+import com.lbk.socialbanking.account.api.AccountTransferService;
+import com.lbk.socialbanking.account.api.dto.TransferResult;
+import com.lbk.socialbanking.account.internal.ledger.LedgerCompactor;
+import com.lbk.socialbanking.account.internal.ledger.LedgerStore;
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.dto.Money;
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Transfers append a debit and a credit entry to the ledger. Before appending they lock both snapshot rows in
+ * ascending account ID order, whichever way the money moves, so two transfers between the same accounts queue behind
+ * each other instead of deadlocking. The debited row is locked exclusively and its balance checked, so a debit that
+ * would overdraw rolls the whole transfer back; the credited row is only share-locked, so credits to a busy account
+ * do not wait on each other.
+ */
+@Service
+class AccountTransferServiceImpl implements AccountTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountTransferServiceImpl.class);
+
+    static final String TRANSACTION_TYPE = "TRANSFER";
+
+    // DECIMAL(15,2) balance columns.
+    private static final int MAX_PRECISION = 15;
+    private static final int MAX_DESCRIPTION_LENGTH = 100;
+
+    private final TransferStore store;
+    private final LedgerStore ledger;
+    private final LedgerCompactor compactor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+
+    @Autowired
+    AccountTransferServiceImpl(TransferStore store, LedgerStore ledger, LedgerCompactor compactor,
+                               ApplicationEventPublisher eventPublisher) {
+        this(store, ledger, compactor, eventPublisher, Clock.systemUTC());
+    }
+
+    AccountTransferServiceImpl(TransferStore store, LedgerStore ledger, LedgerCompactor compactor,
+                               ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.store = store;
+        this.ledger = ledger;
+        this.compactor = compactor;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    // READ COMMITTED: the balance read after taking the lock must see every debit committed before it was granted.
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public TransferResult transfer(String userId, String fromAccountId, String toAccountId, BigDecimal amount,
+                                   String description) {
+        validate(fromAccountId, toAccountId, amount, description);
+
+        Map<String, String> currencies = store.findCurrencies(userId, fromAccountId, toAccountId);
+        if (!currencies.containsKey(fromAccountId) || !currencies.containsKey(toAccountId)) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "Account not found");
+        }
+        String currency = currencies.get(fromAccountId);
+        if (!Objects.equals(currency, currencies.get(toAccountId))) {
+            throw new ApiException(HttpStatus.UNPROCESSABLE_ENTITY, "CURRENCY_MISMATCH",
+                    "Both accounts must hold the same currency");
+        }
+
+        // Any fixed order works as long as every transfer uses it.
+        LedgerStore.Balance from;
+        LedgerStore.Balance to;
+        if (fromAccountId.compareTo(toAccountId) < 0) {
+            from = lockForDebit(userId, fromAccountId, amount);
+            to = lockForCredit(userId, toAccountId);
+        } else {
+            to = lockForCredit(userId, toAccountId);
+            from = lockForDebit(userId, fromAccountId, amount);
+        }
+
+        String transferId = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now(clock);
+        ledger.appendTransfer(transferId, userId, fromAccountId, toAccountId, amount, now);
+        log.info("Transfer {} of {} {} from {} to {} for user: {}", transferId, amount, currency, fromAccountId,
+                toAccountId, userId);
+
+        var event = new TransactionCompletedEvent(transferId, userId, fromAccountId, toAccountId, amount, currency,
+                TRANSACTION_TYPE, now, description);
+        afterCommit(() -> {
+            compactor.entriesAppended(fromAccountId, from.tailEntries() + 1);
+            compactor.entriesAppended(toAccountId, to.tailEntries() + 1);
+            eventPublisher.publishEvent(event);
+        });
+        return new TransferResult(transferId, fromAccountId, toAccountId, Money.of(amount, currency), now);
+    }
+
+    private static void validate(String fromAccountId, String toAccountId, BigDecimal amount, String description) {
+        if (fromAccountId == null || fromAccountId.isBlank() || toAccountId == null || toAccountId.isBlank()) {
+            throw invalid("fromAccountId and toAccountId are required");
+        }
+        if (fromAccountId.equals(toAccountId)) {
+            throw invalid("fromAccountId and toAccountId must differ");
+        }
+        if (amount == null || amount.signum() <= 0) {
+            throw invalid("amount must be positive");
+        }
+        if (amount.scale() > Money.SCALE || amount.precision() - amount.scale() > MAX_PRECISION - Money.SCALE) {
+            throw invalid("amount must have at most 13 digits and 2 decimals");
+        }
+        if (description != null && description.length() > MAX_DESCRIPTION_LENGTH) {
+            throw invalid("description must be at most " + MAX_DESCRIPTION_LENGTH + " characters");
+        }
+    }
+
+    private LedgerStore.Balance lockForDebit(String userId, String accountId, BigDecimal amount) {
+        LedgerStore.Balance balance = lockBalance(userId, accountId, true);
+        if (balance.amount().compareTo(amount) < 0) {
+            throw new ApiException(HttpStatus.UNPROCESSABLE_ENTITY, "INSUFFICIENT_FUNDS",
+                    "Insufficient funds in account " + accountId);
+        }
+        return balance;
+    }
+
+    private LedgerStore.Balance lockForCredit(String userId, String accountId) {
+        return lockBalance(userId, accountId, false);
+    }
+
+    private LedgerStore.Balance lockBalance(String userId, String accountId, boolean exclusive) {
+        LedgerStore.Balance balance = ledger.lock(userId, accountId, exclusive);
+        if (balance == null) {
+            throw new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "Account balance not found");
+        }
+        return balance;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static ApiException invalid(String message) {
+        return new ApiException(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", message);
+    }
+}
@@ -0,0 +1,32 @@
+package com.lbk.socialbanking.account.internal.transfer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Plain JDBC lookups for transfers; balances are changed through {@code LedgerStore}.
+ */
+@Repository
+class TransferStore {
+
+    private final JdbcTemplate jdbc;
+
+    TransferStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * @return the currency of each of the given accounts owned by the user; accounts of other users are left out
+     */
+    Map<String, String> findCurrencies(String userId, String firstAccountId, String secondAccountId) {
+        Map<String, String> currencies = new HashMap<>(4);
+        jdbc.query("SELECT account_id, currency FROM accounts WHERE user_id = ? AND account_id IN (?, ?)",
+                rs -> {
+                    currencies.put(rs.getString(1), rs.getString(2));
+                }, userId, firstAccountId, secondAccountId);
+        return currencies;
+    }
+}
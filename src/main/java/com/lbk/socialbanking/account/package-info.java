@@ -1,6 +1,6 @@
 @org.springframework.modulith.ApplicationModule(
         displayName = "Account Module",
-        allowedDependencies = {"common :: api", "common :: dto", "transaction :: api"}
+        allowedDependencies = {"common :: api", "common :: dto", "transaction :: api", "transaction :: event"}
 )
 package com.lbk.socialbanking.account;
 
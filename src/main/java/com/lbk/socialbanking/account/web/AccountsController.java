@@ -2,6 +2,7 @@ package com.lbk.socialbanking.account.web;
 
 import com.lbk.socialbanking.account.api.AccountService;
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
+import com.lbk.socialbanking.account.api.dto.AccountTotals;
 import com.lbk.socialbanking.account.api.dto.GoalItem;
 import com.lbk.socialbanking.account.api.dto.LoanItem;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
@@ -12,11 +13,20 @@ import com.lbk.socialbanking.transaction.api.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.util.Locale;
 
 @SecurityRequirement(name = "ฺBearer Token")
 @Tag(name = "Account", description = "Endpoints for retrieving user account data")
@@ -25,12 +35,18 @@ import org.springframework.web.bind.annotation.*;
 @Validated
 public class AccountsController {
 
+    // Servlet async timeouts of zero or less never expire.
+    private static final long NO_TIMEOUT = -1L;
+
     private final AccountService accountService;
     private final TransactionService transactionService;
+    private final AsyncTaskExecutor exportExecutor;
 
-    public AccountsController(AccountService accountService, TransactionService transactionService) {
+    public AccountsController(AccountService accountService, TransactionService transactionService,
+                              @Qualifier("exportExecutor") AsyncTaskExecutor exportExecutor) {
         this.accountService = accountService;
         this.transactionService = transactionService;
+        this.exportExecutor = exportExecutor;
     }
 
     @Operation(summary = "Get Account Summary data", description = "Retrieve a list of account summaries for the authenticated user")
@@ -38,9 +54,21 @@ public class AccountsController {
     public PaginatedResponse<AccountSummary> list(
             Authentication auth,
             @RequestParam(defaultValue = "1") @Min(1) Integer page,
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer limit
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer limit,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @Pattern(regexp = "[A-Z]{3}") String baseCurrency
+    ) {
+        return accountService.listAccounts(auth.getName(), new PageRequest(page, limit, count, cursor), baseCurrency);
+    }
+
+    @Operation(summary = "Get Account Totals", description = "Retrieve balance totals per currency and account type for the authenticated user")
+    @GetMapping("/totals")
+    public SuccessResponse<AccountTotals> totals(
+            Authentication auth,
+            @RequestParam(required = false) @Pattern(regexp = "[A-Z]{3}") String baseCurrency
     ) {
-        return accountService.listAccounts(auth.getName(), new PageRequest(page, limit));
+        return SuccessResponse.of(accountService.getAccountTotals(auth.getName(), baseCurrency));
     }
 
     @Operation(summary = "Get Account Transactions", description = "Retrieve a paginated list of transactions for a specific account")
@@ -54,14 +82,46 @@ public class AccountsController {
         return SuccessResponse.of(transactionService.listTransactions(auth.getName(), accountId, cursor, limit));
     }
 
+    /**
+     * Streams on the export executor without an async request timeout, so an export of any size runs for as long as
+     * the client keeps reading. A client that stops reading altogether fails the next write once the connector's
+     * write timeout passes, which ends the export and releases its cursor.
+     */
+    @Operation(summary = "Export Account Transactions", description = "Stream every transaction for a specific account as CSV or NDJSON")
+    @GetMapping("/{accountId}/transactions/export")
+    public WebAsyncTask<Void> exportTransactions(
+            Authentication auth,
+            @PathVariable String accountId,
+            @RequestParam(defaultValue = "csv") @Pattern(regexp = "csv|ndjson") String format,
+            HttpServletResponse response
+    ) {
+        var exportFormat = TransactionService.ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        String userId = auth.getName();
+
+        response.setContentType(exportFormat.mediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("transactions-" + accountId + "." + exportFormat.extension())
+                .build()
+                .toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        return new WebAsyncTask<>(NO_TIMEOUT, exportExecutor, () -> {
+            transactionService.exportTransactions(userId, accountId, exportFormat, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
     @Operation(summary = "Get Goals Account", description = "Retrieve a list of goal accounts for the authenticated user")
     @GetMapping("/goals")
     public PaginatedResponse<GoalItem> getGoalsAccount(
             Authentication auth,
             @RequestParam(defaultValue = "1") @Min(1) Integer page,
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer limit
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer limit,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String cursor
     ) {
-        return accountService.listGoalAccounts(auth.getName(), new PageRequest(page, limit));
+        return accountService.listGoalAccounts(auth.getName(), new PageRequest(page, limit, count, cursor));
     }
 
     @Operation(summary = "Get Loans Account", description = "Retrieve a list of loans accounts for the authenticated user")
@@ -69,9 +129,11 @@ public class AccountsController {
     public PaginatedResponse<LoanItem> getLoansAccount(
             Authentication auth,
             @RequestParam(defaultValue = "1") @Min(1) Integer page,
-            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer limit
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer limit,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String cursor
     ) {
-        return accountService.listLoanAccounts(auth.getName(), new PageRequest(page, limit));
+        return accountService.listLoanAccounts(auth.getName(), new PageRequest(page, limit, count, cursor));
     }
 
     @Operation(summary = "Get Payees", description = "Retrieve a list of payee favorites for the authenticated user")
@@ -79,8 +141,10 @@ public class AccountsController {
     public PaginatedResponse<PayeeItem> listPayees(
             Authentication auth,
             @RequestParam(defaultValue = "1") @Min(1) Integer page,
-            @RequestParam(defaultValue = "10") @Min(1) @Max(20) Integer limit
+            @RequestParam(defaultValue = "10") @Min(1) @Max(20) Integer limit,
+            @RequestParam(defaultValue = "true") boolean count,
+            @RequestParam(required = false) String cursor
     ) {
-        return accountService.listQuickPayees(auth.getName(), new PageRequest(page, limit));
+        return accountService.listQuickPayees(auth.getName(), new PageRequest(page, limit, count, cursor));
     }
 }
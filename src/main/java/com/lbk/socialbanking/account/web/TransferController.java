@@ -0,0 +1,42 @@
+package com.lbk.socialbanking.account.web;
+
+import com.lbk.socialbanking.account.api.AccountTransferService;
+import com.lbk.socialbanking.account.api.dto.TransferResult;
+import com.lbk.socialbanking.common.api.dto.SuccessResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@SecurityRequirement(name = "ฺBearer Token")
+@Tag(name = "Account", description = "Endpoints for moving money between user accounts")
+@RestController
+@RequestMapping("/v1/accounts/transfers")
+@Validated
+public class TransferController {
+
+    private final AccountTransferService accountTransferService;
+
+    public TransferController(AccountTransferService accountTransferService) {
+        this.accountTransferService = accountTransferService;
+    }
+
+    @Operation(summary = "Transfer Between Accounts", description = "Move money between two accounts of the authenticated user in the same currency")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public SuccessResponse<TransferResult> transfer(
+            Authentication auth,
+            @RequestBody @Valid TransferRequest request
+    ) {
+        return SuccessResponse.of(accountTransferService.transfer(auth.getName(), request.fromAccountId(),
+                request.toAccountId(), request.amount(), request.description()));
+    }
+}
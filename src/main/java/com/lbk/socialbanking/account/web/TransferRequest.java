@@ -0,0 +1,23 @@
+package com.lbk.socialbanking.account.web;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public record TransferRequest(
+        @NotBlank(message = "fromAccountId is required")
+        String fromAccountId,
+        @NotBlank(message = "toAccountId is required")
+        String toAccountId,
+        @NotNull(message = "amount is required")
+        @DecimalMin(value = "0.01", message = "amount must be at least 0.01")
+        @Digits(integer = 13, fraction = 2, message = "amount must have at most 2 decimals")
+        BigDecimal amount,
+        @Size(max = 100, message = "description must be at most 100 characters")
+        String description
+) {
+}
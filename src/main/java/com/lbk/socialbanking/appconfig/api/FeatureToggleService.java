@@ -0,0 +1,32 @@
+package com.lbk.socialbanking.appconfig.api;
+
+import java.util.Map;
+
+/**
+ * FeatureToggleService evaluates the feature toggles of the app config module.
+ * Toggles are compiled when their config row is loaded, so evaluation needs no I/O.
+ */
+public interface FeatureToggleService {
+
+    /**
+     * Checks a server-side feature toggle for a user. Server-side toggles live in the app config row of the
+     * configured environment and platform ({@code app.feature-toggles.*}). Cheap enough for hot paths: no I/O
+     * and no allocation once the toggles are compiled.
+     *
+     * @param feature the feature name
+     * @param userId  the ID of the user, used for allow-lists and percentage rollouts
+     * @return true when the feature is enabled for the user, false for unknown features
+     */
+    boolean isEnabled(String feature, String userId);
+
+    /**
+     * Evaluates every feature toggle of a client configuration for a user.
+     *
+     * @param environment the environment (dev / uat / prod)
+     * @param appVersion  the client app version
+     * @param platform    the client platform
+     * @param userId      the ID of the user
+     * @return feature name to enabled flag
+     */
+    Map<String, Boolean> evaluate(String environment, String appVersion, String platform, String userId);
+}
@@ -0,0 +1,2 @@
+@org.springframework.modulith.NamedInterface("api")
+package com.lbk.socialbanking.appconfig.api;
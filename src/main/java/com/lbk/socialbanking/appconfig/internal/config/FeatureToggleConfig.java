@@ -0,0 +1,9 @@
+package com.lbk.socialbanking.appconfig.internal.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FeatureToggleProperties.class)
+class FeatureToggleConfig {
+}
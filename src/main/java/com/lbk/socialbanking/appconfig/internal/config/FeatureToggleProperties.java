@@ -0,0 +1,10 @@
+package com.lbk.socialbanking.appconfig.internal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Location of the server-side feature toggles: the app config row of this environment and platform.
+ */
+@ConfigurationProperties(prefix = "app.feature-toggles")
+public record FeatureToggleProperties(String environment, String platform) {
+}
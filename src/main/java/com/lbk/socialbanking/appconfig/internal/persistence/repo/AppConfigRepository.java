@@ -3,8 +3,21 @@ package com.lbk.socialbanking.appconfig.internal.persistence.repo;
 import com.lbk.socialbanking.appconfig.internal.persistence.entity.AppConfigEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface AppConfigRepository extends JpaRepository<AppConfigEntity, Long> {
-    Optional<AppConfigEntity> findTopByEnvironmentAndAppVersionAndPlatformOrderByUpdatedAtDesc(String environment, String appVersion, String platform);
+
+    /**
+     * Lightweight listing of the config rows of one (environment, platform) pair, used to build the in-memory version index.
+     */
+    List<AppConfigVersionView> findByEnvironmentAndPlatform(String environment, String platform);
+
+    interface AppConfigVersionView {
+        Long getConfigId();
+
+        String getAppVersion();
+
+        LocalDateTime getUpdatedAt();
+    }
 }
@@ -0,0 +1,109 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks clients waiting for their app config to change.
+ * <p>
+ * A waiting client costs one {@link CompletableFuture} in a per-(environment, platform) set; no thread is held.
+ * A single poller reloads the version index of every pair that has waiters once per {@link #POLL_INTERVAL_MS}
+ * (one query per pair, however many clients wait) and completes the waiters whose resolved row changed.
+ * </p>
+ */
+@Component
+class AppConfigChangeNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(AppConfigChangeNotifier.class);
+
+    static final long POLL_INTERVAL_MS = 5_000;
+
+    private final AppConfigVersionIndex index;
+    private final Map<String, Set<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    AppConfigChangeNotifier(AppConfigVersionIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Wait until the config row serving a client differs from the one it already has.
+     *
+     * @param knownEtag the ETag of the config the client holds, or null when it holds none
+     * @return a future completed with the new row; cancel it to stop waiting
+     */
+    CompletableFuture<AppConfigVersion> await(String environment, String platform, SemVer version, String knownEtag) {
+        var current = index.resolve(environment, platform, version);
+        if (current.isPresent() && !current.get().etag().equals(knownEtag)) {
+            return CompletableFuture.completedFuture(current.get());
+        }
+
+        var waiter = new Waiter(environment, platform, version, knownEtag, new CompletableFuture<>());
+        String key = environment + ':' + platform;
+        waiters.compute(key, (k, set) -> {
+            var target = set == null ? ConcurrentHashMap.<Waiter>newKeySet() : set;
+            target.add(waiter);
+            return target;
+        });
+        waiter.future().whenComplete((v, ex) -> waiters.computeIfPresent(key, (k, set) -> {
+            set.remove(waiter);
+            return set.isEmpty() ? null : set;
+        }));
+        return waiter.future();
+    }
+
+    int waiting() {
+        return waiters.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedDelay = POLL_INTERVAL_MS)
+    void poll() {
+        for (var set : waiters.values()) {
+            var first = set.stream().findFirst();
+            if (first.isEmpty()) {
+                continue;
+            }
+            String environment = first.get().environment();
+            String platform = first.get().platform();
+            try {
+                index.refresh(environment, platform);
+            } catch (Exception ex) {
+                log.warn("Failed to refresh app config index for environment: {}, platform: {}", environment, platform, ex);
+                continue;
+            }
+
+            int notified = 0;
+            for (var waiter : set) {
+                var current = index.resolve(environment, platform, waiter.version());
+                if (current.isPresent() && !current.get().etag().equals(waiter.knownEtag())) {
+                    waiter.future().complete(current.get());
+                    notified++;
+                }
+            }
+            if (notified > 0) {
+                log.info("Notified {} clients of app config change for environment: {}, platform: {}", notified, environment, platform);
+            }
+        }
+    }
+
+    private record Waiter(String environment, String platform, SemVer version, String knownEtag,
+                          CompletableFuture<AppConfigVersion> future) {
+
+        // Identity semantics: two clients waiting on the same version are still distinct waiters.
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import com.lbk.socialbanking.appconfig.internal.persistence.repo.AppConfigRepository;
+import com.lbk.socialbanking.appconfig.web.AppConfigResponse;
+import com.lbk.socialbanking.common.api.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Builds the app config response of a resolved config row.
+ * Responses are cached per row (id + updated_at) rather than per client version string,
+ * so every client version that resolves to the same row shares one cache entry. An edited row gets a new
+ * key because MySQL bumps updated_at on every update (see {@link AppConfigVersion}).
+ */
+@Component
+class AppConfigLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(AppConfigLoader.class);
+
+    private final AppConfigRepository repo;
+    private final FeatureToggleRegistry featureToggles;
+
+    AppConfigLoader(AppConfigRepository repo, FeatureToggleRegistry featureToggles) {
+        this.repo = repo;
+        this.featureToggles = featureToggles;
+    }
+
+    @Cacheable(cacheNames = "appConfig", key = "#version.cacheKey()")
+    public AppConfigResponse load(AppConfigVersion version) {
+        log.debug("Loading app config row: {}", version.configId());
+
+        var entity = repo.findById(version.configId())
+                .orElseThrow(() -> {
+                    log.warn("App config row {} disappeared after version resolution", version.configId());
+                    return new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "App config not found");
+                });
+
+        Map<String, Object> toggles;
+        try {
+            toggles = featureToggles.compile(version, entity).clientView();
+            log.debug("Parsed {} feature toggles", toggles.size());
+        } catch (Exception ex) {
+            log.error("Failed to parse feature toggles JSON for app config row: {}", version.configId(), ex);
+            throw new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "App config not found");
+        }
+
+        return new AppConfigResponse(
+                entity.getEnvironment(),
+                entity.isMaintenanceEnabled(),
+                entity.getMaintenanceMessage(),
+                entity.getRetryAfterSeconds(),
+                entity.getMinSupportedVersion(),
+                entity.getLatestVersion(),
+                entity.isForceUpdate(),
+                entity.getStoreUrl(),
+                toggles
+        );
+    }
+}
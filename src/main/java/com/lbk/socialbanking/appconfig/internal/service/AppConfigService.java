@@ -2,6 +2,23 @@ package com.lbk.socialbanking.appconfig.internal.service;
 
 import com.lbk.socialbanking.appconfig.web.AppConfigResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AppConfigService {
     AppConfigResponse getConfig(String environment, String appVersion, String platform);
+
+    /**
+     * Resolve the config row serving a client version, without loading the config itself.
+     */
+    AppConfigVersion resolve(String environment, String appVersion, String platform);
+
+    AppConfigResponse getConfig(AppConfigVersion version);
+
+    /**
+     * Wait for the config serving a client to change.
+     *
+     * @param knownEtag the ETag of the config the client already has, or null
+     * @return a future completed with the new config row; cancel it to stop waiting
+     */
+    CompletableFuture<AppConfigVersion> awaitChange(String environment, String appVersion, String platform, String knownEtag);
 }
@@ -1,33 +1,33 @@
 package com.lbk.socialbanking.appconfig.internal.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.lbk.socialbanking.appconfig.internal.persistence.repo.AppConfigRepository;
 import com.lbk.socialbanking.appconfig.web.AppConfigResponse;
 import com.lbk.socialbanking.common.api.ApiException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 class AppConfigServiceImpl implements AppConfigService {
 
     private static final Logger log = LoggerFactory.getLogger(AppConfigServiceImpl.class);
 
-    private final AppConfigRepository repo;
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final AppConfigVersionIndex index;
+    private final AppConfigLoader loader;
+    private final AppConfigChangeNotifier notifier;
 
-    AppConfigServiceImpl(AppConfigRepository repo) {
-        this.repo = repo;
+    AppConfigServiceImpl(AppConfigVersionIndex index, AppConfigLoader loader, AppConfigChangeNotifier notifier) {
+        this.index = index;
+        this.loader = loader;
+        this.notifier = notifier;
     }
 
     /**
      * Get app configuration by app version and platform.
-     * Have no TTL for now, Invalidate cache on update this record resource action. like admin portal request update resource.
+     * Resolves the newest config row whose version is less than or equal to the client version, then serves the
+     * response cached for that row. Have no TTL for now, the cache key changes when the row's updated_at changes.
      *
      * @param environment
      * @param appVersion
@@ -35,47 +35,45 @@ class AppConfigServiceImpl implements AppConfigService {
      * @return AppConfigResponse
      */
     @Override
-    @Cacheable(cacheNames = "appConfig", key = "#environment + ':' + #appVersion + ':' + #platform")
     public AppConfigResponse getConfig(String environment, String appVersion, String platform) {
-        log.info("Fetching app config for environment: {}, appVersion: {}, platform: {}",
+        return getConfig(resolve(environment, appVersion, platform));
+    }
+
+    @Override
+    public AppConfigVersion resolve(String environment, String appVersion, String platform) {
+        log.debug("Resolving app config for environment: {}, appVersion: {}, platform: {}",
                 environment, appVersion, platform);
 
-        var entity = repo.findTopByEnvironmentAndAppVersionAndPlatformOrderByUpdatedAtDesc(environment, appVersion, platform)
+        var version = parseVersion(appVersion);
+
+        return index.resolve(environment, platform, version)
                 .orElseThrow(() -> {
                     log.warn("App config not found for environment: {}, appVersion: {}, platform: {}",
                             environment, appVersion, platform);
                     return new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "App config not found");
                 });
+    }
 
-        Map<String, Object> toggles = Map.of();
-        try {
-            if (entity.getFeatureTogglesJson() != null) {
-                toggles = mapper.readValue(entity.getFeatureTogglesJson(), new TypeReference<>() {
-                });
-                log.debug("Parsed {} feature toggles", toggles.size());
-            }
-        } catch (Exception ex) {
-            log.error("Failed to parse feature toggles JSON for environment: {}, appVersion: {}, platform: {}",
-                    environment, appVersion, platform, ex);
-            throw new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "App config not found");
-        }
-
-        var response = new AppConfigResponse(
-                entity.getEnvironment(),
-                entity.isMaintenanceEnabled(),
-                entity.getMaintenanceMessage(),
-                entity.getRetryAfterSeconds(),
-                entity.getMinSupportedVersion(),
-                entity.getLatestVersion(),
-                entity.isForceUpdate(),
-                entity.getStoreUrl(),
-                toggles,
-                java.time.OffsetDateTime.now().toString()
-        );
+    @Override
+    public AppConfigResponse getConfig(AppConfigVersion version) {
+        var response = loader.load(version);
 
-        log.info("App config retrieved successfully for environment: {}, appVersion: {}, platform: {} - maintenance: {}",
-                environment, appVersion, platform, entity.isMaintenanceEnabled());
+        log.info("App config retrieved successfully for config: {} (appVersion: {}) - maintenance: {}",
+                version.configId(), version.appVersion(), response.maintenanceEnabled());
 
         return response;
     }
+
+    @Override
+    public CompletableFuture<AppConfigVersion> awaitChange(String environment, String appVersion, String platform, String knownEtag) {
+        log.debug("Waiting for app config change for environment: {}, appVersion: {}, platform: {}, known: {}",
+                environment, appVersion, platform, knownEtag);
+        resolve(environment, appVersion, platform);
+        return notifier.await(environment, platform, parseVersion(appVersion), knownEtag);
+    }
+
+    private static SemVer parseVersion(String appVersion) {
+        return SemVer.parse(appVersion)
+                .orElseThrow(() -> new ApiException(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "app version is invalid"));
+    }
 }
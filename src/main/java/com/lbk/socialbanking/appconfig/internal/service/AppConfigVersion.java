@@ -0,0 +1,45 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A config row resolved for a client version.
+ * <p>
+ * Identifies the row by id and last update time, so it can key response caches and HTTP validators
+ * without loading or serializing the config itself.
+ * </p>
+ * <p>
+ * This only holds while every change to a row bumps its updated_at. Config rows are edited with plain SQL,
+ * not through the application, so migration V3 has MySQL do it ({@code ON UPDATE CURRENT_TIMESTAMP(6)});
+ * without it an update that forgets updated_at keeps serving the old ETag and cached response.
+ * </p>
+ *
+ * @param configId   the resolved app_config row id
+ * @param appVersion the app_version of the resolved row (null for the default row)
+ * @param updatedAt  the updated_at of the resolved row
+ */
+public record AppConfigVersion(long configId, String appVersion, LocalDateTime updatedAt) {
+
+    /**
+     * Cache key of the resolved row. Changes whenever the row is updated, so cached responses
+     * keyed by it never outlive the row they were built from.
+     */
+    public String cacheKey() {
+        return configId + ":" + updatedAt;
+    }
+
+    /**
+     * Strong entity tag (unquoted) of the config response built from this row.
+     */
+    public String etag() {
+        long updated = updatedAt == null ? 0L : updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "cfg-" + configId + "-" + Long.toHexString(updated);
+    }
+
+    static AppConfigVersion newer(AppConfigVersion a, AppConfigVersion b) {
+        if (a.updatedAt() == null) return b;
+        if (b.updatedAt() == null) return a;
+        return b.updatedAt().isAfter(a.updatedAt()) ? b : a;
+    }
+}
@@ -0,0 +1,105 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import com.lbk.socialbanking.appconfig.internal.persistence.repo.AppConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory sorted index of app config versions per (environment, platform).
+ * <p>
+ * A lookup returns the newest config row whose version is less than or equal to the client version,
+ * so a single row covers every patch release until a newer row is added. Rows without an {@code app_version}
+ * act as the default for their (environment, platform) pair. Each partition is an immutable {@link TreeMap}
+ * reloaded from the database at most once per {@link #REFRESH_INTERVAL}, or immediately after {@link #evict}.
+ * </p>
+ */
+@Component
+class AppConfigVersionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AppConfigVersionIndex.class);
+
+    static final Duration REFRESH_INTERVAL = Duration.ofSeconds(60);
+
+    private final AppConfigRepository repo;
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    AppConfigVersionIndex(AppConfigRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Resolve the config row that applies to the given client version.
+     *
+     * @param environment the environment (dev / uat / prod)
+     * @param platform    the client platform
+     * @param version     the client app version
+     * @return the matching row, or empty when no row has a version at or below the client version
+     */
+    Optional<AppConfigVersion> resolve(String environment, String platform, SemVer version) {
+        var floor = partition(environment, platform).versions().floorEntry(version);
+        return floor == null ? Optional.empty() : Optional.of(floor.getValue());
+    }
+
+    /**
+     * Drop the index of one (environment, platform) pair so the next lookup reloads it.
+     */
+    void evict(String environment, String platform) {
+        partitions.remove(key(environment, platform));
+    }
+
+    void evictAll() {
+        partitions.clear();
+    }
+
+    /**
+     * Reload the index of one (environment, platform) pair right away.
+     */
+    void refresh(String environment, String platform) {
+        partitions.put(key(environment, platform), load(environment, platform, System.nanoTime()));
+    }
+
+    private Partition partition(String environment, String platform) {
+        long now = System.nanoTime();
+        var current = partitions.get(key(environment, platform));
+        if (current != null && !current.isStale(now)) {
+            return current;
+        }
+        return partitions.compute(key(environment, platform), (k, existing) ->
+                existing != null && !existing.isStale(now) ? existing : load(environment, platform, now));
+    }
+
+    private Partition load(String environment, String platform, long now) {
+        NavigableMap<SemVer, AppConfigVersion> versions = new TreeMap<>();
+        for (var row : repo.findByEnvironmentAndPlatform(environment, platform)) {
+            Optional<SemVer> version = row.getAppVersion() == null ? Optional.of(SemVer.ZERO) : SemVer.parse(row.getAppVersion());
+            if (version.isEmpty()) {
+                log.warn("Skipping app config {} with unparseable app_version: {}", row.getConfigId(), row.getAppVersion());
+                continue;
+            }
+            var entry = new AppConfigVersion(row.getConfigId(), row.getAppVersion(), row.getUpdatedAt());
+            versions.merge(version.get(), entry, AppConfigVersion::newer);
+        }
+        log.debug("Indexed {} app config versions for environment: {}, platform: {}", versions.size(), environment, platform);
+        return new Partition(Collections.unmodifiableNavigableMap(versions), now);
+    }
+
+    private static String key(String environment, String platform) {
+        return environment + ':' + platform;
+    }
+
+    private record Partition(NavigableMap<SemVer, AppConfigVersion> versions, long loadedAtNanos) {
+
+        boolean isStale(long now) {
+            return now - loadedAtNanos > REFRESH_INTERVAL.toNanos();
+        }
+    }
+}
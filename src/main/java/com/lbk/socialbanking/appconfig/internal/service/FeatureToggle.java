@@ -0,0 +1,127 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import java.util.Set;
+
+/**
+ * A feature toggle compiled from its JSON rule. Evaluation only reads immutable fields,
+ * performs no I/O and allocates nothing.
+ * <p>
+ * Rule semantics, in order:
+ * <ol>
+ *     <li>{@code enabled=false} switches the feature off for everyone.</li>
+ *     <li>users in {@code allowUsers} always get the feature.</li>
+ *     <li>otherwise the platform and version predicates must match and the user must fall inside the
+ *     {@code rollout} percentage, bucketed by a stable hash of (feature, userId).</li>
+ * </ol>
+ * </p>
+ */
+final class FeatureToggle {
+
+    static final int BUCKETS = 10_000;
+
+    private final String name;
+    private final boolean enabled;
+    private final String[] platforms;
+    private final long minVersion;
+    private final long maxVersion;
+    private final int rolloutBuckets;
+    private final Set<String> allowUsers;
+    private final int salt;
+
+    /**
+     * @param platforms      allowed platforms, or empty for any platform
+     * @param minVersion     packed inclusive lower version bound, or {@code -1} for none
+     * @param maxVersion     packed inclusive upper version bound, or {@code -1} for none
+     * @param rolloutBuckets number of buckets (out of {@link #BUCKETS}) that get the feature
+     */
+    FeatureToggle(String name, boolean enabled, String[] platforms, long minVersion, long maxVersion,
+                  int rolloutBuckets, Set<String> allowUsers) {
+        this.name = name;
+        this.enabled = enabled;
+        this.platforms = platforms;
+        this.minVersion = minVersion;
+        this.maxVersion = maxVersion;
+        this.rolloutBuckets = Math.max(0, Math.min(BUCKETS, rolloutBuckets));
+        this.allowUsers = Set.copyOf(allowUsers);
+        this.salt = name.hashCode();
+    }
+
+    static FeatureToggle constant(String name, boolean enabled) {
+        return new FeatureToggle(name, enabled, new String[0], -1, -1, BUCKETS, Set.of());
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Whether the result depends on who the user is (rollout or allow-list).
+     */
+    boolean isUserTargeted() {
+        return enabled && (rolloutBuckets < BUCKETS || !allowUsers.isEmpty());
+    }
+
+    /**
+     * @param platform      the client platform, or null when evaluated outside a client context
+     * @param packedVersion the client version packed by {@link SemVer#pack}, or {@code -1} when unknown
+     * @param userId        the user, or null for anonymous evaluation
+     */
+    boolean isEnabled(String platform, long packedVersion, String userId) {
+        if (!enabled) {
+            return false;
+        }
+        if (userId != null && allowUsers.contains(userId)) {
+            return true;
+        }
+        if (!matchesPlatform(platform) || !matchesVersion(packedVersion)) {
+            return false;
+        }
+        if (rolloutBuckets >= BUCKETS) {
+            return true;
+        }
+        return userId != null && bucket(userId) < rolloutBuckets;
+    }
+
+    private boolean matchesPlatform(String platform) {
+        if (platforms.length == 0) {
+            return true;
+        }
+        if (platform == null) {
+            return false;
+        }
+        for (String p : platforms) {
+            if (p.equalsIgnoreCase(platform)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesVersion(long packedVersion) {
+        if (minVersion < 0 && maxVersion < 0) {
+            return true;
+        }
+        if (packedVersion < 0) {
+            return false;
+        }
+        return (minVersion < 0 || packedVersion >= minVersion) && (maxVersion < 0 || packedVersion <= maxVersion);
+    }
+
+    /**
+     * Stable bucket in [0, {@link #BUCKETS}) of a user for this feature: FNV-1a over the user id seeded with the
+     * feature name, finished with the murmur3 avalanche step so neighbouring ids spread evenly.
+     */
+    int bucket(String userId) {
+        int h = 0x811c9dc5 ^ salt;
+        for (int i = 0; i < userId.length(); i++) {
+            h ^= userId.charAt(i);
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % BUCKETS;
+    }
+}
@@ -0,0 +1,72 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lbk.socialbanking.appconfig.internal.persistence.entity.AppConfigEntity;
+import com.lbk.socialbanking.appconfig.internal.persistence.repo.AppConfigRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the compiled feature toggles of every app config row in heap, one entry per row,
+ * replaced when the row's updated_at changes.
+ */
+@Component
+class FeatureToggleRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(FeatureToggleRegistry.class);
+
+    private final AppConfigRepository repo;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<Long, Compiled> compiled = new ConcurrentHashMap<>();
+
+    FeatureToggleRegistry(AppConfigRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Compiled toggles of a resolved row, loading the row when it has not been compiled yet.
+     */
+    FeatureToggles get(AppConfigVersion version) {
+        var current = compiled.get(version.configId());
+        if (current != null && current.cacheKey().equals(version.cacheKey())) {
+            return current.toggles();
+        }
+        var entity = repo.findById(version.configId()).orElse(null);
+        if (entity == null) {
+            log.warn("App config row {} disappeared before its feature toggles were compiled", version.configId());
+            return FeatureToggles.EMPTY;
+        }
+        try {
+            return compile(version, entity);
+        } catch (IllegalArgumentException ex) {
+            log.error("Invalid feature toggles in app config row: {}", version.configId(), ex);
+            return FeatureToggles.EMPTY;
+        }
+    }
+
+    /**
+     * Compile the toggles of a freshly loaded row and keep them for later evaluations.
+     *
+     * @throws IllegalArgumentException when the toggles JSON or one of its rules is malformed
+     */
+    FeatureToggles compile(AppConfigVersion version, AppConfigEntity entity) {
+        FeatureToggles toggles;
+        try {
+            toggles = FeatureToggles.compile(entity.getFeatureTogglesJson(), entity.getPlatform(), mapper);
+        } catch (IllegalArgumentException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new IllegalArgumentException("feature_toggles is not valid JSON", ex);
+        }
+        compiled.put(version.configId(), new Compiled(version.cacheKey(), toggles));
+        log.debug("Compiled feature toggles of app config row: {}", version.configId());
+        return toggles;
+    }
+
+    private record Compiled(String cacheKey, FeatureToggles toggles) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import com.lbk.socialbanking.appconfig.api.FeatureToggleService;
+import com.lbk.socialbanking.appconfig.internal.config.FeatureToggleProperties;
+import com.lbk.socialbanking.common.api.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+@Service
+class FeatureToggleServiceImpl implements FeatureToggleService {
+
+    private static final Logger log = LoggerFactory.getLogger(FeatureToggleServiceImpl.class);
+
+    private final AppConfigVersionIndex index;
+    private final FeatureToggleRegistry registry;
+    private final FeatureToggleProperties props;
+
+    // Server-side toggles are re-resolved at most once per index refresh interval; in between, the hot path
+    // is a volatile read plus an in-memory evaluation.
+    private volatile ServerToggles server;
+
+    FeatureToggleServiceImpl(AppConfigVersionIndex index, FeatureToggleRegistry registry, FeatureToggleProperties props) {
+        this.index = index;
+        this.registry = registry;
+        this.props = props;
+    }
+
+    @Override
+    public boolean isEnabled(String feature, String userId) {
+        return serverToggles().isEnabled(feature, props.platform(), -1, userId);
+    }
+
+    @Override
+    public Map<String, Boolean> evaluate(String environment, String appVersion, String platform, String userId) {
+        long packedVersion = SemVer.pack(appVersion);
+        if (packedVersion < 0) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "app version is invalid");
+        }
+        var version = index.resolve(environment, platform, SemVer.unpack(packedVersion))
+                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "App config not found"));
+
+        var result = registry.get(version).evaluate(platform, packedVersion, userId);
+        log.debug("Evaluated {} feature toggles for user: {} on config: {}", result.size(), userId, version.configId());
+        return result;
+    }
+
+    private FeatureToggles serverToggles() {
+        long now = System.nanoTime();
+        var current = server;
+        if (current != null && now - current.resolvedAtNanos() < AppConfigVersionIndex.REFRESH_INTERVAL.toNanos()) {
+            return current.toggles();
+        }
+        var toggles = index.resolve(props.environment(), props.platform(), SemVer.LATEST)
+                .map(registry::get)
+                .orElseGet(() -> {
+                    log.debug("No server-side feature toggles for environment: {}, platform: {}",
+                            props.environment(), props.platform());
+                    return FeatureToggles.EMPTY;
+                });
+        server = new ServerToggles(toggles, now);
+        return toggles;
+    }
+
+    private record ServerToggles(FeatureToggles toggles, long resolvedAtNanos) {
+    }
+}
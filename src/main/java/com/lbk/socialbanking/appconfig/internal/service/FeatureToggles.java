@@ -0,0 +1,158 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The feature toggles of one app config row, compiled once when the row is loaded.
+ * <p>
+ * The {@code feature_toggles} JSON maps a feature name to either a plain value or a rule object:
+ * </p>
+ * <pre>{@code
+ * {
+ *   "featureA": true,
+ *   "newDashboard": {
+ *     "enabled": true,
+ *     "rollout": 25,
+ *     "platforms": ["ios"],
+ *     "minVersion": "1.2.0",
+ *     "maxVersion": "2.0.0",
+ *     "allowUsers": ["000018b0e1a211ef95a30242ac180002"]
+ *   }
+ * }
+ * }</pre>
+ * <p>
+ * Booleans and rule objects become {@link FeatureToggle}s. Any other value (or an object without rule keys)
+ * is passed through to clients untouched.
+ * </p>
+ */
+final class FeatureToggles {
+
+    static final FeatureToggles EMPTY = new FeatureToggles(Map.of(), Map.of());
+
+    private static final Set<String> RULE_KEYS = Set.of("enabled", "rollout", "platforms", "minVersion", "maxVersion", "allowUsers");
+
+    private final Map<String, FeatureToggle> toggles;
+    private final Map<String, Object> clientView;
+
+    private FeatureToggles(Map<String, FeatureToggle> toggles, Map<String, Object> clientView) {
+        this.toggles = toggles;
+        this.clientView = clientView;
+    }
+
+    /**
+     * @throws IllegalArgumentException when a rule is malformed
+     */
+    static FeatureToggles compile(String json, String platform, ObjectMapper mapper) throws Exception {
+        if (json == null) {
+            return EMPTY;
+        }
+        JsonNode root = mapper.readTree(json);
+        if (!root.isObject()) {
+            throw new IllegalArgumentException("feature_toggles must be a JSON object");
+        }
+
+        Map<String, FeatureToggle> toggles = new HashMap<>();
+        Map<String, Object> clientView = new LinkedHashMap<>();
+        var fields = root.fields();
+        while (fields.hasNext()) {
+            var field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+
+            if (value.isBoolean()) {
+                toggles.put(name, FeatureToggle.constant(name, value.booleanValue()));
+                clientView.put(name, value.booleanValue());
+            } else if (isRule(value)) {
+                var toggle = compileRule(name, value);
+                toggles.put(name, toggle);
+                // The public config response is shared by every user and client version of the row, so only rules
+                // that need neither are resolved here; the rest are served per user by the features endpoint.
+                if (!toggle.isUserTargeted() && !value.has("minVersion") && !value.has("maxVersion")) {
+                    clientView.put(name, toggle.isEnabled(platform, -1, null));
+                }
+            } else {
+                clientView.put(name, mapper.treeToValue(value, Object.class));
+            }
+        }
+        return new FeatureToggles(Map.copyOf(toggles), Collections.unmodifiableMap(clientView));
+    }
+
+    private static boolean isRule(JsonNode value) {
+        if (!value.isObject()) {
+            return false;
+        }
+        var names = value.fieldNames();
+        while (names.hasNext()) {
+            if (RULE_KEYS.contains(names.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static FeatureToggle compileRule(String name, JsonNode rule) {
+        boolean enabled = rule.path("enabled").asBoolean(true);
+
+        double rollout = rule.path("rollout").asDouble(100);
+        if (rollout < 0 || rollout > 100) {
+            throw new IllegalArgumentException("rollout of '" + name + "' must be between 0 and 100");
+        }
+
+        String[] platforms = new String[rule.path("platforms").size()];
+        for (int i = 0; i < platforms.length; i++) {
+            platforms[i] = rule.path("platforms").get(i).asText();
+        }
+
+        Set<String> allowUsers = new HashSet<>();
+        rule.path("allowUsers").forEach(u -> allowUsers.add(u.asText()));
+
+        return new FeatureToggle(name, enabled, platforms,
+                version(name, rule, "minVersion"), version(name, rule, "maxVersion"),
+                (int) Math.round(rollout * FeatureToggle.BUCKETS / 100), allowUsers);
+    }
+
+    private static long version(String name, JsonNode rule, String key) {
+        if (!rule.hasNonNull(key)) {
+            return -1;
+        }
+        long packed = SemVer.pack(rule.get(key).asText());
+        if (packed < 0) {
+            throw new IllegalArgumentException(key + " of '" + name + "' is not a valid version");
+        }
+        return packed;
+    }
+
+    /**
+     * Evaluate one feature. Unknown features are disabled.
+     */
+    boolean isEnabled(String feature, String platform, long packedVersion, String userId) {
+        var toggle = toggles.get(feature);
+        return toggle != null && toggle.isEnabled(platform, packedVersion, userId);
+    }
+
+    /**
+     * Evaluate every feature for one user and client.
+     */
+    Map<String, Boolean> evaluate(String platform, long packedVersion, String userId) {
+        Map<String, Boolean> result = new HashMap<>(toggles.size() * 2);
+        for (var toggle : toggles.values()) {
+            result.put(toggle.name(), toggle.isEnabled(platform, packedVersion, userId));
+        }
+        return result;
+    }
+
+    /**
+     * Toggles as exposed in the public, user-independent config response.
+     */
+    Map<String, Object> clientView() {
+        return new LinkedHashMap<>(clientView);
+    }
+}
@@ -0,0 +1,95 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import java.util.Optional;
+
+/**
+ * Minimal semantic version (major.minor.patch) used to resolve app config rows by version range.
+ * <p>
+ * Accepts an optional leading {@code v}, one to three numeric components ({@code 1}, {@code 1.2}, {@code 1.2.3})
+ * and ignores any pre-release or build suffix ({@code 1.2.3-beta+42} is treated as {@code 1.2.3}).
+ * </p>
+ */
+record SemVer(int major, int minor, int patch) implements Comparable<SemVer> {
+
+    static final SemVer ZERO = new SemVer(0, 0, 0);
+    static final SemVer LATEST = new SemVer(99_999, 99_999, 99_999);
+
+    private static final int MAX_COMPONENT = 99_999;
+    private static final int BITS = 20;
+    private static final long MASK = (1L << BITS) - 1;
+
+    static Optional<SemVer> parse(String value) {
+        long packed = pack(value);
+        return packed < 0 ? Optional.empty() : Optional.of(unpack(packed));
+    }
+
+    /**
+     * Parse a version into an order-preserving {@code long} without allocating.
+     *
+     * @return the packed version, or {@code -1} when the value is not a valid version
+     */
+    static long pack(CharSequence value) {
+        if (value == null) {
+            return -1;
+        }
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) end--;
+        if (start < end && (value.charAt(start) == 'v' || value.charAt(start) == 'V')) {
+            start++;
+        }
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c == '-' || c == '+') {
+                end = i;
+                break;
+            }
+        }
+
+        long packed = 0;
+        int part = 0;
+        int current = -1;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                current = (current < 0 ? 0 : current) * 10 + (c - '0');
+                if (current > MAX_COMPONENT) {
+                    return -1;
+                }
+            } else if (c == '.' && current >= 0 && part < 2) {
+                packed |= (long) current << (BITS * (2 - part));
+                part++;
+                current = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (current < 0) {
+            return -1;
+        }
+        return packed | (long) current << (BITS * (2 - part));
+    }
+
+    static SemVer unpack(long packed) {
+        return new SemVer((int) (packed >>> (2 * BITS) & MASK), (int) (packed >>> BITS & MASK), (int) (packed & MASK));
+    }
+
+    long packed() {
+        return (long) major << (2 * BITS) | (long) minor << BITS | patch;
+    }
+
+    @Override
+    public int compareTo(SemVer other) {
+        int c = Integer.compare(major, other.major);
+        if (c != 0) return c;
+        c = Integer.compare(minor, other.minor);
+        if (c != 0) return c;
+        return Integer.compare(patch, other.patch);
+    }
+
+    @Override
+    public String toString() {
+        return major + "." + minor + "." + patch;
+    }
+}
@@ -1,14 +1,31 @@
 package com.lbk.socialbanking.appconfig.web;
 
+import com.lbk.socialbanking.appconfig.api.FeatureToggleService;
 import com.lbk.socialbanking.appconfig.internal.service.AppConfigService;
 import com.lbk.socialbanking.common.api.dto.SuccessResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/v1/apps")
@@ -16,18 +33,110 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Application Config", description = "Endpoints for retrieving application configuration settings")
 public class AppConfigController {
 
+    static final String SERVER_TIME_HEADER = "X-Server-Time";
+
+    // Short enough for maintenance flips to reach clients quickly; revalidation is a cheap 304.
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofSeconds(30))
+            .cachePublic()
+            .mustRevalidate();
+
     private final AppConfigService appConfigService;
+    private final FeatureToggleService featureToggleService;
 
-    public AppConfigController(AppConfigService appConfigService) {
+    public AppConfigController(AppConfigService appConfigService, FeatureToggleService featureToggleService) {
         this.appConfigService = appConfigService;
+        this.featureToggleService = featureToggleService;
     }
 
+    @Operation(summary = "Get app configuration",
+            description = "Supports conditional requests: send the last ETag in If-None-Match to receive 304 when unchanged. Server time is returned in the X-Server-Time header.")
     @GetMapping("/config")
-    public SuccessResponse<AppConfigResponse> getConfig(
+    public ResponseEntity<SuccessResponse<AppConfigResponse>> getConfig(
+            @RequestParam @NotBlank(message = "environment is required") String environment,
+            @RequestParam @NotBlank(message = "app version is required") String appVersion,
+            @RequestParam @NotBlank(message = "platform is required") String platform,
+            WebRequest request
+    ) {
+        var version = appConfigService.resolve(environment, appVersion, platform);
+        String serverTime = OffsetDateTime.now().toString();
+
+        // Answer revalidations from the resolved row alone, before the config is loaded or serialized.
+        if (request.checkNotModified(version.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CACHE_CONTROL)
+                    .header(SERVER_TIME_HEADER, serverTime)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .cacheControl(CACHE_CONTROL)
+                .header(SERVER_TIME_HEADER, serverTime)
+                .body(SuccessResponse.of(appConfigService.getConfig(version)));
+    }
+
+    @Operation(summary = "Wait for app configuration changes",
+            description = "Long poll: send the ETag of the config you hold in If-None-Match. The request is held until the config serving this environment, platform and app version changes (200 with the new config and ETag) or the timeout elapses (304).")
+    @GetMapping("/config/changes")
+    public DeferredResult<ResponseEntity<SuccessResponse<AppConfigResponse>>> awaitConfigChange(
+            @RequestParam @NotBlank(message = "environment is required") String environment,
+            @RequestParam @NotBlank(message = "app version is required") String appVersion,
+            @RequestParam @NotBlank(message = "platform is required") String platform,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(defaultValue = "30") @Min(1) @Max(120) int timeoutSeconds
+    ) {
+        String knownEtag = unquote(ifNoneMatch);
+        var change = appConfigService.awaitChange(environment, appVersion, platform, knownEtag);
+
+        // The request thread is released here; the pending result costs no thread until it completes.
+        var result = new DeferredResult<ResponseEntity<SuccessResponse<AppConfigResponse>>>(timeoutSeconds * 1000L);
+        result.onTimeout(() -> result.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(knownEtag)
+                .cacheControl(CacheControl.noStore())
+                .header(SERVER_TIME_HEADER, OffsetDateTime.now().toString())
+                .build()));
+        result.onCompletion(() -> change.cancel(false));
+
+        change.whenComplete((version, ex) -> {
+            if (ex != null) {
+                return;
+            }
+            try {
+                result.setResult(ResponseEntity.ok()
+                        .eTag(version.etag())
+                        .cacheControl(CacheControl.noStore())
+                        .header(SERVER_TIME_HEADER, OffsetDateTime.now().toString())
+                        .body(SuccessResponse.of(appConfigService.getConfig(version))));
+            } catch (Exception e) {
+                result.setErrorResult(e);
+            }
+        });
+        return result;
+    }
+
+    private static String unquote(String etag) {
+        if (etag == null || etag.isBlank() || etag.equals("*")) {
+            return null;
+        }
+        String value = etag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    @SecurityRequirement(name = "ฺBearer Token")
+    @Operation(summary = "Get feature toggles", description = "Evaluate every feature toggle of the app configuration for the authenticated user, including rollouts and allow-lists")
+    @GetMapping("/features")
+    public SuccessResponse<Map<String, Boolean>> getFeatures(
+            Authentication auth,
             @RequestParam @NotBlank(message = "environment is required") String environment,
             @RequestParam @NotBlank(message = "app version is required") String appVersion,
             @RequestParam @NotBlank(message = "platform is required") String platform
     ) {
-        return SuccessResponse.of(appConfigService.getConfig(environment, appVersion, platform));
+        return SuccessResponse.of(featureToggleService.evaluate(environment, appVersion, platform, auth.getName()));
     }
 }
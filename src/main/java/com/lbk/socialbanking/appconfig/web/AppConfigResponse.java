@@ -11,7 +11,6 @@ public record AppConfigResponse(
         String latestVersion,
         boolean forceUpdate,
         String storeUrl,
-        Map<String, Object> featureToggles,
-        String serverTime
+        Map<String, Object> featureToggles
 ) {
 }
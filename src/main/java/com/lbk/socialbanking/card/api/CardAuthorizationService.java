@@ -0,0 +1,21 @@
+package com.lbk.socialbanking.card.api;
+
+import com.lbk.socialbanking.card.api.dto.CardAuthorization;
+
+import java.math.BigDecimal;
+
+/**
+ * CardAuthorizationService approves or declines card spend against card status and spending limits.
+ */
+public interface CardAuthorizationService {
+
+    /**
+     * Authorize a spend on a user's debit card.
+     *
+     * @param userId the ID of the user owning the card
+     * @param cardId the ID of the card
+     * @param amount the amount to spend, with at most two decimals
+     * @return the authorization outcome
+     */
+    CardAuthorization authorize(String userId, String cardId, BigDecimal amount);
+}
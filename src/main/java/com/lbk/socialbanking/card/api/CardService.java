@@ -0,0 +1,49 @@
+package com.lbk.socialbanking.card.api;
+
+import com.lbk.socialbanking.card.api.dto.CardStatus;
+import com.lbk.socialbanking.card.api.dto.CardSummary;
+import com.lbk.socialbanking.common.api.dto.PageRequest;
+import com.lbk.socialbanking.common.api.dto.PaginatedResponse;
+
+import java.util.List;
+
+/**
+ * CardService defines the operations related to user debit cards.
+ */
+public interface CardService {
+
+    /**
+     * List all debit card summaries for a given user.
+     *
+     * @param userId the ID of the user
+     * @return a list of CardSummary objects
+     */
+    List<CardSummary> listCards(String userId);
+
+    /**
+     * List debit card summaries for a given user with pagination.
+     *
+     * @param userId      the ID of the user
+     * @param pageRequest pagination details
+     * @return a paginated response of CardSummary objects
+     */
+    PaginatedResponse<CardSummary> listCards(String userId, PageRequest pageRequest);
+
+    /**
+     * Freeze an active debit card. Freezing a frozen card is a no-op.
+     *
+     * @param userId the ID of the user owning the card
+     * @param cardId the ID of the card
+     * @return the new card status
+     */
+    CardStatus freeze(String userId, String cardId);
+
+    /**
+     * Unfreeze a frozen debit card. Unfreezing an active card is a no-op.
+     *
+     * @param userId the ID of the user owning the card
+     * @param cardId the ID of the card
+     * @return the new card status
+     */
+    CardStatus unfreeze(String userId, String cardId);
+}
@@ -0,0 +1,17 @@
+package com.lbk.socialbanking.card.api.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Outcome of a card authorization. Declined authorizations carry the reason and no authorization id.
+ */
+public record CardAuthorization(
+        String authorizationId,
+        String cardId,
+        boolean approved,
+        String declineReason,
+        BigDecimal amount,
+        BigDecimal dailyRemaining,
+        BigDecimal monthlyRemaining
+) {
+}
@@ -0,0 +1,9 @@
+package com.lbk.socialbanking.card.api.dto;
+
+public record CardStatus(
+        String cardId,
+        String status
+) {
+    public static final String ACTIVE = "ACTIVE";
+    public static final String FROZEN = "FROZEN";
+}
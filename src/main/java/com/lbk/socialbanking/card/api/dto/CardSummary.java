@@ -0,0 +1,12 @@
+package com.lbk.socialbanking.card.api.dto;
+
+public record CardSummary(
+        String cardId,
+        String name,
+        String status,
+        String issuer,
+        String number,
+        String color,
+        String borderColor
+) {
+}
@@ -0,0 +1,2 @@
+@org.springframework.modulith.NamedInterface("dto")
+package com.lbk.socialbanking.card.api.dto;
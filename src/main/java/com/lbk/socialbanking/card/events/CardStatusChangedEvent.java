@@ -0,0 +1,18 @@
+package com.lbk.socialbanking.card.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event published after a card status change is committed
+ */
+@Data
+@AllArgsConstructor
+public class CardStatusChangedEvent {
+    private final String userId;
+    private final String cardId;
+    private final String status;
+    private final LocalDateTime timestamp;
+}
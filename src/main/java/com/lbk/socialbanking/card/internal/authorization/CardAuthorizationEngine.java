@@ -0,0 +1,200 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import com.lbk.socialbanking.card.internal.authorization.CardState.Decision;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Authorizes card spend entirely in memory.
+ * <p>
+ * Every card's status and spend counters live in a {@link CardState}. On startup the states of all cards are
+ * rebuilt from {@code debit_cards}/{@code debit_card_status} and the last 30 days of {@code card_authorizations},
+ * aggregated per hour; cards created later are loaded on first use. An id that matches no card is remembered for
+ * {@link #UNKNOWN_CARD_TTL_MS}, so requests with made-up ids do not reach the database each time. Approved spend is
+ * counted immediately and persisted asynchronously by the {@link SpendWriter}.
+ * </p>
+ * <p>
+ * Spend counters are per node: a node only counts the spend it approved itself plus what was in the database when
+ * it started or first loaded the card. Card statuses are shared between nodes, spend is not. With N nodes behind a
+ * load balancer a card can therefore spend up to N times its daily and monthly limits. Route a card's
+ * authorizations to one node, or run a single authorizing node, wherever the limits must hold exactly.
+ * </p>
+ */
+@Component
+class CardAuthorizationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CardAuthorizationEngine.class);
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long STATUS_RESYNC_INTERVAL_MS = 300_000L;
+    static final long UNKNOWN_CARD_TTL_MS = 10_000L;
+    // Bounds memory under a flood of made-up ids; the whole set is dropped when it is full.
+    static final int MAX_UNKNOWN_CARDS = 100_000;
+
+    private final Map<String, CardState> cards = new ConcurrentHashMap<>();
+    // Card ids that matched no card, with the time until which they are not looked up again.
+    private final Map<String, Long> unknownCards = new ConcurrentHashMap<>();
+    private final CardAuthorizationStore store;
+    private final SpendWriter writer;
+    private final Clock clock;
+    private volatile boolean ready;
+
+    @Autowired
+    CardAuthorizationEngine(CardAuthorizationStore store, SpendWriter writer) {
+        this(store, writer, Clock.systemUTC());
+    }
+
+    CardAuthorizationEngine(CardAuthorizationStore store, SpendWriter writer, Clock clock) {
+        this.store = store;
+        this.writer = writer;
+        this.clock = clock;
+    }
+
+    /**
+     * Rebuild all card states. Spend approved on other nodes after this point is not seen by this node.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void recover() {
+        long startTime = System.currentTimeMillis();
+        int sinceHour = currentHour() - CardState.DAYS * CardState.HOURS;
+
+        Map<String, CardState> loaded = new HashMap<>();
+        store.loadCards((cardId, userId, status) -> loaded.put(cardId, new CardState(cardId, userId, status)));
+        store.loadSpend(sinceHour, (cardId, hour, amount) -> {
+            var card = loaded.get(cardId);
+            if (card != null) {
+                card.record(amount, hour);
+            }
+        });
+        cards.putAll(loaded);
+        ready = true;
+
+        log.info("Recovered authorization state of {} cards in {}ms", loaded.size(), System.currentTimeMillis() - startTime);
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The state of a card, loading it from the database the first time a card created after startup is used.
+     */
+    Optional<CardState> card(String cardId) {
+        var card = cards.get(cardId);
+        if (card != null) {
+            return Optional.of(card);
+        }
+        long now = clock.millis();
+        Long unknownUntil = unknownCards.get(cardId);
+        if (unknownUntil != null && unknownUntil > now) {
+            return Optional.empty();
+        }
+
+        Optional<CardState> loaded = store.loadCard(cardId).map(found -> {
+            store.loadSpend(cardId, currentHour() - CardState.DAYS * CardState.HOURS, (id, hour, amount) -> found.record(amount, hour));
+            var existing = cards.putIfAbsent(cardId, found);
+            return existing != null ? existing : found;
+        });
+        if (loaded.isPresent()) {
+            unknownCards.remove(cardId);
+        } else {
+            if (unknownCards.size() >= MAX_UNKNOWN_CARDS) {
+                unknownCards.clear();
+            }
+            unknownCards.put(cardId, now + UNKNOWN_CARD_TTL_MS);
+        }
+        return loaded;
+    }
+
+    /**
+     * Set the status of a card held in memory. Cards not loaded yet pick up their status when first used; a status
+     * change also ends the wait on a card id that matched no card so far.
+     */
+    void applyStatus(String cardId, String status) {
+        unknownCards.remove(cardId);
+        var card = cards.get(cardId);
+        if (card != null) {
+            card.status(status);
+        }
+    }
+
+    /**
+     * Re-read the status of a card held in memory from the database.
+     */
+    void reloadStatus(String cardId) {
+        unknownCards.remove(cardId);
+        if (cards.containsKey(cardId)) {
+            store.loadCard(cardId).ifPresent(loaded -> applyStatus(cardId, loaded.status()));
+        }
+    }
+
+    /**
+     * Safety net for missed status broadcasts (e.g. Redis unavailable while a node changed a status).
+     */
+    @Scheduled(fixedDelay = STATUS_RESYNC_INTERVAL_MS, initialDelay = STATUS_RESYNC_INTERVAL_MS)
+    void resyncStatuses() {
+        if (!ready) {
+            return;
+        }
+        int[] changed = {0};
+        store.loadCards((cardId, userId, status) -> {
+            var card = cards.get(cardId);
+            if (card != null && !Objects.equals(card.status(), status)) {
+                card.status(status);
+                changed[0]++;
+            }
+        });
+        if (changed[0] > 0) {
+            log.warn("Resynced status of {} cards missed by status broadcasts", changed[0]);
+        }
+    }
+
+    /**
+     * @param amount spend in minor units
+     */
+    Result authorize(CardState card, long amount, long dailyLimit, long monthlyLimit) {
+        long now = clock.millis();
+        int hour = (int) (now / MILLIS_PER_HOUR);
+        String authorizationId = newAuthorizationId();
+
+        Decision decision = card.authorize(amount, hour, dailyLimit, monthlyLimit, () -> writer.offer(
+                new CardSpend(authorizationId, card.cardId(), card.userId(), amount, hour, Instant.ofEpochMilli(now))));
+
+        return new Result(decision == Decision.APPROVED ? authorizationId : null, decision,
+                card.dailySpent(hour), card.monthlySpent(hour));
+    }
+
+    int currentHour() {
+        return (int) (clock.millis() / MILLIS_PER_HOUR);
+    }
+
+    // UUID.randomUUID() serializes on SecureRandom; authorization ids only need to be unique, not unguessable.
+    private static String newAuthorizationId() {
+        var random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb).toString();
+    }
+
+    /**
+     * @param dailySpent   spend of the rolling 24 hours after this authorization, in minor units
+     * @param monthlySpent spend of the rolling 30 days after this authorization, in minor units
+     */
+    record Result(String authorizationId, Decision decision, long dailySpent, long monthlySpent) {
+    }
+}
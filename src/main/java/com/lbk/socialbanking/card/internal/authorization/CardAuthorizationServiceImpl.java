@@ -0,0 +1,65 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import com.lbk.socialbanking.card.api.CardAuthorizationService;
+import com.lbk.socialbanking.card.api.dto.CardAuthorization;
+import com.lbk.socialbanking.card.internal.authorization.CardState.Decision;
+import com.lbk.socialbanking.card.internal.config.CardAuthorizationProperties;
+import com.lbk.socialbanking.common.api.ApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+@Service
+class CardAuthorizationServiceImpl implements CardAuthorizationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardAuthorizationServiceImpl.class);
+
+    private final CardAuthorizationEngine engine;
+    private final long dailyLimit;
+    private final long monthlyLimit;
+
+    CardAuthorizationServiceImpl(CardAuthorizationEngine engine, CardAuthorizationProperties properties) {
+        this.engine = engine;
+        this.dailyLimit = toMinor(properties.dailyLimit());
+        this.monthlyLimit = toMinor(properties.monthlyLimit());
+    }
+
+    @Override
+    public CardAuthorization authorize(String userId, String cardId, BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0 || amount.stripTrailingZeros().scale() > 2) {
+            throw new ApiException(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "amount must be positive with at most 2 decimals");
+        }
+        if (!engine.isReady()) {
+            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", "Card authorization is starting up");
+        }
+
+        var card = engine.card(cardId)
+                .filter(c -> userId.equals(c.userId()))
+                .orElseThrow(() -> {
+                    log.warn("Card not found: {} for user: {}", cardId, userId);
+                    return new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "Card not found");
+                });
+
+        var result = engine.authorize(card, toMinor(amount), dailyLimit, monthlyLimit);
+        if (result.decision() != Decision.APPROVED) {
+            log.info("Card authorization declined for card: {} - {}", cardId, result.decision());
+        }
+
+        return new CardAuthorization(
+                result.authorizationId(),
+                cardId,
+                result.decision() == Decision.APPROVED,
+                result.decision() == Decision.APPROVED ? null : result.decision().name(),
+                amount,
+                BigDecimal.valueOf(Math.max(0, dailyLimit - result.dailySpent()), 2),
+                BigDecimal.valueOf(Math.max(0, monthlyLimit - result.monthlySpent()), 2)
+        );
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,99 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access for the authorization engine: bulk card loading, hourly spend aggregation and batched inserts.
+ */
+@Repository
+class CardAuthorizationStore {
+
+    private static final String CARD_SQL = """
+            SELECT c.card_id, c.user_id, s.status
+            FROM debit_cards c
+            LEFT JOIN debit_card_status s ON s.card_id = c.card_id
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    CardAuthorizationStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @FunctionalInterface
+    interface CardConsumer {
+        void accept(String cardId, String userId, String status);
+    }
+
+    @FunctionalInterface
+    interface SpendConsumer {
+        void accept(String cardId, int epochHour, long amount);
+    }
+
+    void loadCards(CardConsumer consumer) {
+        jdbc.query(CARD_SQL, rs -> {
+            consumer.accept(rs.getString(1), rs.getString(2), rs.getString(3));
+        });
+    }
+
+    Optional<CardState> loadCard(String cardId) {
+        List<CardState> rows = jdbc.query(CARD_SQL + " WHERE c.card_id = ?",
+                (rs, i) -> new CardState(rs.getString(1), rs.getString(2), rs.getString(3)), cardId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Stream committed spend per card and hour since the given epoch hour.
+     */
+    void loadSpend(int sinceHour, SpendConsumer consumer) {
+        jdbc.query("""
+                SELECT card_id, epoch_hour, SUM(amount)
+                FROM card_authorizations
+                WHERE epoch_hour >= ?
+                GROUP BY card_id, epoch_hour
+                """, rs -> {
+            consumer.accept(rs.getString(1), rs.getInt(2), toMinor(rs.getBigDecimal(3)));
+        }, sinceHour);
+    }
+
+    void loadSpend(String cardId, int sinceHour, SpendConsumer consumer) {
+        jdbc.query("""
+                SELECT card_id, epoch_hour, SUM(amount)
+                FROM card_authorizations
+                WHERE card_id = ? AND epoch_hour >= ?
+                GROUP BY card_id, epoch_hour
+                """, rs -> {
+            consumer.accept(rs.getString(1), rs.getInt(2), toMinor(rs.getBigDecimal(3)));
+        }, cardId, sinceHour);
+    }
+
+    /**
+     * Rows whose authorization id is already stored are skipped, so a batch that was partly committed before failing
+     * can be inserted again.
+     */
+    void insert(List<CardSpend> batch) {
+        jdbc.batchUpdate("""
+                        INSERT INTO card_authorizations (authorization_id, card_id, user_id, amount, epoch_hour, authorized_at)
+                        VALUES (?, ?, ?, ?, ?, ?)
+                        ON DUPLICATE KEY UPDATE authorization_id = authorization_id
+                        """, batch, batch.size(),
+                (ps, spend) -> {
+                    ps.setString(1, spend.authorizationId());
+                    ps.setString(2, spend.cardId());
+                    ps.setString(3, spend.userId());
+                    ps.setBigDecimal(4, BigDecimal.valueOf(spend.amount(), 2));
+                    ps.setInt(5, spend.epochHour());
+                    ps.setTimestamp(6, Timestamp.from(spend.authorizedAt()));
+                });
+    }
+
+    private static long toMinor(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+}
@@ -0,0 +1,9 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import java.time.Instant;
+
+/**
+ * An approved authorization waiting to be written to {@code card_authorizations}.
+ */
+record CardSpend(String authorizationId, String cardId, String userId, long amount, int epochHour, Instant authorizedAt) {
+}
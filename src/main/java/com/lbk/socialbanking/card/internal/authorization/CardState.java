@@ -0,0 +1,142 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import com.lbk.socialbanking.card.api.dto.CardStatus;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * In-memory state of one card: its status and rolling spend counters, in minor units.
+ * <p>
+ * Spend is kept in two rings of buckets: 24 hourly buckets for the daily window and 30 daily buckets for the
+ * monthly window. A bucket holds the epoch hour (or day) it counts for and is reset when the ring wraps onto it,
+ * so expiring old spend costs nothing. Counters are guarded by the card's own monitor: authorizations of
+ * different cards never contend, and a card is only ever locked for a few array reads.
+ * </p>
+ */
+final class CardState {
+
+    static final int HOURS = 24;
+    static final int DAYS = 30;
+
+    enum Decision {
+        APPROVED, CARD_NOT_ACTIVE, DAILY_LIMIT_EXCEEDED, MONTHLY_LIMIT_EXCEEDED, SYSTEM_BUSY
+    }
+
+    private final String cardId;
+    private final String userId;
+    private volatile String status;
+
+    private final long[] hourSpend = new long[HOURS];
+    private final int[] hourEpoch = new int[HOURS];
+    private final long[] daySpend = new long[DAYS];
+    private final int[] dayEpoch = new int[DAYS];
+
+    CardState(String cardId, String userId, String status) {
+        this.cardId = cardId;
+        this.userId = userId;
+        this.status = status;
+        Arrays.fill(hourEpoch, -1);
+        Arrays.fill(dayEpoch, -1);
+    }
+
+    String cardId() {
+        return cardId;
+    }
+
+    String userId() {
+        return userId;
+    }
+
+    String status() {
+        return status;
+    }
+
+    void status(String status) {
+        this.status = status;
+    }
+
+    boolean isActive() {
+        return CardStatus.ACTIVE.equalsIgnoreCase(status);
+    }
+
+    /**
+     * Check status and limits and, when they allow the spend, commit it.
+     *
+     * @param commit called under the card lock once the spend is allowed; returning false (e.g. the write-behind
+     *               queue is full) declines the authorization without counting it
+     */
+    synchronized Decision authorize(long amount, int hour, long dailyLimit, long monthlyLimit, BooleanSupplier commit) {
+        if (!isActive()) {
+            return Decision.CARD_NOT_ACTIVE;
+        }
+        if (dailySpent(hour) + amount > dailyLimit) {
+            return Decision.DAILY_LIMIT_EXCEEDED;
+        }
+        if (monthlySpent(hour) + amount > monthlyLimit) {
+            return Decision.MONTHLY_LIMIT_EXCEEDED;
+        }
+        if (!commit.getAsBoolean()) {
+            return Decision.SYSTEM_BUSY;
+        }
+        record(amount, hour);
+        return Decision.APPROVED;
+    }
+
+    /**
+     * Count spend that happened in the given epoch hour, e.g. when rebuilding counters from the database.
+     */
+    synchronized void record(long amount, int hour) {
+        int h = hour % HOURS;
+        if (hourEpoch[h] != hour) {
+            if (hourEpoch[h] > hour) {
+                // Older than the bucket's current hour: only the monthly window still covers it.
+                addDay(amount, hour / HOURS);
+                return;
+            }
+            hourEpoch[h] = hour;
+            hourSpend[h] = 0;
+        }
+        hourSpend[h] += amount;
+        addDay(amount, hour / HOURS);
+    }
+
+    private void addDay(long amount, int day) {
+        int d = day % DAYS;
+        if (dayEpoch[d] != day) {
+            if (dayEpoch[d] > day) {
+                return;
+            }
+            dayEpoch[d] = day;
+            daySpend[d] = 0;
+        }
+        daySpend[d] += amount;
+    }
+
+    /**
+     * Spend in the last 24 hours, including the current one.
+     */
+    synchronized long dailySpent(int hour) {
+        long total = 0;
+        for (int i = 0; i < HOURS; i++) {
+            if (hourEpoch[i] > hour - HOURS && hourEpoch[i] <= hour) {
+                total += hourSpend[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Spend in the last 30 days, including the current one.
+     */
+    synchronized long monthlySpent(int hour) {
+        int day = hour / HOURS;
+        long total = 0;
+        for (int i = 0; i < DAYS; i++) {
+            if (dayEpoch[i] > day - DAYS && dayEpoch[i] <= day) {
+                total += daySpend[i];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,66 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import com.lbk.socialbanking.card.events.CardStatusChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Pushes card status changes to the in-memory authorization state of every node.
+ * <p>
+ * The node that committed the change applies it synchronously, before the API call returns, then broadcasts the
+ * card id on a Redis channel. Other nodes re-read that card's status from the database rather than trusting the
+ * message, so changes racing from two nodes still converge on the committed value.
+ * </p>
+ */
+@Component
+class CardStatusSync implements MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CardStatusSync.class);
+
+    static final String CHANNEL = "card-status";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CardAuthorizationEngine engine;
+    private final StringRedisTemplate redis;
+
+    CardStatusSync(CardAuthorizationEngine engine, StringRedisTemplate redis) {
+        this.engine = engine;
+        this.redis = redis;
+    }
+
+    @EventListener
+    public void onStatusChanged(CardStatusChangedEvent event) {
+        engine.applyStatus(event.getCardId(), event.getStatus());
+
+        try {
+            redis.convertAndSend(CHANNEL, nodeId + ':' + event.getCardId());
+            log.debug("Broadcast status {} of card: {}", event.getStatus(), event.getCardId());
+        } catch (Exception e) {
+            log.error("Failed to broadcast status of card: {}, other nodes catch up on resync", event.getCardId(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || body.startsWith(nodeId + ':')) {
+            return;
+        }
+        String cardId = body.substring(separator + 1);
+        try {
+            engine.reloadStatus(cardId);
+            log.debug("Reloaded status of card: {} after broadcast", cardId);
+        } catch (Exception e) {
+            log.error("Failed to reload status of card: {}", cardId, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+class CardStatusSyncConfig {
+
+    @Bean
+    RedisMessageListenerContainer cardStatusListenerContainer(RedisConnectionFactory cf, CardStatusSync sync) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(cf);
+        container.addMessageListener(sync, new ChannelTopic(CardStatusSync.CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,169 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind of approved authorizations: the hot path only enqueues, a flush inserts in JDBC batches.
+ * <p>
+ * Flushes run on a thread of their own rather than the shared scheduler thread, so they neither hold up the other
+ * periodic tasks nor wait behind them. A flush writes at most {@link #MAX_BATCHES_PER_FLUSH} batches; when it stops
+ * at that bound with spend still queued, the next one starts right away instead of after {@link #FLUSH_INTERVAL_MS}.
+ * </p>
+ * <p>
+ * The queue is bounded so a database outage turns into declined authorizations instead of unbounded memory.
+ * A batch that fails to insert is kept and retried first on the next flush. Inserts skip rows that are already
+ * there, so retrying a batch that was partly committed is safe. After {@link #MAX_BATCH_ATTEMPTS} failures in a row
+ * the batch is written one row at a time; a row the database rejects on its own is logged and dropped, so one bad
+ * row cannot block the queue.
+ * </p>
+ * <p>
+ * The queue only lives in memory. A crash loses what has not been flushed yet, normally less than
+ * {@link #FLUSH_INTERVAL_MS} of approvals but up to {@link #QUEUE_CAPACITY} during a database outage, and the spend
+ * counters rebuilt at the next startup will not include it.
+ * </p>
+ */
+@Component
+class SpendWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendWriter.class);
+
+    static final int QUEUE_CAPACITY = 200_000;
+    static final int BATCH_SIZE = 1_000;
+    static final long FLUSH_INTERVAL_MS = 200;
+    static final int MAX_BATCH_ATTEMPTS = 3;
+    static final int MAX_BATCHES_PER_FLUSH = 20;
+
+    private final CardAuthorizationStore store;
+    private final BlockingQueue<CardSpend> queue;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("card-spend-writer").daemon().factory());
+    private List<CardSpend> pending = new ArrayList<>(BATCH_SIZE);
+    private int failedAttempts;
+
+    SpendWriter(CardAuthorizationStore store) {
+        this(store, QUEUE_CAPACITY);
+    }
+
+    SpendWriter(CardAuthorizationStore store, int capacity) {
+        this.store = store;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return false when the queue is full and the spend was not accepted
+     */
+    boolean offer(CardSpend spend) {
+        return queue.offer(spend);
+    }
+
+    int backlog() {
+        return queue.size() + pending.size();
+    }
+
+    @PostConstruct
+    void start() {
+        scheduleFlush(FLUSH_INTERVAL_MS);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        try {
+            flusher.schedule(this::scheduledFlush, delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; shutdown() writes what is left.
+        }
+    }
+
+    private void scheduledFlush() {
+        boolean more = false;
+        try {
+            more = flush();
+        } catch (RuntimeException e) {
+            log.error("Card authorization flush failed", e);
+        } finally {
+            scheduleFlush(more ? 0 : FLUSH_INTERVAL_MS);
+        }
+    }
+
+    /**
+     * Write up to {@link #MAX_BATCHES_PER_FLUSH} batches.
+     *
+     * @return true when it stopped at that bound with spend still queued
+     */
+    synchronized boolean flush() {
+        int written = 0;
+        long startTime = System.currentTimeMillis();
+        for (int batches = 0; batches < MAX_BATCHES_PER_FLUSH; batches++) {
+            if (pending.isEmpty() && queue.drainTo(pending, BATCH_SIZE) == 0) {
+                break;
+            }
+            try {
+                store.insert(pending);
+                failedAttempts = 0;
+            } catch (Exception e) {
+                if (++failedAttempts < MAX_BATCH_ATTEMPTS) {
+                    log.error("Failed to write {} card authorizations, will retry ({} queued)",
+                            pending.size(), queue.size(), e);
+                    return false;
+                }
+                log.error("Failed to write {} card authorizations {} times, writing them one by one",
+                        pending.size(), failedAttempts, e);
+                failedAttempts = 0;
+                if (!insertOneByOne()) {
+                    return false;
+                }
+            }
+            written += pending.size();
+            pending = new ArrayList<>(BATCH_SIZE);
+        }
+        if (written > 0) {
+            log.debug("Wrote {} card authorizations in {}ms", written, System.currentTimeMillis() - startTime);
+        }
+        return !queue.isEmpty();
+    }
+
+    /**
+     * @return false when a row failed for a reason other than the row itself; it and the rows after it stay pending
+     */
+    private boolean insertOneByOne() {
+        for (int i = 0; i < pending.size(); i++) {
+            CardSpend spend = pending.get(i);
+            try {
+                store.insert(List.of(spend));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Dropping card authorization {} rejected by the database: card {}, user {}, amount {}, "
+                                + "hour {}, at {}", spend.authorizationId(), spend.cardId(), spend.userId(),
+                        spend.amount(), spend.epochHour(), spend.authorizedAt(), e);
+            } catch (RuntimeException e) {
+                pending = new ArrayList<>(pending.subList(i, pending.size()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        while (flush()) {
+            // Write everything that is queued, bound by bound.
+        }
+        if (backlog() > 0) {
+            log.error("{} card authorizations could not be written before shutdown", backlog());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.lbk.socialbanking.card.internal.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CardAuthorizationProperties.class)
+class CardAuthorizationConfig {
+}
@@ -0,0 +1,12 @@
+package com.lbk.socialbanking.card.internal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Spending limits applied to every card by the authorization engine: a rolling 24 hour and a rolling 30 day window.
+ */
+@ConfigurationProperties(prefix = "app.card-authorization")
+public record CardAuthorizationProperties(BigDecimal dailyLimit, BigDecimal monthlyLimit) {
+}
@@ -2,9 +2,40 @@ package com.lbk.socialbanking.card.internal.persistence.repo;
 
 import com.lbk.socialbanking.card.internal.persistence.entity.DebitCardEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-interface DebitCardRepository extends JpaRepository<DebitCardEntity, String> {
+public interface DebitCardRepository extends JpaRepository<DebitCardEntity, String> {
     List<DebitCardEntity> findByUserId(String userId);
+
+    @Query("""
+            SELECT c.cardId AS cardId, c.name AS name, s.status AS status,
+                   d.issuer AS issuer, d.number AS number,
+                   g.color AS color, g.borderColor AS borderColor
+            FROM DebitCardEntity c
+            LEFT JOIN DebitCardStatusEntity s ON s.cardId = c.cardId
+            LEFT JOIN DebitCardDetailsEntity d ON d.cardId = c.cardId
+            LEFT JOIN DebitCardDesignEntity g ON g.cardId = c.cardId
+            WHERE c.userId = :userId
+            ORDER BY c.cardId
+            """)
+    List<CardSummaryView> findCardSummariesByUserId(@Param("userId") String userId);
+
+    interface CardSummaryView {
+        String getCardId();
+
+        String getName();
+
+        String getStatus();
+
+        String getIssuer();
+
+        String getNumber();
+
+        String getColor();
+
+        String getBorderColor();
+    }
 }
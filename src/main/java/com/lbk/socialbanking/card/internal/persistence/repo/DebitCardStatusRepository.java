@@ -2,10 +2,22 @@ package com.lbk.socialbanking.card.internal.persistence.repo;
 
 import com.lbk.socialbanking.card.internal.persistence.entity.DebitCardStatusEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-interface DebitCardStatusRepository extends JpaRepository<DebitCardStatusEntity, String> {
+public interface DebitCardStatusRepository extends JpaRepository<DebitCardStatusEntity, String> {
     List<DebitCardStatusEntity> findByUserId(String userId);
-}
 
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE DebitCardStatusEntity s SET s.status = :toStatus
+            WHERE s.cardId = :cardId AND s.userId = :userId AND s.status = :fromStatus
+            """)
+    int updateStatus(@Param("userId") String userId, @Param("cardId") String cardId,
+                     @Param("fromStatus") String fromStatus, @Param("toStatus") String toStatus);
+}
@@ -0,0 +1,102 @@
+package com.lbk.socialbanking.card.internal.service;
+
+import com.lbk.socialbanking.card.api.CardService;
+import com.lbk.socialbanking.card.api.dto.CardStatus;
+import com.lbk.socialbanking.card.api.dto.CardSummary;
+import com.lbk.socialbanking.card.events.CardStatusChangedEvent;
+import com.lbk.socialbanking.card.internal.persistence.repo.DebitCardStatusRepository;
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.dto.PageInfo;
+import com.lbk.socialbanking.common.api.dto.PageRequest;
+import com.lbk.socialbanking.common.api.dto.PaginatedResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+class CardServiceImpl implements CardService {
+
+    private static final Logger log = LoggerFactory.getLogger(CardServiceImpl.class);
+
+    private final CardSummaryLoader loader;
+    private final DebitCardStatusRepository statuses;
+    private final ApplicationEventPublisher eventPublisher;
+
+    CardServiceImpl(CardSummaryLoader loader, DebitCardStatusRepository statuses, ApplicationEventPublisher eventPublisher) {
+        this.loader = loader;
+        this.statuses = statuses;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public List<CardSummary> listCards(String userId) {
+        log.debug("Fetching cards for user: {}", userId);
+
+        var cards = loader.load(userId);
+
+        log.info("Retrieved {} cards for user: {}", cards.size(), userId);
+        return cards;
+    }
+
+    /**
+     * Users hold a handful of cards, so pages are cut from the cached list rather than queried.
+     */
+    @Override
+    public PaginatedResponse<CardSummary> listCards(String userId, PageRequest pageRequest) {
+        log.debug("Fetching paginated cards for user: {}, page: {}, limit: {}", userId, pageRequest.page(), pageRequest.limit());
+
+        var allCards = loader.load(userId);
+
+        var pageData = allCards.stream()
+                .skip(pageRequest.getOffset())
+                .limit(pageRequest.limit())
+                .toList();
+
+        var pageInfo = PageInfo.of(pageRequest.page(), pageRequest.limit(), allCards.size());
+
+        log.info("Retrieved {} cards for user: {} (page {} of {})", pageData.size(), userId, pageRequest.page(), pageInfo.totalPages());
+        return PaginatedResponse.of(pageData, pageInfo);
+    }
+
+    @Override
+    public CardStatus freeze(String userId, String cardId) {
+        return changeStatus(userId, cardId, CardStatus.ACTIVE, CardStatus.FROZEN);
+    }
+
+    @Override
+    public CardStatus unfreeze(String userId, String cardId) {
+        return changeStatus(userId, cardId, CardStatus.FROZEN, CardStatus.ACTIVE);
+    }
+
+    /**
+     * Guarded update: only a card in {@code from} moves to {@code to}, so a closed or blocked card can never be
+     * unfrozen into an active one. Listeners of {@link CardStatusChangedEvent} push the change to every node.
+     */
+    private CardStatus changeStatus(String userId, String cardId, String from, String to) {
+        log.info("Changing status of card: {} for user: {} from {} to {}", cardId, userId, from, to);
+
+        if (statuses.updateStatus(userId, cardId, from, to) == 0) {
+            var current = statuses.findById(cardId)
+                    .filter(s -> userId.equals(s.getUserId()))
+                    .orElseThrow(() -> {
+                        log.warn("Card not found: {} for user: {}", cardId, userId);
+                        return new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "Card not found");
+                    });
+            if (to.equalsIgnoreCase(current.getStatus())) {
+                return new CardStatus(cardId, to);
+            }
+            log.warn("Card: {} cannot change from {} to {}", cardId, current.getStatus(), to);
+            throw new ApiException(HttpStatus.CONFLICT, "INVALID_CARD_STATUS",
+                    "Card in status " + current.getStatus() + " cannot change to " + to);
+        }
+
+        loader.evict(userId);
+        eventPublisher.publishEvent(new CardStatusChangedEvent(userId, cardId, to, LocalDateTime.now()));
+        return new CardStatus(cardId, to);
+    }
+}
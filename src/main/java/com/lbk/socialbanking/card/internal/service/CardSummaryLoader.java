@@ -0,0 +1,61 @@
+package com.lbk.socialbanking.card.internal.service;
+
+import com.lbk.socialbanking.card.api.dto.CardSummary;
+import com.lbk.socialbanking.card.internal.persistence.repo.DebitCardRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads and caches the card summaries of a user. Kept apart from {@link CardServiceImpl} so that the service's
+ * own calls go through the cache proxy.
+ */
+@Component
+class CardSummaryLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(CardSummaryLoader.class);
+
+    static final String CARDS_CACHE = "cards";
+
+    private final DebitCardRepository cards;
+
+    CardSummaryLoader(DebitCardRepository cards) {
+        this.cards = cards;
+    }
+
+    /**
+     * One query joins debit_cards with its status, details and design rows on card_id.
+     */
+    @Cacheable(cacheNames = CARDS_CACHE, key = "#userId")
+    public List<CardSummary> load(String userId) {
+        long startTime = System.currentTimeMillis();
+
+        // ArrayList rather than toList(): the cached value must be deserializable from Redis.
+        var result = new ArrayList<CardSummary>();
+        for (var c : cards.findCardSummariesByUserId(userId)) {
+            result.add(new CardSummary(
+                    c.getCardId(),
+                    c.getName(),
+                    c.getStatus(),
+                    c.getIssuer(),
+                    c.getNumber(),
+                    c.getColor(),
+                    c.getBorderColor()
+            ));
+        }
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.debug("Loaded {} cards for user: {} in {}ms", result.size(), userId, duration);
+        return result;
+    }
+
+    @CacheEvict(cacheNames = CARDS_CACHE, key = "#userId")
+    public void evict(String userId) {
+        log.debug("Evicted cards cache for user: {}", userId);
+    }
+}
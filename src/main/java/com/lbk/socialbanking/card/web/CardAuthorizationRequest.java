@@ -0,0 +1,15 @@
+package com.lbk.socialbanking.card.web;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record CardAuthorizationRequest(
+        @NotNull(message = "amount is required")
+        @DecimalMin(value = "0.01", message = "amount must be at least 0.01")
+        @Digits(integer = 13, fraction = 2, message = "amount must have at most 2 decimals")
+        BigDecimal amount
+) {
+}
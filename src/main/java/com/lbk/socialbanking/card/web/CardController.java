@@ -0,0 +1,73 @@
+package com.lbk.socialbanking.card.web;
+
+import com.lbk.socialbanking.card.api.CardAuthorizationService;
+import com.lbk.socialbanking.card.api.CardService;
+import com.lbk.socialbanking.card.api.dto.CardAuthorization;
+import com.lbk.socialbanking.card.api.dto.CardStatus;
+import com.lbk.socialbanking.card.api.dto.CardSummary;
+import com.lbk.socialbanking.common.api.dto.PageRequest;
+import com.lbk.socialbanking.common.api.dto.PaginatedResponse;
+import com.lbk.socialbanking.common.api.dto.SuccessResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@SecurityRequirement(name = "ฺBearer Token")
+@Tag(name = "Card", description = "Endpoints for retrieving user debit cards")
+@RestController
+@RequestMapping("/v1/cards")
+@Validated
+public class CardController {
+
+    private final CardService cardService;
+    private final CardAuthorizationService cardAuthorizationService;
+
+    public CardController(CardService cardService, CardAuthorizationService cardAuthorizationService) {
+        this.cardService = cardService;
+        this.cardAuthorizationService = cardAuthorizationService;
+    }
+
+    @Operation(summary = "Get Debit Cards", description = "Retrieve a list of debit card summaries for the authenticated user")
+    @GetMapping
+    public PaginatedResponse<CardSummary> list(
+            Authentication auth,
+            @RequestParam(defaultValue = "1") @Min(1) Integer page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) Integer limit
+    ) {
+        return cardService.listCards(auth.getName(), new PageRequest(page, limit));
+    }
+
+    @Operation(summary = "Authorize Card Spend", description = "Approve or decline a spend on a debit card against its status and rolling daily and monthly limits")
+    @PostMapping("/{cardId}/authorizations")
+    public SuccessResponse<CardAuthorization> authorize(
+            Authentication auth,
+            @PathVariable String cardId,
+            @RequestBody @Valid CardAuthorizationRequest request
+    ) {
+        return SuccessResponse.of(cardAuthorizationService.authorize(auth.getName(), cardId, request.amount()));
+    }
+
+    @Operation(summary = "Freeze Card", description = "Freeze an active debit card; authorizations are declined on every node right away")
+    @PostMapping("/{cardId}/freeze")
+    public SuccessResponse<CardStatus> freeze(Authentication auth, @PathVariable String cardId) {
+        return SuccessResponse.of(cardService.freeze(auth.getName(), cardId));
+    }
+
+    @Operation(summary = "Unfreeze Card", description = "Unfreeze a frozen debit card")
+    @PostMapping("/{cardId}/unfreeze")
+    public SuccessResponse<CardStatus> unfreeze(Authentication auth, @PathVariable String cardId) {
+        return SuccessResponse.of(cardService.unfreeze(auth.getName(), cardId));
+    }
+}
@@ -0,0 +1,299 @@
+package com.lbk.socialbanking.common.api;
+
+import com.lbk.socialbanking.common.config.CursorProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Encodes and verifies the opaque cursors of keyset-paginated endpoints.
+ * <p>
+ * A cursor is Base64url (no padding) of {@code version(1) | flags(1) | field* | tag(8)}. Each field is a type byte
+ * followed by a zigzag varint ({@link Writer#putLong}, {@link Writer#putTimestamp}) or a varint length and UTF-8
+ * bytes ({@link Writer#putString}); bit 0 of the flags is the sort direction. The tag is HMAC-SHA256 over the
+ * {@link Scope} and everything before the tag, truncated to 8 bytes, so a cursor cannot be edited and only decodes
+ * for the listing that issued it.
+ * </p>
+ * <p>
+ * Oversized input and unknown versions are rejected before the HMAC is computed; every rejection is a {@code 400}.
+ * </p>
+ */
+@Component
+public class CursorCodec {
+
+    static final byte VERSION = 1;
+    static final int TAG_LENGTH = 8;
+    // Far above any real cursor; longer input is rejected before it is decoded.
+    static final int MAX_TOKEN_LENGTH = 256;
+
+    private static final int HEADER_LENGTH = 2;
+    private static final int FLAG_DESCENDING = 1;
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_TIMESTAMP = 2;
+    private static final byte TYPE_STRING = 3;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    // Mac instances are not thread-safe; one per request thread avoids a provider lookup per cursor.
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @Autowired
+    public CursorCodec(CursorProperties props) {
+        this(props.secret().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public CursorCodec(byte[] secret) {
+        if (secret.length < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("cursor secret must be at least " + MIN_SECRET_LENGTH + " bytes");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        newMac();
+    }
+
+    /**
+     * @param name a name unique to one listing, e.g. {@code "account.goals"}
+     */
+    public static Scope scope(String name) {
+        return new Scope(name);
+    }
+
+    public Writer writer(Scope scope, boolean descending) {
+        return new Writer(scope, descending);
+    }
+
+    /**
+     * Verify a cursor and return a reader over its fields.
+     *
+     * @throws ApiException when the cursor is malformed, was issued for another scope or has been tampered with
+     */
+    public Reader reader(Scope scope, String cursor) {
+        if (cursor == null || cursor.isEmpty() || cursor.length() > MAX_TOKEN_LENGTH) {
+            throw invalid();
+        }
+        byte[] bytes;
+        try {
+            bytes = DECODER.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+        int end = bytes.length - TAG_LENGTH;
+        if (end < HEADER_LENGTH || bytes[0] != VERSION || (bytes[1] & ~FLAG_DESCENDING) != 0) {
+            throw invalid();
+        }
+
+        Mac mac = macs.get();
+        mac.update(scope.name);
+        mac.update(bytes, 0, end);
+        byte[] expected = mac.doFinal();
+        int diff = 0;
+        for (int i = 0; i < TAG_LENGTH; i++) {
+            diff |= expected[i] ^ bytes[end + i];
+        }
+        if (diff != 0) {
+            throw invalid();
+        }
+        return new Reader(bytes, end);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC unavailable for cursors", e);
+        }
+    }
+
+    private static ApiException invalid() {
+        return new ApiException(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", "cursor is invalid");
+    }
+
+    private static long toMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    /**
+     * The listing a cursor belongs to. Create once per listing and keep in a constant.
+     */
+    public static final class Scope {
+
+        // Length-prefixed so that scope and payload bytes cannot run into each other.
+        private final byte[] name;
+
+        private Scope(String name) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length == 0 || bytes.length > 255) {
+                throw new IllegalArgumentException("scope name must be 1 to 255 bytes");
+            }
+            this.name = new byte[bytes.length + 1];
+            this.name[0] = (byte) bytes.length;
+            System.arraycopy(bytes, 0, this.name, 1, bytes.length);
+        }
+    }
+
+    /**
+     * Appends fields in the order the matching {@link Reader} reads them.
+     */
+    public final class Writer {
+
+        private final Scope scope;
+        private byte[] buf = new byte[64];
+        private int len;
+
+        private Writer(Scope scope, boolean descending) {
+            this.scope = scope;
+            buf[len++] = VERSION;
+            buf[len++] = (byte) (descending ? FLAG_DESCENDING : 0);
+        }
+
+        public Writer putLong(long value) {
+            return putVarintField(TYPE_LONG, value);
+        }
+
+        /**
+         * Stored with microsecond precision, matching {@code DATETIME(6)}.
+         */
+        public Writer putTimestamp(Instant value) {
+            return putVarintField(TYPE_TIMESTAMP, toMicros(value));
+        }
+
+        public Writer putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(1 + 5 + bytes.length);
+            buf[len++] = TYPE_STRING;
+            putVarint(bytes.length);
+            System.arraycopy(bytes, 0, buf, len, bytes.length);
+            len += bytes.length;
+            return this;
+        }
+
+        public String encode() {
+            ensure(MAC_LENGTH);
+            Mac mac = macs.get();
+            mac.update(scope.name);
+            mac.update(buf, 0, len);
+            try {
+                mac.doFinal(buf, len);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            String cursor = ENCODER.encodeToString(Arrays.copyOf(buf, len + TAG_LENGTH));
+            if (cursor.length() > MAX_TOKEN_LENGTH) {
+                throw new IllegalStateException("cursor exceeds " + MAX_TOKEN_LENGTH + " characters");
+            }
+            return cursor;
+        }
+
+        private Writer putVarintField(byte type, long value) {
+            ensure(1 + 10);
+            buf[len++] = type;
+            putVarint((value << 1) ^ (value >> 63));
+            return this;
+        }
+
+        private void putVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buf[len++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[len++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+            }
+        }
+    }
+
+    /**
+     * Reads the fields of a verified cursor in the order they were written.
+     */
+    public static final class Reader {
+
+        private final byte[] buf;
+        private final int end;
+        private int pos = HEADER_LENGTH;
+
+        private Reader(byte[] buf, int end) {
+            this.buf = buf;
+            this.end = end;
+        }
+
+        public boolean descending() {
+            return (buf[1] & FLAG_DESCENDING) != 0;
+        }
+
+        public long getLong() {
+            return getVarintField(TYPE_LONG);
+        }
+
+        public Instant getTimestamp() {
+            long micros = getVarintField(TYPE_TIMESTAMP);
+            return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000);
+        }
+
+        public String getString() {
+            expect(TYPE_STRING);
+            long length = getVarint();
+            if (length > end - pos) {
+                throw invalid();
+            }
+            String value = new String(buf, pos, (int) length, StandardCharsets.UTF_8);
+            pos += (int) length;
+            return value;
+        }
+
+        /**
+         * @throws ApiException when fields are left over, i.e. the cursor has another layout
+         */
+        public void finish() {
+            if (pos != end) {
+                throw invalid();
+            }
+        }
+
+        private long getVarintField(byte type) {
+            expect(type);
+            long raw = getVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        private void expect(byte type) {
+            if (pos >= end || buf[pos] != type) {
+                throw invalid();
+            }
+            pos++;
+        }
+
+        private long getVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= end) {
+                    throw invalid();
+                }
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw invalid();
+        }
+    }
+}
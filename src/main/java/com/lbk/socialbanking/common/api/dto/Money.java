@@ -0,0 +1,156 @@
+package com.lbk.socialbanking.common.api.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * An amount of money held as a count of minor units (hundredths, matching the {@code DECIMAL(15,2)} amount columns)
+ * plus an ISO 4217 currency code, which is null when the source row has none.
+ * <p>
+ * Serialized as {@code {"amount": 1000.50, "currency": "THB"}}; the amount is always written with exactly two
+ * decimals, so the same value always produces the same JSON.
+ * </p>
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public record Money(
+        long minorUnits,
+        String currency
+) {
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    public static Money of(long minorUnits, String currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * @param amount a decimal amount with at most two decimals, or null for zero
+     * @throws ArithmeticException when the amount has more than two decimals or does not fit
+     */
+    public static Money of(BigDecimal amount, String currency) {
+        return new Money(amount == null ? 0 : toMinorUnits(amount), currency);
+    }
+
+    public static Money zero(String currency) {
+        return new Money(0, currency);
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the currencies differ
+     */
+    public Money plus(Money other) {
+        if (!Objects.equals(currency, other.currency)) {
+            throw new IllegalArgumentException("Cannot add " + other.currency + " to " + currency);
+        }
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * The amount as a plain decimal string with exactly two decimals, e.g. {@code -12.05}.
+     */
+    public String toPlainString() {
+        long abs = Math.abs(minorUnits);
+        long major = abs / MINOR_PER_MAJOR;
+        long minor = abs % MINOR_PER_MAJOR;
+        var sb = new StringBuilder(24);
+        if (minorUnits < 0) {
+            sb.append('-');
+        }
+        sb.append(major).append('.');
+        if (minor < 10) {
+            sb.append('0');
+        }
+        return sb.append(minor).toString();
+    }
+
+    @Override
+    public String toString() {
+        return currency == null ? toPlainString() : currency + " " + toPlainString();
+    }
+
+    static final class Serializer extends StdSerializer<Money> {
+
+        Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            writeFields(value, gen);
+            gen.writeEndObject();
+        }
+
+        // Needed by mappers with default typing, such as the Redis cache serializer.
+        @Override
+        public void serializeWithType(Money value, JsonGenerator gen, SerializerProvider provider,
+                                      TypeSerializer typeSer) throws IOException {
+            WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(value, JsonToken.START_OBJECT));
+            writeFields(value, gen);
+            typeSer.writeTypeSuffix(gen, typeId);
+        }
+
+        private static void writeFields(Money value, JsonGenerator gen) throws IOException {
+            gen.writeFieldName("amount");
+            gen.writeNumber(value.toPlainString());
+            gen.writeStringField("currency", value.currency());
+        }
+    }
+
+    static final class Deserializer extends StdDeserializer<Money> {
+
+        Deserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            BigDecimal amount = null;
+            String currency = null;
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            }
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "amount" -> amount = p.getDecimalValue();
+                    case "currency" -> currency = p.getValueAsString();
+                    default -> p.skipChildren();
+                }
+            }
+            if (amount == null) {
+                return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+            }
+            try {
+                return Money.of(amount, currency);
+            } catch (ArithmeticException e) {
+                return (Money) ctxt.handleWeirdNumberValue(Money.class, amount, "more than %d decimals", SCALE);
+            }
+        }
+    }
+}
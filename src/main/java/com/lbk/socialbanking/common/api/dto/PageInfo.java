@@ -1,17 +1,26 @@
 package com.lbk.socialbanking.common.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
- * Pagination information for responses
+ * Pagination information for responses. Uncounted pages carry no {@code total}/{@code totalPages}, and pages fetched
+ * by cursor carry no {@code page}.
  */
 public record PageInfo(
-        Integer page,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Integer page,
         Integer limit,
-        Long total,
-        Integer totalPages
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long total,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Integer totalPages,
+        boolean hasNext,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String nextCursor
 ) {
     public static PageInfo of(int page, int limit, long total) {
         int totalPages = (int) Math.ceil((double) total / limit);
-        return new PageInfo(page, limit, total, totalPages);
+        return new PageInfo(page, limit, total, totalPages, page < totalPages, null);
+    }
+
+    public static PageInfo uncounted(Integer page, int limit, boolean hasNext, String nextCursor) {
+        return new PageInfo(page, limit, null, null, hasNext, nextCursor);
     }
 
     public static PageInfo fromSpringPage(org.springframework.data.domain.Page<?> springPage) {
@@ -19,7 +28,9 @@ public record PageInfo(
                 springPage.getNumber() + 1,
                 springPage.getSize(),
                 springPage.getTotalElements(),
-                springPage.getTotalPages()
+                springPage.getTotalPages(),
+                springPage.hasNext(),
+                null
         );
     }
 }
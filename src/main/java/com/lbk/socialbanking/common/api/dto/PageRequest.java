@@ -2,10 +2,19 @@ package com.lbk.socialbanking.common.api.dto;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.springframework.data.domain.Sort;
 
+/**
+ * @param counted whether to run a count query and report {@code total}/{@code totalPages}; when false, one page is
+ *                fetched as {@code limit + 1} rows and only {@code hasNext} is reported
+ * @param cursor  an opaque keyset cursor from {@link PageInfo#nextCursor()}; when set, {@code page} is ignored and
+ *                the request is never counted
+ */
 public record PageRequest(
         @Min(1) Integer page,
-        @Min(1) @Max(100) Integer limit
+        @Min(1) @Max(100) Integer limit,
+        boolean counted,
+        String cursor
 ) {
     public static final int DEFAULT_PAGE = 1;
     public static final int DEFAULT_LIMIT = 20;
@@ -13,12 +22,22 @@ public record PageRequest(
     public PageRequest {
         if (page == null) page = DEFAULT_PAGE;
         if (limit == null) limit = DEFAULT_LIMIT;
+        if (cursor != null && cursor.isBlank()) cursor = null;
+        if (cursor != null) counted = false;
+    }
+
+    public PageRequest(Integer page, Integer limit) {
+        this(page, limit, true, null);
     }
 
     public org.springframework.data.domain.Pageable toPageable() {
         return org.springframework.data.domain.PageRequest.of(page - 1, limit);
     }
 
+    public org.springframework.data.domain.Pageable toPageable(Sort sort) {
+        return org.springframework.data.domain.PageRequest.of(page - 1, limit, sort);
+    }
+
     public int getOffset() {
         return (page - 1) * limit;
     }
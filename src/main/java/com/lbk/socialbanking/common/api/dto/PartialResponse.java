@@ -0,0 +1,13 @@
+package com.lbk.socialbanking.common.api.dto;
+
+/**
+ * A response that may leave out secondary sections which failed or missed their latency budget. Caches keep a partial
+ * response only briefly, so that the missing sections are retried soon.
+ */
+public interface PartialResponse {
+
+    /**
+     * Not a bean getter, so it is not serialized.
+     */
+    boolean partial();
+}
@@ -1,19 +1,25 @@
 package com.lbk.socialbanking.common.config;
 
+import com.lbk.socialbanking.common.api.dto.PartialResponse;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    static final Duration PARTIAL_TTL = Duration.ofSeconds(30);
+
     @Bean
     RedisCacheManager cacheManager(RedisConnectionFactory cf) {
 
@@ -31,6 +37,25 @@ public class CacheConfig {
 
         return RedisCacheManager.builder(cf)
                 .cacheDefaults(defaultConfig)
+                // Greetings and profiles almost never change and are evicted explicitly on update.
+                .withCacheConfiguration("greetings", defaultConfig.entryTtl(Duration.ofDays(7)))
+                .withCacheConfiguration("customerProfile", defaultConfig.entryTtl(Duration.ofDays(7)))
+                // Evicted on status changes; the TTL bounds staleness for cards issued or closed elsewhere.
+                .withCacheConfiguration("cards", defaultConfig.entryTtl(Duration.ofMinutes(30)))
+                // Updated on account open/close; the TTL bounds staleness for accounts provisioned elsewhere.
+                .withCacheConfiguration("accountPresence", defaultConfig.entryTtl(Duration.ofHours(1)))
+                // Evicted on completed transactions and account open/close; the TTL covers balance updates made elsewhere.
+                .withCacheConfiguration("accountTotals", defaultConfig.entryTtl(Duration.ofMinutes(10)))
+                // Evicted on login, card, account and transaction events.
+                .withCacheConfiguration("dashboardData", defaultConfig.entryTtl(shortTtlWhenPartial(PARTIAL_TTL)))
                 .build();
     }
+
+    /**
+     * Partial responses expire after {@code partialTtl} so that their missing sections are retried; complete ones are
+     * kept until evicted.
+     */
+    static RedisCacheWriter.TtlFunction shortTtlWhenPartial(Duration partialTtl) {
+        return (key, value) -> value instanceof PartialResponse response && response.partial() ? partialTtl : Duration.ZERO;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.lbk.socialbanking.common.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CursorProperties.class)
+class CursorConfig {
+}
@@ -0,0 +1,10 @@
+package com.lbk.socialbanking.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Key for the HMAC tag of pagination cursors. Rotating it invalidates every cursor handed out so far.
+ */
+@ConfigurationProperties(prefix = "app.cursor")
+public record CursorProperties(String secret) {
+}
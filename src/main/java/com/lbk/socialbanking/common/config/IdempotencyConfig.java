@@ -0,0 +1,36 @@
+package com.lbk.socialbanking.common.config;
+
+import com.lbk.socialbanking.common.internal.IdempotencyFilter;
+import com.lbk.socialbanking.common.internal.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+class IdempotencyConfig {
+
+    @Bean
+    IdempotencyStore idempotencyStore(StringRedisTemplate redis, ObjectMapper objectMapper, IdempotencyProperties props) {
+        return new IdempotencyStore(redis, objectMapper, props);
+    }
+
+    /**
+     * Registered after the security filter chain, so the authenticated user is known. The claim refresher is a plain
+     * executor rather than a bean, which would displace the scheduler behind {@code @Scheduled}.
+     */
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper) {
+        var refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("idempotency-refresh").daemon().factory());
+        var registration = new FilterRegistrationBean<>(new IdempotencyFilter(store, objectMapper, refresher));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
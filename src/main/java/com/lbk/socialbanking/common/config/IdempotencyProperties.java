@@ -0,0 +1,15 @@
+package com.lbk.socialbanking.common.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Lifetimes of {@code Idempotency-Key} records in Redis.
+ *
+ * @param ttl        how long a completed response is kept for replay
+ * @param pendingTtl how long a key stays claimed by a request that has not finished, e.g. after a crash
+ */
+@ConfigurationProperties(prefix = "app.idempotency")
+public record IdempotencyProperties(Duration ttl, Duration pendingTtl) {
+}
@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
@@ -217,6 +218,31 @@ public class GlobalExceptionHandler {
         return badRequest("INVALID_REQUEST_BODY", "Request body is missing or malformed");
     }
 
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ApiResponse(
+            responseCode = "503",
+            description = "Service Unavailable - Too many streaming responses in progress",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorEnvelope.class),
+                    examples = @ExampleObject(value = """
+                            {
+                              "error": {
+                                "status": 503,
+                                "code": "SERVICE_UNAVAILABLE",
+                                "message": "Too many requests in progress, retry later",
+                                "traceId": "abc123def456"
+                              }
+                            }
+                            """)
+            )
+    )
+    public ResponseEntity<ErrorEnvelope> handleTaskRejected(TaskRejectedException ex, HttpServletRequest req) {
+        logWarn(req, "Async task rejected", ex.getMessage());
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE", "Too many requests in progress, retry later");
+    }
+
     @ExceptionHandler(NoResourceFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ApiResponse(
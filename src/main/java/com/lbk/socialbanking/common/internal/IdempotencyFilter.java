@@ -0,0 +1,289 @@
+package com.lbk.socialbanking.common.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lbk.socialbanking.common.api.dto.ErrorEnvelope;
+import com.lbk.socialbanking.common.api.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Makes authenticated writes that carry an {@code Idempotency-Key} header safe to retry.
+ * <p>
+ * The first request with a key claims it in Redis and runs; a successful response is stored under the key and a
+ * retry with the same key and payload gets that response back, marked with {@code Idempotent-Replayed: true},
+ * without reaching the controller. A failed request posted nothing, so its claim is dropped and it may be retried.
+ * A key that is still running is a {@code 409}, and a key reused with another payload is a {@code 422}.
+ * </p>
+ * <p>
+ * The claim expires after the pending TTL, so that a crashed node does not hold a key forever; while its request
+ * runs, the filter keeps extending it. Completing and releasing only act on the request's own claim.
+ * </p>
+ * <p>
+ * Requests without the header are passed through untouched. When Redis is unavailable, keyed requests are refused
+ * with a {@code 503} rather than risking a double post.
+ * </p>
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Pattern KEY_PATTERN = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService refresher;
+
+    /**
+     * @param refresher runs the claim refreshes; owned by the filter and shut down with it
+     */
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, ScheduledExecutorService refresher) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.refresher = refresher;
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(HEADER) == null || !WRITE_METHODS.contains(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            // Unauthenticated requests are refused further down; there is no user to scope the key to.
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(HEADER);
+        if (!KEY_PATTERN.matcher(key).matches()) {
+            writeError(response, HttpStatus.BAD_REQUEST, "VALIDATION_ERROR",
+                    HEADER + " must be 1 to 64 letters, digits, '.', '_' or '-'");
+            return;
+        }
+
+        String userId = auth.getName();
+        var cached = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(request, cached.body);
+
+        String claimId = UUID.randomUUID().toString();
+        IdempotencyRecord existing;
+        try {
+            existing = store.claim(userId, key, fingerprint, claimId);
+        } catch (DataAccessException e) {
+            log.error("Idempotency store unavailable for user: {}", userId, e);
+            writeError(response, HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE",
+                    "Idempotent requests cannot be accepted right now");
+            return;
+        }
+        if (existing != null) {
+            replay(response, existing, fingerprint, userId, key);
+            return;
+        }
+
+        var wrapped = new ContentCachingResponseWrapper(response);
+        long every = store.refreshInterval().toMillis();
+        ScheduledFuture<?> refresh = refresher.scheduleAtFixedRate(() -> refreshQuietly(userId, key, claimId),
+                every, every, TimeUnit.MILLISECONDS);
+        boolean succeeded = false;
+        try {
+            filterChain.doFilter(cached, wrapped);
+            int status = wrapped.getStatus();
+            succeeded = status >= 200 && status < 300;
+        } finally {
+            refresh.cancel(false);
+            if (succeeded) {
+                completeQuietly(userId, key, claimId, IdempotencyRecord.completed(fingerprint, wrapped.getStatus(),
+                        wrapped.getContentType(), wrapped.getContentAsByteArray()));
+            } else {
+                releaseQuietly(userId, key, claimId);
+            }
+            wrapped.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyRecord existing, String fingerprint, String userId,
+                        String key) throws IOException {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED",
+                    HEADER + " was already used for a different request");
+            return;
+        }
+        if (existing.isPending()) {
+            writeError(response, HttpStatus.CONFLICT, "IDEMPOTENCY_KEY_IN_USE",
+                    "A request with this " + HEADER + " is still being processed");
+            return;
+        }
+        log.info("Replaying response {} for idempotency key {} of user: {}", existing.status(), key, userId);
+        response.setStatus(existing.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (existing.contentType() != null) {
+            response.setContentType(existing.contentType());
+        }
+        if (existing.body() != null) {
+            response.setContentLength(existing.body().length);
+            response.getOutputStream().write(existing.body());
+        }
+    }
+
+    private void refreshQuietly(String userId, String key, String claimId) {
+        try {
+            if (!store.refresh(userId, key, claimId)) {
+                log.warn("Idempotency key {} of user: {} expired while its request was running", key, userId);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to refresh idempotency key of user: {}", userId, e);
+        }
+    }
+
+    /**
+     * The write went through either way, so a failure here only loses the replay.
+     */
+    private void completeQuietly(String userId, String key, String claimId, IdempotencyRecord record) {
+        try {
+            if (!store.complete(userId, key, claimId, record)) {
+                log.warn("Idempotency key {} of user: {} expired before its response could be stored", key, userId);
+            }
+        } catch (DataAccessException e) {
+            // A retry within the pending TTL still sees the claim.
+            log.error("Failed to store the response for idempotency key of user: {}", userId, e);
+        }
+    }
+
+    private void releaseQuietly(String userId, String key, String claimId) {
+        try {
+            store.release(userId, key, claimId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to release idempotency key of user: {}; it expires with the pending TTL", userId, e);
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String code, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorEnvelope(new ErrorResponse(status.value(), code, message, TraceIdProvider.getTraceId())));
+    }
+
+    /**
+     * SHA-256 over method, path, query and body, so that a key cannot be replayed for another request.
+     */
+    static String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ' ');
+        digest.update(request.getRequestURI().getBytes(StandardCharsets.UTF_8));
+        if (request.getQueryString() != null) {
+            digest.update((byte) '?');
+            digest.update(request.getQueryString().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) '\n');
+        return Base64.getEncoder().encodeToString(digest.digest(body));
+    }
+
+    /**
+     * Reads the body up front so it can be fingerprinted and then read again by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            var in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so everything is available at once.
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.lbk.socialbanking.common.internal;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * What is stored for an {@code Idempotency-Key}: the fingerprint of the request that claimed it and, once that
+ * request has finished, its response.
+ *
+ * @param status  0 while the claiming request is still running
+ * @param claimId set while pending; identifies the request holding the claim, so that only it can refresh, complete
+ *                or release the key
+ */
+record IdempotencyRecord(String fingerprint, int status, String contentType, byte[] body, String claimId) {
+
+    static IdempotencyRecord pending(String fingerprint, String claimId) {
+        return new IdempotencyRecord(fingerprint, 0, null, null, claimId);
+    }
+
+    static IdempotencyRecord completed(String fingerprint, int status, String contentType, byte[] body) {
+        return new IdempotencyRecord(fingerprint, status, contentType, body, null);
+    }
+
+    @JsonIgnore
+    boolean isPending() {
+        return status == 0;
+    }
+}
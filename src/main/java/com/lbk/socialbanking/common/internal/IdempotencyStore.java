@@ -0,0 +1,130 @@
+package com.lbk.socialbanking.common.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lbk.socialbanking.common.config.IdempotencyProperties;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code Idempotency-Key} records in Redis, one string per user and key holding an {@link IdempotencyRecord} as
+ * JSON. Redis is the only record, so a retry is detected with a single round trip and no database write.
+ */
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    // Returns the existing record, or claims the key and returns nil; one round trip either way.
+    private static final RedisScript<String> CLAIM = new DefaultRedisScript<>("""
+            local existing = redis.call('GET', KEYS[1])
+            if existing then
+                return existing
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return false
+            """, String.class);
+
+    // The scripts below only act while the key still holds the claim ARGV[1]. Once it has expired, and maybe been
+    // claimed by a retry, the request that lost it must not overwrite or drop the new owner's record.
+    private static final String IF_CLAIMED = """
+            local current = redis.call('GET', KEYS[1])
+            if not current or cjson.decode(current).claimId ~= ARGV[1] then
+                return 0
+            end
+            """;
+
+    private static final RedisScript<Long> REFRESH = new DefaultRedisScript<>(IF_CLAIMED + """
+            return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            """, Long.class);
+
+    private static final RedisScript<Long> COMPLETE = new DefaultRedisScript<>(IF_CLAIMED + """
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(IF_CLAIMED + """
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties props;
+
+    public IdempotencyStore(StringRedisTemplate redis, ObjectMapper objectMapper, IdempotencyProperties props) {
+        this.redis = redis;
+        this.objectMapper = objectMapper;
+        this.props = props;
+    }
+
+    /**
+     * Claim the key for a request with the given fingerprint unless it is already recorded.
+     *
+     * @param claimId unique per request; passed again to {@link #refresh}, {@link #complete} and {@link #release}
+     * @return the existing record, or null when the key was free and is now claimed by the caller
+     */
+    IdempotencyRecord claim(String userId, String key, String fingerprint, String claimId) {
+        String existing = redis.execute(CLAIM, List.of(redisKey(userId, key)),
+                write(IdempotencyRecord.pending(fingerprint, claimId)), Long.toString(props.pendingTtl().toMillis()));
+        return existing == null ? null : read(existing);
+    }
+
+    /**
+     * How often a running request should {@link #refresh} its claim: a third of the pending TTL, so that two missed
+     * refreshes still leave it claimed.
+     */
+    Duration refreshInterval() {
+        return props.pendingTtl().dividedBy(3);
+    }
+
+    /**
+     * Extend the claim by the pending TTL while its request is still running.
+     *
+     * @return false when the claim has expired
+     */
+    boolean refresh(String userId, String key, String claimId) {
+        return Long.valueOf(1).equals(redis.execute(REFRESH, List.of(redisKey(userId, key)), claimId,
+                Long.toString(props.pendingTtl().toMillis())));
+    }
+
+    /**
+     * Replace the claim with the finished response, kept for the full TTL.
+     *
+     * @return false when the claim had expired, in which case nothing is stored
+     */
+    boolean complete(String userId, String key, String claimId, IdempotencyRecord record) {
+        return Long.valueOf(1).equals(redis.execute(COMPLETE, List.of(redisKey(userId, key)), claimId, write(record),
+                Long.toString(props.ttl().toMillis())));
+    }
+
+    /**
+     * Drop the claim so that the request can be retried with the same key.
+     */
+    void release(String userId, String key, String claimId) {
+        redis.execute(RELEASE, List.of(redisKey(userId, key)), claimId);
+    }
+
+    // Keys cannot contain ':', so user and key cannot run into each other.
+    static String redisKey(String userId, String key) {
+        return KEY_PREFIX + userId + ":" + key;
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotency record", e);
+        }
+    }
+
+    private IdempotencyRecord read(String json) {
+        try {
+            return objectMapper.readValue(json, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read idempotency record", e);
+        }
+    }
+}
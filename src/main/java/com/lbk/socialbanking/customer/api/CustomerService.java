@@ -1,5 +1,10 @@
 package com.lbk.socialbanking.customer.api;
 
+import com.lbk.socialbanking.customer.api.dto.CustomerProfile;
+
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * CustomerService defines operations related to customer information.
  */
@@ -12,4 +17,28 @@ public interface CustomerService {
      * @return a greeting message
      */
     String getGreeting(String userId);
+
+    /**
+     * Returns greeting messages for many users, loading cache misses with a single query.
+     *
+     * @param userIds the IDs of the users
+     * @return greeting message by user ID, with an entry for every requested user
+     */
+    Map<String, String> getGreetings(Collection<String> userIds);
+
+    /**
+     * Returns the name and greeting of a user from a single cached lookup.
+     *
+     * @param userId the ID of the user
+     * @return the customer profile; the name is null when the user has no {@code users} row
+     */
+    CustomerProfile getProfile(String userId);
+
+    /**
+     * Sets the greeting message of a user and invalidates its cached value.
+     *
+     * @param userId   the ID of the user
+     * @param greeting the new greeting message
+     */
+    void updateGreeting(String userId, String greeting);
 }
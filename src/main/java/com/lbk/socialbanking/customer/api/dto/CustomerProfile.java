@@ -0,0 +1,8 @@
+package com.lbk.socialbanking.customer.api.dto;
+
+public record CustomerProfile(
+        String userId,
+        String name,
+        String greeting
+) {
+}
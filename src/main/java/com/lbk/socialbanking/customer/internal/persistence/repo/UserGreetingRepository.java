@@ -3,5 +3,10 @@ package com.lbk.socialbanking.customer.internal.persistence.repo;
 import com.lbk.socialbanking.customer.internal.persistence.entity.UserGreetingEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface UserGreetingRepository extends JpaRepository<UserGreetingEntity, String> {
+
+    List<UserGreetingEntity> findByUserIdIn(Collection<String> userIds);
 }
@@ -2,10 +2,27 @@ package com.lbk.socialbanking.customer.internal.persistence.repo;
 
 import com.lbk.socialbanking.customer.internal.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-interface UserRepository extends JpaRepository<UserEntity, String> {
+public interface UserRepository extends JpaRepository<UserEntity, String> {
     Optional<UserEntity> findByUserId(String userId);
-}
 
+    @Query("""
+            SELECT u.userId AS userId, u.name AS name, g.greeting AS greeting
+            FROM UserEntity u
+            LEFT JOIN UserGreetingEntity g ON g.userId = u.userId
+            WHERE u.userId = :userId
+            """)
+    Optional<ProfileView> findProfileByUserId(@Param("userId") String userId);
+
+    interface ProfileView {
+        String getUserId();
+
+        String getName();
+
+        String getGreeting();
+    }
+}
@@ -0,0 +1,99 @@
+package com.lbk.socialbanking.customer.internal.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes many entries of a cache in one Redis round trip each: one {@code MGET} for the reads and one
+ * pipeline of {@code SET}s for the writes, with the key prefix, serialization and TTL of the {@link RedisCache}. Any
+ * other cache, or no connection factory, falls back to one call per entry.
+ */
+@Component
+class BulkCache {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    BulkCache(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * @return the cached values in the order of the keys, null for a miss
+     */
+    <T> List<T> getAll(Cache cache, List<String> keys, Class<T> type) {
+        List<T> values = new ArrayList<>(keys.size());
+        if (!(cache instanceof RedisCache redisCache) || connectionFactory == null) {
+            for (String key : keys) {
+                values.add(cache.get(key, type));
+            }
+            return values;
+        }
+
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = rawKey(redisCache, keys.get(i));
+        }
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] raw = rawValues == null ? null : rawValues.get(i);
+            Object value = raw == null ? null : config.getValueSerializationPair().read(ByteBuffer.wrap(raw));
+            values.add(type.isInstance(value) ? type.cast(value) : null);
+        }
+        return values;
+    }
+
+    void putAll(Cache cache, Map<String, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (!(cache instanceof RedisCache redisCache) || connectionFactory == null) {
+            entries.forEach(cache::put);
+            return;
+        }
+
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> {
+                    byte[] rawValue = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+                    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                    if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+                        connection.stringCommands().set(rawKey(redisCache, key), rawValue, Expiration.from(ttl),
+                                SetOption.upsert());
+                    } else {
+                        connection.stringCommands().set(rawKey(redisCache, key), rawValue);
+                    }
+                });
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+
+    // The key RedisCache itself would use, e.g. greetings::u1.
+    private static byte[] rawKey(RedisCache cache, String key) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String cacheKey = config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) + key : key;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(cacheKey));
+    }
+}
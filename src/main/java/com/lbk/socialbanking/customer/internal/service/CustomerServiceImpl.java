@@ -1,32 +1,166 @@
 package com.lbk.socialbanking.customer.internal.service;
 
 import com.lbk.socialbanking.customer.api.CustomerService;
+import com.lbk.socialbanking.customer.api.dto.CustomerProfile;
 import com.lbk.socialbanking.customer.internal.persistence.entity.UserGreetingEntity;
 import com.lbk.socialbanking.customer.internal.persistence.repo.UserGreetingRepository;
+import com.lbk.socialbanking.customer.internal.persistence.repo.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
     private static final Logger log = LoggerFactory.getLogger(CustomerServiceImpl.class);
 
+    static final String GREETING_CACHE = "greetings";
+    static final String PROFILE_CACHE = "customerProfile";
+    static final String DEFAULT_GREETING = "Welcome";
+
     private final UserGreetingRepository greetings;
+    private final UserRepository users;
+    private final CacheManager cacheManager;
+    private final BulkCache bulkCache;
 
-    public CustomerServiceImpl(UserGreetingRepository greetings) {
+    public CustomerServiceImpl(UserGreetingRepository greetings, UserRepository users, CacheManager cacheManager,
+                               BulkCache bulkCache) {
         this.greetings = greetings;
+        this.users = users;
+        this.cacheManager = cacheManager;
+        this.bulkCache = bulkCache;
     }
 
     @Override
     public String getGreeting(String userId) {
         log.debug("Fetching greeting for user: {}", userId);
 
-        String greeting = greetings.findById(userId)
-                .map(UserGreetingEntity::getGreeting)
-                .orElse("Welcome");
+        String greeting = getGreetings(List.of(userId)).get(userId);
 
         log.debug("Greeting retrieved for user {}: {}", userId, greeting);
         return greeting;
     }
+
+    /**
+     * Read-through over the greetings cache: hits are read in one Redis round trip, all misses are loaded with one
+     * IN query and cached in one pipelined round trip. Users without a greeting row get (and cache) the default
+     * greeting.
+     */
+    @Override
+    public Map<String, String> getGreetings(Collection<String> userIds) {
+        Map<String, String> result = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+        Cache cache = cacheManager.getCache(GREETING_CACHE);
+
+        List<String> ids = List.copyOf(new LinkedHashSet<>(userIds));
+        List<String> cached = getAll(cache, ids);
+        for (int i = 0; i < ids.size(); i++) {
+            if (cached.get(i) != null) {
+                result.put(ids.get(i), cached.get(i));
+            } else {
+                misses.add(ids.get(i));
+            }
+        }
+        if (misses.isEmpty()) {
+            return result;
+        }
+
+        log.debug("Loading greetings for {} users ({} cached)", misses.size(), result.size());
+
+        Map<String, String> loaded = new LinkedHashMap<>();
+        for (UserGreetingEntity entity : greetings.findByUserIdIn(misses)) {
+            if (entity.getGreeting() != null) {
+                loaded.put(entity.getUserId(), entity.getGreeting());
+            }
+        }
+        Map<String, String> toCache = new LinkedHashMap<>();
+        for (String userId : misses) {
+            String greeting = loaded.getOrDefault(userId, DEFAULT_GREETING);
+            result.put(userId, greeting);
+            toCache.put(userId, greeting);
+        }
+        putAll(cache, toCache);
+        return result;
+    }
+
+    /**
+     * Name and greeting come from one users ⋈ user_greetings projection; only the three strings are cached.
+     */
+    @Override
+    @Cacheable(cacheNames = PROFILE_CACHE, key = "#userId")
+    public CustomerProfile getProfile(String userId) {
+        log.debug("Fetching profile for user: {}", userId);
+
+        return users.findProfileByUserId(userId)
+                .map(p -> new CustomerProfile(p.getUserId(), p.getName(),
+                        p.getGreeting() != null ? p.getGreeting() : DEFAULT_GREETING))
+                .orElseGet(() -> {
+                    log.warn("User not found while fetching profile: {}", userId);
+                    return new CustomerProfile(userId, null, getGreeting(userId));
+                });
+    }
+
+    @Override
+    public void updateGreeting(String userId, String greeting) {
+        log.info("Updating greeting for user: {}", userId);
+
+        UserGreetingEntity entity = greetings.findById(userId).orElseGet(() -> {
+            UserGreetingEntity created = new UserGreetingEntity();
+            created.setUserId(userId);
+            return created;
+        });
+        entity.setGreeting(greeting);
+        greetings.save(entity);
+
+        // Evict after the save has committed so the next read loads the new greeting.
+        evict(GREETING_CACHE, userId);
+        evict(PROFILE_CACHE, userId);
+    }
+
+    private void evict(String cacheName, String userId) {
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(userId);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to evict cache '{}' for user: {}", cacheName, userId, e);
+        }
+    }
+
+    /**
+     * @return the cached greetings in the order of the IDs, null for a miss; all misses when the cache fails
+     */
+    private List<String> getAll(Cache cache, List<String> userIds) {
+        if (cache != null) {
+            try {
+                return bulkCache.getAll(cache, userIds, String.class);
+            } catch (Exception e) {
+                log.warn("Failed to read cache '{}' for {} users", GREETING_CACHE, userIds.size(), e);
+            }
+        }
+        return Arrays.asList(new String[userIds.size()]);
+    }
+
+    private void putAll(Cache cache, Map<String, String> greetings) {
+        if (cache == null) {
+            return;
+        }
+        try {
+            bulkCache.putAll(cache, greetings);
+        } catch (Exception e) {
+            log.warn("Failed to write cache '{}' for {} users", GREETING_CACHE, greetings.size(), e);
+        }
+    }
 }
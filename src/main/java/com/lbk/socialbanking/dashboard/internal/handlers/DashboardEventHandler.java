@@ -1,7 +1,11 @@
 package com.lbk.socialbanking.dashboard.internal.handlers;
 
+import com.lbk.socialbanking.account.events.AccountsChangedEvent;
 import com.lbk.socialbanking.auth.events.UserLoggedInEvent;
+import com.lbk.socialbanking.card.events.CardStatusChangedEvent;
 import com.lbk.socialbanking.dashboard.internal.servcie.DashboardService;
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import com.lbk.socialbanking.transaction.events.TransactionsCompletedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.Cache;
@@ -42,8 +46,41 @@ public class DashboardEventHandler {
         }
     }
 
-    //TODO: Handle transaction completion events - update dashboard data
-    //TODO: Handle account balance change events - update balance information
+    /**
+     * Handle card status changes - the dashboard embeds the card list, so drop the cached dashboard
+     */
+    @EventListener
+    public void handleCardStatusChanged(CardStatusChangedEvent event) {
+        log.info("Card status changed - invalidating dashboard cache for user: {}", event.getUserId());
+        invalidateDashboardCacheForUser(event.getUserId());
+    }
+
+    /**
+     * Handle account opening/closing - sections of the cached dashboard may appear or disappear
+     */
+    @EventListener
+    public void handleAccountsChanged(AccountsChangedEvent event) {
+        log.info("Accounts changed - invalidating dashboard cache for user: {}", event.getUserId());
+        invalidateDashboardCacheForUser(event.getUserId());
+    }
+
+    /**
+     * Handle completed transactions - balances and recent activity on the cached dashboard are now stale
+     */
+    @EventListener
+    public void handleTransactionCompleted(TransactionCompletedEvent event) {
+        log.debug("Transaction completed - invalidating dashboard cache for user: {}", event.userId());
+        invalidateDashboardCacheForUser(event.userId());
+    }
+
+    /**
+     * Handle a batch of completed transactions - evict once per user of the batch
+     */
+    @EventListener
+    public void handleTransactionsCompleted(TransactionsCompletedEvent event) {
+        log.debug("{} transactions completed - invalidating dashboard cache", event.transactions().size());
+        event.userIds().forEach(this::invalidateDashboardCacheForUser);
+    }
 
     /**
      * Cache invalidation logic - Clear only dashboardData cache that getDashboard() uses
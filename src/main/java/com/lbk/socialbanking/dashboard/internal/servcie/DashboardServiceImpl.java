@@ -1,12 +1,16 @@
 package com.lbk.socialbanking.dashboard.internal.servcie;
 
 import com.lbk.socialbanking.account.api.AccountService;
+import com.lbk.socialbanking.account.api.dto.AccountPresence;
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
 import com.lbk.socialbanking.account.api.dto.GoalItem;
 import com.lbk.socialbanking.account.api.dto.LoanItem;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
+import com.lbk.socialbanking.card.api.CardService;
+import com.lbk.socialbanking.card.api.dto.CardSummary;
 import com.lbk.socialbanking.common.api.dto.PageRequest;
 import com.lbk.socialbanking.customer.api.CustomerService;
+import com.lbk.socialbanking.customer.api.dto.CustomerProfile;
 import com.lbk.socialbanking.dashboard.web.DashboardResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,39 +21,60 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class DashboardServiceImpl implements DashboardService {
 
     private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
 
-    private static final int EXECUTOR_POOL_SIZE = 3;
+    private static final int EXECUTOR_POOL_SIZE = 6;
     private static final int QUICK_PAYEES_LIMIT = 10;
     private static final int GOALS_PAGE_SIZE = 10;
     private static final int LOANS_PAGE_SIZE = 10;
     private static final String PRIMARY_ACCOUNT_TYPE = "SAVING";
+    // Cards are a secondary section: it is dropped rather than allowed to hold the dashboard back.
+    private static final long CARDS_BUDGET_MS = 200;
 
     private final CustomerService customerService;
     private final AccountService accountsService;
+    private final CardService cardService;
     private final DelegatingSecurityContextExecutorService executorService;
 
     public DashboardServiceImpl(CustomerService customerService,
-                                AccountService accounts) {
+                                AccountService accounts,
+                                CardService cardService) {
         this.customerService = customerService;
         this.accountsService = accounts;
+        this.cardService = cardService;
         this.executorService = new DelegatingSecurityContextExecutorService(
                 Executors.newFixedThreadPool(EXECUTOR_POOL_SIZE)
         );
     }
 
+    // A response without cards is cached too, but only briefly (see CacheConfig), so an outage of the cards section
+    // does not send every request through the full fetch.
     @Cacheable(value = "dashboardData", key = "#userId")
     public DashboardResponse getDashboard(String userId) {
         log.info("Fetching dashboard data for user: {}", userId);
         long startTime = System.currentTimeMillis();
 
-        CompletableFuture<String> greetingFuture = CompletableFuture.supplyAsync(() -> {
-            log.debug("Fetching greeting for user: {}", userId);
-            return customerService.getGreeting(userId);
+        // Cached per user; sections known to be empty are answered without a query or a pool thread.
+        AccountPresence presence = accountsService.getAccountPresence(userId);
+
+        CompletableFuture<List<CardSummary>> cardsFuture = CompletableFuture.supplyAsync(() -> {
+                    log.debug("Fetching cards for user: {}", userId);
+                    return cardService.listCards(userId);
+                }, executorService)
+                .completeOnTimeout(null, CARDS_BUDGET_MS, TimeUnit.MILLISECONDS)
+                .exceptionally(ex -> {
+                    log.warn("Cards section failed for user: {}", userId, ex);
+                    return null;
+                });
+
+        CompletableFuture<CustomerProfile> profileFuture = CompletableFuture.supplyAsync(() -> {
+            log.debug("Fetching profile for user: {}", userId);
+            return customerService.getProfile(userId);
         }, executorService);
 
         CompletableFuture<List<AccountSummary>> accountsFuture =
@@ -58,35 +83,43 @@ public class DashboardServiceImpl implements DashboardService {
                     return accountsService.listAccounts(userId);
                 }, executorService);
 
-        CompletableFuture<List<PayeeItem>> payeesFuture =
-                CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<List<PayeeItem>> payeesFuture = !presence.has(AccountPresence.PAYEES)
+                ? CompletableFuture.completedFuture(List.of())
+                : CompletableFuture.supplyAsync(() -> {
                     log.debug("Fetching quick payees for user: {}", userId);
                     return accountsService.listQuickPayees(userId, QUICK_PAYEES_LIMIT);
                 }, executorService);
 
-        CompletableFuture<List<GoalItem>> goalsFuture =
-                CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<List<GoalItem>> goalsFuture = !presence.has(AccountPresence.GOAL)
+                ? CompletableFuture.completedFuture(List.of())
+                : CompletableFuture.supplyAsync(() -> {
                     log.debug("Fetching goal accounts for user: {}", userId);
                     return accountsService.listGoalAccounts(userId, new PageRequest(1, GOALS_PAGE_SIZE)).data();
                 }, executorService);
 
-        CompletableFuture<List<LoanItem>> loansFuture =
-                CompletableFuture.supplyAsync(() -> {
+        CompletableFuture<List<LoanItem>> loansFuture = !presence.has(AccountPresence.LOAN)
+                ? CompletableFuture.completedFuture(List.of())
+                : CompletableFuture.supplyAsync(() -> {
                     log.debug("Fetching loan accounts for user: {}", userId);
                     return accountsService.listLoanAccounts(userId, new PageRequest(1, LOANS_PAGE_SIZE)).data();
                 }, executorService);
 
         CompletableFuture<Void> all = CompletableFuture.allOf(
-                greetingFuture, accountsFuture, payeesFuture, goalsFuture, loansFuture
+                profileFuture, accountsFuture, payeesFuture, goalsFuture, loansFuture
         );
 
         all.join();
 
-        String greeting = greetingFuture.join();
+        CustomerProfile profile = profileFuture.join();
         var accountList = accountsFuture.join();
         var quickPayees = payeesFuture.join();
         var goalItems = goalsFuture.join();
         var loanItems = loansFuture.join();
+        // Already complete unless the critical sections finished inside the cards budget.
+        var cards = cardsFuture.join();
+        if (cards == null) {
+            log.warn("Cards section unavailable for user: {}, dashboard will be cached briefly", userId);
+        }
 
         var primary = accountList.stream()
                 .filter(a -> PRIMARY_ACCOUNT_TYPE.equalsIgnoreCase(a.type()))
@@ -105,6 +138,6 @@ public class DashboardServiceImpl implements DashboardService {
         log.info("Dashboard data retrieved for user: {} in {}ms - {} accounts, {} payees, {} goals, {} loans",
                 userId, duration, accountList.size(), quickPayees.size(), goals.size(), loans.size());
 
-        return new DashboardResponse(greeting, primary, accountList, quickPayees, goals, loans);
+        return new DashboardResponse(profile.greeting(), profile.name(), primary, accountList, quickPayees, goals, loans, cards);
     }
 }
@@ -1,6 +1,6 @@
 @org.springframework.modulith.ApplicationModule(
         displayName = "Dashboard Module",
-        allowedDependencies = {"common :: api", "auth :: event", "customer :: api", "account :: api", "account :: dto", "common :: dto"}
+        allowedDependencies = {"common :: api", "auth :: event", "customer :: api", "customer :: dto", "account :: api", "account :: dto", "account :: event", "card :: api", "card :: dto", "card :: event", "transaction :: event", "common :: dto"}
 )
 package com.lbk.socialbanking.dashboard;
 
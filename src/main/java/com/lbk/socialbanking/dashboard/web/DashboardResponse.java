@@ -2,20 +2,32 @@ package com.lbk.socialbanking.dashboard.web;
 
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
+import com.lbk.socialbanking.card.api.dto.CardSummary;
+import com.lbk.socialbanking.common.api.dto.Money;
+import com.lbk.socialbanking.common.api.dto.PartialResponse;
 
 import java.util.List;
 
 public record DashboardResponse(
         String greeting,
+        String name,
         AccountSummary primaryAccount,
         List<AccountSummary> accounts,
         List<PayeeItem> quickPayees,
         List<GoalCard> goals,
-        List<LoanCard> loans
-) {
-    public record GoalCard(String id, String title, String status, double amount) {
+        List<LoanCard> loans,
+        // null when the cards section missed its latency budget or failed; empty when the user has no cards
+        List<CardSummary> cards
+) implements PartialResponse {
+
+    @Override
+    public boolean partial() {
+        return cards == null;
+    }
+
+    public record GoalCard(String id, String title, String status, Money amount) {
     }
 
-    public record LoanCard(String id, String title, String status, double outstandingAmount) {
+    public record LoanCard(String id, String title, String status, Money outstandingAmount) {
     }
 }
@@ -0,0 +1,70 @@
+package com.lbk.socialbanking.transaction.api;
+
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * StatementJobService generates transaction statements in the background: submit a job, poll its status, then
+ * download the file once it is done. Jobs are stored in the database, so any node can run them; the file stays on
+ * the node that wrote it, and other nodes fetch it from there.
+ */
+public interface StatementJobService {
+
+    /**
+     * Queue a statement of every transaction of a given user and account.
+     *
+     * @param userId    the ID of the user
+     * @param accountId the ID of the account
+     * @param format    the file format
+     * @return the queued job
+     * @throws com.lbk.socialbanking.common.api.ApiException when the user already has too many unfinished jobs
+     */
+    StatementJob submit(String userId, String accountId, ExportFormat format);
+
+    /**
+     * Get a job of a given user.
+     *
+     * @param userId the ID of the user
+     * @param jobId  the ID of the job
+     * @return the job
+     * @throws com.lbk.socialbanking.common.api.ApiException when the user has no such job
+     */
+    StatementJob getJob(String userId, String jobId);
+
+    /**
+     * Get the generated file of a finished job.
+     *
+     * @param userId the ID of the user
+     * @param jobId  the ID of the job
+     * @return the file to send, or where to fetch it when another node wrote it
+     * @throws com.lbk.socialbanking.common.api.ApiException when the user has no such job, it is not done yet or
+     *                                                       its file has expired
+     */
+    StatementFile getFile(String userId, String jobId);
+
+    enum JobStatus {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    record StatementJob(String jobId, String accountId, ExportFormat format, JobStatus status, long rowCount,
+                        Instant createdAt, Instant completedAt) {
+    }
+
+    /**
+     * @param path the file, when it is on this node
+     * @param node the base URL of the node that has the file, when it is another one
+     */
+    record StatementFile(Path path, URI node, long size, String fileName, String mediaType) {
+
+        public static StatementFile local(Path path, long size, String fileName, String mediaType) {
+            return new StatementFile(path, null, size, fileName, mediaType);
+        }
+
+        public static StatementFile remote(URI node, long size, String fileName, String mediaType) {
+            return new StatementFile(null, node, size, fileName, mediaType);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.lbk.socialbanking.transaction.api;
+
+import java.util.List;
+
+/**
+ * TransactionIngestionService records transactions in bulk. A call is all or nothing: every record is validated and
+ * checked for an existing ID before any is written, and the rows are inserted with JDBC batches in one database
+ * transaction. Once that transaction commits, one
+ * {@link com.lbk.socialbanking.transaction.events.TransactionsCompletedEvent} is published for the whole call, carrying
+ * a {@link com.lbk.socialbanking.transaction.events.TransactionCompletedEvent} per row. No
+ * {@code TransactionCompletedEvent} is published on its own for ingested rows, so listeners that must see them have to
+ * listen for the batch event.
+ */
+public interface TransactionIngestionService {
+
+    /**
+     * Record transactions for a given user.
+     *
+     * @param userId       the ID of the user
+     * @param transactions the transactions to record
+     * @return how many transactions were recorded
+     * @throws com.lbk.socialbanking.common.api.ApiException when a record is invalid, IDs repeat or a transaction
+     *                                                       with the same ID already exists
+     */
+    IngestResult ingest(String userId, List<NewTransaction> transactions);
+
+    record NewTransaction(String transactionId, String name, String image, Boolean isBank) {
+    }
+
+    record IngestResult(int inserted) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.lbk.socialbanking.transaction.api;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 /**
@@ -27,6 +29,38 @@ public interface TransactionService {
      */
     List<TransactionSummary> listTransactionSummaries(String userId);
 
+    /**
+     * List one page of transaction summaries for a given user in transaction ID order, without counting them.
+     *
+     * @param userId             the ID of the user
+     * @param afterTransactionId only return transactions after this ID, or null to start at {@code page}
+     * @param page               the 1-based page, used when {@code afterTransactionId} is null
+     * @param limit              the maximum number of summaries to return
+     * @return the summaries and whether more follow
+     */
+    TransactionSummarySlice listTransactionSummaries(String userId, String afterTransactionId, int page, int limit);
+
+    /**
+     * Check whether a given user has any transactions.
+     *
+     * @param userId the ID of the user
+     * @return true if at least one transaction exists
+     */
+    boolean hasTransactions(String userId);
+
+    /**
+     * Write every transaction of a given user and account to {@code out} in transaction ID order. Rows are read from
+     * a forward-only database stream and written one at a time, so memory use does not depend on how many there are.
+     *
+     * @param userId    the ID of the user
+     * @param accountId the ID of the account
+     * @param format    the output format
+     * @param out       where to write; flushed but not closed
+     * @return the number of transactions written
+     * @throws IOException when writing fails, e.g. because the client disconnected; the database stream is closed
+     */
+    long exportTransactions(String userId, String accountId, ExportFormat format, OutputStream out) throws IOException;
+
     record TransactionsPage(List<TransactionItem> items, String nextCursor) {
     }
 
@@ -35,4 +69,28 @@ public interface TransactionService {
 
     record TransactionSummary(String transactionId, String name, String image) {
     }
+
+    record TransactionSummarySlice(List<TransactionSummary> items, boolean hasNext) {
+    }
+
+    enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        ExportFormat(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
 }
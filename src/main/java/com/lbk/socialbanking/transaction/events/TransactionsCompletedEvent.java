@@ -0,0 +1,28 @@
+package com.lbk.socialbanking.transaction.events;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Transactions recorded together, published once for the whole batch so that listeners can do their per-user work
+ * once rather than once per row. The rows are not also published as single {@link TransactionCompletedEvent}s.
+ * <p>
+ * Ingested rows carry only what a recorded transaction has: {@code transactionId}, {@code userId},
+ * {@code transactionType} ({@code INGESTED}), {@code timestamp} (when the batch was recorded) and {@code description}
+ * (the transaction name). {@code fromAccountId}, {@code toAccountId}, {@code amount} and {@code currency} are null.
+ * </p>
+ */
+public record TransactionsCompletedEvent(List<TransactionCompletedEvent> transactions) {
+
+    /**
+     * @return the users the batch touched, in order of first appearance
+     */
+    public Set<String> userIds() {
+        Set<String> userIds = new LinkedHashSet<>();
+        for (TransactionCompletedEvent transaction : transactions) {
+            userIds.add(transaction.userId());
+        }
+        return userIds;
+    }
+}
@@ -0,0 +1,2 @@
+@org.springframework.modulith.NamedInterface("event")
+package com.lbk.socialbanking.transaction.events;
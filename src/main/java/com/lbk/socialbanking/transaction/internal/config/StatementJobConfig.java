@@ -0,0 +1,25 @@
+package com.lbk.socialbanking.transaction.internal.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(StatementJobProperties.class)
+class StatementJobConfig {
+
+    /**
+     * Sized to the worker count; jobs are only claimed while a worker is free, so the small queue only absorbs the
+     * moment between a worker finishing and its thread returning to the pool.
+     */
+    @Bean(name = "statementExecutor")
+    ThreadPoolTaskExecutor statementExecutor(StatementJobProperties props) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(props.workers());
+        executor.setMaxPoolSize(props.workers());
+        executor.setQueueCapacity(props.workers());
+        executor.setThreadNamePrefix("statement-");
+        return executor;
+    }
+}
@@ -0,0 +1,17 @@
+package com.lbk.socialbanking.transaction.internal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Statement jobs: where files are written on this node, how many run at once on a node, the keyset chunk size, how
+ * long jobs and files are kept, how long a running job may go without a heartbeat before another node takes it over,
+ * and the base URL other nodes reach this node at to fetch the files it wrote.
+ */
+@ConfigurationProperties(prefix = "app.statements")
+public record StatementJobProperties(Path dir, int workers, int chunkSize, Duration retention, Duration staleAfter,
+                                     URI nodeUrl) {
+}
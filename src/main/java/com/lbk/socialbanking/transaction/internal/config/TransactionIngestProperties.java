@@ -0,0 +1,10 @@
+package com.lbk.socialbanking.transaction.internal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bulk transaction ingestion: rows per JDBC batch and the most records accepted in one call.
+ */
+@ConfigurationProperties(prefix = "app.transaction-ingest")
+public record TransactionIngestProperties(int batchSize, int maxRecords) {
+}
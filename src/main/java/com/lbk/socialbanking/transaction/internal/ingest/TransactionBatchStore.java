@@ -0,0 +1,58 @@
+package com.lbk.socialbanking.transaction.internal.ingest;
+
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService.NewTransaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC writes for bulk ingestion. With {@code rewriteBatchedStatements=true} on the URL, Connector/J sends each
+ * batch as one multi-row {@code INSERT}.
+ */
+@Repository
+class TransactionBatchStore {
+
+    // Keeps each IN list well under MySQL's packet and placeholder limits.
+    private static final int LOOKUP_CHUNK = 1_000;
+
+    private final JdbcTemplate jdbc;
+
+    TransactionBatchStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    Set<String> findExistingIds(List<String> transactionIds) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < transactionIds.size(); from += LOOKUP_CHUNK) {
+            List<String> chunk = transactionIds.subList(from, Math.min(from + LOOKUP_CHUNK, transactionIds.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            existing.addAll(jdbc.queryForList(
+                    "SELECT transaction_id FROM transactions WHERE transaction_id IN (" + placeholders + ")",
+                    String.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    void insert(String userId, List<NewTransaction> transactions, int batchSize) {
+        jdbc.batchUpdate("""
+                        INSERT INTO transactions (transaction_id, user_id, name, image, is_bank)
+                        VALUES (?, ?, ?, ?, ?)
+                        """, transactions, batchSize,
+                (ps, t) -> {
+                    ps.setString(1, t.transactionId());
+                    ps.setString(2, userId);
+                    ps.setString(3, t.name());
+                    ps.setString(4, t.image());
+                    if (t.isBank() == null) {
+                        ps.setNull(5, Types.TINYINT);
+                    } else {
+                        ps.setBoolean(5, t.isBank());
+                    }
+                });
+    }
+}
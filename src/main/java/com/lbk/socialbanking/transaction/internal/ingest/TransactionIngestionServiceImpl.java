@@ -0,0 +1,139 @@
+package com.lbk.socialbanking.transaction.internal.ingest;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService;
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import com.lbk.socialbanking.transaction.internal.config.TransactionIngestProperties;
+import com.lbk.socialbanking.transaction.internal.service.TransactionEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class TransactionIngestionServiceImpl implements TransactionIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestionServiceImpl.class);
+
+    static final String TRANSACTION_TYPE = "INGESTED";
+
+    // Column sizes of the transactions table.
+    private static final int MAX_ID_LENGTH = 50;
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_IMAGE_LENGTH = 255;
+
+    private final TransactionBatchStore store;
+    private final TransactionEventPublisher eventPublisher;
+    private final TransactionIngestProperties props;
+
+    public TransactionIngestionServiceImpl(TransactionBatchStore store, TransactionEventPublisher eventPublisher,
+                                           TransactionIngestProperties props) {
+        this.store = store;
+        this.eventPublisher = eventPublisher;
+        this.props = props;
+    }
+
+    @Override
+    @Transactional
+    public IngestResult ingest(String userId, List<NewTransaction> transactions) {
+        List<String> ids = validate(transactions);
+
+        Set<String> existing = store.findExistingIds(ids);
+        if (!existing.isEmpty()) {
+            throw duplicate(existing.size() + " transactions already exist, e.g. " + existing.iterator().next());
+        }
+
+        long started = System.nanoTime();
+        try {
+            store.insert(userId, transactions, props.batchSize());
+        } catch (DuplicateKeyException e) {
+            // Lost a race with a concurrent ingest of the same IDs; the whole call rolls back.
+            throw duplicate("A transaction in the batch was recorded concurrently");
+        }
+        log.info("Ingested {} transactions for user: {} in {} ms", transactions.size(), userId,
+                (System.nanoTime() - started) / 1_000_000);
+
+        publishAfterCommit(userId, transactions);
+        return new IngestResult(transactions.size());
+    }
+
+    /**
+     * @return the transaction IDs, in order
+     */
+    private List<String> validate(List<NewTransaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            throw invalid("transactions must not be empty");
+        }
+        if (transactions.size() > props.maxRecords()) {
+            throw invalid("transactions must have at most " + props.maxRecords() + " records");
+        }
+
+        List<String> ids = new ArrayList<>(transactions.size());
+        Set<String> seen = new HashSet<>(transactions.size() * 2);
+        for (int i = 0; i < transactions.size(); i++) {
+            NewTransaction t = transactions.get(i);
+            if (t == null) {
+                throw invalid("transactions[" + i + "] must not be null");
+            }
+            if (t.transactionId() == null || t.transactionId().isBlank()) {
+                throw invalid("transactions[" + i + "].transactionId is required");
+            }
+            checkLength(i, "transactionId", t.transactionId(), MAX_ID_LENGTH);
+            checkLength(i, "name", t.name(), MAX_NAME_LENGTH);
+            checkLength(i, "image", t.image(), MAX_IMAGE_LENGTH);
+            if (!seen.add(t.transactionId())) {
+                throw invalid("transactions[" + i + "].transactionId repeats " + t.transactionId());
+            }
+            ids.add(t.transactionId());
+        }
+        return ids;
+    }
+
+    private static void checkLength(int index, String field, String value, int max) {
+        if (value != null && value.length() > max) {
+            throw invalid("transactions[" + index + "]." + field + " must be at most " + max + " characters");
+        }
+    }
+
+    /**
+     * Events go out only once the rows are committed, as one batch, so listeners evict per user once per ingest.
+     */
+    private void publishAfterCommit(String userId, List<NewTransaction> transactions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionCompletedEvent> events = new ArrayList<>(transactions.size());
+        for (NewTransaction t : transactions) {
+            events.add(new TransactionCompletedEvent(t.transactionId(), userId, null, null, null, null,
+                    TRANSACTION_TYPE, now, t.name()));
+        }
+
+        Runnable publish = () -> eventPublisher.publishTransactionsCompleted(events);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private static ApiException invalid(String message) {
+        return new ApiException(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", message);
+    }
+
+    private static ApiException duplicate(String message) {
+        return new ApiException(HttpStatus.CONFLICT, "DUPLICATE_TRANSACTION", message);
+    }
+}
@@ -1,14 +1,69 @@
 package com.lbk.socialbanking.transaction.internal.persistence.repo;
 
+import com.lbk.socialbanking.transaction.api.TransactionService.TransactionItem;
+import com.lbk.socialbanking.transaction.api.TransactionService.TransactionSummary;
 import com.lbk.socialbanking.transaction.internal.persistence.entity.TransactionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * The listing reads select straight into the API records, so no entity is hydrated, snapshotted or dirty-checked.
+ * They are also marked read-only with an explicit fetch size.
+ */
 public interface TransactionRepository extends JpaRepository<TransactionEntity, String> {
-    List<TransactionEntity> findByUserIdOrderByTransactionIdAsc(String userId);
+
+    // Rows per round trip; only honoured by MySQL Connector/J with useCursorFetch=true, otherwise results are buffered.
+    String FETCH_SIZE = "256";
 
     Page<TransactionEntity> findByUserIdOrderByTransactionIdAsc(String userId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE)
+    })
+    List<TransactionSummary> findSummariesByUserIdOrderByTransactionIdAsc(String userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE)
+    })
+    Slice<TransactionSummary> findSummarySliceByUserIdOrderByTransactionIdAsc(String userId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE)
+    })
+    List<TransactionSummary> findSummariesByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc(String userId, String transactionId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE)
+    })
+    List<TransactionItem> findItemsByUserIdOrderByTransactionIdAsc(String userId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE)
+    })
+    List<TransactionItem> findItemsByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc(String userId, String transactionId, Limit limit);
+
+    /**
+     * Must be consumed inside a transaction and closed, which releases the result set and its server-side cursor.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = FETCH_SIZE)
+    })
+    Stream<TransactionItem> streamItemsByUserIdOrderByTransactionIdAsc(String userId);
+
+    boolean existsByUserId(String userId);
 }
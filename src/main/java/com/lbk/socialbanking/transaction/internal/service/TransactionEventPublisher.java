@@ -1,6 +1,7 @@
 package com.lbk.socialbanking.transaction.internal.service;
 
 import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import com.lbk.socialbanking.transaction.events.TransactionsCompletedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
@@ -9,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Component
 public class TransactionEventPublisher {
@@ -20,7 +22,7 @@ public class TransactionEventPublisher {
         this.eventPublisher = eventPublisher;
     }
 
-    @Async("dashboardEventExecutor")
+    @Async("eventExecutor")
     public void publishTransactionCompleted(String transactionId, String userId, String fromAccountId,
                                             String toAccountId, BigDecimal amount, String currency,
                                             String transactionType, String description) {
@@ -43,4 +45,18 @@ public class TransactionEventPublisher {
             log.error("Failed to publish transaction completed event for transaction: {}", transactionId, e);
         }
     }
+
+    /**
+     * Publish a batch as one {@link TransactionsCompletedEvent} from one executor task, so bulk writes cost one task
+     * and one round of listener work per batch rather than per row.
+     */
+    @Async("eventExecutor")
+    public void publishTransactionsCompleted(List<TransactionCompletedEvent> events) {
+        try {
+            eventPublisher.publishEvent(new TransactionsCompletedEvent(List.copyOf(events)));
+            log.debug("Published {} transaction completed events", events.size());
+        } catch (Exception e) {
+            log.error("Failed to publish {} transaction completed events", events.size(), e);
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package com.lbk.socialbanking.transaction.internal.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+import com.lbk.socialbanking.transaction.api.TransactionService.TransactionItem;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported transactions one row at a time through a fixed-size buffer. Field names match the JSON of
+ * {@link TransactionItem}. Shared by the streaming export and statement jobs.
+ */
+public abstract class TransactionExportWriter {
+
+    private static final JsonFactory JSON = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    public static TransactionExportWriter of(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(out);
+            case NDJSON -> new Ndjson(out);
+        };
+    }
+
+    public abstract void write(TransactionItem item) throws IOException;
+
+    /**
+     * Flush what is buffered; the underlying stream stays open.
+     */
+    public abstract void finish() throws IOException;
+
+    /**
+     * RFC 4180 with a header row and CRLF line endings.
+     */
+    static final class Csv extends TransactionExportWriter {
+
+        private final Writer out;
+
+        Csv(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.out.write("transactionId,name,image,isBank\r\n");
+        }
+
+        @Override
+        public void write(TransactionItem item) throws IOException {
+            field(item.transactionId());
+            out.write(',');
+            field(item.name());
+            out.write(',');
+            field(item.image());
+            out.write(',');
+            if (item.isBank() != null) {
+                out.write(item.isBank().toString());
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.flush();
+        }
+
+        private void field(String value) throws IOException {
+            if (value == null || value.isEmpty()) {
+                return;
+            }
+            // Payee names are user input; keep spreadsheets from evaluating them as formulas.
+            char first = value.charAt(0);
+            boolean formula = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+            boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            if (formula) {
+                out.write('\'');
+            }
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    /**
+     * One JSON object per line.
+     */
+    static final class Ndjson extends TransactionExportWriter {
+
+        private final JsonGenerator json;
+
+        Ndjson(OutputStream out) throws IOException {
+            this.json = JSON.createGenerator(out);
+            // Lines are ended explicitly; without this Jackson adds a space before every object after the first.
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(TransactionItem item) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("transactionId", item.transactionId());
+            json.writeStringField("name", item.name());
+            json.writeStringField("image", item.image());
+            json.writeFieldName("isBank");
+            if (item.isBank() == null) {
+                json.writeNull();
+            } else {
+                json.writeBoolean(item.isBank());
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
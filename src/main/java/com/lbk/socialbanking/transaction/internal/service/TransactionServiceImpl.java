@@ -1,45 +1,55 @@
 package com.lbk.socialbanking.transaction.internal.service;
 
+import com.lbk.socialbanking.common.api.CursorCodec;
 import com.lbk.socialbanking.transaction.api.TransactionService;
-import com.lbk.socialbanking.transaction.internal.persistence.entity.TransactionEntity;
 import com.lbk.socialbanking.transaction.internal.persistence.repo.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionServiceImpl implements TransactionService {
 
     private static final Logger log = LoggerFactory.getLogger(TransactionServiceImpl.class);
 
+    static final CursorCodec.Scope TRANSACTIONS_SCOPE = CursorCodec.scope("transaction.transactions");
+
     private final TransactionRepository transactions;
+    private final CursorCodec cursors;
 
-    public TransactionServiceImpl(TransactionRepository transactions) {
+    public TransactionServiceImpl(TransactionRepository transactions, CursorCodec cursors) {
         this.transactions = transactions;
+        this.cursors = cursors;
     }
 
     @Override
     public TransactionsPage listTransactions(String userId, String accountId, String cursor, int limit) {
         log.debug("Fetching transactions for user: {}, account: {}, limit: {}", userId, accountId, limit);
 
-        List<TransactionEntity> all = transactions.findByUserIdOrderByTransactionIdAsc(userId);
-        int start = decodeCursor(cursor);
-        if (start < 0) start = 0;
-        if (start > all.size()) start = all.size();
-        int end = Math.min(start + limit, all.size());
-
-        var items = all.subList(start, end).stream()
-                .map(t -> new TransactionItem(t.getTransactionId(), t.getName(), t.getImage(), t.getIsBank()))
-                .toList();
+        // Keyset on transaction ID: one extra row tells whether another page follows.
+        String after = cursor == null || cursor.isBlank() ? null : afterTransactionId(cursor);
+        List<TransactionItem> items = after == null
+                ? transactions.findItemsByUserIdOrderByTransactionIdAsc(userId, Limit.of(limit + 1))
+                : transactions.findItemsByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc(userId, after, Limit.of(limit + 1));
+        boolean hasNext = items.size() > limit;
+        if (hasNext) {
+            items = items.subList(0, limit);
+        }
 
-        String next = end < all.size() ? encodeCursor(end) : null;
+        String next = hasNext
+                ? cursors.writer(TRANSACTIONS_SCOPE, false).putString(items.getLast().transactionId()).encode()
+                : null;
 
-        log.info("Retrieved {} transactions for user: {} (total: {}, start: {}, end: {})",
-                items.size(), userId, all.size(), start, end);
+        log.info("Retrieved {} transactions for user: {} (after: {}, hasNext: {})", items.size(), userId, after, hasNext);
 
         return new TransactionsPage(items, next);
     }
@@ -48,27 +58,69 @@ public class TransactionServiceImpl implements TransactionService {
     public List<TransactionSummary> listTransactionSummaries(String userId) {
         log.debug("Fetching transaction summaries for user: {}", userId);
 
-        var summaries = transactions.findByUserIdOrderByTransactionIdAsc(userId).stream()
-                .map(t -> new TransactionSummary(t.getTransactionId(), t.getName(), t.getImage()))
-                .toList();
+        var summaries = transactions.findSummariesByUserIdOrderByTransactionIdAsc(userId);
 
         log.debug("Retrieved {} transaction summaries for user: {}", summaries.size(), userId);
         return summaries;
     }
 
-    private String encodeCursor(int offset) {
-        return Base64.getUrlEncoder().withoutPadding()
-                .encodeToString(("o:" + offset).getBytes(StandardCharsets.UTF_8));
+    @Override
+    public TransactionSummarySlice listTransactionSummaries(String userId, String afterTransactionId, int page, int limit) {
+        log.debug("Fetching transaction summaries for user: {}, after: {}, page: {}, limit: {}", userId, afterTransactionId, page, limit);
+
+        List<TransactionSummary> summaries;
+        boolean hasNext;
+        if (afterTransactionId != null) {
+            // One extra row tells whether another page follows.
+            summaries = transactions.findSummariesByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc(userId, afterTransactionId, Limit.of(limit + 1));
+            hasNext = summaries.size() > limit;
+            if (hasNext) {
+                summaries = summaries.subList(0, limit);
+            }
+        } else {
+            var slice = transactions.findSummarySliceByUserIdOrderByTransactionIdAsc(userId, PageRequest.of(page - 1, limit));
+            summaries = slice.getContent();
+            hasNext = slice.hasNext();
+        }
+
+        log.debug("Retrieved {} transaction summaries for user: {}, hasNext: {}", summaries.size(), userId, hasNext);
+        return new TransactionSummarySlice(summaries, hasNext);
     }
 
-    private int decodeCursor(String cursor) {
-        if (cursor == null || cursor.isBlank()) return 0;
-        try {
-            String s = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
-            if (!s.startsWith("o:")) return 0;
-            return Integer.parseInt(s.substring(2));
-        } catch (Exception e) {
-            return 0;
+    @Override
+    public boolean hasTransactions(String userId) {
+        return transactions.existsByUserId(userId);
+    }
+
+    /**
+     * Runs in a read-only transaction for as long as the client keeps reading. A blocking write holds back the next
+     * fetch, and a failed one (client gone) closes the stream, which releases the cursor and the connection.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTransactions(String userId, String accountId, ExportFormat format, OutputStream out) throws IOException {
+        log.debug("Exporting transactions for user: {}, account: {}, format: {}", userId, accountId, format);
+
+        long rows = 0;
+        try (Stream<TransactionItem> items = transactions.streamItemsByUserIdOrderByTransactionIdAsc(userId)) {
+            var writer = TransactionExportWriter.of(format, out);
+            for (Iterator<TransactionItem> it = items.iterator(); it.hasNext(); rows++) {
+                writer.write(it.next());
+            }
+            writer.finish();
+        } catch (IOException e) {
+            log.info("Export aborted for user: {} after {} transactions: {}", userId, rows, e.getMessage());
+            throw e;
         }
+
+        log.info("Exported {} transactions for user: {} as {}", rows, userId, format);
+        return rows;
+    }
+
+    private String afterTransactionId(String cursor) {
+        var reader = cursors.reader(TRANSACTIONS_SCOPE, cursor);
+        String transactionId = reader.getString();
+        reader.finish();
+        return transactionId;
     }
 }
@@ -0,0 +1,33 @@
+package com.lbk.socialbanking.transaction.internal.statement;
+
+import com.lbk.socialbanking.transaction.api.StatementJobService.JobStatus;
+import com.lbk.socialbanking.transaction.api.StatementJobService.StatementJob;
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+
+import java.time.Instant;
+
+/**
+ * A row of {@code statement_jobs}.
+ *
+ * @param fileNode the URL of the node whose disk holds the file, once the job is done
+ */
+record StatementJobRow(
+        String jobId,
+        String userId,
+        String accountId,
+        ExportFormat format,
+        JobStatus status,
+        long rowCount,
+        Long fileSize,
+        Instant createdAt,
+        Instant completedAt,
+        String fileNode
+) {
+    String fileName() {
+        return jobId + "." + format.extension();
+    }
+
+    StatementJob toJob() {
+        return new StatementJob(jobId, accountId, format, status, rowCount, createdAt, completedAt);
+    }
+}
@@ -0,0 +1,203 @@
+package com.lbk.socialbanking.transaction.internal.statement;
+
+import com.lbk.socialbanking.transaction.api.TransactionService.TransactionItem;
+import com.lbk.socialbanking.transaction.internal.config.StatementJobProperties;
+import com.lbk.socialbanking.transaction.internal.persistence.repo.TransactionRepository;
+import com.lbk.socialbanking.transaction.internal.service.TransactionExportWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Claims pending statement jobs from the shared table and runs them on a bounded worker pool.
+ * <p>
+ * Jobs are claimed only while a worker is free, so a busy node leaves work for the others. A job reads the user's
+ * transactions in keyset chunks and writes them to {@code <id>.part} through a buffered file channel; the finished
+ * file is fsynced and renamed into place before the job is marked done. Every chunk is also a heartbeat: a job whose
+ * node dies is handed back to the queue once its heartbeat is older than {@code stale-after}.
+ * </p>
+ * <p>
+ * The file stays on this node, which records its {@code node-url} on the job for downloads that land elsewhere and
+ * alone deletes the file and the job once they expire.
+ * </p>
+ */
+@Component
+class StatementJobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementJobRunner.class);
+
+    private static final long POLL_INTERVAL_MS = 5_000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int CLAIM_BATCH = 10;
+    private static final int CLEANUP_BATCH = 100;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StatementJobStore store;
+    private final TransactionRepository transactions;
+    private final StatementJobProperties props;
+    private final Executor executor;
+    private final Clock clock;
+    private final Semaphore workers;
+
+    @Autowired
+    StatementJobRunner(StatementJobStore store, TransactionRepository transactions, StatementJobProperties props,
+                       @Qualifier("statementExecutor") Executor executor) {
+        this(store, transactions, props, executor, Clock.systemUTC());
+    }
+
+    StatementJobRunner(StatementJobStore store, TransactionRepository transactions, StatementJobProperties props,
+                       Executor executor, Clock clock) {
+        this.store = store;
+        this.transactions = transactions;
+        this.props = props;
+        this.executor = executor;
+        this.clock = clock;
+        this.workers = new Semaphore(props.workers());
+    }
+
+    @Scheduled(fixedDelay = POLL_INTERVAL_MS, initialDelay = POLL_INTERVAL_MS)
+    void poll() {
+        try {
+            var now = clock.instant();
+            int released = store.releaseStale(now.minus(props.staleAfter()), MAX_ATTEMPTS, now);
+            if (released > 0) {
+                log.warn("Requeued {} statement jobs without a heartbeat", released);
+            }
+            dispatch();
+            deleteExpired();
+        } catch (Exception e) {
+            log.error("Statement job poll failed", e);
+        }
+    }
+
+    /**
+     * Claim and start pending jobs while a worker is free. Called on submit as well, so a job on an idle node starts
+     * right away instead of on the next poll.
+     */
+    void dispatch() {
+        while (workers.tryAcquire()) {
+            StatementJobRow job = claimNext();
+            if (job == null) {
+                workers.release();
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(job);
+                    } finally {
+                        workers.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                workers.release();
+                store.fail(job.jobId(), nodeId, clock.instant());
+                throw e;
+            }
+        }
+    }
+
+    private StatementJobRow claimNext() {
+        for (String jobId : store.findPending(CLAIM_BATCH)) {
+            if (store.claim(jobId, nodeId, clock.instant())) {
+                return store.find(jobId).orElse(null);
+            }
+        }
+        return null;
+    }
+
+    void run(StatementJobRow job) {
+        Path target = props.dir().resolve(job.fileName());
+        Path part = props.dir().resolve(job.fileName() + ".part");
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(props.dir());
+            long rows;
+            try (FileChannel channel = FileChannel.open(part, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                rows = write(job, TransactionExportWriter.of(job.format(), Channels.newOutputStream(channel)));
+                if (rows < 0) {
+                    log.warn("Statement job {} was taken over by another node, abandoning it", job.jobId());
+                    Files.deleteIfExists(part);
+                    return;
+                }
+                channel.force(false);
+            }
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            if (store.complete(job.jobId(), nodeId, rows, Files.size(target), props.nodeUrl().toString(),
+                    clock.instant())) {
+                log.info("Statement job {} wrote {} transactions for user: {} in {} ms",
+                        job.jobId(), rows, job.userId(), (System.nanoTime() - started) / 1_000_000);
+            } else {
+                log.warn("Statement job {} finished after it was taken over by another node", job.jobId());
+            }
+        } catch (Exception e) {
+            log.error("Statement job {} failed for user: {}", job.jobId(), job.userId(), e);
+            store.fail(job.jobId(), nodeId, clock.instant());
+            deleteQuietly(part);
+        }
+    }
+
+    /**
+     * @return the number of rows written, or -1 when the claim was lost
+     */
+    private long write(StatementJobRow job, TransactionExportWriter writer) throws IOException {
+        int chunkSize = props.chunkSize();
+        long rows = 0;
+        String after = null;
+        while (true) {
+            List<TransactionItem> chunk = after == null
+                    ? transactions.findItemsByUserIdOrderByTransactionIdAsc(job.userId(), Limit.of(chunkSize))
+                    : transactions.findItemsByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc(job.userId(), after, Limit.of(chunkSize));
+            for (TransactionItem item : chunk) {
+                writer.write(item);
+            }
+            rows += chunk.size();
+            if (chunk.size() < chunkSize) {
+                writer.finish();
+                return rows;
+            }
+            after = chunk.getLast().transactionId();
+            if (!store.heartbeat(job.jobId(), nodeId, rows, clock.instant())) {
+                return -1;
+            }
+        }
+    }
+
+    private void deleteExpired() {
+        var before = clock.instant().minus(props.retention());
+        var abandonedBefore = before.minus(props.retention());
+        for (StatementJobRow job : store.findExpired(before, props.nodeUrl().toString(), abandonedBefore,
+                CLEANUP_BATCH)) {
+            deleteQuietly(props.dir().resolve(job.fileName()));
+            store.delete(job.jobId());
+            log.debug("Deleted expired statement job {}", job.jobId());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete statement file {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.lbk.socialbanking.transaction.internal.statement;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.transaction.api.StatementJobService;
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+import com.lbk.socialbanking.transaction.internal.config.StatementJobProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.UUID;
+
+@Service
+public class StatementJobServiceImpl implements StatementJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementJobServiceImpl.class);
+
+    static final int MAX_UNFINISHED_PER_USER = 3;
+
+    private final StatementJobStore store;
+    private final StatementJobRunner runner;
+    private final StatementJobProperties props;
+    private final Clock clock;
+
+    @Autowired
+    StatementJobServiceImpl(StatementJobStore store, StatementJobRunner runner, StatementJobProperties props) {
+        this(store, runner, props, Clock.systemUTC());
+    }
+
+    StatementJobServiceImpl(StatementJobStore store, StatementJobRunner runner, StatementJobProperties props, Clock clock) {
+        this.store = store;
+        this.runner = runner;
+        this.props = props;
+        this.clock = clock;
+    }
+
+    @Override
+    public StatementJob submit(String userId, String accountId, ExportFormat format) {
+        if (store.countUnfinished(userId) >= MAX_UNFINISHED_PER_USER) {
+            throw new ApiException(HttpStatus.TOO_MANY_REQUESTS, "TOO_MANY_STATEMENT_JOBS",
+                    "Wait for a statement to finish before requesting another");
+        }
+
+        var job = new StatementJobRow(UUID.randomUUID().toString(), userId, accountId, format, JobStatus.PENDING,
+                0, null, clock.instant(), null, null);
+        store.insert(job);
+        log.info("Queued statement job {} for user: {}, account: {}, format: {}", job.jobId(), userId, accountId, format);
+
+        try {
+            runner.dispatch();
+        } catch (Exception e) {
+            // The job is stored; the next poll on any node picks it up.
+            log.warn("Could not start statement job {} right away", job.jobId(), e);
+        }
+        return job.toJob();
+    }
+
+    @Override
+    public StatementJob getJob(String userId, String jobId) {
+        return find(userId, jobId).toJob();
+    }
+
+    @Override
+    public StatementFile getFile(String userId, String jobId) {
+        var job = find(userId, jobId);
+        if (job.status() != JobStatus.DONE) {
+            throw new ApiException(HttpStatus.CONFLICT, "STATEMENT_NOT_READY", "Statement is " + job.status());
+        }
+
+        String fileName = "statement-" + job.accountId() + "." + job.format().extension();
+        if (job.fileNode() != null && !job.fileNode().equals(props.nodeUrl().toString())) {
+            return StatementFile.remote(URI.create(job.fileNode()), job.fileSize() == null ? 0 : job.fileSize(),
+                    fileName, job.format().mediaType());
+        }
+
+        Path path = props.dir().resolve(job.fileName());
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (IOException e) {
+            log.warn("Statement file of job {} is missing: {}", jobId, e.getMessage());
+            throw new ApiException(HttpStatus.GONE, "STATEMENT_EXPIRED", "Statement file is no longer available");
+        }
+        return StatementFile.local(path, size, fileName, job.format().mediaType());
+    }
+
+    private StatementJobRow find(String userId, String jobId) {
+        return store.find(userId, jobId)
+                .orElseThrow(() -> new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "Statement job not found"));
+    }
+}
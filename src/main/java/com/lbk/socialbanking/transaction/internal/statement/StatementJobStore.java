@@ -0,0 +1,150 @@
+package com.lbk.socialbanking.transaction.internal.statement;
+
+import com.lbk.socialbanking.transaction.api.StatementJobService.JobStatus;
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to {@code statement_jobs}. Every state change is a conditional update on the current status and,
+ * once claimed, the owning node, so nodes racing for the same job cannot both win.
+ */
+@Repository
+class StatementJobStore {
+
+    private static final String SELECT = """
+            SELECT job_id, user_id, account_id, format, status, row_count, file_size, created_at, completed_at,
+                   file_node
+            FROM statement_jobs
+            """;
+
+    private static final RowMapper<StatementJobRow> ROW = (rs, i) -> new StatementJobRow(
+            rs.getString(1),
+            rs.getString(2),
+            rs.getString(3),
+            ExportFormat.valueOf(rs.getString(4)),
+            JobStatus.valueOf(rs.getString(5)),
+            rs.getLong(6),
+            rs.getObject(7, Long.class),
+            rs.getTimestamp(8).toInstant(),
+            rs.getTimestamp(9) == null ? null : rs.getTimestamp(9).toInstant(),
+            rs.getString(10)
+    );
+
+    private final JdbcTemplate jdbc;
+
+    StatementJobStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    void insert(StatementJobRow job) {
+        jdbc.update("""
+                        INSERT INTO statement_jobs (job_id, user_id, account_id, format, status, created_at, updated_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?)
+                        """,
+                job.jobId(), job.userId(), job.accountId(), job.format().name(), job.status().name(),
+                Timestamp.from(job.createdAt()), Timestamp.from(job.createdAt()));
+    }
+
+    Optional<StatementJobRow> find(String jobId) {
+        return jdbc.query(SELECT + " WHERE job_id = ?", ROW, jobId).stream().findFirst();
+    }
+
+    Optional<StatementJobRow> find(String userId, String jobId) {
+        return jdbc.query(SELECT + " WHERE job_id = ? AND user_id = ?", ROW, jobId, userId).stream().findFirst();
+    }
+
+    int countUnfinished(String userId) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM statement_jobs WHERE user_id = ? AND status IN ('PENDING', 'RUNNING')",
+                Integer.class, userId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * The oldest pending jobs; claim them with {@link #claim} since other nodes see the same list.
+     */
+    List<String> findPending(int limit) {
+        return jdbc.queryForList(
+                "SELECT job_id FROM statement_jobs WHERE status = 'PENDING' ORDER BY created_at LIMIT ?",
+                String.class, limit);
+    }
+
+    boolean claim(String jobId, String owner, Instant now) {
+        return jdbc.update("""
+                UPDATE statement_jobs
+                SET status = 'RUNNING', owner = ?, attempts = attempts + 1, updated_at = ?
+                WHERE job_id = ? AND status = 'PENDING'
+                """, owner, Timestamp.from(now), jobId) == 1;
+    }
+
+    /**
+     * Record progress and keep the claim alive.
+     *
+     * @return false when the job was taken over by another node and this run should stop
+     */
+    boolean heartbeat(String jobId, String owner, long rowCount, Instant now) {
+        return jdbc.update("""
+                UPDATE statement_jobs SET row_count = ?, updated_at = ?
+                WHERE job_id = ? AND owner = ? AND status = 'RUNNING'
+                """, rowCount, Timestamp.from(now), jobId, owner) == 1;
+    }
+
+    /**
+     * @param fileNode the URL of the node that wrote the file
+     */
+    boolean complete(String jobId, String owner, long rowCount, long fileSize, String fileNode, Instant now) {
+        return jdbc.update("""
+                UPDATE statement_jobs
+                SET status = 'DONE', row_count = ?, file_size = ?, file_node = ?, updated_at = ?, completed_at = ?
+                WHERE job_id = ? AND owner = ? AND status = 'RUNNING'
+                """, rowCount, fileSize, fileNode, Timestamp.from(now), Timestamp.from(now), jobId, owner) == 1;
+    }
+
+    void fail(String jobId, String owner, Instant now) {
+        jdbc.update("""
+                UPDATE statement_jobs SET status = 'FAILED', updated_at = ?, completed_at = ?
+                WHERE job_id = ? AND owner = ? AND status = 'RUNNING'
+                """, Timestamp.from(now), Timestamp.from(now), jobId, owner);
+    }
+
+    /**
+     * Hand running jobs without a heartbeat since {@code before} back to the queue, or fail them once they have been
+     * attempted {@code maxAttempts} times.
+     *
+     * @return the number of jobs requeued
+     */
+    int releaseStale(Instant before, int maxAttempts, Instant now) {
+        jdbc.update("""
+                UPDATE statement_jobs SET status = 'FAILED', updated_at = ?, completed_at = ?
+                WHERE status = 'RUNNING' AND updated_at < ? AND attempts >= ?
+                """, Timestamp.from(now), Timestamp.from(now), Timestamp.from(before), maxAttempts);
+        return jdbc.update("""
+                UPDATE statement_jobs SET status = 'PENDING', owner = NULL, updated_at = ?
+                WHERE status = 'RUNNING' AND updated_at < ?
+                """, Timestamp.from(now), Timestamp.from(before));
+    }
+
+    /**
+     * Jobs created before {@code before} that {@code fileNode} should clean up: those without a file and those whose
+     * file it wrote. Jobs whose file is on another node are left to that node until {@code abandonedBefore}, after
+     * which their node is taken to be gone and any node deletes them.
+     */
+    List<StatementJobRow> findExpired(Instant before, String fileNode, Instant abandonedBefore, int limit) {
+        return jdbc.query(SELECT + """
+                        WHERE created_at < ? AND (file_node IS NULL OR file_node = ? OR created_at < ?)
+                        ORDER BY created_at LIMIT ?
+                        """,
+                ROW, Timestamp.from(before), fileNode, Timestamp.from(abandonedBefore), limit);
+    }
+
+    void delete(String jobId) {
+        jdbc.update("DELETE FROM statement_jobs WHERE job_id = ?", jobId);
+    }
+}
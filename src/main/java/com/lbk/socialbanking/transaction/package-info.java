@@ -1,6 +1,6 @@
 @org.springframework.modulith.ApplicationModule(
         displayName = "Transaction Module",
-        allowedDependencies = {"common :: api"}
+        allowedDependencies = {"common :: api", "common :: dto"}
 )
 package com.lbk.socialbanking.transaction;
 
@@ -0,0 +1,118 @@
+package com.lbk.socialbanking.transaction.web;
+
+import com.lbk.socialbanking.common.api.dto.SuccessResponse;
+import com.lbk.socialbanking.transaction.api.StatementJobService;
+import com.lbk.socialbanking.transaction.api.StatementJobService.StatementJob;
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+@SecurityRequirement(name = "ฺBearer Token")
+@Tag(name = "Statement", description = "Endpoints for generating and downloading transaction statements")
+@RestController
+@RequestMapping("/v1/statements")
+@Validated
+public class StatementController {
+
+    // Tomcat's sendfile request attributes (org.apache.catalina.Globals).
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StatementJobService statementJobService;
+    private final StatementFileForwarder forwarder;
+
+    public StatementController(StatementJobService statementJobService, StatementFileForwarder forwarder) {
+        this.statementJobService = statementJobService;
+        this.forwarder = forwarder;
+    }
+
+    @Operation(summary = "Request Statement", description = "Queue a statement of every transaction of an account; poll the returned job until it is DONE, then download its file")
+    @PostMapping
+    public ResponseEntity<SuccessResponse<StatementJob>> submit(
+            Authentication auth,
+            @RequestBody @Valid StatementRequest request
+    ) {
+        var format = request.format() == null
+                ? ExportFormat.CSV
+                : ExportFormat.valueOf(request.format().toUpperCase(Locale.ROOT));
+        var job = statementJobService.submit(auth.getName(), request.accountId(), format);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/v1/statements/" + job.jobId()))
+                .body(SuccessResponse.of(job));
+    }
+
+    @Operation(summary = "Get Statement Job", description = "Retrieve the status of a statement job")
+    @GetMapping("/{jobId}")
+    public SuccessResponse<StatementJob> get(Authentication auth, @PathVariable String jobId) {
+        return SuccessResponse.of(statementJobService.getJob(auth.getName(), jobId));
+    }
+
+    /**
+     * On Tomcat the file is handed to the connector's sendfile support and goes from the page cache to the socket
+     * without passing through the JVM; elsewhere it is copied with {@link FileChannel#transferTo}. A file another
+     * node wrote is fetched from that node.
+     */
+    @Operation(summary = "Download Statement", description = "Download the file of a finished statement job")
+    @GetMapping("/{jobId}/file")
+    public void download(
+            Authentication auth,
+            @PathVariable String jobId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        var file = statementJobService.getFile(auth.getName(), jobId);
+        if (file.node() != null) {
+            forwarder.forward(file.node(), jobId, request, response);
+            return;
+        }
+
+        response.setContentType(file.mediaType());
+        response.setContentLengthLong(file.size());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(file.fileName())
+                .build()
+                .toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, file.size());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < file.size(); ) {
+                position += channel.transferTo(position, file.size() - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.lbk.socialbanking.transaction.web;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves a statement file that another node wrote by repeating the download there, with the caller's credentials,
+ * and streaming that node's response back unchanged.
+ */
+@Component
+class StatementFileForwarder {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementFileForwarder.class);
+
+    // Marks a forwarded download so a node never forwards it again, even when two nodes disagree on who has a file.
+    static final String FORWARDED_HEADER = "X-Statement-Forwarded";
+
+    private static final List<String> COPIED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_DISPOSITION, HttpHeaders.CACHE_CONTROL);
+
+    private final HttpClient client;
+
+    StatementFileForwarder() {
+        this(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build());
+    }
+
+    StatementFileForwarder(HttpClient client) {
+        this.client = client;
+    }
+
+    void forward(URI node, String jobId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.getHeader(FORWARDED_HEADER) != null) {
+            log.error("Statement job {} was forwarded here but its file is on {}", jobId, node);
+            throw unavailable();
+        }
+
+        var upstream = HttpRequest.newBuilder(node.resolve("/v1/statements/" + jobId + "/file"))
+                .header(FORWARDED_HEADER, "1")
+                .GET();
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null) {
+            upstream.header(HttpHeaders.AUTHORIZATION, authorization);
+        }
+
+        HttpResponse<InputStream> fetched;
+        try {
+            fetched = client.send(upstream.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            log.warn("Could not fetch statement job {} from {}: {}", jobId, node, e.getMessage());
+            throw unavailable();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw unavailable();
+        }
+
+        try (InputStream body = fetched.body()) {
+            response.setStatus(fetched.statusCode());
+            for (String name : COPIED_HEADERS) {
+                fetched.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+            }
+            body.transferTo(response.getOutputStream());
+        }
+    }
+
+    private static ApiException unavailable() {
+        return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "STATEMENT_UNAVAILABLE",
+                "Statement file is on a node that cannot be reached, try again later");
+    }
+}
@@ -0,0 +1,15 @@
+package com.lbk.socialbanking.transaction.web;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public record StatementRequest(
+        @NotBlank(message = "accountId is required")
+        @Size(max = 50, message = "accountId must be at most 50 characters")
+        String accountId,
+
+        @Pattern(regexp = "csv|ndjson", message = "format must be csv or ndjson")
+        String format
+) {
+}
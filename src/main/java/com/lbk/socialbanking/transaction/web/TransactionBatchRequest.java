@@ -0,0 +1,12 @@
+package com.lbk.socialbanking.transaction.web;
+
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService.NewTransaction;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record TransactionBatchRequest(
+        @NotEmpty(message = "transactions must not be empty")
+        List<NewTransaction> transactions
+) {
+}
@@ -0,0 +1,41 @@
+package com.lbk.socialbanking.transaction.web;
+
+import com.lbk.socialbanking.common.api.dto.SuccessResponse;
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService;
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService.IngestResult;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@SecurityRequirement(name = "ฺBearer Token")
+@Tag(name = "Transaction", description = "Endpoints for recording user transactions")
+@RestController
+@RequestMapping("/v1/transactions")
+@Validated
+public class TransactionController {
+
+    private final TransactionIngestionService transactionIngestionService;
+
+    public TransactionController(TransactionIngestionService transactionIngestionService) {
+        this.transactionIngestionService = transactionIngestionService;
+    }
+
+    @Operation(summary = "Record Transactions", description = "Record a batch of transactions for the authenticated user; all are recorded or none")
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public SuccessResponse<IngestResult> ingest(
+            Authentication auth,
+            @RequestBody @Valid TransactionBatchRequest request
+    ) {
+        return SuccessResponse.of(transactionIngestionService.ingest(auth.getName(), request.transactions()));
+    }
+}
@@ -0,0 +1,4 @@
+-- The config ETag and response cache key are derived from updated_at. Config rows are edited with plain SQL, so make
+-- every row change bump it, including manual maintenance flips that do not set it explicitly.
+ALTER TABLE app_config
+    MODIFY updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
@@ -0,0 +1,14 @@
+-- Approved card authorizations, written behind the in-memory authorization engine.
+-- epoch_hour (hours since 1970-01-01 UTC) lets spend counters be rebuilt per hour bucket without time zone math.
+CREATE TABLE card_authorizations
+(
+    authorization_id VARCHAR(36)    NOT NULL,
+    card_id          VARCHAR(50)    NOT NULL,
+    user_id          VARCHAR(50)    NOT NULL,
+    amount           DECIMAL(15, 2) NOT NULL,
+    epoch_hour       INT            NOT NULL,
+    authorized_at    DATETIME(6)    NOT NULL,
+    PRIMARY KEY (authorization_id),
+    INDEX idx_card_authorizations_hour (epoch_hour),
+    INDEX idx_card_authorizations_card_hour (card_id, epoch_hour)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
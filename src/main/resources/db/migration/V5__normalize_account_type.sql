@@ -0,0 +1,30 @@
+-- Account type filters compare the exact code so MySQL can use idx_accounts_type_user.
+-- Backfill: trim and upper-case the known codes, fold anything else (including NULL) into OTHER.
+-- Folded rows keep their original value in accounts_type_folded, so nothing is lost.
+CREATE TABLE accounts_type_folded
+(
+    account_id    varchar(50) NOT NULL,
+    original_type varchar(50) NULL,
+    folded_at     DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (account_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT INTO accounts_type_folded (account_id, original_type)
+SELECT account_id, type
+FROM accounts
+WHERE type IS NULL
+   OR UPPER(TRIM(type)) NOT IN ('SAVING', 'GOAL', 'LOAN', 'OTHER');
+
+UPDATE accounts
+SET type = CASE UPPER(TRIM(type))
+               WHEN 'SAVING' THEN 'SAVING'
+               WHEN 'GOAL' THEN 'GOAL'
+               WHEN 'LOAN' THEN 'LOAN'
+               ELSE 'OTHER'
+    END;
+
+-- A binary collation makes the CHECK case-sensitive, so it admits exactly the codes the AccountType enum reads;
+-- under the default case-insensitive collation 'goal' would pass it and fail to load.
+ALTER TABLE accounts
+    MODIFY `type` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL DEFAULT 'OTHER',
+    ADD CONSTRAINT chk_accounts_type CHECK (`type` IN ('SAVING', 'GOAL', 'LOAN', 'OTHER'));
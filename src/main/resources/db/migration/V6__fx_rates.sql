@@ -0,0 +1,9 @@
+-- Value of one unit of each currency in the pivot currency (USD). A cross rate A->B is rate(A) / rate(B).
+CREATE TABLE `fx_rates`
+(
+    `currency`   varchar(10)    NOT NULL,
+    `rate`       decimal(20, 10) NOT NULL,
+    `updated_at` datetime(6)    NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (`currency`),
+    CONSTRAINT chk_fx_rates_positive CHECK (`rate` > 0)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,24 @@
+-- Asynchronous statement generation. Any node may claim a PENDING job; while RUNNING, updated_at is the owner's
+-- heartbeat, and a job whose heartbeat stops is handed back to PENDING (or FAILED after too many attempts).
+-- Files stay on the disk of the node that wrote them; file_node is that node's URL, which other nodes forward
+-- downloads to and which alone deletes the file once the job expires.
+CREATE TABLE statement_jobs
+(
+    job_id       VARCHAR(36) NOT NULL,
+    user_id      VARCHAR(50) NOT NULL,
+    account_id   VARCHAR(50) NOT NULL,
+    format       VARCHAR(10) NOT NULL,
+    status       VARCHAR(10) NOT NULL,
+    owner        VARCHAR(36) NULL,
+    attempts     INT         NOT NULL DEFAULT 0,
+    row_count    BIGINT      NOT NULL DEFAULT 0,
+    file_size    BIGINT      NULL,
+    file_node    VARCHAR(255) NULL,
+    created_at   DATETIME(6) NOT NULL,
+    updated_at   DATETIME(6) NOT NULL,
+    completed_at DATETIME(6) NULL,
+    PRIMARY KEY (job_id),
+    INDEX idx_statement_jobs_status_updated (status, updated_at),
+    INDEX idx_statement_jobs_user_status (user_id, status),
+    INDEX idx_statement_jobs_created (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
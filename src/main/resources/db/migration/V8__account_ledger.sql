@@ -0,0 +1,19 @@
+-- Append-only journal of balance changes. account_balances becomes the per-account snapshot: the balance of an
+-- account is its amount plus the entries after ledger_entry_id. Entries are only appended while holding a lock on
+-- the snapshot row, and the snapshot is moved forward by folding the tail in every few entries.
+CREATE TABLE ledger_entries
+(
+    entry_id    BIGINT         NOT NULL AUTO_INCREMENT,
+    account_id  VARCHAR(50)    NOT NULL,
+    user_id     VARCHAR(50)    NOT NULL,
+    amount      DECIMAL(15, 2) NOT NULL,
+    entry_type  VARCHAR(10)    NOT NULL,
+    transfer_id VARCHAR(36)    NULL,
+    created_at  DATETIME(6)    NOT NULL,
+    PRIMARY KEY (entry_id),
+    INDEX idx_ledger_entries_account_entry (account_id, entry_id),
+    INDEX idx_ledger_entries_transfer (transfer_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+ALTER TABLE account_balances
+    ADD COLUMN ledger_entry_id BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,81 @@
+package com.lbk.socialbanking.account.internal.fx;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FxRateSnapshotTest {
+
+    private static final long ONE = 10_000_000_000L;
+
+    private final FxRateSnapshot snapshot = FxRateSnapshot.of(Map.of(
+            "USD", BigDecimal.ONE,
+            "THB", new BigDecimal("0.0285714286"),
+            "EUR", new BigDecimal("1.08")), Instant.EPOCH);
+
+    @Test
+    @DisplayName("should convert a batch index by index and pass base-currency amounts through")
+    void toBase_batch() {
+        long[] result = snapshot.toBase(
+                new long[]{70_000, 1_000, 0, -10_000, 1_000},
+                new String[]{"THB", "USD", "XXX", "EUR", "EUR"},
+                "USD");
+
+        assertThat(result).containsExactly(2_000, 1_000, 0, -10_800, 1_080);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"5,3,2,8", "7,3,2,10", "-5,3,2,-8", "1,1,2,0", "3,1,2,2", "-3,1,2,-2"})
+    @DisplayName("should round half to even")
+    void convert_roundsHalfEven(long minorUnits, long fromRate, long toRate, long expected) {
+        assertThat(FxRateSnapshot.convert(minorUnits, fromRate, toRate)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("should fall back to exact arithmetic when the product overflows a long")
+    void convert_overflow() {
+        long minorUnits = Long.MAX_VALUE / 1_000;
+        long fromRate = 1_080 * ONE / 1_000;
+        long toRate = 2 * ONE;
+
+        long expected = BigDecimal.valueOf(minorUnits).multiply(BigDecimal.valueOf(fromRate))
+                .divide(BigDecimal.valueOf(toRate), 0, RoundingMode.HALF_EVEN).longValueExact();
+        assertThat(FxRateSnapshot.convert(minorUnits, fromRate, toRate)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("should reject an unknown base currency as a bad request")
+    void toBase_unknownBase() {
+        assertThatThrownBy(() -> snapshot.toBase(new long[]{1}, new String[]{"USD"}, "JPY"))
+                .isInstanceOfSatisfying(ApiException.class,
+                        e -> assertThat(e.status()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("should fail when a non-zero amount has no rate for its currency")
+    void toBase_missingRate() {
+        assertThatThrownBy(() -> snapshot.toBase(new long[]{1}, new String[]{"JPY"}, "USD"))
+                .isInstanceOfSatisfying(ApiException.class,
+                        e -> assertThat(e.status()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+    }
+
+    @Test
+    @DisplayName("should reject non-positive rates and rates finer than the fixed scale")
+    void of_invalidRates() {
+        assertThatThrownBy(() -> FxRateSnapshot.of(Map.of("USD", BigDecimal.ZERO), Instant.EPOCH))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FxRateSnapshot.of(Map.of("USD", new BigDecimal("0.00000000001")), Instant.EPOCH))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
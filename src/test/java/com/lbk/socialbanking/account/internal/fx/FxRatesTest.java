@@ -0,0 +1,75 @@
+package com.lbk.socialbanking.account.internal.fx;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FxRatesTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Mock
+    private FxRateStore store;
+
+    private FxRates rates() {
+        return new FxRates(store, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("should be unavailable until the first load")
+    void current_beforeLoad() {
+        assertThatThrownBy(() -> rates().current())
+                .isInstanceOfSatisfying(ApiException.class,
+                        e -> assertThat(e.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("should swap in a complete new snapshot on refresh")
+    void refresh_swapsSnapshot() {
+        var fxRates = rates();
+        when(store.loadRates())
+                .thenReturn(Map.of("USD", BigDecimal.ONE))
+                .thenReturn(Map.of("USD", BigDecimal.ONE, "THB", new BigDecimal("0.03")));
+
+        fxRates.refresh();
+        var first = fxRates.current();
+        fxRates.refresh();
+
+        assertThat(first.supports("THB")).isFalse();
+        assertThat(fxRates.current()).isNotSameAs(first);
+        assertThat(fxRates.current().supports("THB")).isTrue();
+        assertThat(fxRates.current().loadedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    @DisplayName("should keep the previous snapshot when a refresh fails")
+    void refresh_failureKeepsSnapshot() {
+        var fxRates = rates();
+        when(store.loadRates())
+                .thenReturn(Map.of("USD", BigDecimal.ONE))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(Map.of("USD", BigDecimal.ZERO));
+
+        fxRates.refresh();
+        var loaded = fxRates.current();
+        fxRates.refresh();
+        fxRates.refresh();
+
+        assertThat(fxRates.current()).isSameAs(loaded);
+    }
+}
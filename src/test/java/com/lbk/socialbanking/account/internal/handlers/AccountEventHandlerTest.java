@@ -0,0 +1,88 @@
+package com.lbk.socialbanking.account.internal.handlers;
+
+import com.lbk.socialbanking.account.events.AccountsChangedEvent;
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import com.lbk.socialbanking.transaction.events.TransactionsCompletedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountEventHandlerTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private Cache presenceCache;
+
+    private AccountEventHandler eventHandler;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheManager.getCache("accountTotals")).thenReturn(cache);
+        lenient().when(cacheManager.getCache("accountPresence")).thenReturn(presenceCache);
+        eventHandler = new AccountEventHandler(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should evict totals and presence when a transaction completes")
+    void shouldEvictTotalsOnTransactionCompleted() {
+        eventHandler.handleTransactionCompleted(new TransactionCompletedEvent("tx-1", "user123", "acc-1", "acc-2",
+                new BigDecimal("10.00"), "THB", "TRANSFER", LocalDateTime.now(), null));
+
+        verify(cache).evict("user123");
+        verify(presenceCache).evict("user123");
+    }
+
+    @Test
+    @DisplayName("Should evict once per user for a batch of completed transactions")
+    void shouldEvictOncePerUserOnTransactionsCompleted() {
+        eventHandler.handleTransactionsCompleted(new TransactionsCompletedEvent(List.of(
+                ingested("tx-1", "user123"), ingested("tx-2", "user123"), ingested("tx-3", "user456"),
+                ingested("tx-4", "user123"))));
+
+        verify(cache).evict("user123");
+        verify(cache).evict("user456");
+        verify(presenceCache).evict("user123");
+        verify(presenceCache).evict("user456");
+        verifyNoMoreInteractions(cache, presenceCache);
+    }
+
+    @Test
+    @DisplayName("Should evict totals when an account is opened or closed")
+    void shouldEvictTotalsOnAccountsChanged() {
+        eventHandler.handleAccountsChanged(new AccountsChangedEvent("user123", LocalDateTime.now()));
+
+        verify(cache).evict("user123");
+    }
+
+    @Test
+    @DisplayName("Should not propagate cache failures")
+    void shouldSwallowCacheFailures() {
+        doThrow(new RuntimeException("redis down")).when(cache).evict("user123");
+
+        eventHandler.handleAccountsChanged(new AccountsChangedEvent("user123", LocalDateTime.now()));
+
+        verify(cache).evict("user123");
+    }
+
+    private static TransactionCompletedEvent ingested(String transactionId, String userId) {
+        return new TransactionCompletedEvent(transactionId, userId, null, null, null, null, "INGESTED",
+                LocalDateTime.now(), "Payee");
+    }
+}
@@ -0,0 +1,120 @@
+package com.lbk.socialbanking.account.internal.ledger;
+
+import com.lbk.socialbanking.account.internal.config.LedgerProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerCompactorTest {
+
+    @Mock
+    private LedgerStore store;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private LedgerCompactor compactor() {
+        return new LedgerCompactor(store, transactionManager, tasks::add, new LedgerProperties(100));
+    }
+
+    private void runTasks() {
+        List<Runnable> pending = List.copyOf(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("should leave short tails alone")
+    void belowThreshold() {
+        compactor().entriesAppended("acc-1", 99);
+
+        assertThat(tasks).isEmpty();
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("should compact in a read committed transaction once the tail is long enough")
+    void compacts() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(store.compact("acc-1")).thenReturn(100L);
+        var compactor = compactor();
+
+        compactor.entriesAppended("acc-1", 100);
+        runTasks();
+
+        verify(store).compact("acc-1");
+        verify(transactionManager).getTransaction(argThat(
+                (TransactionDefinition d) -> d.getIsolationLevel() == TransactionDefinition.ISOLATION_READ_COMMITTED));
+    }
+
+    @Test
+    @DisplayName("should queue one compaction per account at a time")
+    void deduplicates() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        var compactor = compactor();
+
+        compactor.entriesAppended("acc-1", 100);
+        compactor.entriesAppended("acc-1", 101);
+        compactor.entriesAppended("acc-2", 150);
+        assertThat(tasks).hasSize(2);
+        runTasks();
+
+        compactor.entriesAppended("acc-1", 100);
+        assertThat(tasks).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("should allow a retry after a failed compaction")
+    void retryAfterFailure() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(store.compact("acc-1")).thenThrow(new CannotAcquireLockException("lock wait timeout"));
+        var compactor = compactor();
+
+        compactor.entriesAppended("acc-1", 100);
+        runTasks();
+        compactor.entriesAppended("acc-1", 101);
+        runTasks();
+
+        verify(store, times(2)).compact("acc-1");
+    }
+
+    @Test
+    @DisplayName("should allow a retry after the executor rejected the compaction")
+    void retryAfterRejection() {
+        List<Runnable> accepted = new ArrayList<>();
+        var busy = new boolean[]{true};
+        var compactor = new LedgerCompactor(store, transactionManager, task -> {
+            if (busy[0]) {
+                throw new TaskRejectedException("full");
+            }
+            accepted.add(task);
+        }, new LedgerProperties(100));
+
+        compactor.entriesAppended("acc-1", 100);
+        busy[0] = false;
+        compactor.entriesAppended("acc-1", 101);
+
+        assertThat(accepted).hasSize(1);
+    }
+}
@@ -0,0 +1,153 @@
+package com.lbk.socialbanking.account.internal.persistence.repo;
+
+import com.lbk.socialbanking.account.api.dto.AccountType;
+import com.lbk.socialbanking.account.internal.persistence.repo.AccountBalanceRepository.BalanceView;
+import com.lbk.socialbanking.account.internal.persistence.repo.AccountRepository.TotalView;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the balance reads of {@link AccountBalanceRepository} and {@link AccountRepository} against a migrated MySQL
+ * schema and checks the amounts they return: each balance is its snapshot plus only the ledger entries after
+ * {@code ledger_entry_id}, and the totals add those up per (currency, type). Skipped unless {@code BENCHMARK_DB_URL}
+ * is set, e.g.
+ * <pre>
+ * BENCHMARK_DB_URL='jdbc:mysql://localhost:3306/social_banking_db' \
+ *   ./gradlew test --tests '*AccountBalanceQueriesDbTest'
+ * </pre>
+ * Rows are written under a throwaway user ID and deleted afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DB_URL", matches = ".+")
+class AccountBalanceQueriesDbTest {
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private EntityManagerFactory entityManagerFactory;
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getenv("BENCHMARK_DB_URL"));
+        dataSource.setUsername(Objects.requireNonNullElse(System.getenv("BENCHMARK_DB_USERNAME"), "app"));
+        dataSource.setPassword(Objects.requireNonNullElse(System.getenv("BENCHMARK_DB_PASSWORD"), "app"));
+        jdbc = new JdbcTemplate(dataSource);
+        userId = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+
+        // Saving THB: 100.00 folded into the snapshot, then +25.50 and -10.25 in the tail.
+        account("sav", AccountType.SAVING, "THB");
+        entry("sav", "100.00");
+        balance("sav", "100.00");
+        entry("sav", "25.50");
+        entry("sav", "-10.25");
+        // Saving THB without ledger entries.
+        account("sav2", AccountType.SAVING, "THB");
+        balance("sav2", "50.00");
+        // Loan THB: a tail only.
+        account("loan", AccountType.LOAN, "THB");
+        balance("loan", "1000.00");
+        entry("loan", "-200.00");
+        // Saving USD without a balance row.
+        account("usd", AccountType.SAVING, "USD");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM ledger_entries WHERE user_id = ?", userId);
+        jdbc.update("DELETE FROM account_balances WHERE user_id = ?", userId);
+        jdbc.update("DELETE FROM accounts WHERE user_id = ?", userId);
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("balances should add only the ledger entries after the snapshot")
+    void findBalancesByUserId_addsTail() {
+        var balances = repositoryFactory().getRepository(AccountBalanceRepository.class).findBalancesByUserId(userId);
+
+        assertThat(balances)
+                .extracting(BalanceView::getAccountId, BalanceView::getMinorUnits)
+                .containsExactlyInAnyOrder(
+                        tuple(userId + "-sav", 11525L),
+                        tuple(userId + "-sav2", 5000L),
+                        tuple(userId + "-loan", 80000L));
+    }
+
+    @Test
+    @DisplayName("totals should add snapshots and tails per currency and type")
+    void sumBalancesByUserId_addsTails() {
+        var totals = repositoryFactory().getRepository(AccountRepository.class).sumBalancesByUserId(userId);
+
+        assertThat(totals)
+                .extracting(TotalView::getCurrency, TotalView::getType, TotalView::getTotalMinorUnits,
+                        TotalView::getAccounts)
+                .containsExactlyInAnyOrder(
+                        tuple("THB", AccountType.SAVING, 16525L, 2L),
+                        tuple("THB", AccountType.LOAN, 80000L, 1L),
+                        tuple("USD", AccountType.SAVING, 0L, 1L));
+    }
+
+    private void account(String suffix, AccountType type, String currency) {
+        jdbc.update("INSERT INTO accounts (account_id, user_id, type, currency) VALUES (?, ?, ?, ?)",
+                userId + "-" + suffix, userId, type.name(), currency);
+    }
+
+    /**
+     * A snapshot that covers every entry of the account written so far.
+     */
+    private void balance(String suffix, String amount) {
+        String accountId = userId + "-" + suffix;
+        Long lastEntry = jdbc.queryForObject("SELECT MAX(entry_id) FROM ledger_entries WHERE account_id = ?",
+                Long.class, accountId);
+        jdbc.update("INSERT INTO account_balances (account_id, user_id, amount, ledger_entry_id) VALUES (?, ?, ?, ?)",
+                accountId, userId, new BigDecimal(amount), Objects.requireNonNullElse(lastEntry, 0L));
+    }
+
+    private void entry(String suffix, String amount) {
+        jdbc.update("""
+                        INSERT INTO ledger_entries (account_id, user_id, amount, entry_type, created_at)
+                        VALUES (?, ?, ?, ?, ?)""",
+                userId + "-" + suffix, userId, new BigDecimal(amount), amount.startsWith("-") ? "DEBIT" : "CREDIT",
+                LocalDateTime.now());
+    }
+
+    /**
+     * Repositories as the application builds them; each query runs on its own, outside any transaction.
+     */
+    private JpaRepositoryFactory repositoryFactory() {
+        var factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.lbk.socialbanking.account.internal.persistence.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        return new JpaRepositoryFactory(entityManager);
+    }
+}
@@ -0,0 +1,107 @@
+package com.lbk.socialbanking.account.internal.persistence.repo;
+
+import com.lbk.socialbanking.account.internal.persistence.entity.AccountBalanceEntity;
+import com.lbk.socialbanking.account.internal.persistence.entity.AccountEntity;
+import com.lbk.socialbanking.account.internal.persistence.entity.LedgerEntryEntity;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.jdbc.connections.internal.UserSuppliedConnectionProviderImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Guards the statements behind {@link AccountRepository}: a case-insensitive match wraps the column in
+ * {@code upper()}, which keeps MySQL from using {@code idx_accounts_type_user (user_id, type)}, and a declared query
+ * that no longer matches the entity mappings only fails once the application starts.
+ */
+class AccountRepositoryQueryTest {
+
+    @Test
+    @DisplayName("derived queries should compare columns exactly")
+    void derivedQueries_noIgnoreCase() {
+        for (Method method : AccountRepository.class.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Query.class)) {
+                continue;
+            }
+            var tree = new PartTree(method.getName(), AccountEntity.class);
+
+            assertThat(tree.getParts().stream().map(Part::shouldIgnoreCase))
+                    .as(method.getName())
+                    .containsOnly(Part.IgnoreCaseType.NEVER);
+        }
+    }
+
+    @Test
+    @DisplayName("declared queries should not wrap columns in case functions")
+    void declaredQueries_noCaseFunctions() {
+        Arrays.stream(AccountRepository.class.getDeclaredMethods())
+                .filter(m -> m.isAnnotationPresent(Query.class))
+                .forEach(m -> assertThat(m.getAnnotation(Query.class).value().toLowerCase())
+                        .as(m.getName())
+                        .doesNotContain("upper(", "lower("));
+    }
+
+    @Test
+    @DisplayName("type filter should bind the enum code")
+    void typeFilter_bindsEnum() throws NoSuchMethodException {
+        Method method = Arrays.stream(AccountRepository.class.getDeclaredMethods())
+                .filter(m -> m.getName().equals("findByUserIdAndType"))
+                .findFirst()
+                .orElseThrow(NoSuchMethodException::new);
+
+        var typePart = new PartTree(method.getName(), AccountEntity.class).getParts().stream()
+                .filter(p -> p.getProperty().getSegment().equals("type"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(typePart.getType()).isEqualTo(Part.Type.SIMPLE_PROPERTY);
+        assertThat(method.getParameterTypes()[1]).isEqualTo(typePart.getProperty().getType());
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {AccountRepository.class, AccountBalanceRepository.class})
+    @DisplayName("declared queries should compile against the entity mappings")
+    void declaredQueries_compile(Class<?> repository) {
+        // The amounts they return are checked against MySQL by AccountBalanceQueriesDbTest.
+        try (SessionFactory sessionFactory = sessionFactory(); Session session = sessionFactory.openSession()) {
+            Arrays.stream(repository.getDeclaredMethods())
+                    .filter(m -> m.isAnnotationPresent(Query.class))
+                    .forEach(m -> assertThatCode(() -> session.createQuery(m.getAnnotation(Query.class).value(),
+                            Object.class))
+                            .as(m.getName())
+                            .doesNotThrowAnyException());
+        }
+    }
+
+    /**
+     * Hibernate with the MySQL dialect and the account entities, without a database behind it.
+     */
+    private static SessionFactory sessionFactory() {
+        var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, MySQLDialect.class.getName())
+                .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+                .applySetting(AvailableSettings.CONNECTION_PROVIDER, UserSuppliedConnectionProviderImpl.class.getName())
+                .build();
+        return new MetadataSources(registry)
+                .addAnnotatedClass(AccountEntity.class)
+                .addAnnotatedClass(AccountBalanceEntity.class)
+                .addAnnotatedClass(LedgerEntryEntity.class)
+                .buildMetadata()
+                .buildSessionFactory();
+    }
+}
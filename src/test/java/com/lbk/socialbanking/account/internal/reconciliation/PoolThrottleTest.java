@@ -0,0 +1,65 @@
+package com.lbk.socialbanking.account.internal.reconciliation;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PoolThrottleTest {
+
+    @Mock
+    private HikariDataSource dataSource;
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private PoolThrottle throttle() {
+        return new PoolThrottle(dataSource, 5, Duration.ofMillis(1));
+    }
+
+    @Test
+    @DisplayName("should only go ahead while more than the reserved connections are free and nobody waits")
+    void headroom() {
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getMaximumPoolSize()).thenReturn(50);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(0, 0, 0, 2);
+        when(pool.getActiveConnections()).thenReturn(44, 45, 10);
+
+        assertThat(throttle().hasHeadroom()).isTrue();
+        assertThat(throttle().hasHeadroom()).isFalse();
+        assertThat(throttle().hasHeadroom()).isTrue();
+        assertThat(throttle().hasHeadroom()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should wait until online traffic leaves room in the pool")
+    void waits() throws Exception {
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        when(dataSource.getMaximumPoolSize()).thenReturn(10);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(3, 1, 0);
+        when(pool.getActiveConnections()).thenReturn(2);
+
+        throttle().awaitHeadroom();
+
+        verify(pool, times(3)).getThreadsAwaitingConnection();
+    }
+
+    @Test
+    @DisplayName("should never wait without a started Hikari pool")
+    void noPool() throws Exception {
+        new PoolThrottle(null, 5, Duration.ofMillis(1)).awaitHeadroom();
+
+        assertThat(throttle().hasHeadroom()).isTrue();
+    }
+}
@@ -0,0 +1,232 @@
+package com.lbk.socialbanking.account.internal.reconciliation;
+
+import com.lbk.socialbanking.account.internal.config.ReconciliationProperties;
+import com.lbk.socialbanking.account.internal.reconciliation.Discrepancy.Kind;
+import com.lbk.socialbanking.account.internal.reconciliation.ReconciliationStore.SnapshotRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliationJobTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T02:30:00Z");
+
+    @Mock
+    private ReconciliationStore store;
+
+    @Mock
+    private PoolThrottle throttle;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReconciliationJob job() {
+        return job(Runnable::run);
+    }
+
+    private ReconciliationJob job(TaskExecutor executor) {
+        return new ReconciliationJob(store, throttle, executor, transactionManager,
+                new ReconciliationProperties("-", 2, 3, 5, Duration.ofMillis(1)), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static SnapshotRow row(String accountId, String amount, String opening, long entryId, String folded) {
+        return new SnapshotRow(accountId, amount == null ? null : new BigDecimal(amount),
+                opening == null ? null : new BigDecimal(opening), entryId, new BigDecimal(folded));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void snapshots(KeyRange range, SnapshotRow... rows) {
+        doAnswer(inv -> {
+            Consumer<SnapshotRow> sink = inv.getArgument(1);
+            List.of(rows).forEach(sink);
+            return (long) rows.length;
+        }).when(store).streamSnapshots(eq(range), any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("should check every keyset range in parallel, each in a read-only repeatable read transaction")
+    void checksAllRanges() throws Exception {
+        when(store.startRun(any(), eq("2026-10-18T02:30:00Z"), eq(NOW))).thenReturn(true);
+        when(store.nextBoundary(null, 3)).thenReturn("acc-3");
+        when(store.nextBoundary("acc-3", 3)).thenReturn("acc-6");
+        when(store.nextBoundary("acc-6", 3)).thenReturn(null);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        doAnswer(inv -> threads.add(Thread.currentThread().getName())).when(throttle).awaitHeadroom();
+        snapshots(new KeyRange(null, "acc-3"), row("acc-1", "10.00", "10.00", 0, "0"),
+                row("acc-2", "5.00", "20.00", 7, "-15.00"), row("acc-3", null, null, 0, "0"));
+        snapshots(new KeyRange("acc-3", "acc-6"), row("acc-4", "1.00", "0.00", 9, "2.00"));
+        snapshots(new KeyRange("acc-6", null));
+
+        var summary = job().run("2026-10-18T02:30:00Z");
+
+        assertThat(summary).isEqualTo(new ReconciliationJob.Summary(4, 1, 0));
+        assertThat(threads).allMatch(name -> name.startsWith("reconciliation-"));
+        verify(transactionManager, times(3)).getTransaction(argThat(def ->
+                def.isReadOnly() && def.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+        verify(store).findOrphanEntries(eq(new KeyRange("acc-6", null)), any());
+        verify(store).insertDiscrepancies(any(), eq(List.of(new Discrepancy("acc-4", Kind.SNAPSHOT_MISMATCH,
+                new BigDecimal("2.00"), new BigDecimal("1.00"), 9L, null))), eq(NOW));
+        verify(store).finishRun(any(), eq("COMPLETED"), eq(4L), eq(1L), eq(0), eq(NOW));
+    }
+
+    @Test
+    @DisplayName("should run off the scheduler thread so other scheduled tasks keep running meanwhile")
+    void scheduledRunDoesNotHoldScheduler() throws Exception {
+        when(store.startRun(any(), any(), any())).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        var inRange = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            inRange.countDown();
+            release.await();
+            return null;
+        }).when(throttle).awaitHeadroom();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        var runExecutor = new SimpleAsyncTaskExecutor("reconciliation-run-");
+        try {
+            var job = job(runExecutor);
+            scheduler.execute(job::scheduled);
+            assertThat(inRange.await(5, TimeUnit.SECONDS)).isTrue();
+
+            var otherTask = new CountDownLatch(3);
+            scheduler.scheduleWithFixedDelay(otherTask::countDown, 0, 10, TimeUnit.MILLISECONDS);
+
+            assertThat(otherTask.await(5, TimeUnit.SECONDS)).isTrue();
+            verify(store, never()).finishRun(any(), any(), anyLong(), anyLong(), anyInt(), any());
+        } finally {
+            release.countDown();
+            scheduler.shutdownNow();
+        }
+        verify(store, timeout(5_000)).finishRun(any(), eq("COMPLETED"), eq(0L), eq(0L), eq(0), eq(NOW));
+    }
+
+    @Test
+    @DisplayName("should skip a slot while the previous run is still going")
+    void skipsSlotWhileRunning() {
+        job(task -> {
+            throw new TaskRejectedException("busy");
+        }).scheduled();
+
+        verifyNoInteractions(store, throttle, transactionManager);
+    }
+
+    @Test
+    @DisplayName("should leave the run to the node that started the slot first")
+    void skipsClaimedSlot() {
+        when(store.startRun(any(), any(), any())).thenReturn(false);
+
+        assertThat(job().run("2026-10-18T02:30:00Z")).isNull();
+
+        verify(store, never()).nextBoundary(any(), anyInt());
+        verifyNoInteractions(throttle, transactionManager);
+    }
+
+    @Test
+    @DisplayName("should report ledger findings, carry on past a failed range and mark the run failed")
+    void failedRange() throws Exception {
+        when(store.startRun(any(), any(), any())).thenReturn(true);
+        when(store.nextBoundary(null, 3)).thenReturn("acc-3");
+        when(store.nextBoundary("acc-3", 3)).thenReturn(null);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        snapshots(new KeyRange(null, "acc-3"));
+        var leg = new Discrepancy("acc-1", Kind.UNMATCHED_LEG, null, new BigDecimal("-5.00"), 11L, "tr-1");
+        doAnswer(inv -> {
+            inv.<Consumer<Discrepancy>>getArgument(1).accept(leg);
+            return null;
+        }).when(store).findUnmatchedLegs(eq(new KeyRange(null, "acc-3")), any());
+        when(store.streamSnapshots(eq(new KeyRange("acc-3", null)), any()))
+                .thenThrow(new QueryTimeoutException("statement timeout"));
+
+        var summary = job().run("slot");
+
+        assertThat(summary).isEqualTo(new ReconciliationJob.Summary(0, 1, 1));
+        verify(store).insertDiscrepancies(any(), eq(List.of(leg)), eq(NOW));
+        verify(store).finishRun(any(), eq("FAILED"), eq(0L), eq(1L), eq(1), eq(NOW));
+    }
+
+    @Test
+    @DisplayName("should write at most a bounded number of findings per range but count them all")
+    void capsReportedFindings() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        snapshots(KeyRange.ALL);
+        doAnswer(inv -> {
+            Consumer<Discrepancy> sink = inv.getArgument(1);
+            for (long i = 0; i < ReconciliationJob.MAX_REPORTED_PER_RANGE + 5; i++) {
+                sink.accept(new Discrepancy("acc-x", Kind.ORPHAN_ENTRY, null, BigDecimal.ONE, i, null));
+            }
+            return null;
+        }).when(store).findOrphanEntries(eq(KeyRange.ALL), any());
+        ArgumentCaptor<List<Discrepancy>> written = ArgumentCaptor.captor();
+
+        var summary = job().check("run-1", KeyRange.ALL);
+
+        verify(store).insertDiscrepancies(eq("run-1"), written.capture(), eq(NOW));
+        assertThat(written.getValue()).hasSize(ReconciliationJob.MAX_REPORTED_PER_RANGE);
+        assertThat(summary.discrepancies()).isEqualTo(ReconciliationJob.MAX_REPORTED_PER_RANGE + 5);
+    }
+
+    @Test
+    @DisplayName("should compare a snapshot with its opening balance plus the entries folded into it")
+    void verify_snapshot() {
+        assertThat(ReconciliationJob.verify(row("acc-1", "75.50", "100.00", 4, "-24.50"))).isNull();
+        assertThat(ReconciliationJob.verify(row("acc-1", null, "0.00", 0, "0"))).isNull();
+        assertThat(ReconciliationJob.verify(row("acc-1", "80.00", null, 0, "0"))).isNull();
+
+        assertThat(ReconciliationJob.verify(row("acc-1", "75.00", "100.00", 4, "-24.50")))
+                .isEqualTo(new Discrepancy("acc-1", Kind.SNAPSHOT_MISMATCH, new BigDecimal("75.50"),
+                        new BigDecimal("75.00"), 4L, null));
+        assertThat(ReconciliationJob.verify(row("acc-1", "80.00", null, 4, "-20.00")))
+                .extracting(Discrepancy::kind).isEqualTo(Kind.MISSING_OPENING);
+    }
+
+    @Test
+    @DisplayName("should not touch the report when a range is clean")
+    void cleanRange() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        snapshots(KeyRange.ALL, row("acc-1", "1.00", "1.00", 0, "0"));
+
+        assertThat(job().check("run-1", KeyRange.ALL)).isEqualTo(new ReconciliationJob.Summary(1, 0, 0));
+
+        verify(store, never()).insertDiscrepancies(any(), any(), any());
+    }
+}
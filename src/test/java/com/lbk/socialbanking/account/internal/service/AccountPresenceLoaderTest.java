@@ -0,0 +1,59 @@
+package com.lbk.socialbanking.account.internal.service;
+
+import com.lbk.socialbanking.account.api.dto.AccountPresence;
+import com.lbk.socialbanking.account.api.dto.AccountType;
+import com.lbk.socialbanking.account.internal.persistence.repo.AccountRepository;
+import com.lbk.socialbanking.transaction.api.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountPresenceLoaderTest {
+
+    private static final String USER_ID = "user123";
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @InjectMocks
+    private AccountPresenceLoader loader;
+
+    @Test
+    @DisplayName("should set one bit per distinct account type and one for payees")
+    void load_typesAndPayees() {
+        when(accountRepository.findDistinctTypesByUserId(USER_ID)).thenReturn(List.of(AccountType.SAVING, AccountType.GOAL, AccountType.OTHER));
+        when(transactionService.hasTransactions(USER_ID)).thenReturn(true);
+
+        AccountPresence presence = loader.load(USER_ID);
+
+        assertThat(presence.has(AccountPresence.SAVING)).isTrue();
+        assertThat(presence.has(AccountPresence.GOAL)).isTrue();
+        assertThat(presence.has(AccountPresence.OTHER_ACCOUNT)).isTrue();
+        assertThat(presence.has(AccountPresence.LOAN)).isFalse();
+        assertThat(presence.has(AccountPresence.PAYEES)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should be empty for a user without accounts or transactions")
+    void load_empty() {
+        when(accountRepository.findDistinctTypesByUserId(USER_ID)).thenReturn(List.of());
+        when(transactionService.hasTransactions(USER_ID)).thenReturn(false);
+
+        AccountPresence presence = loader.load(USER_ID);
+
+        assertThat(presence).isEqualTo(AccountPresence.NONE);
+        assertThat(presence.hasAccounts()).isFalse();
+    }
+}
@@ -1,8 +1,15 @@
 package com.lbk.socialbanking.account.internal.service;
 
+import com.lbk.socialbanking.account.api.dto.AccountPresence;
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
+import com.lbk.socialbanking.account.api.dto.AccountTotals;
+import com.lbk.socialbanking.account.api.dto.AccountType;
+import com.lbk.socialbanking.account.api.dto.GoalItem;
+import com.lbk.socialbanking.account.api.dto.LoanItem;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
-import com.lbk.socialbanking.account.internal.persistence.entity.AccountBalanceEntity;
+import com.lbk.socialbanking.account.events.AccountsChangedEvent;
+import com.lbk.socialbanking.account.internal.fx.FxRateSnapshot;
+import com.lbk.socialbanking.account.internal.fx.FxRates;
 import com.lbk.socialbanking.account.internal.persistence.entity.AccountDetailEntity;
 import com.lbk.socialbanking.account.internal.persistence.entity.AccountEntity;
 import com.lbk.socialbanking.account.internal.persistence.entity.AccountFlagEntity;
@@ -10,8 +17,12 @@ import com.lbk.socialbanking.account.internal.persistence.repo.AccountBalanceRep
 import com.lbk.socialbanking.account.internal.persistence.repo.AccountDetailRepository;
 import com.lbk.socialbanking.account.internal.persistence.repo.AccountFlagRepository;
 import com.lbk.socialbanking.account.internal.persistence.repo.AccountRepository;
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.CursorCodec;
+import com.lbk.socialbanking.common.api.dto.Money;
 import com.lbk.socialbanking.common.api.dto.PageRequest;
 import com.lbk.socialbanking.transaction.api.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -21,13 +32,21 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +54,8 @@ class AccountServiceImplTest {
 
     private static final String USER_ID = "user123";
     private static final String FAVORITE = "FAVORITE";
+    private static final FxRateSnapshot RATES = FxRateSnapshot.of(
+            Map.of("USD", BigDecimal.ONE, "THB", new BigDecimal("0.0285714286")), Instant.EPOCH);
 
     @Mock
     private AccountRepository accountRepository;
@@ -51,9 +72,211 @@ class AccountServiceImplTest {
     @Mock
     private AccountFlagRepository flagRepository;
 
+    @Mock
+    private AccountPresenceLoader presenceLoader;
+
+    @Mock
+    private AccountTotalsLoader totalsLoader;
+
+    @Mock
+    private FxRates fxRates;
+
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec("test-cursor-secret-of-at-least-32-bytes".getBytes());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AccountServiceImpl accountService;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(presenceLoader.load(anyString())).thenReturn(new AccountPresence(
+                AccountPresence.SAVING | AccountPresence.GOAL | AccountPresence.LOAN | AccountPresence.PAYEES));
+    }
+
+    @Nested
+    @DisplayName("getAccountTotals method tests")
+    class GetAccountTotalsTests {
+
+        private final AccountTotals cached = new AccountTotals(List.of(
+                new AccountTotals.CurrencyTotal("THB", Money.of(70_025, "THB"), List.of()),
+                new AccountTotals.CurrencyTotal("USD", Money.of(2_000, "USD"), List.of())), null);
+
+        @Test
+        @DisplayName("should return the cached totals as-is without a base currency")
+        void getAccountTotals_noBaseCurrency() {
+            when(totalsLoader.load(USER_ID)).thenReturn(cached);
+
+            assertThat(accountService.getAccountTotals(USER_ID, null)).isSameAs(cached);
+            verifyNoInteractions(fxRates);
+        }
+
+        @Test
+        @DisplayName("should value the net worth of every currency in the base currency")
+        void getAccountTotals_withBaseCurrency() {
+            when(totalsLoader.load(USER_ID)).thenReturn(cached);
+            when(fxRates.current()).thenReturn(RATES);
+
+            AccountTotals totals = accountService.getAccountTotals(USER_ID, "THB");
+
+            assertThat(totals.currencies()).isEqualTo(cached.currencies());
+            // 700.25 THB + 20.00 USD * 35
+            assertThat(totals.baseNetWorth()).isEqualTo(Money.of(140_025, "THB"));
+        }
+    }
+
+    @Nested
+    @DisplayName("uncounted pagination tests")
+    class UncountedPaginationTests {
+
+        @Test
+        @DisplayName("should read a slice in account ID order without a count query")
+        void listAccounts_uncountedFirstPage() {
+            var pageRequest = new PageRequest(1, 2, false, null);
+            var pageable = org.springframework.data.domain.PageRequest.of(0, 2, Sort.by("accountId"));
+            AccountEntity account1 = newAccount("acc-1", USER_ID, AccountType.SAVING, "THB", "123-456", "KBank");
+            AccountEntity account2 = newAccount("acc-2", USER_ID, AccountType.SAVING, "THB", "789-012", "SCB");
+            when(accountRepository.findSliceByUserId(USER_ID, pageable))
+                    .thenReturn(new SliceImpl<>(List.of(account1, account2), pageable, true));
+
+            var result = accountService.listAccounts(USER_ID, pageRequest);
+
+            assertThat(result.data()).extracting(AccountSummary::accountId).containsExactly("acc-1", "acc-2");
+            assertThat(result.pagination().page()).isEqualTo(1);
+            assertThat(result.pagination().total()).isNull();
+            assertThat(result.pagination().hasNext()).isTrue();
+            assertThat(keyOf(AccountServiceImpl.ACCOUNTS_SCOPE, result.pagination().nextCursor())).isEqualTo("acc-2");
+            verify(accountRepository, never()).findByUserId(eq(USER_ID), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("should continue after the account ID in the cursor and stop at the last page")
+        void listGoalAccounts_afterCursor() {
+            var pageRequest = new PageRequest(1, 2, false, cursor(AccountServiceImpl.GOALS_SCOPE, "acc-2"));
+            AccountEntity goal = newAccount("acc-3", USER_ID, AccountType.GOAL, "THB", "111-222", "KBank");
+            when(accountRepository.findByUserIdAndTypeAndAccountIdGreaterThanOrderByAccountIdAsc(USER_ID, AccountType.GOAL, "acc-2", Limit.of(3)))
+                    .thenReturn(List.of(goal));
+
+            var result = accountService.listGoalAccounts(USER_ID, pageRequest);
+
+            assertThat(result.data()).extracting(GoalItem::goalId).containsExactly("acc-3");
+            assertThat(result.pagination().page()).isNull();
+            assertThat(result.pagination().hasNext()).isFalse();
+            assertThat(result.pagination().nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("should trim the look-ahead row of a keyset page")
+        void listLoanAccounts_trimsLookAhead() {
+            var pageRequest = new PageRequest(1, 1, false, cursor(AccountServiceImpl.LOANS_SCOPE, "acc-1"));
+            AccountEntity loan1 = newAccount("acc-2", USER_ID, AccountType.LOAN, "THB", "111-222", "KBank");
+            AccountEntity loan2 = newAccount("acc-3", USER_ID, AccountType.LOAN, "THB", "333-444", "KBank");
+            when(accountRepository.findByUserIdAndTypeAndAccountIdGreaterThanOrderByAccountIdAsc(USER_ID, AccountType.LOAN, "acc-1", Limit.of(2)))
+                    .thenReturn(List.of(loan1, loan2));
+
+            var result = accountService.listLoanAccounts(USER_ID, pageRequest);
+
+            assertThat(result.data()).extracting(LoanItem::loanId).containsExactly("acc-2");
+            assertThat(keyOf(AccountServiceImpl.LOANS_SCOPE, result.pagination().nextCursor())).isEqualTo("acc-2");
+        }
+
+        @Test
+        @DisplayName("should page payees by transaction ID without loading them all")
+        void listQuickPayees_uncounted() {
+            var pageRequest = new PageRequest(1, 1, false, cursor(AccountServiceImpl.PAYEES_SCOPE, "tx-1"));
+            when(transactionService.listTransactionSummaries(USER_ID, "tx-1", 1, 1)).thenReturn(
+                    new TransactionService.TransactionSummarySlice(
+                            List.of(new TransactionService.TransactionSummary("tx-2", "Jane Smith", "img2.png")), true));
+
+            var result = accountService.listQuickPayees(USER_ID, pageRequest);
+
+            assertThat(result.data()).extracting(PayeeItem::payeeId).containsExactly("tx-2");
+            assertThat(keyOf(AccountServiceImpl.PAYEES_SCOPE, result.pagination().nextCursor())).isEqualTo("tx-2");
+            verify(transactionService, never()).listTransactionSummaries(USER_ID);
+        }
+
+        @Test
+        @DisplayName("should reject a malformed cursor")
+        void listAccounts_invalidCursor() {
+            var pageRequest = new PageRequest(1, 2, false, "%%%");
+
+            assertThatThrownBy(() -> accountService.listAccounts(USER_ID, pageRequest))
+                    .isInstanceOf(ApiException.class);
+            verifyNoInteractions(accountRepository);
+        }
+
+        @Test
+        @DisplayName("should reject a cursor issued by another listing")
+        void listLoanAccounts_goalCursor() {
+            var pageRequest = new PageRequest(1, 2, false, cursor(AccountServiceImpl.GOALS_SCOPE, "acc-2"));
+
+            assertThatThrownBy(() -> accountService.listLoanAccounts(USER_ID, pageRequest))
+                    .isInstanceOf(ApiException.class);
+            verifyNoInteractions(accountRepository);
+        }
+
+        private String cursor(CursorCodec.Scope scope, String key) {
+            return cursorCodec.writer(scope, false).putString(key).encode();
+        }
+
+        private String keyOf(CursorCodec.Scope scope, String cursor) {
+            return cursorCodec.reader(scope, cursor).getString();
+        }
+    }
+
+    @Nested
+    @DisplayName("account presence tests")
+    class AccountPresenceTests {
+
+        @Test
+        @DisplayName("should skip goal, loan and payee queries for sections known to be empty")
+        void listings_skipEmptySections() {
+            when(presenceLoader.load(USER_ID)).thenReturn(new AccountPresence(AccountPresence.SAVING));
+            var pageRequest = new PageRequest(2, 10);
+
+            var goals = accountService.listGoalAccounts(USER_ID, pageRequest);
+            var loans = accountService.listLoanAccounts(USER_ID, pageRequest);
+            var payees = accountService.listQuickPayees(USER_ID, pageRequest);
+
+            assertThat(goals.data()).isEmpty();
+            assertThat(goals.pagination().total()).isZero();
+            assertThat(goals.pagination().page()).isEqualTo(2);
+            assertThat(loans.data()).isEmpty();
+            assertThat(payees.data()).isEmpty();
+            assertThat(accountService.listQuickPayees(USER_ID, 10)).isEmpty();
+            verifyNoInteractions(accountRepository, balanceRepository, detailRepository, transactionService, flagRepository);
+        }
+
+        @Test
+        @DisplayName("should set the type bit on account opening and publish a change")
+        void accountOpened_setsBit() {
+            when(presenceLoader.load(USER_ID)).thenReturn(new AccountPresence(AccountPresence.SAVING));
+
+            accountService.accountOpened(USER_ID, AccountType.LOAN);
+
+            verify(presenceLoader).put(USER_ID, new AccountPresence(AccountPresence.SAVING | AccountPresence.LOAN));
+            verify(eventPublisher).publishEvent(any(AccountsChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("should rebuild presence after account closing")
+        void accountClosed_evicts() {
+            accountService.accountClosed(USER_ID);
+
+            verify(presenceLoader).evict(USER_ID);
+            verify(eventPublisher).publishEvent(any(AccountsChangedEvent.class));
+        }
+
+        @ParameterizedTest(name = "type={0} -> flag={1}")
+        @CsvSource({"SAVING,1", "GOAL,2", "LOAN,4", "OTHER,8"})
+        @DisplayName("should map every account type to its own flag")
+        void flagOf(AccountType type, int flag) {
+            assertThat(AccountPresence.flagOf(type)).isEqualTo(flag);
+        }
+    }
+
 
     @Nested
     @DisplayName("listAccounts method tests")
@@ -63,17 +286,17 @@ class AccountServiceImplTest {
         @DisplayName("should return list of accounts with balances and details")
         void listAccounts_success() {
 
-            AccountEntity account1 = newAccount("acc-1", USER_ID, "SAVING", "THB", "123-456", "KBank");
-            AccountEntity account2 = newAccount("acc-2", USER_ID, "GOAL", "THB", "789-012", "SCB");
+            AccountEntity account1 = newAccount("acc-1", USER_ID, AccountType.SAVING, "THB", "123-456", "KBank");
+            AccountEntity account2 = newAccount("acc-2", USER_ID, AccountType.GOAL, "THB", "789-012", "SCB");
 
-            AccountBalanceEntity balance1 = newBalance("acc-1", USER_ID, bd("1000.50"));
-            AccountBalanceEntity balance2 = newBalance("acc-2", USER_ID, bd("500.00"));
+            BalanceRow balance1 = newBalance("acc-1", USER_ID, bd("1000.50"));
+            BalanceRow balance2 = newBalance("acc-2", USER_ID, bd("500.00"));
 
             AccountDetailEntity detail1 = newDetail("acc-1", USER_ID, "#FF5733");
             AccountDetailEntity detail2 = newDetail("acc-2", USER_ID, "#3357FF");
 
             when(accountRepository.findByUserId(USER_ID)).thenReturn(List.of(account1, account2));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of(balance1, balance2));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(balance1, balance2));
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of(detail1, detail2));
 
             List<AccountSummary> result = accountService.listAccounts(USER_ID);
@@ -87,13 +310,13 @@ class AccountServiceImplTest {
             assertThat(summary1.accountNumber()).isEqualTo("123-456");
             assertThat(summary1.issuer()).isEqualTo("KBank");
             assertThat(summary1.color()).isEqualTo("#FF5733");
-            assertThat(summary1.amount()).isEqualTo(1000.50);
+            assertThat(summary1.amount()).isEqualTo(Money.of(100_050, "THB"));
 
             AccountSummary summary2 = result.get(1);
             assertThat(summary2.accountId()).isEqualTo("acc-2");
             assertThat(summary2.type()).isEqualTo("GOAL");
             assertThat(summary2.color()).isEqualTo("#3357FF");
-            assertThat(summary2.amount()).isEqualTo(500.00);
+            assertThat(summary2.amount()).isEqualTo(Money.of(50_000, "THB"));
         }
 
         @Test
@@ -102,7 +325,7 @@ class AccountServiceImplTest {
             String userId = "user-no-accounts";
 
             when(accountRepository.findByUserId(userId)).thenReturn(List.of());
-            when(balanceRepository.findByUserId(userId)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(userId)).thenReturn(List.of());
             when(detailRepository.findByUserId(userId)).thenReturn(List.of());
 
             List<AccountSummary> result = accountService.listAccounts(userId);
@@ -113,17 +336,17 @@ class AccountServiceImplTest {
         @Test
         @DisplayName("should handle multiple accounts with partial data (missing balance or detail)")
         void listAccounts_partialData() {
-            AccountEntity account1 = newAccount("acc-1", USER_ID, "SAVING", "THB", "123-456", "KBank");
-            AccountEntity account2 = newAccount("acc-2", USER_ID, "GOAL", "THB", "789-012", "SCB");
-            AccountEntity account3 = newAccount("acc-3", USER_ID, "LOAN", "THB", "555-666", "BBL");
+            AccountEntity account1 = newAccount("acc-1", USER_ID, AccountType.SAVING, "THB", "123-456", "KBank");
+            AccountEntity account2 = newAccount("acc-2", USER_ID, AccountType.GOAL, "THB", "789-012", "SCB");
+            AccountEntity account3 = newAccount("acc-3", USER_ID, AccountType.LOAN, "THB", "555-666", "BBL");
 
-            AccountBalanceEntity balance1 = newBalance("acc-1", USER_ID, bd("1000.00"));
-            AccountBalanceEntity balance3 = newBalance("acc-3", USER_ID, bd("5000.00"));
+            BalanceRow balance1 = newBalance("acc-1", USER_ID, bd("1000.00"));
+            BalanceRow balance3 = newBalance("acc-3", USER_ID, bd("5000.00"));
 
             AccountDetailEntity detail2 = newDetail("acc-2", USER_ID, "#3357FF");
 
             when(accountRepository.findByUserId(USER_ID)).thenReturn(List.of(account1, account2, account3));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of(balance1, balance3));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(balance1, balance3));
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of(detail2));
 
             List<AccountSummary> result = accountService.listAccounts(USER_ID);
@@ -131,15 +354,15 @@ class AccountServiceImplTest {
             assertThat(result).hasSize(3);
 
             assertThat(result.getFirst().accountId()).isEqualTo("acc-1");
-            assertThat(result.getFirst().amount()).isEqualTo(1000.00);
+            assertThat(result.getFirst().amount()).isEqualTo(Money.of(100_000, "THB"));
             assertThat(result.getFirst().color()).isNull();
 
             assertThat(result.get(1).accountId()).isEqualTo("acc-2");
-            assertThat(result.get(1).amount()).isEqualTo(0.0);
+            assertThat(result.get(1).amount()).isEqualTo(Money.of(0, "THB"));
             assertThat(result.get(1).color()).isEqualTo("#3357FF");
 
             assertThat(result.get(2).accountId()).isEqualTo("acc-3");
-            assertThat(result.get(2).amount()).isEqualTo(5000.00);
+            assertThat(result.get(2).amount()).isEqualTo(Money.of(500_000, "THB"));
             assertThat(result.get(2).color()).isNull();
         }
 
@@ -148,11 +371,11 @@ class AccountServiceImplTest {
         void listAccountsPaginated_success() {
             var pageRequest = new PageRequest(1, 10);
 
-            AccountEntity account1 = newAccount("acc-1", USER_ID, "SAVING", "THB", "123-456", "KBank");
-            AccountEntity account2 = newAccount("acc-2", USER_ID, "GOAL", "THB", "789-012", "SCB");
+            AccountEntity account1 = newAccount("acc-1", USER_ID, AccountType.SAVING, "THB", "123-456", "KBank");
+            AccountEntity account2 = newAccount("acc-2", USER_ID, AccountType.GOAL, "THB", "789-012", "SCB");
 
-            AccountBalanceEntity balance1 = newBalance("acc-1", USER_ID, bd("1000.50"));
-            AccountBalanceEntity balance2 = newBalance("acc-2", USER_ID, bd("500.00"));
+            BalanceRow balance1 = newBalance("acc-1", USER_ID, bd("1000.50"));
+            BalanceRow balance2 = newBalance("acc-2", USER_ID, bd("500.00"));
 
             AccountDetailEntity detail1 = newDetail("acc-1", USER_ID, "#FF5733");
             AccountDetailEntity detail2 = newDetail("acc-2", USER_ID, "#3357FF");
@@ -163,7 +386,7 @@ class AccountServiceImplTest {
                             pageRequest.toPageable(),
                             2
                     ));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of(balance1, balance2));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(balance1, balance2));
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of(detail1, detail2));
 
             var result = accountService.listAccounts(USER_ID, pageRequest);
@@ -174,13 +397,42 @@ class AccountServiceImplTest {
             assertThat(summary1.accountId()).isEqualTo("acc-1");
             assertThat(summary1.type()).isEqualTo("SAVING");
             assertThat(summary1.color()).isEqualTo("#FF5733");
-            assertThat(summary1.amount()).isEqualTo(1000.50);
+            assertThat(summary1.amount()).isEqualTo(Money.of(100_050, "THB"));
 
             AccountSummary summary2 = result.data().get(1);
             assertThat(summary2.accountId()).isEqualTo("acc-2");
             assertThat(summary2.type()).isEqualTo("GOAL");
             assertThat(summary2.color()).isEqualTo("#3357FF");
-            assertThat(summary2.amount()).isEqualTo(500.00);
+            assertThat(summary2.amount()).isEqualTo(Money.of(50_000, "THB"));
+        }
+
+        @Test
+        @DisplayName("should value every amount of the page in the base currency")
+        void listAccountsPaginated_withBaseCurrency() {
+            var pageRequest = new PageRequest(1, 10);
+
+            AccountEntity account1 = newAccount("acc-1", USER_ID, AccountType.SAVING, "THB", "123-456", "KBank");
+            AccountEntity account2 = newAccount("acc-2", USER_ID, AccountType.GOAL, "USD", "789-012", "SCB");
+
+            when(accountRepository.findByUserId(USER_ID, pageRequest.toPageable()))
+                    .thenReturn(new org.springframework.data.domain.PageImpl<>(
+                            List.of(account1, account2),
+                            pageRequest.toPageable(),
+                            2
+                    ));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(
+                    newBalance("acc-1", USER_ID, bd("700.00")),
+                    newBalance("acc-2", USER_ID, bd("10.00"))));
+            when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(fxRates.current()).thenReturn(RATES);
+
+            var result = accountService.listAccounts(USER_ID, pageRequest, "USD");
+
+            assertThat(result.data()).extracting(AccountSummary::amount)
+                    .containsExactly(Money.of(70_000, "THB"), Money.of(1_000, "USD"));
+            assertThat(result.data()).extracting(AccountSummary::baseAmount)
+                    .containsExactly(Money.of(2_000, "USD"), Money.of(1_000, "USD"));
+            assertThat(result.pagination().total()).isEqualTo(2);
         }
 
         @Test
@@ -191,7 +443,7 @@ class AccountServiceImplTest {
 
             when(accountRepository.findByUserId(userId, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of()));
-            when(balanceRepository.findByUserId(userId)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(userId)).thenReturn(List.of());
             when(detailRepository.findByUserId(userId)).thenReturn(List.of());
 
             var result = accountService.listAccounts(userId, pageRequest);
@@ -204,8 +456,8 @@ class AccountServiceImplTest {
         void listAccountsPaginated_paginationInfo() {
             var pageRequest = new PageRequest(2, 5);
 
-            AccountEntity account1 = newAccount("acc-1", USER_ID, "SAVING", "THB", "123-456", "KBank");
-            AccountEntity account2 = newAccount("acc-2", USER_ID, "GOAL", "THB", "789-012", "SCB");
+            AccountEntity account1 = newAccount("acc-1", USER_ID, AccountType.SAVING, "THB", "123-456", "KBank");
+            AccountEntity account2 = newAccount("acc-2", USER_ID, AccountType.GOAL, "THB", "789-012", "SCB");
 
             when(accountRepository.findByUserId(USER_ID, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(
@@ -213,7 +465,7 @@ class AccountServiceImplTest {
                             pageRequest.toPageable(),
                             15
                     ));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
 
             var result = accountService.listAccounts(USER_ID, pageRequest);
@@ -230,12 +482,12 @@ class AccountServiceImplTest {
         void listAccountsPaginated_withProgressStatus() {
             var pageRequest = new PageRequest(1, 10);
 
-            AccountEntity account1 = newAccount("acc-1", USER_ID, "GOAL", "THB", "123-456", "KBank");
+            AccountEntity account1 = newAccount("acc-1", USER_ID, AccountType.GOAL, "THB", "123-456", "KBank");
             AccountDetailEntity detail1 = newDetailWithProgress("acc-1", USER_ID, "#FF5733", 75);
 
             when(accountRepository.findByUserId(USER_ID, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(account1)));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of(detail1));
 
             var result = accountService.listAccounts(USER_ID, pageRequest);
@@ -440,20 +692,35 @@ class AccountServiceImplTest {
         @DisplayName("should return map of account balances")
         void getBalancesByUserId_success() {
 
-            AccountBalanceEntity balance1 = newBalance("acc-1", USER_ID, bd("1000.50"));
-            AccountBalanceEntity balance2 = newBalance("acc-2", USER_ID, bd("2500.75"));
-            AccountBalanceEntity balance3 = newBalance("acc-3", USER_ID, bd("500.00"));
+            BalanceRow balance1 = newBalance("acc-1", USER_ID, bd("1000.50"));
+            BalanceRow balance2 = newBalance("acc-2", USER_ID, bd("2500.75"));
+            BalanceRow balance3 = newBalance("acc-3", USER_ID, bd("500.00"));
 
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of(balance1, balance2, balance3));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(balance1, balance2, balance3));
 
 
-            Map<String, BigDecimal> result = accountService.getBalancesByUserId(USER_ID);
+            Map<String, Long> result = accountService.getBalancesByUserId(USER_ID);
 
 
             assertThat(result).hasSize(3);
-            assertThat(result.get("acc-1")).isEqualByComparingTo(bd("1000.50"));
-            assertThat(result.get("acc-2")).isEqualByComparingTo(bd("2500.75"));
-            assertThat(result.get("acc-3")).isEqualByComparingTo(bd("500.00"));
+            assertThat(result.get("acc-1")).isEqualTo(100_050L);
+            assertThat(result.get("acc-2")).isEqualTo(250_075L);
+            assertThat(result.get("acc-3")).isEqualTo(50_000L);
+        }
+
+        @Test
+        @DisplayName("should read each snapshot and its ledger tail in one repository call")
+        void getBalancesByUserId_oneStatement() {
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(
+                    newBalance("acc-1", USER_ID, bd("750.25")),
+                    newBalance("acc-2", USER_ID, bd("40.00"))));
+
+            Map<String, Long> result = accountService.getBalancesByUserId(USER_ID);
+
+            assertThat(result).containsOnlyKeys("acc-1", "acc-2");
+            assertThat(result.get("acc-1")).isEqualTo(75_025L);
+            verify(balanceRepository).findBalancesByUserId(USER_ID);
+            verifyNoMoreInteractions(balanceRepository);
         }
 
         @Test
@@ -462,10 +729,10 @@ class AccountServiceImplTest {
 
             String userId = "user-no-balance";
 
-            when(balanceRepository.findByUserId(userId)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(userId)).thenReturn(List.of());
 
 
-            Map<String, BigDecimal> result = accountService.getBalancesByUserId(userId);
+            Map<String, Long> result = accountService.getBalancesByUserId(userId);
 
             assertThat(result).isEmpty();
         }
@@ -473,19 +740,19 @@ class AccountServiceImplTest {
         @ParameterizedTest(name = "balance={0} should be handled correctly")
         @CsvSource({
             "0, 0",
-            "-500.00, -500.00",
-            "9999.99, 9999.99"
+            "-500.00, -50000",
+            "9999.99, 999999"
         })
         @DisplayName("should handle various balance values (zero, negative, positive)")
-        void getBalancesByUserId_variousBalances(String inputBalance, String expectedBalance) {
-            AccountBalanceEntity balance = newBalance("acc-1", USER_ID, bd(inputBalance));
+        void getBalancesByUserId_variousBalances(String inputBalance, long expectedMinorUnits) {
+            BalanceRow balance = newBalance("acc-1", USER_ID, bd(inputBalance));
 
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of(balance));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(balance));
 
-            Map<String, BigDecimal> result = accountService.getBalancesByUserId(USER_ID);
+            Map<String, Long> result = accountService.getBalancesByUserId(USER_ID);
 
             assertThat(result).hasSize(1);
-            assertThat(result.get("acc-1")).isEqualByComparingTo(bd(expectedBalance));
+            assertThat(result.get("acc-1")).isEqualTo(expectedMinorUnits);
         }
     }
 
@@ -498,11 +765,11 @@ class AccountServiceImplTest {
         void listGoalAccounts_success() {
             var pageRequest = new PageRequest(1, 20);
 
-            AccountEntity goalAcc = newAccount("acc-goal", USER_ID, "GOAL", "THB", "999-111", "KBank");
+            AccountEntity goalAcc = newAccount("acc-goal", USER_ID, AccountType.GOAL, "THB", "999-111", "KBank");
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "GOAL", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.GOAL, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(goalAcc)));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
 
             var result = accountService.listGoalAccounts(USER_ID, pageRequest);
@@ -515,9 +782,9 @@ class AccountServiceImplTest {
         void listGoalAccounts_noGoals() {
             var pageRequest = new PageRequest(1, 20);
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "GOAL", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.GOAL, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of()));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
 
             var result = accountService.listGoalAccounts(USER_ID, pageRequest);
@@ -530,13 +797,13 @@ class AccountServiceImplTest {
         void listGoalAccounts_withBalanceAndDetails() {
             var pageRequest = new PageRequest(1, 20);
 
-            AccountEntity goalAcc = newAccount("acc-goal", USER_ID, "GOAL", "THB", "999-111", "KBank");
-            AccountBalanceEntity balance = newBalance("acc-goal", USER_ID, bd("5000.00"));
+            AccountEntity goalAcc = newAccount("acc-goal", USER_ID, AccountType.GOAL, "THB", "999-111", "KBank");
+            BalanceRow balance = newBalance("acc-goal", USER_ID, bd("5000.00"));
             AccountDetailEntity detail = newDetailWithProgress("acc-goal", USER_ID, "#FF5733", 75);
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "GOAL", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.GOAL, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(goalAcc)));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of(balance));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(balance));
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of(detail));
 
             var result = accountService.listGoalAccounts(USER_ID, pageRequest);
@@ -546,7 +813,7 @@ class AccountServiceImplTest {
             assertThat(goalItem.goalId()).isEqualTo("acc-goal");
             assertThat(goalItem.name()).isEqualTo("999-111");
             assertThat(goalItem.issuer()).isEqualTo("KBank");
-            assertThat(goalItem.amount()).isEqualTo(5000.00);
+            assertThat(goalItem.amount()).isEqualTo(Money.of(500_000, "THB"));
             assertThat(goalItem.status()).isEqualTo("IN_PROGRESS");
         }
 
@@ -561,12 +828,12 @@ class AccountServiceImplTest {
         void listGoalAccounts_statusMapping(Integer progress, String expectedStatus) {
             var pageRequest = new PageRequest(1, 20);
 
-            AccountEntity goalAcc = newAccount("acc-goal", USER_ID, "GOAL", "THB", "999-111", "KBank");
+            AccountEntity goalAcc = newAccount("acc-goal", USER_ID, AccountType.GOAL, "THB", "999-111", "KBank");
             AccountDetailEntity detail = newDetailWithProgress("acc-goal", USER_ID, "#FF5733", progress);
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "GOAL", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.GOAL, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(goalAcc)));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of(detail));
 
             var result = accountService.listGoalAccounts(USER_ID, pageRequest);
@@ -580,16 +847,16 @@ class AccountServiceImplTest {
         void listGoalAccounts_paginationInfo() {
             var pageRequest = new PageRequest(2, 5);
 
-            AccountEntity goalAcc1 = newAccount("acc-goal-1", USER_ID, "GOAL", "THB", "999-111", "KBank");
-            AccountEntity goalAcc2 = newAccount("acc-goal-2", USER_ID, "GOAL", "THB", "999-222", "SCB");
+            AccountEntity goalAcc1 = newAccount("acc-goal-1", USER_ID, AccountType.GOAL, "THB", "999-111", "KBank");
+            AccountEntity goalAcc2 = newAccount("acc-goal-2", USER_ID, AccountType.GOAL, "THB", "999-222", "SCB");
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "GOAL", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.GOAL, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(
                             List.of(goalAcc1, goalAcc2),
                             pageRequest.toPageable(),
                             12
                     ));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
 
             var result = accountService.listGoalAccounts(USER_ID, pageRequest);
@@ -611,12 +878,12 @@ class AccountServiceImplTest {
         void listLoanAccounts_success() {
             var pageRequest = new PageRequest(1, 20);
 
-            AccountEntity loanAcc = newAccount("acc-loan", USER_ID, "LOAN", "THB", "555-666", "BBL");
-            AccountBalanceEntity loanBalance = newBalance("acc-loan", USER_ID, bd("5000.00"));
+            AccountEntity loanAcc = newAccount("acc-loan", USER_ID, AccountType.LOAN, "THB", "555-666", "BBL");
+            BalanceRow loanBalance = newBalance("acc-loan", USER_ID, bd("5000.00"));
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "LOAN", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.LOAN, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(loanAcc)));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of(loanBalance));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(loanBalance));
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
 
             var result = accountService.listLoanAccounts(USER_ID, pageRequest);
@@ -629,9 +896,9 @@ class AccountServiceImplTest {
         void listLoanAccounts_noLoans() {
             var pageRequest = new PageRequest(1, 20);
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "LOAN", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.LOAN, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of()));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
 
             var result = accountService.listLoanAccounts(USER_ID, pageRequest);
@@ -644,13 +911,13 @@ class AccountServiceImplTest {
         void listLoanAccounts_withBalanceAndDetails() {
             var pageRequest = new PageRequest(1, 20);
 
-            AccountEntity loanAcc = newAccount("acc-loan", USER_ID, "LOAN", "THB", "555-666", "BBL");
-            AccountBalanceEntity balance = newBalance("acc-loan", USER_ID, bd("10000.00"));
+            AccountEntity loanAcc = newAccount("acc-loan", USER_ID, AccountType.LOAN, "THB", "555-666", "BBL");
+            BalanceRow balance = newBalance("acc-loan", USER_ID, bd("10000.00"));
             AccountDetailEntity detail = newDetailWithProgress("acc-loan", USER_ID, "#FF5733", 50);
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "LOAN", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.LOAN, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(loanAcc)));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of(balance));
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of(balance));
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of(detail));
 
             var result = accountService.listLoanAccounts(USER_ID, pageRequest);
@@ -659,7 +926,7 @@ class AccountServiceImplTest {
             var loanItem = result.data().getFirst();
             assertThat(loanItem.loanId()).isEqualTo("acc-loan");
             assertThat(loanItem.name()).isEqualTo("555-666");
-            assertThat(loanItem.outstandingAmount()).isEqualTo(10000.00);
+            assertThat(loanItem.outstandingAmount()).isEqualTo(Money.of(1_000_000, "THB"));
             assertThat(loanItem.status()).isEqualTo("IN_PROGRESS");
         }
 
@@ -674,12 +941,12 @@ class AccountServiceImplTest {
         void listLoanAccounts_statusMapping(Integer progress, String expectedStatus) {
             var pageRequest = new PageRequest(1, 20);
 
-            AccountEntity loanAcc = newAccount("acc-loan", USER_ID, "LOAN", "THB", "555-666", "BBL");
+            AccountEntity loanAcc = newAccount("acc-loan", USER_ID, AccountType.LOAN, "THB", "555-666", "BBL");
             AccountDetailEntity detail = newDetailWithProgress("acc-loan", USER_ID, "#FF5733", progress);
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "LOAN", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.LOAN, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(loanAcc)));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of(detail));
 
             var result = accountService.listLoanAccounts(USER_ID, pageRequest);
@@ -693,11 +960,11 @@ class AccountServiceImplTest {
         void listLoanAccounts_nullStatus() {
             var pageRequest = new PageRequest(1, 20);
 
-            AccountEntity loanAcc = newAccount("acc-loan", USER_ID, "LOAN", "THB", "555-666", "BBL");
+            AccountEntity loanAcc = newAccount("acc-loan", USER_ID, AccountType.LOAN, "THB", "555-666", "BBL");
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "LOAN", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.LOAN, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(loanAcc)));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
 
             var result = accountService.listLoanAccounts(USER_ID, pageRequest);
@@ -712,16 +979,16 @@ class AccountServiceImplTest {
         void listLoanAccounts_paginationInfo() {
             var pageRequest = new PageRequest(1, 10);
 
-            AccountEntity loanAcc1 = newAccount("acc-loan-1", USER_ID, "LOAN", "THB", "555-666", "BBL");
-            AccountEntity loanAcc2 = newAccount("acc-loan-2", USER_ID, "LOAN", "THB", "777-888", "KBank");
+            AccountEntity loanAcc1 = newAccount("acc-loan-1", USER_ID, AccountType.LOAN, "THB", "555-666", "BBL");
+            AccountEntity loanAcc2 = newAccount("acc-loan-2", USER_ID, AccountType.LOAN, "THB", "777-888", "KBank");
 
-            when(accountRepository.findByUserIdAndTypeIgnoreCase(USER_ID, "LOAN", pageRequest.toPageable()))
+            when(accountRepository.findByUserIdAndType(USER_ID, AccountType.LOAN, pageRequest.toPageable()))
                     .thenReturn(new org.springframework.data.domain.PageImpl<>(
                             List.of(loanAcc1, loanAcc2),
                             pageRequest.toPageable(),
                             25
                     ));
-            when(balanceRepository.findByUserId(USER_ID)).thenReturn(List.of());
+            when(balanceRepository.findBalancesByUserId(USER_ID)).thenReturn(List.of());
             when(detailRepository.findByUserId(USER_ID)).thenReturn(List.of());
 
             var result = accountService.listLoanAccounts(USER_ID, pageRequest);
@@ -738,7 +1005,7 @@ class AccountServiceImplTest {
         return new BigDecimal(value);
     }
 
-    private static AccountEntity newAccount(String accountId, String userId, String type, String currency, String accountNumber, String issuer) {
+    private static AccountEntity newAccount(String accountId, String userId, AccountType type, String currency, String accountNumber, String issuer) {
         AccountEntity account = new AccountEntity();
         account.setAccountId(accountId);
         account.setUserId(userId);
@@ -749,12 +1016,8 @@ class AccountServiceImplTest {
         return account;
     }
 
-    private static AccountBalanceEntity newBalance(String accountId, String userId, BigDecimal amount) {
-        AccountBalanceEntity balance = new AccountBalanceEntity();
-        balance.setAccountId(accountId);
-        balance.setUserId(userId);
-        balance.setAmount(amount);
-        return balance;
+    private static BalanceRow newBalance(String accountId, String userId, BigDecimal amount) {
+        return new BalanceRow(accountId, Money.toMinorUnits(amount));
     }
 
     private static AccountDetailEntity newDetail(String accountId, String userId, String color) {
@@ -782,4 +1045,16 @@ class AccountServiceImplTest {
         flag.setFlagValue(flagValue);
         return flag;
     }
+
+    record BalanceRow(String accountId, long minorUnits) implements AccountBalanceRepository.BalanceView {
+        @Override
+        public String getAccountId() {
+            return accountId;
+        }
+
+        @Override
+        public long getMinorUnits() {
+            return minorUnits;
+        }
+    }
 }
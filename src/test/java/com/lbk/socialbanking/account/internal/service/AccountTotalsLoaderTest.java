@@ -0,0 +1,81 @@
+package com.lbk.socialbanking.account.internal.service;
+
+import com.lbk.socialbanking.account.api.dto.AccountTotals;
+import com.lbk.socialbanking.account.api.dto.AccountType;
+import com.lbk.socialbanking.account.internal.persistence.repo.AccountRepository;
+import com.lbk.socialbanking.common.api.dto.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountTotalsLoaderTest {
+
+    private static final String USER_ID = "user123";
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountTotalsLoader loader;
+
+    @Test
+    @DisplayName("should group totals by currency and subtract loans from net worth")
+    void load_groupsByCurrency() {
+        when(accountRepository.sumBalancesByUserId(USER_ID)).thenReturn(List.of(
+                new TotalRow("THB", AccountType.SAVING, 100_050, 2),
+                new TotalRow("USD", AccountType.GOAL, 2_000, 1),
+                new TotalRow("THB", AccountType.LOAN, 30_025, 1),
+                new TotalRow("THB", AccountType.GOAL, 0, 1)));
+
+        AccountTotals totals = loader.load(USER_ID);
+
+        assertThat(totals.currencies()).extracting(AccountTotals.CurrencyTotal::currency).containsExactly("THB", "USD");
+        var thb = totals.currencies().getFirst();
+        assertThat(thb.netWorth()).isEqualTo(Money.of(70_025, "THB"));
+        assertThat(thb.types()).containsExactly(
+                new AccountTotals.TypeTotal("GOAL", Money.of(0, "THB"), 1),
+                new AccountTotals.TypeTotal("LOAN", Money.of(30_025, "THB"), 1),
+                new AccountTotals.TypeTotal("SAVING", Money.of(100_050, "THB"), 2));
+        assertThat(totals.currencies().get(1).netWorth()).isEqualTo(Money.of(2_000, "USD"));
+        assertThat(totals.baseNetWorth()).isNull();
+    }
+
+    @Test
+    @DisplayName("should return no currencies for a user without accounts")
+    void load_empty() {
+        when(accountRepository.sumBalancesByUserId(USER_ID)).thenReturn(List.of());
+
+        assertThat(loader.load(USER_ID).currencies()).isEmpty();
+    }
+
+    record TotalRow(String currency, AccountType type, long totalMinorUnits, long accounts) implements AccountRepository.TotalView {
+        @Override
+        public String getCurrency() {
+            return currency;
+        }
+
+        @Override
+        public AccountType getType() {
+            return type;
+        }
+
+        @Override
+        public long getTotalMinorUnits() {
+            return totalMinorUnits;
+        }
+
+        @Override
+        public long getAccounts() {
+            return accounts;
+        }
+    }
+}
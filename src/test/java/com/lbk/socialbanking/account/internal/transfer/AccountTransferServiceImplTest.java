@@ -0,0 +1,258 @@
+package com.lbk.socialbanking.account.internal.transfer;
+
+import com.lbk.socialbanking.account.internal.ledger.LedgerCompactor;
+import com.lbk.socialbanking.account.internal.ledger.LedgerStore;
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.dto.Money;
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountTransferServiceImplTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-01T10:00:00Z"), ZoneOffset.UTC);
+    private static final BigDecimal AMOUNT = new BigDecimal("250.00");
+
+    @Mock
+    private TransferStore store;
+
+    @Mock
+    private LedgerStore ledger;
+
+    @Mock
+    private LedgerCompactor compactor;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AccountTransferServiceImpl service() {
+        return new AccountTransferServiceImpl(store, ledger, compactor, eventPublisher, CLOCK);
+    }
+
+    private static LedgerStore.Balance balance(String amount, long tailEntries) {
+        return new LedgerStore.Balance(new BigDecimal(amount), tailEntries);
+    }
+
+    private void lockable(String debited, String credited) {
+        when(ledger.lock("u1", debited, true)).thenReturn(balance("1000.00", 3));
+        when(ledger.lock("u1", credited, false)).thenReturn(balance("0.00", 7));
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void accounts(String first, String firstCurrency, String second, String secondCurrency) {
+        when(store.findCurrencies("u1", first, second)).thenReturn(Map.of(first, firstCurrency, second, secondCurrency));
+    }
+
+    private static void assertRejected(Runnable call, HttpStatus status, String code) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(ApiException.class, e -> {
+                    assertThat(e.status()).isEqualTo(status);
+                    assertThat(e.code()).isEqualTo(code);
+                });
+    }
+
+    @Nested
+    @DisplayName("lock order")
+    class LockOrder {
+
+        @Test
+        @DisplayName("should lock the debited account first when it sorts first, then append both legs")
+        void transfer_debitFirst() {
+            accounts("acc-a", "THB", "acc-b", "THB");
+            lockable("acc-a", "acc-b");
+
+            var result = service().transfer("u1", "acc-a", "acc-b", AMOUNT, null);
+
+            InOrder order = inOrder(ledger);
+            order.verify(ledger).lock("u1", "acc-a", true);
+            order.verify(ledger).lock("u1", "acc-b", false);
+            order.verify(ledger).appendTransfer(result.transferId(), "u1", "acc-a", "acc-b", AMOUNT,
+                    LocalDateTime.of(2025, 6, 1, 10, 0));
+            assertThat(result.amount()).isEqualTo(Money.of(25_000, "THB"));
+            assertThat(result.completedAt()).isEqualTo(LocalDateTime.of(2025, 6, 1, 10, 0));
+        }
+
+        @Test
+        @DisplayName("should lock the credited account first when it sorts first")
+        void transfer_creditFirst() {
+            accounts("acc-b", "THB", "acc-a", "THB");
+            lockable("acc-b", "acc-a");
+
+            service().transfer("u1", "acc-b", "acc-a", AMOUNT, null);
+
+            InOrder order = inOrder(ledger);
+            order.verify(ledger).lock("u1", "acc-a", false);
+            order.verify(ledger).lock("u1", "acc-b", true);
+            order.verify(ledger).appendTransfer(any(), eq("u1"), eq("acc-b"), eq("acc-a"), eq(AMOUNT), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("rejections")
+    class Rejections {
+
+        @Test
+        @DisplayName("should fail with insufficient funds when the locked balance is too low")
+        void transfer_insufficientFunds() {
+            accounts("acc-b", "THB", "acc-a", "THB");
+            when(ledger.lock("u1", "acc-a", false)).thenReturn(balance("0.00", 0));
+            when(ledger.lock("u1", "acc-b", true)).thenReturn(balance("249.99", 0));
+
+            assertRejected(() -> service().transfer("u1", "acc-b", "acc-a", AMOUNT, null),
+                    HttpStatus.UNPROCESSABLE_ENTITY, "INSUFFICIENT_FUNDS");
+            verify(ledger, never()).appendTransfer(any(), any(), any(), any(), any(), any());
+            verifyNoInteractions(eventPublisher, compactor);
+        }
+
+        @Test
+        @DisplayName("should allow a debit of the whole balance")
+        void transfer_wholeBalance() {
+            accounts("acc-a", "THB", "acc-b", "THB");
+            when(ledger.lock("u1", "acc-a", true)).thenReturn(balance("250.00", 0));
+            when(ledger.lock("u1", "acc-b", false)).thenReturn(balance("0.00", 0));
+
+            service().transfer("u1", "acc-a", "acc-b", AMOUNT, null);
+
+            verify(ledger).appendTransfer(any(), eq("u1"), eq("acc-a"), eq("acc-b"), eq(AMOUNT), any());
+        }
+
+        @Test
+        @DisplayName("should not lock the credited account after a failed debit")
+        void transfer_debitFailsFirst() {
+            accounts("acc-a", "THB", "acc-b", "THB");
+            when(ledger.lock("u1", "acc-a", true)).thenReturn(balance("10.00", 0));
+
+            assertRejected(() -> service().transfer("u1", "acc-a", "acc-b", AMOUNT, null),
+                    HttpStatus.UNPROCESSABLE_ENTITY, "INSUFFICIENT_FUNDS");
+            verify(ledger, never()).lock("u1", "acc-b", false);
+        }
+
+        @Test
+        @DisplayName("should report an account without a balance row as not found")
+        void transfer_noBalanceRow() {
+            accounts("acc-a", "THB", "acc-b", "THB");
+            when(ledger.lock("u1", "acc-a", true)).thenReturn(balance("1000.00", 0));
+            when(ledger.lock("u1", "acc-b", false)).thenReturn(null);
+
+            assertRejected(() -> service().transfer("u1", "acc-a", "acc-b", AMOUNT, null),
+                    HttpStatus.NOT_FOUND, "NOT_FOUND");
+            verify(ledger, never()).appendTransfer(any(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("should report accounts of other users as not found")
+        void transfer_notOwned() {
+            when(store.findCurrencies("u1", "acc-a", "acc-x")).thenReturn(Map.of("acc-a", "THB"));
+
+            assertRejected(() -> service().transfer("u1", "acc-a", "acc-x", AMOUNT, null),
+                    HttpStatus.NOT_FOUND, "NOT_FOUND");
+            verifyNoInteractions(ledger);
+        }
+
+        @Test
+        @DisplayName("should reject accounts in different currencies")
+        void transfer_currencyMismatch() {
+            accounts("acc-a", "THB", "acc-b", "USD");
+
+            assertRejected(() -> service().transfer("u1", "acc-a", "acc-b", AMOUNT, null),
+                    HttpStatus.UNPROCESSABLE_ENTITY, "CURRENCY_MISMATCH");
+            verifyNoInteractions(ledger);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"0", "-1.00", "0.001", "12345678901234.00"})
+        @DisplayName("should reject amounts that are not positive or do not fit the balance column")
+        void transfer_invalidAmount(String amount) {
+            assertRejected(() -> service().transfer("u1", "acc-a", "acc-b", new BigDecimal(amount), null),
+                    HttpStatus.BAD_REQUEST, "VALIDATION_ERROR");
+            verifyNoInteractions(store, ledger);
+        }
+
+        @Test
+        @DisplayName("should reject a transfer to the same account")
+        void transfer_sameAccount() {
+            assertRejected(() -> service().transfer("u1", "acc-a", "acc-a", AMOUNT, null),
+                    HttpStatus.BAD_REQUEST, "VALIDATION_ERROR");
+            verifyNoInteractions(store, ledger);
+        }
+    }
+
+    @Nested
+    @DisplayName("events")
+    class Events {
+
+        @Test
+        @DisplayName("should publish the completed transfer only after commit")
+        void transfer_publishesAfterCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+            accounts("acc-a", "THB", "acc-b", "THB");
+            lockable("acc-a", "acc-b");
+
+            var result = service().transfer("u1", "acc-a", "acc-b", AMOUNT, "rent");
+
+            verifyNoInteractions(eventPublisher, compactor);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            var captor = ArgumentCaptor.forClass(TransactionCompletedEvent.class);
+            verify(eventPublisher).publishEvent(captor.capture());
+            assertThat(captor.getValue()).isEqualTo(new TransactionCompletedEvent(result.transferId(), "u1", "acc-a",
+                    "acc-b", AMOUNT, "THB", AccountTransferServiceImpl.TRANSACTION_TYPE,
+                    LocalDateTime.of(2025, 6, 1, 10, 0), "rent"));
+            // Each account gained one entry on top of the tail seen under the lock.
+            verify(compactor).entriesAppended("acc-a", 4);
+            verify(compactor).entriesAppended("acc-b", 8);
+        }
+
+        @Test
+        @DisplayName("should publish nothing when the transaction rolls back")
+        void transfer_rollback() {
+            TransactionSynchronizationManager.initSynchronization();
+            accounts("acc-a", "THB", "acc-b", "THB");
+            lockable("acc-a", "acc-b");
+
+            service().transfer("u1", "acc-a", "acc-b", AMOUNT, null);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+            verifyNoInteractions(compactor);
+        }
+    }
+}
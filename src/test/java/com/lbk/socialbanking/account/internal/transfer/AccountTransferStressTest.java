@@ -0,0 +1,200 @@
+package com.lbk.socialbanking.account.internal.transfer;
+
+import com.lbk.socialbanking.account.internal.config.LedgerProperties;
+import com.lbk.socialbanking.account.internal.ledger.LedgerCompactor;
+import com.lbk.socialbanking.account.internal.ledger.LedgerStore;
+import com.lbk.socialbanking.account.internal.persistence.repo.AccountBalanceRepository;
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.dto.Money;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Transfers per second of {@link AccountTransferServiceImpl} when many threads move money between a few hot accounts
+ * in both directions, against a migrated MySQL schema. Skipped unless {@code BENCHMARK_DB_URL} is set, e.g.
+ * <pre>
+ * BENCHMARK_DB_URL='jdbc:mysql://localhost:3306/social_banking_db' \
+ *   ./gradlew test --tests '*AccountTransferStressTest'
+ * </pre>
+ * Snapshots are compacted every {@value #SNAPSHOT_EVERY} entries while transfers run. Every run must end without
+ * deadlocks and with the total balance, snapshots plus ledger tails, unchanged. Meanwhile a reader keeps loading the
+ * balances through {@link AccountBalanceRepository#findBalancesByUserId}; transfers between the user's own accounts
+ * conserve money, so every read must add up to the same total even when a compaction commits while it runs. Rows
+ * are written under a throwaway user ID and deleted afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DB_URL", matches = ".+")
+class AccountTransferStressTest {
+
+    private static final int THREADS = 16;
+    private static final long DURATION_MILLIS = 10_000;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000000.00");
+    private static final int SNAPSHOT_EVERY = 50;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private String userId;
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getenv("BENCHMARK_DB_URL"));
+        dataSource.setUsername(Objects.requireNonNullElse(System.getenv("BENCHMARK_DB_USERNAME"), "app"));
+        dataSource.setPassword(Objects.requireNonNullElse(System.getenv("BENCHMARK_DB_PASSWORD"), "app"));
+        dataSource.setMaximumPoolSize(THREADS + 1);
+        jdbc = new JdbcTemplate(dataSource);
+        userId = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM ledger_entries WHERE user_id = ?", userId);
+        jdbc.update("DELETE FROM account_balances WHERE user_id = ?", userId);
+        jdbc.update("DELETE FROM accounts WHERE user_id = ?", userId);
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        dataSource.close();
+    }
+
+    /**
+     * The repository as the application builds it; each query runs on its own, outside any transaction.
+     */
+    private AccountBalanceRepository balanceRepository() {
+        var factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.lbk.socialbanking.account.internal.persistence.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        return new JpaRepositoryFactory(entityManager).getRepository(AccountBalanceRepository.class);
+    }
+
+    @ParameterizedTest(name = "{0} hot accounts")
+    @ValueSource(ints = {2, 4, 16})
+    @DisplayName("benchmark transfers under contention")
+    void benchmark(int hotAccounts) throws Exception {
+        List<String> accounts = new ArrayList<>(hotAccounts);
+        for (int i = 0; i < hotAccounts; i++) {
+            String accountId = userId + "-" + i;
+            jdbc.update("INSERT INTO accounts (account_id, user_id, type, currency) VALUES (?, ?, 'SAVING', 'THB')",
+                    accountId, userId);
+            jdbc.update("INSERT INTO account_balances (account_id, user_id, amount) VALUES (?, ?, ?)",
+                    accountId, userId, OPENING_BALANCE);
+            accounts.add(accountId);
+        }
+
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        var ledger = new LedgerStore(jdbc);
+        // Compacts on the worker thread right after its commit, so compactions race with other transfers.
+        var compactor = new LedgerCompactor(ledger, transactionManager, Runnable::run, new LedgerProperties(SNAPSHOT_EVERY));
+        AtomicLong published = new AtomicLong();
+        var service = new AccountTransferServiceImpl(new TransferStore(jdbc), ledger, compactor,
+                event -> published.incrementAndGet());
+        var tx = new TransactionTemplate(transactionManager);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong lockFailures = new AtomicLong();
+        BigDecimal expectedTotal = OPENING_BALANCE.multiply(BigDecimal.valueOf(hotAccounts));
+        AccountBalanceRepository balances = balanceRepository();
+        AtomicLong reads = new AtomicLong();
+        List<BigDecimal> inconsistentReads = new CopyOnWriteArrayList<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+        List<Future<?>> workers = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(pool.submit(() -> {
+                var random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int from = random.nextInt(hotAccounts);
+                    int to = (from + 1 + random.nextInt(hotAccounts - 1)) % hotAccounts;
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(100, 1_000), 2);
+                    try {
+                        tx.executeWithoutResult(status ->
+                                service.transfer(userId, accounts.get(from), accounts.get(to), amount, null));
+                        completed.incrementAndGet();
+                    } catch (ApiException e) {
+                        rejected.incrementAndGet();
+                    } catch (PessimisticLockingFailureException e) {
+                        lockFailures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        Future<?> reader = pool.submit(() -> {
+            while (System.nanoTime() < deadline) {
+                long read = balances.findBalancesByUserId(userId).stream()
+                        .mapToLong(AccountBalanceRepository.BalanceView::getMinorUnits)
+                        .sum();
+                reads.incrementAndGet();
+                if (read != Money.toMinorUnits(expectedTotal)) {
+                    inconsistentReads.add(BigDecimal.valueOf(read, Money.SCALE));
+                }
+            }
+        });
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        reader.get();
+        long nanos = System.nanoTime() - started;
+        pool.shutdown();
+
+        System.out.printf("%2d hot accounts, %d threads: %,8.0f transfers/s (%d completed, %d rejected, %d lock failures,"
+                        + " %d balance reads)%n", hotAccounts, THREADS, completed.get() / (nanos / 1e9), completed.get(),
+                rejected.get(), lockFailures.get(), reads.get());
+
+        BigDecimal total = jdbc.queryForObject("""
+                SELECT SUM(b.amount) + (SELECT COALESCE(SUM(e.amount), 0) FROM ledger_entries e
+                                        JOIN account_balances s ON s.account_id = e.account_id
+                                        WHERE s.user_id = ? AND e.entry_id > s.ledger_entry_id)
+                FROM account_balances b WHERE b.user_id = ?
+                """, BigDecimal.class, userId, userId);
+        Long entries = jdbc.queryForObject("SELECT COUNT(*) FROM ledger_entries WHERE user_id = ?", Long.class, userId);
+        assertThat(lockFailures.get()).isZero();
+        assertThat(total).isEqualByComparingTo(expectedTotal);
+        assertThat(inconsistentReads).isEmpty();
+        assertThat(entries).isEqualTo(2 * completed.get());
+        assertThat(published.get()).isEqualTo(completed.get());
+        assertThat(completed.get()).isPositive();
+    }
+}
@@ -2,10 +2,12 @@ package com.lbk.socialbanking.account.web;
 
 import com.lbk.socialbanking.account.api.AccountService;
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
+import com.lbk.socialbanking.account.api.dto.AccountTotals;
 import com.lbk.socialbanking.account.api.dto.GoalItem;
 import com.lbk.socialbanking.account.api.dto.LoanItem;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
 import com.lbk.socialbanking.common.api.JwtService;
+import com.lbk.socialbanking.common.api.dto.Money;
 import com.lbk.socialbanking.common.api.dto.PageInfo;
 import com.lbk.socialbanking.common.api.dto.PageRequest;
 import com.lbk.socialbanking.common.api.dto.PaginatedResponse;
@@ -21,8 +23,14 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -51,12 +59,12 @@ class AccountsControllerTest {
         void list_shouldReturnPaginatedAccounts() throws Exception {
             var paginatedResponse = PaginatedResponse.of(
                     List.of(
-                            new AccountSummary("acc-1", "SAVING", "THB", "123-456", "KBank", "#FF5733", 1000.00, "IN_PROGRESS"),
-                            new AccountSummary("acc-2", "GOAL", "THB", "222-333", "SCB", "#3357FF", 500.00, "IN_PROGRESS")
+                            new AccountSummary("acc-1", "SAVING", "THB", "123-456", "KBank", "#FF5733", Money.of(100_000, "THB"), "IN_PROGRESS", null),
+                            new AccountSummary("acc-2", "GOAL", "THB", "222-333", "SCB", "#3357FF", Money.of(50_000, "THB"), "IN_PROGRESS", null)
                     ),
                     PageInfo.of(1, 20, 2)
             );
-            when(accountService.listAccounts("u1", new PageRequest(1, 20))).thenReturn(paginatedResponse);
+            when(accountService.listAccounts("u1", new PageRequest(1, 20), null)).thenReturn(paginatedResponse);
 
             mockMvc.perform(get("/v1/accounts"))
                     .andExpect(status().isOk())
@@ -67,12 +75,13 @@ class AccountsControllerTest {
                     .andExpect(jsonPath("$.data.[0].type").value("SAVING"))
                     .andExpect(jsonPath("$.data.[0].accountNumber").value("123-456"))
                     .andExpect(jsonPath("$.data.[0].issuer").value("KBank"))
-                    .andExpect(jsonPath("$.data.[0].amount").value(1000.00))
+                    .andExpect(jsonPath("$.data.[0].amount.amount").value(1000.00))
+                    .andExpect(jsonPath("$.data.[0].amount.currency").value("THB"))
                     .andExpect(jsonPath("$.data.[1].accountId").value("acc-2"))
                     .andExpect(jsonPath("$.data.[1].type").value("GOAL"))
                     .andExpect(jsonPath("$.data.[1].accountNumber").value("222-333"))
                     .andExpect(jsonPath("$.data.[1].issuer").value("SCB"))
-                    .andExpect(jsonPath("$.data.[1].amount").value(500.00))
+                    .andExpect(jsonPath("$.data.[1].amount.amount").value(500.00))
                     .andExpect(jsonPath("$.pagination").exists())
                     .andExpect(jsonPath("$.pagination.page").value(1))
                     .andExpect(jsonPath("$.pagination.limit").value(20))
@@ -88,7 +97,7 @@ class AccountsControllerTest {
                     List.<AccountSummary>of(),
                     PageInfo.of(1, 20, 0)
             );
-            when(accountService.listAccounts("u1", new PageRequest(1, 20))).thenReturn(emptyResponse);
+            when(accountService.listAccounts("u1", new PageRequest(1, 20), null)).thenReturn(emptyResponse);
 
             mockMvc.perform(get("/v1/accounts"))
                     .andExpect(status().isOk())
@@ -105,10 +114,10 @@ class AccountsControllerTest {
         @WithMockUser(username = "u1")
         void list_shouldReturnPaginatedAccountsWithParams() throws Exception {
             var paginatedResponse = PaginatedResponse.of(
-                    List.of(new AccountSummary("acc-1", "SAVING", "THB", "123-456", "KBank", "#FF5733", 1000.00, "IN_PROGRESS")),
+                    List.of(new AccountSummary("acc-1", "SAVING", "THB", "123-456", "KBank", "#FF5733", Money.of(100_000, "THB"), "IN_PROGRESS", null)),
                     PageInfo.of(2, 10, 25)
             );
-            when(accountService.listAccounts("u1", new PageRequest(2, 10))).thenReturn(paginatedResponse);
+            when(accountService.listAccounts("u1", new PageRequest(2, 10), null)).thenReturn(paginatedResponse);
 
             mockMvc.perform(get("/v1/accounts")
                             .param("page", "2")
@@ -193,6 +202,78 @@ class AccountsControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /v1/accounts/{accountId}/transactions/export - Export Transactions")
+    class ExportTransactionsTests {
+
+        @Test
+        @DisplayName("should stream CSV as an attachment by default")
+        @WithMockUser(username = "u1")
+        void export_shouldStreamCsv() throws Exception {
+            when(transactionService.exportTransactions(eq("u1"), eq("acc-1"), eq(TransactionService.ExportFormat.CSV), any()))
+                    .thenAnswer(inv -> {
+                        inv.getArgument(3, java.io.OutputStream.class).write("transactionId,name,image,isBank\r\n".getBytes());
+                        return 0L;
+                    });
+
+            var result = mockMvc.perform(get("/v1/accounts/{accountId}/transactions/export", "acc-1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions-acc-1.csv\""))
+                    .andExpect(header().string("Cache-Control", "no-store"))
+                    .andExpect(content().string("transactionId,name,image,isBank\r\n"));
+        }
+
+        @Test
+        @DisplayName("should stream on the export executor without an async timeout")
+        @WithMockUser(username = "u1")
+        void export_shouldRunWithoutTimeout() throws Exception {
+            var thread = new AtomicReference<String>();
+            when(transactionService.exportTransactions(eq("u1"), eq("acc-1"), eq(TransactionService.ExportFormat.CSV), any()))
+                    .thenAnswer(inv -> {
+                        thread.set(Thread.currentThread().getName());
+                        return 0L;
+                    });
+
+            var result = mockMvc.perform(get("/v1/accounts/{accountId}/transactions/export", "acc-1"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk());
+
+            assertThat(result.getRequest().getAsyncContext().getTimeout()).isNotPositive();
+            assertThat(thread.get()).startsWith("export-");
+        }
+
+        @Test
+        @DisplayName("should stream NDJSON when asked")
+        @WithMockUser(username = "u1")
+        void export_shouldStreamNdjson() throws Exception {
+            var result = mockMvc.perform(get("/v1/accounts/{accountId}/transactions/export", "acc-1")
+                            .param("format", "ndjson"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+            verify(transactionService).exportTransactions(eq("u1"), eq("acc-1"), eq(TransactionService.ExportFormat.NDJSON), any());
+        }
+
+        @Test
+        @DisplayName("should reject an unknown format")
+        @WithMockUser(username = "u1")
+        void export_shouldRejectUnknownFormat() throws Exception {
+            mockMvc.perform(get("/v1/accounts/{accountId}/transactions/export", "acc-1")
+                            .param("format", "xlsx"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /v1/accounts/goals - List Goal Accounts")
     class ListGoalsTests {
@@ -203,7 +284,7 @@ class AccountsControllerTest {
         void goals_shouldReturnPaginatedGoalAccounts() throws Exception {
             var paginatedResponse = PaginatedResponse.of(
                     List.of(
-                            new GoalItem("acc-goal", "999-111", "IN_PROGRESS", "KBank", 150.00)
+                            new GoalItem("acc-goal", "999-111", "IN_PROGRESS", "KBank", Money.of(15_000, "THB"))
                     ),
                     PageInfo.of(1, 20, 1)
             );
@@ -218,7 +299,7 @@ class AccountsControllerTest {
                     .andExpect(jsonPath("$.data[0].name").value("999-111"))
                     .andExpect(jsonPath("$.data[0].status").value("IN_PROGRESS"))
                     .andExpect(jsonPath("$.data[0].issuer").value("KBank"))
-                    .andExpect(jsonPath("$.data[0].amount").value(150.00))
+                    .andExpect(jsonPath("$.data[0].amount.amount").value(150.00))
                     .andExpect(jsonPath("$.pagination").exists())
                     .andExpect(jsonPath("$.pagination.page").value(1))
                     .andExpect(jsonPath("$.pagination.limit").value(20))
@@ -244,6 +325,52 @@ class AccountsControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /v1/accounts/totals - Account Totals")
+    class TotalsTests {
+
+        @Test
+        @DisplayName("should return per-currency and per-type totals")
+        @WithMockUser(username = "u1")
+        void totals_shouldReturnTotals() throws Exception {
+            var totals = new AccountTotals(List.of(new AccountTotals.CurrencyTotal("THB", Money.of(70_000, "THB"), List.of(
+                    new AccountTotals.TypeTotal("LOAN", Money.of(30_000, "THB"), 1),
+                    new AccountTotals.TypeTotal("SAVING", Money.of(100_000, "THB"), 2)))), null);
+            when(accountService.getAccountTotals("u1", null)).thenReturn(totals);
+
+            mockMvc.perform(get("/v1/accounts/totals"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.currencies.length()").value(1))
+                    .andExpect(jsonPath("$.data.currencies[0].currency").value("THB"))
+                    .andExpect(jsonPath("$.data.currencies[0].netWorth.amount").value(700.00))
+                    .andExpect(jsonPath("$.data.currencies[0].types[1].type").value("SAVING"))
+                    .andExpect(jsonPath("$.data.currencies[0].types[1].total.amount").value(1000.00))
+                    .andExpect(jsonPath("$.data.currencies[0].types[1].accounts").value(2));
+        }
+
+        @Test
+        @DisplayName("should value net worth in the requested base currency")
+        @WithMockUser(username = "u1")
+        void totals_shouldIncludeBaseNetWorth() throws Exception {
+            var totals = new AccountTotals(List.of(new AccountTotals.CurrencyTotal("THB", Money.of(70_000, "THB"), List.of())),
+                    Money.of(2_000, "USD"));
+            when(accountService.getAccountTotals("u1", "USD")).thenReturn(totals);
+
+            mockMvc.perform(get("/v1/accounts/totals").param("baseCurrency", "USD"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.baseNetWorth.amount").value(20.00))
+                    .andExpect(jsonPath("$.data.baseNetWorth.currency").value("USD"));
+        }
+
+        @Test
+        @DisplayName("should reject a malformed base currency")
+        @WithMockUser(username = "u1")
+        void totals_shouldValidateBaseCurrency() throws Exception {
+            mockMvc.perform(get("/v1/accounts/totals").param("baseCurrency", "usd"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /v1/accounts/loans - List Loan Accounts")
     class ListLoansTests {
@@ -254,7 +381,7 @@ class AccountsControllerTest {
         void loans_shouldReturnPaginatedLoanAccounts() throws Exception {
             var paginatedResponse = PaginatedResponse.of(
                     List.of(
-                            new LoanItem("acc-loan", "555-666", "ACTIVE", 5000.00)
+                            new LoanItem("acc-loan", "555-666", "ACTIVE", Money.of(500_000, "THB"))
                     ),
                     PageInfo.of(1, 20, 1)
             );
@@ -268,7 +395,7 @@ class AccountsControllerTest {
                     .andExpect(jsonPath("$.data[0].loanId").value("acc-loan"))
                     .andExpect(jsonPath("$.data[0].name").value("555-666"))
                     .andExpect(jsonPath("$.data[0].status").value("ACTIVE"))
-                    .andExpect(jsonPath("$.data[0].outstandingAmount").value(5000.00))
+                    .andExpect(jsonPath("$.data[0].outstandingAmount.amount").value(5000.00))
                     .andExpect(jsonPath("$.pagination").exists())
                     .andExpect(jsonPath("$.pagination.page").value(1))
                     .andExpect(jsonPath("$.pagination.limit").value(20))
@@ -292,6 +419,25 @@ class AccountsControllerTest {
                     .andExpect(jsonPath("$.pagination").exists())
                     .andExpect(jsonPath("$.pagination.total").value(0));
         }
+
+        @Test
+        @DisplayName("should pass count=false and the cursor through and omit totals")
+        @WithMockUser(username = "u1")
+        void loans_shouldSupportUncountedKeysetPages() throws Exception {
+            var paginatedResponse = PaginatedResponse.of(
+                    List.of(new LoanItem("acc-loan", "555-666", "ACTIVE", Money.of(500_000, "THB"))),
+                    PageInfo.uncounted(null, 1, true, "next")
+            );
+            when(accountService.listLoanAccounts("u1", new PageRequest(1, 1, false, "abc"))).thenReturn(paginatedResponse);
+
+            mockMvc.perform(get("/v1/accounts/loans").param("limit", "1").param("count", "false").param("cursor", "abc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.length()").value(1))
+                    .andExpect(jsonPath("$.pagination.hasNext").value(true))
+                    .andExpect(jsonPath("$.pagination.nextCursor").value("next"))
+                    .andExpect(jsonPath("$.pagination.total").doesNotExist())
+                    .andExpect(jsonPath("$.pagination.page").doesNotExist());
+        }
     }
 
     @Nested
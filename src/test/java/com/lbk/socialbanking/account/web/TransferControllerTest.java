@@ -0,0 +1,84 @@
+package com.lbk.socialbanking.account.web;
+
+import com.lbk.socialbanking.account.api.AccountTransferService;
+import com.lbk.socialbanking.account.api.dto.TransferResult;
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.JwtService;
+import com.lbk.socialbanking.common.api.dto.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TransferController.class)
+class TransferControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private AccountTransferService accountTransferService;
+
+    @Test
+    @DisplayName("POST /v1/accounts/transfers should transfer for the authenticated user")
+    @WithMockUser(username = "u1")
+    void transfer_shouldTransfer() throws Exception {
+        when(accountTransferService.transfer("u1", "acc-1", "acc-2", new BigDecimal("100.50"), "rent"))
+                .thenReturn(new TransferResult("tr-1", "acc-1", "acc-2", Money.of(10_050, "THB"),
+                        LocalDateTime.of(2025, 6, 1, 10, 0)));
+
+        mockMvc.perform(post("/v1/accounts/transfers").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fromAccountId": "acc-1", "toAccountId": "acc-2", "amount": 100.50, "description": "rent"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.transferId").value("tr-1"))
+                .andExpect(jsonPath("$.data.amount.amount").value(100.50))
+                .andExpect(jsonPath("$.data.amount.currency").value("THB"));
+    }
+
+    @Test
+    @DisplayName("POST /v1/accounts/transfers should reject amounts with more than two decimals")
+    @WithMockUser(username = "u1")
+    void transfer_shouldRejectInvalidAmount() throws Exception {
+        mockMvc.perform(post("/v1/accounts/transfers").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccountId\": \"acc-1\", \"toAccountId\": \"acc-2\", \"amount\": 1.005}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(accountTransferService);
+    }
+
+    @Test
+    @DisplayName("POST /v1/accounts/transfers should report insufficient funds")
+    @WithMockUser(username = "u1")
+    void transfer_shouldReportInsufficientFunds() throws Exception {
+        when(accountTransferService.transfer(eq("u1"), eq("acc-1"), eq("acc-2"), any(), any()))
+                .thenThrow(new ApiException(HttpStatus.UNPROCESSABLE_ENTITY, "INSUFFICIENT_FUNDS", "Insufficient funds in account acc-1"));
+
+        mockMvc.perform(post("/v1/accounts/transfers").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromAccountId\": \"acc-1\", \"toAccountId\": \"acc-2\", \"amount\": 10}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.error.code").value("INSUFFICIENT_FUNDS"));
+    }
+}
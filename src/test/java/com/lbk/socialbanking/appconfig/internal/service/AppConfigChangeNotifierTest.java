@@ -0,0 +1,81 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import com.lbk.socialbanking.appconfig.internal.persistence.repo.AppConfigRepository;
+import com.lbk.socialbanking.appconfig.internal.service.AppConfigServiceImplTest.VersionRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AppConfigChangeNotifierTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime T2 = LocalDateTime.of(2025, 2, 1, 0, 0);
+    private static final SemVer V1_1 = new SemVer(1, 1, 0);
+
+    @Mock
+    private AppConfigRepository repo;
+
+    private AppConfigChangeNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new AppConfigChangeNotifier(new AppConfigVersionIndex(repo));
+    }
+
+    @Test
+    @DisplayName("should complete immediately when client holds a stale etag")
+    void await_staleEtag() {
+        when(repo.findByEnvironmentAndPlatform("prod", "ios")).thenReturn(List.of(new VersionRow(1L, "1.0.0", T2)));
+
+        var change = notifier.await("prod", "ios", V1_1, "cfg-1-old");
+
+        assertThat(change).isCompleted();
+        assertThat(notifier.waiting()).isZero();
+    }
+
+    @Test
+    @DisplayName("should wake waiters when the resolved row changes and keep the others waiting")
+    void poll_notifiesChangedWaiters() {
+        when(repo.findByEnvironmentAndPlatform("prod", "ios"))
+                .thenReturn(List.of(new VersionRow(1L, "1.0.0", T1), new VersionRow(2L, "2.0.0", T1)))
+                .thenReturn(List.of(new VersionRow(1L, "1.0.0", T2), new VersionRow(2L, "2.0.0", T1)));
+        String v1Etag = new AppConfigVersion(1L, "1.0.0", T1).etag();
+        String v2Etag = new AppConfigVersion(2L, "2.0.0", T1).etag();
+
+        var onV1 = notifier.await("prod", "ios", V1_1, v1Etag);
+        var onV2 = notifier.await("prod", "ios", new SemVer(2, 3, 0), v2Etag);
+        assertThat(notifier.waiting()).isEqualTo(2);
+
+        notifier.poll();
+
+        assertThat(onV1).isCompletedWithValueMatching(v -> v.updatedAt().equals(T2));
+        assertThat(onV2).isNotDone();
+        assertThat(notifier.waiting()).isEqualTo(1);
+        verify(repo, times(2)).findByEnvironmentAndPlatform("prod", "ios");
+    }
+
+    @Test
+    @DisplayName("should drop a waiter when its request is cancelled")
+    void await_cancelRemovesWaiter() {
+        when(repo.findByEnvironmentAndPlatform("prod", "ios")).thenReturn(List.of(new VersionRow(1L, "1.0.0", T1)));
+
+        var change = notifier.await("prod", "ios", V1_1, new AppConfigVersion(1L, "1.0.0", T1).etag());
+        change.cancel(false);
+        notifier.poll();
+
+        assertThat(notifier.waiting()).isZero();
+        verify(repo, times(1)).findByEnvironmentAndPlatform("prod", "ios");
+    }
+}
@@ -2,15 +2,18 @@ package com.lbk.socialbanking.appconfig.internal.service;
 
 import com.lbk.socialbanking.appconfig.internal.persistence.entity.AppConfigEntity;
 import com.lbk.socialbanking.appconfig.internal.persistence.repo.AppConfigRepository;
+import com.lbk.socialbanking.appconfig.internal.persistence.repo.AppConfigRepository.AppConfigVersionView;
 import com.lbk.socialbanking.common.api.ApiException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import javax.annotation.Nonnull;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -22,12 +25,20 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class AppConfigServiceImplTest {
 
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 1, 1, 0, 0);
+
     @Mock
     private AppConfigRepository repo;
 
-    @InjectMocks
     private AppConfigServiceImpl service;
 
+    @BeforeEach
+    void setUp() {
+        var index = new AppConfigVersionIndex(repo);
+        service = new AppConfigServiceImpl(index, new AppConfigLoader(repo, new FeatureToggleRegistry(repo)),
+                new AppConfigChangeNotifier(index));
+    }
+
     @Nonnull
     private static AppConfigEntity createAppConfigEntity() {
         AppConfigEntity entity = new AppConfigEntity();
@@ -45,13 +56,15 @@ class AppConfigServiceImplTest {
         return entity;
     }
 
+    private void givenVersions(VersionRow... rows) {
+        when(repo.findByEnvironmentAndPlatform("prod", "ios")).thenReturn(List.of(rows));
+    }
+
     @Test
     @DisplayName("should return response when config found")
     void getConfig_success() {
-        AppConfigEntity entity = createAppConfigEntity();
-
-        when(repo.findTopByEnvironmentAndAppVersionAndPlatformOrderByUpdatedAtDesc("prod", "1.1.0", "ios"))
-                .thenReturn(Optional.of(entity));
+        givenVersions(new VersionRow(1L, "1.1.0", UPDATED_AT));
+        when(repo.findById(1L)).thenReturn(Optional.of(createAppConfigEntity()));
 
         var response = service.getConfig("prod", "1.1.0", "ios");
 
@@ -64,27 +77,69 @@ class AppConfigServiceImplTest {
         assertThat(response.forceUpdate()).isFalse();
         assertThat(response.storeUrl()).isEqualTo("https://store");
         assertThat(response.featureToggles()).isEqualTo(Map.of("featureA", true));
-        assertThat(response.serverTime()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("should resolve newest config row at or below the client version")
+    void getConfig_resolvesVersionRange() {
+        givenVersions(
+                new VersionRow(1L, "1.0.0", UPDATED_AT),
+                new VersionRow(2L, "1.1.0", UPDATED_AT),
+                new VersionRow(3L, "2.0.0", UPDATED_AT));
+        when(repo.findById(2L)).thenReturn(Optional.of(createAppConfigEntity()));
+
+        var response = service.getConfig("prod", "1.9.7", "ios");
+
+        assertThat(response.latestVersion()).isEqualTo("1.2.0");
+    }
+
+    @Test
+    @DisplayName("should expose row identity as cache key and etag")
+    void resolve_versionIdentity() {
+        givenVersions(new VersionRow(7L, "1.1.0", UPDATED_AT));
+
+        var version = service.resolve("prod", "1.1.3", "ios");
+
+        assertThat(version.configId()).isEqualTo(7L);
+        assertThat(version.cacheKey()).isEqualTo("7:" + UPDATED_AT);
+        assertThat(version.etag()).startsWith("cfg-7-");
     }
 
     @Test
     @DisplayName("should throw when config missing")
     void getConfig_notFound() {
-        when(repo.findTopByEnvironmentAndAppVersionAndPlatformOrderByUpdatedAtDesc("prod", "1.1.0", "ios"))
-                .thenReturn(Optional.empty());
+        givenVersions();
 
         assertThatThrownBy(() -> service.getConfig("prod", "1.1.0", "ios"))
                 .isInstanceOf(ApiException.class)
                 .hasMessageContaining("App config not found");
     }
 
+    @Test
+    @DisplayName("should throw when client version is older than every config row")
+    void getConfig_versionBelowRange() {
+        givenVersions(new VersionRow(1L, "1.1.0", UPDATED_AT));
+
+        assertThatThrownBy(() -> service.getConfig("prod", "1.0.9", "ios"))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("App config not found");
+    }
+
+    @Test
+    @DisplayName("should reject unparseable client version")
+    void getConfig_invalidVersion() {
+        assertThatThrownBy(() -> service.getConfig("prod", "latest", "ios"))
+                .isInstanceOf(ApiException.class)
+                .hasMessageContaining("app version is invalid");
+    }
+
     @Test
     @DisplayName("should throw when toggles JSON invalid")
     void getConfig_invalidJson() {
+        givenVersions(new VersionRow(1L, "1.1.0", UPDATED_AT));
         AppConfigEntity entity = mock(AppConfigEntity.class);
         when(entity.getFeatureTogglesJson()).thenReturn("not-json");
-        when(repo.findTopByEnvironmentAndAppVersionAndPlatformOrderByUpdatedAtDesc("prod", "1.1.0", "ios"))
-                .thenReturn(Optional.of(entity));
+        when(repo.findById(1L)).thenReturn(Optional.of(entity));
 
         assertThatThrownBy(() -> service.getConfig("prod", "1.1.0", "ios"))
                 .isInstanceOf(ApiException.class)
@@ -94,14 +149,31 @@ class AppConfigServiceImplTest {
     @Test
     @DisplayName("should handle null feature toggles")
     void getConfig_nullFeatureToggles() {
+        givenVersions(new VersionRow(1L, "1.1.0", UPDATED_AT));
         AppConfigEntity entity = mock(AppConfigEntity.class);
         when(entity.getFeatureTogglesJson()).thenReturn(null);
         when(entity.getEnvironment()).thenReturn("prod");
-        when(repo.findTopByEnvironmentAndAppVersionAndPlatformOrderByUpdatedAtDesc("prod", "1.1.0", "ios"))
-                .thenReturn(Optional.of(entity));
+        when(repo.findById(1L)).thenReturn(Optional.of(entity));
 
         var response = service.getConfig("prod", "1.1.0", "ios");
 
         assertThat(response.featureToggles()).isEmpty();
     }
+
+    record VersionRow(Long configId, String appVersion, LocalDateTime updatedAt) implements AppConfigVersionView {
+        @Override
+        public Long getConfigId() {
+            return configId;
+        }
+
+        @Override
+        public String getAppVersion() {
+            return appVersion;
+        }
+
+        @Override
+        public LocalDateTime getUpdatedAt() {
+            return updatedAt;
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import com.lbk.socialbanking.appconfig.internal.persistence.repo.AppConfigRepository;
+import com.lbk.socialbanking.appconfig.internal.service.AppConfigServiceImplTest.VersionRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AppConfigVersionIndexTest {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime T2 = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    @Mock
+    private AppConfigRepository repo;
+
+    private AppConfigVersionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AppConfigVersionIndex(repo);
+    }
+
+    private static SemVer v(String value) {
+        return SemVer.parse(value).orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("SemVer.parse")
+    class Parse {
+
+        @ParameterizedTest
+        @CsvSource({"1.2.3,1.2.3", "v1.2.3,1.2.3", "1.2,1.2.0", "7,7.0.0", "1.2.3-beta.1,1.2.3", "1.2.3+42,1.2.3", "10.20.30,10.20.30"})
+        void parse_valid(String input, String expected) {
+            assertThat(SemVer.parse(input)).map(SemVer::toString).contains(expected);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "abc", "1..2", "1.2.3.4", ".1", "1.", "1.x"})
+        void parse_invalid(String input) {
+            assertThat(SemVer.parse(input)).isEmpty();
+        }
+
+        @Test
+        void compare_numericNotLexicographic() {
+            assertThat(v("1.10.0")).isGreaterThan(v("1.9.9"));
+        }
+    }
+
+    @Nested
+    @DisplayName("resolve")
+    class Resolve {
+
+        @Test
+        @DisplayName("should pick floor version and treat null app_version as the default row")
+        void resolve_floor() {
+            when(repo.findByEnvironmentAndPlatform("prod", "ios")).thenReturn(List.of(
+                    new VersionRow(1L, null, T1),
+                    new VersionRow(2L, "1.1.0", T1),
+                    new VersionRow(3L, "1.10.0", T1)));
+
+            assertThat(index.resolve("prod", "ios", v("0.9.0"))).map(AppConfigVersion::configId).contains(1L);
+            assertThat(index.resolve("prod", "ios", v("1.9.0"))).map(AppConfigVersion::configId).contains(2L);
+            assertThat(index.resolve("prod", "ios", v("1.10.0"))).map(AppConfigVersion::configId).contains(3L);
+            assertThat(index.resolve("prod", "ios", v("3.0.0"))).map(AppConfigVersion::configId).contains(3L);
+            verify(repo, times(1)).findByEnvironmentAndPlatform("prod", "ios");
+        }
+
+        @Test
+        @DisplayName("should keep most recently updated row when versions collide")
+        void resolve_duplicateVersions() {
+            when(repo.findByEnvironmentAndPlatform("prod", "ios")).thenReturn(List.of(
+                    new VersionRow(1L, "1.2", T2),
+                    new VersionRow(2L, "1.2.0", T1),
+                    new VersionRow(3L, "garbage", T2)));
+
+            var entry = index.resolve("prod", "ios", v("1.2.5")).orElseThrow();
+
+            assertThat(entry.configId()).isEqualTo(1L);
+            assertThat(entry.cacheKey()).isEqualTo("1:" + T2);
+        }
+
+        @Test
+        @DisplayName("should reload partition after eviction")
+        void resolve_reloadsAfterEvict() {
+            when(repo.findByEnvironmentAndPlatform("prod", "ios"))
+                    .thenReturn(List.of(new VersionRow(1L, "1.0.0", T1)))
+                    .thenReturn(List.of(new VersionRow(1L, "1.0.0", T1), new VersionRow(2L, "1.5.0", T2)));
+
+            assertThat(index.resolve("prod", "ios", v("1.6.0"))).map(AppConfigVersion::configId).contains(1L);
+            index.evict("prod", "ios");
+            assertThat(index.resolve("prod", "ios", v("1.6.0"))).map(AppConfigVersion::configId).contains(2L);
+        }
+    }
+}
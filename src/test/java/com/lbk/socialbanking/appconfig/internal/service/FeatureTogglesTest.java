@@ -0,0 +1,101 @@
+package com.lbk.socialbanking.appconfig.internal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeatureTogglesTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private FeatureToggles compile(String json) throws Exception {
+        return FeatureToggles.compile(json, "ios", mapper);
+    }
+
+    private static long v(String version) {
+        return SemVer.pack(version);
+    }
+
+    @Test
+    @DisplayName("should compile plain booleans and pass other values through to clients")
+    void compile_plainValues() throws Exception {
+        var toggles = compile("{\"featureA\":true,\"featureB\":false,\"maxItems\":5,\"theme\":{\"color\":\"blue\"}}");
+
+        assertThat(toggles.isEnabled("featureA", "ios", v("1.0.0"), "u1")).isTrue();
+        assertThat(toggles.isEnabled("featureB", "ios", v("1.0.0"), "u1")).isFalse();
+        assertThat(toggles.isEnabled("maxItems", "ios", v("1.0.0"), "u1")).isFalse();
+        assertThat(toggles.isEnabled("unknown", "ios", v("1.0.0"), "u1")).isFalse();
+        assertThat(toggles.clientView()).isEqualTo(Map.of(
+                "featureA", true, "featureB", false, "maxItems", 5, "theme", Map.of("color", "blue")));
+    }
+
+    @Test
+    @DisplayName("should apply platform and version predicates")
+    void evaluate_platformAndVersion() throws Exception {
+        var toggles = compile("{\"f\":{\"platforms\":[\"ios\"],\"minVersion\":\"1.2.0\",\"maxVersion\":\"2.0.0\"}}");
+
+        assertThat(toggles.isEnabled("f", "ios", v("1.2.0"), "u1")).isTrue();
+        assertThat(toggles.isEnabled("f", "IOS", v("2.0.0"), "u1")).isTrue();
+        assertThat(toggles.isEnabled("f", "ios", v("1.1.9"), "u1")).isFalse();
+        assertThat(toggles.isEnabled("f", "ios", v("2.0.1"), "u1")).isFalse();
+        assertThat(toggles.isEnabled("f", "android", v("1.5.0"), "u1")).isFalse();
+        assertThat(toggles.isEnabled("f", "ios", -1, "u1")).isFalse();
+        assertThat(toggles.clientView()).doesNotContainKey("f");
+    }
+
+    @Test
+    @DisplayName("should honour allow-list and kill switch")
+    void evaluate_allowListAndKillSwitch() throws Exception {
+        var toggles = compile("{\"f\":{\"rollout\":0,\"allowUsers\":[\"vip\"]},\"off\":{\"enabled\":false,\"allowUsers\":[\"vip\"]}}");
+
+        assertThat(toggles.isEnabled("f", "ios", v("1.0.0"), "vip")).isTrue();
+        assertThat(toggles.isEnabled("f", "ios", v("1.0.0"), "someone")).isFalse();
+        assertThat(toggles.isEnabled("f", "ios", v("1.0.0"), null)).isFalse();
+        assertThat(toggles.isEnabled("off", "ios", v("1.0.0"), "vip")).isFalse();
+        assertThat(toggles.clientView()).containsEntry("off", false).doesNotContainKey("f");
+    }
+
+    @Test
+    @DisplayName("should roll out to a stable share of users close to the configured percentage")
+    void evaluate_percentageRollout() throws Exception {
+        var toggles = compile("{\"f\":{\"rollout\":25}}");
+
+        int enabled = 0;
+        for (int i = 0; i < 20_000; i++) {
+            String userId = "user-" + i;
+            boolean first = toggles.isEnabled("f", "ios", v("1.0.0"), userId);
+            assertThat(toggles.isEnabled("f", "ios", v("1.0.0"), userId)).isEqualTo(first);
+            if (first) enabled++;
+        }
+
+        assertThat(enabled).isBetween(4_500, 5_500);
+    }
+
+    @Test
+    @DisplayName("should bucket users independently per feature")
+    void evaluate_independentBuckets() {
+        var a = new FeatureToggle("a", true, new String[0], -1, -1, 5_000, java.util.Set.of());
+        var b = new FeatureToggle("b", true, new String[0], -1, -1, 5_000, java.util.Set.of());
+
+        int same = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String userId = "user-" + i;
+            if (a.isEnabled(null, -1, userId) == b.isEnabled(null, -1, userId)) same++;
+        }
+
+        assertThat(same).isBetween(4_500, 5_500);
+    }
+
+    @Test
+    @DisplayName("should reject malformed rules")
+    void compile_invalidRules() {
+        assertThatThrownBy(() -> compile("{\"f\":{\"rollout\":150}}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compile("{\"f\":{\"minVersion\":\"latest\"}}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compile("[true]")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
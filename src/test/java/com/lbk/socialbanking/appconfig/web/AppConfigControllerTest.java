@@ -0,0 +1,160 @@
+package com.lbk.socialbanking.appconfig.web;
+
+import com.lbk.socialbanking.appconfig.api.FeatureToggleService;
+import com.lbk.socialbanking.appconfig.internal.service.AppConfigService;
+import com.lbk.socialbanking.appconfig.internal.service.AppConfigVersion;
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.JwtService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = AppConfigController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class AppConfigControllerTest {
+
+    private static final AppConfigVersion VERSION = new AppConfigVersion(1L, "1.1.0", LocalDateTime.of(2025, 1, 1, 0, 0));
+    private static final String ETAG = "\"" + VERSION.etag() + "\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private AppConfigService appConfigService;
+
+    @MockBean
+    private FeatureToggleService featureToggleService;
+
+    private static AppConfigResponse response() {
+        return new AppConfigResponse("prod", false, null, null, "1.0.0", "1.2.0", false,
+                "https://store", Map.of("featureA", true));
+    }
+
+    @Test
+    @DisplayName("should return config with ETag, Cache-Control and server time header")
+    void getConfig_ok() throws Exception {
+        when(appConfigService.resolve("prod", "1.1.0", "ios")).thenReturn(VERSION);
+        when(appConfigService.getConfig(VERSION)).thenReturn(response());
+
+        mockMvc.perform(get("/v1/apps/config")
+                        .param("environment", "prod")
+                        .param("appVersion", "1.1.0")
+                        .param("platform", "ios"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=30, must-revalidate, public"))
+                .andExpect(header().exists(AppConfigController.SERVER_TIME_HEADER))
+                .andExpect(jsonPath("$.data.environment").value("prod"))
+                .andExpect(jsonPath("$.data.featureToggles.featureA").value(true))
+                .andExpect(jsonPath("$.data.serverTime").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("should return 304 without loading config when If-None-Match matches")
+    void getConfig_notModified() throws Exception {
+        when(appConfigService.resolve("prod", "1.1.5", "ios")).thenReturn(VERSION);
+
+        mockMvc.perform(get("/v1/apps/config")
+                        .param("environment", "prod")
+                        .param("appVersion", "1.1.5")
+                        .param("platform", "ios")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+                .andExpect(content().string(""));
+
+        verify(appConfigService, never()).getConfig(any(AppConfigVersion.class));
+    }
+
+    @Test
+    @DisplayName("should return 404 when no config row matches")
+    void getConfig_notFound() throws Exception {
+        when(appConfigService.resolve("prod", "0.1.0", "ios"))
+                .thenThrow(new ApiException(HttpStatus.NOT_FOUND, "NOT_FOUND", "App config not found"));
+
+        mockMvc.perform(get("/v1/apps/config")
+                        .param("environment", "prod")
+                        .param("appVersion", "0.1.0")
+                        .param("platform", "ios"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error.code").value("NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("should evaluate feature toggles for the authenticated user")
+    void getFeatures_ok() throws Exception {
+        when(featureToggleService.evaluate("prod", "1.1.0", "ios", "u1"))
+                .thenReturn(Map.of("newDashboard", true, "betaCards", false));
+
+        mockMvc.perform(get("/v1/apps/features")
+                        .principal(new UsernamePasswordAuthenticationToken("u1", null, List.of()))
+                        .param("environment", "prod")
+                        .param("appVersion", "1.1.0")
+                        .param("platform", "ios"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.newDashboard").value(true))
+                .andExpect(jsonPath("$.data.betaCards").value(false));
+    }
+
+    @Test
+    @DisplayName("should hold change request until config changes and then return the new config")
+    void awaitConfigChange_changed() throws Exception {
+        var change = new CompletableFuture<AppConfigVersion>();
+        var newVersion = new AppConfigVersion(1L, "1.1.0", LocalDateTime.of(2025, 2, 1, 0, 0));
+        when(appConfigService.awaitChange("prod", "1.1.0", "ios", VERSION.etag())).thenReturn(change);
+        when(appConfigService.getConfig(newVersion)).thenReturn(response());
+
+        var result = mockMvc.perform(get("/v1/apps/config/changes")
+                        .param("environment", "prod")
+                        .param("appVersion", "1.1.0")
+                        .param("platform", "ios")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        change.complete(newVersion);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + newVersion.etag() + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(jsonPath("$.data.environment").value("prod"));
+    }
+
+    @Test
+    @DisplayName("should reject change request with out of range timeout")
+    void awaitConfigChange_invalidTimeout() throws Exception {
+        mockMvc.perform(get("/v1/apps/config/changes")
+                        .param("environment", "prod")
+                        .param("appVersion", "1.1.0")
+                        .param("platform", "ios")
+                        .param("timeoutSeconds", "600"))
+                .andExpect(status().isBadRequest());
+
+        verify(appConfigService, never()).awaitChange(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,404 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import com.lbk.socialbanking.card.internal.authorization.CardAuthorizationStore.CardConsumer;
+import com.lbk.socialbanking.card.internal.authorization.CardAuthorizationStore.SpendConsumer;
+import com.lbk.socialbanking.card.internal.authorization.CardState.Decision;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CardAuthorizationEngineTest {
+
+    private static final long DAILY_LIMIT = 10_000;
+    private static final long MONTHLY_LIMIT = 25_000;
+
+    @Mock
+    private CardAuthorizationStore store;
+
+    private MutableClock clock;
+    private SpendWriter writer;
+    private CardAuthorizationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-03-10T08:15:00Z"));
+        writer = new SpendWriter(store, 100_000);
+        engine = new CardAuthorizationEngine(store, writer, clock);
+    }
+
+    private CardState givenCard(String status) {
+        willAnswer(inv -> {
+            inv.<CardConsumer>getArgument(0).accept("c1", "u1", status);
+            return null;
+        }).given(store).loadCards(any());
+        engine.recover();
+        return engine.card("c1").orElseThrow();
+    }
+
+    @Nested
+    @DisplayName("authorize")
+    class Authorize {
+
+        @Test
+        @DisplayName("should approve spend within limits and queue it for write-behind")
+        void authorize_approved() {
+            var card = givenCard("Active");
+
+            var result = engine.authorize(card, 4_000, DAILY_LIMIT, MONTHLY_LIMIT);
+
+            assertThat(result.decision()).isEqualTo(Decision.APPROVED);
+            assertThat(result.authorizationId()).isNotBlank();
+            assertThat(result.dailySpent()).isEqualTo(4_000);
+            assertThat(writer.backlog()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should decline spend on a card that is not active")
+        void authorize_frozen() {
+            var card = givenCard("Frozen");
+
+            var result = engine.authorize(card, 100, DAILY_LIMIT, MONTHLY_LIMIT);
+
+            assertThat(result.decision()).isEqualTo(Decision.CARD_NOT_ACTIVE);
+            assertThat(result.authorizationId()).isNull();
+            assertThat(writer.backlog()).isZero();
+        }
+
+        @Test
+        @DisplayName("should enforce rolling daily limit and release it after 24 hours")
+        void authorize_dailyWindowSlides() {
+            var card = givenCard("ACTIVE");
+            engine.authorize(card, 8_000, DAILY_LIMIT, MONTHLY_LIMIT);
+
+            clock.advance(Duration.ofHours(23));
+            assertThat(engine.authorize(card, 3_000, DAILY_LIMIT, MONTHLY_LIMIT).decision())
+                    .isEqualTo(Decision.DAILY_LIMIT_EXCEEDED);
+
+            clock.advance(Duration.ofHours(1));
+            var result = engine.authorize(card, 3_000, DAILY_LIMIT, MONTHLY_LIMIT);
+            assertThat(result.decision()).isEqualTo(Decision.APPROVED);
+            assertThat(result.dailySpent()).isEqualTo(3_000);
+            assertThat(result.monthlySpent()).isEqualTo(11_000);
+        }
+
+        @Test
+        @DisplayName("should enforce rolling monthly limit across days")
+        void authorize_monthlyLimit() {
+            var card = givenCard("Active");
+            engine.authorize(card, 9_000, DAILY_LIMIT, MONTHLY_LIMIT);
+            clock.advance(Duration.ofDays(1));
+            engine.authorize(card, 9_000, DAILY_LIMIT, MONTHLY_LIMIT);
+            clock.advance(Duration.ofDays(1));
+
+            assertThat(engine.authorize(card, 9_000, DAILY_LIMIT, MONTHLY_LIMIT).decision())
+                    .isEqualTo(Decision.MONTHLY_LIMIT_EXCEEDED);
+
+            clock.advance(Duration.ofDays(28));
+            assertThat(engine.authorize(card, 9_000, DAILY_LIMIT, MONTHLY_LIMIT).decision())
+                    .isEqualTo(Decision.APPROVED);
+        }
+
+        @Test
+        @DisplayName("should decline without counting when the write-behind queue is full")
+        void authorize_queueFull() {
+            writer = new SpendWriter(store, 1);
+            engine = new CardAuthorizationEngine(store, writer, clock);
+            var card = givenCard("Active");
+            engine.authorize(card, 1_000, DAILY_LIMIT, MONTHLY_LIMIT);
+
+            var result = engine.authorize(card, 1_000, DAILY_LIMIT, MONTHLY_LIMIT);
+
+            assertThat(result.decision()).isEqualTo(Decision.SYSTEM_BUSY);
+            assertThat(result.dailySpent()).isEqualTo(1_000);
+        }
+
+        @Test
+        @DisplayName("should only count spend approved on this node once recovered")
+        void authorize_countersArePerNode() {
+            var card = givenCard("Active");
+            var otherNode = new CardAuthorizationEngine(store, new SpendWriter(store, 100), clock);
+            otherNode.recover();
+            var otherCard = otherNode.card("c1").orElseThrow();
+
+            assertThat(engine.authorize(card, DAILY_LIMIT, DAILY_LIMIT, MONTHLY_LIMIT).decision())
+                    .isEqualTo(Decision.APPROVED);
+            assertThat(otherNode.authorize(otherCard, DAILY_LIMIT, DAILY_LIMIT, MONTHLY_LIMIT).decision())
+                    .isEqualTo(Decision.APPROVED);
+        }
+
+        @Test
+        @DisplayName("should never approve more than the limit under concurrent authorizations")
+        void authorize_concurrent() throws Exception {
+            var card = givenCard("Active");
+            int threads = 8;
+            int attemptsPerThread = 2_000;
+            var approved = new AtomicInteger();
+            var start = new CountDownLatch(1);
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+            for (int t = 0; t < threads; t++) {
+                pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (engine.authorize(card, 1, DAILY_LIMIT, MONTHLY_LIMIT).decision() == Decision.APPROVED) {
+                            approved.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(approved.get()).isEqualTo((int) DAILY_LIMIT);
+            assertThat(card.dailySpent(engine.currentHour())).isEqualTo(DAILY_LIMIT);
+            assertThat(writer.backlog()).isEqualTo((int) DAILY_LIMIT);
+        }
+    }
+
+    @Nested
+    @DisplayName("recover")
+    class Recover {
+
+        @Test
+        @DisplayName("should rebuild counters from committed hourly spend")
+        void recover_rebuildsCounters() {
+            int hour = engine.currentHour();
+            willAnswer(inv -> {
+                inv.<CardConsumer>getArgument(0).accept("c1", "u1", "Active");
+                return null;
+            }).given(store).loadCards(any());
+            willAnswer(inv -> {
+                SpendConsumer consumer = inv.getArgument(1);
+                consumer.accept("c1", hour - 2, 3_000);
+                consumer.accept("c1", hour - 30, 5_000);
+                consumer.accept("unknown", hour, 1_000);
+                return null;
+            }).given(store).loadSpend(anyInt(), any(SpendConsumer.class));
+
+            engine.recover();
+
+            var card = engine.card("c1").orElseThrow();
+            assertThat(engine.isReady()).isTrue();
+            assertThat(card.dailySpent(hour)).isEqualTo(3_000);
+            assertThat(card.monthlySpent(hour)).isEqualTo(8_000);
+        }
+
+        @Test
+        @DisplayName("should load a card created after startup on first use")
+        void card_lazyLoad() {
+            engine.recover();
+            given(store.loadCard("c2")).willReturn(Optional.of(new CardState("c2", "u2", "Active")));
+
+            assertThat(engine.card("c2")).map(CardState::userId).contains("u2");
+            assertThat(engine.card("c2")).isPresent();
+
+            verify(store, times(1)).loadCard("c2");
+            verify(store, times(1)).loadSpend(eq("c2"), anyInt(), any());
+        }
+
+        @Test
+        @DisplayName("should look up an unknown card id at most once per interval")
+        void card_unknownIsRemembered() {
+            engine.recover();
+            given(store.loadCard("nope")).willReturn(Optional.empty());
+
+            assertThat(engine.card("nope")).isEmpty();
+            assertThat(engine.card("nope")).isEmpty();
+            verify(store, times(1)).loadCard("nope");
+
+            clock.advance(Duration.ofMillis(CardAuthorizationEngine.UNKNOWN_CARD_TTL_MS));
+            assertThat(engine.card("nope")).isEmpty();
+            verify(store, times(2)).loadCard("nope");
+        }
+
+        @Test
+        @DisplayName("should look an unknown card id up again once its status changes")
+        void card_unknownClearedByStatusChange() {
+            engine.recover();
+            given(store.loadCard("c3")).willReturn(Optional.empty()).willReturn(Optional.of(new CardState("c3", "u3", "Active")));
+            assertThat(engine.card("c3")).isEmpty();
+
+            engine.reloadStatus("c3");
+
+            assertThat(engine.card("c3")).map(CardState::userId).contains("u3");
+        }
+    }
+
+    @Nested
+    @DisplayName("SpendWriter")
+    class WriteBehind {
+
+        @Test
+        @DisplayName("should retry a failed batch on the next flush")
+        void flush_retriesFailedBatch() {
+            var card = givenCard("Active");
+            engine.authorize(card, 100, DAILY_LIMIT, MONTHLY_LIMIT);
+            engine.authorize(card, 200, DAILY_LIMIT, MONTHLY_LIMIT);
+            willThrow(new RuntimeException("db down")).willAnswer(inv -> null).given(store).insert(anyList());
+
+            writer.flush();
+            assertThat(writer.backlog()).isEqualTo(2);
+
+            writer.flush();
+            assertThat(writer.backlog()).isZero();
+            verify(store, times(2)).insert(anyList());
+        }
+
+        @Test
+        @DisplayName("should write a repeatedly failing batch row by row and drop only the rows the database rejects")
+        void flush_dropsPoisonRows() {
+            var card = givenCard("Active");
+            for (int i = 0; i < 3; i++) {
+                engine.authorize(card, 100 + i, DAILY_LIMIT, MONTHLY_LIMIT);
+            }
+            willThrow(new DataIntegrityViolationException("Data too long")).given(store)
+                    .insert(argThat(batch -> batch.stream().anyMatch(spend -> spend.amount() == 101)));
+
+            for (int i = 1; i < SpendWriter.MAX_BATCH_ATTEMPTS; i++) {
+                writer.flush();
+                assertThat(writer.backlog()).isEqualTo(3);
+            }
+            writer.flush();
+
+            assertThat(writer.backlog()).isZero();
+            verify(store, times(SpendWriter.MAX_BATCH_ATTEMPTS)).insert(argThat(batch -> batch.size() == 3));
+            verify(store).insert(argThat(batch -> batch.size() == 1 && batch.getFirst().amount() == 100));
+            verify(store).insert(argThat(batch -> batch.size() == 1 && batch.getFirst().amount() == 102));
+        }
+
+        @Test
+        @DisplayName("should keep the rest of the batch when the database goes away while writing row by row")
+        void flush_keepsRowsOnOutage() {
+            var card = givenCard("Active");
+            engine.authorize(card, 100, DAILY_LIMIT, MONTHLY_LIMIT);
+            engine.authorize(card, 200, DAILY_LIMIT, MONTHLY_LIMIT);
+            willThrow(new CannotGetJdbcConnectionException("db down")).given(store).insert(anyList());
+
+            for (int i = 0; i < SpendWriter.MAX_BATCH_ATTEMPTS; i++) {
+                writer.flush();
+            }
+
+            assertThat(writer.backlog()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should write spends in batches")
+        void flush_batches() {
+            var card = givenCard("Active");
+            for (int i = 0; i < SpendWriter.BATCH_SIZE + 1; i++) {
+                engine.authorize(card, 1, DAILY_LIMIT, MONTHLY_LIMIT);
+            }
+
+            writer.flush();
+
+            assertThat(writer.backlog()).isZero();
+            verify(store).insert(argThat(batch -> batch.size() == SpendWriter.BATCH_SIZE));
+            verify(store).insert(argThat(batch -> batch.size() == 1));
+        }
+
+        @Test
+        @DisplayName("should stop a flush after a bounded number of batches and report what is left")
+        void flush_bounded() {
+            var card = givenCard("Active");
+            int batches = SpendWriter.MAX_BATCHES_PER_FLUSH;
+            for (int i = 0; i < batches * SpendWriter.BATCH_SIZE + 1; i++) {
+                engine.authorize(card, 0, DAILY_LIMIT, MONTHLY_LIMIT);
+            }
+
+            assertThat(writer.flush()).isTrue();
+            assertThat(writer.backlog()).isEqualTo(1);
+            verify(store, times(batches)).insert(anyList());
+
+            assertThat(writer.flush()).isFalse();
+            assertThat(writer.backlog()).isZero();
+        }
+
+        @Test
+        @DisplayName("should flush on its own thread once started")
+        void start_flushesOffTheSchedulerThread() throws Exception {
+            var card = givenCard("Active");
+            var thread = new AtomicReference<String>();
+            var written = new CountDownLatch(1);
+            willAnswer(inv -> {
+                thread.set(Thread.currentThread().getName());
+                written.countDown();
+                return null;
+            }).given(store).insert(anyList());
+            engine.authorize(card, 100, DAILY_LIMIT, MONTHLY_LIMIT);
+
+            writer.start();
+            try {
+                assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+                assertThat(thread.get()).isEqualTo("card-spend-writer");
+            } finally {
+                writer.shutdown();
+            }
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public long millis() {
+            return now.toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.lbk.socialbanking.card.internal.authorization;
+
+import com.lbk.socialbanking.card.events.CardStatusChangedEvent;
+import com.lbk.socialbanking.card.internal.authorization.CardAuthorizationStore.CardConsumer;
+import com.lbk.socialbanking.card.internal.authorization.CardState.Decision;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CardStatusSyncTest {
+
+    @Mock
+    private CardAuthorizationStore store;
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    private CardAuthorizationEngine engine;
+    private CardStatusSync sync;
+
+    @BeforeEach
+    void setUp() {
+        willAnswer(inv -> {
+            inv.<CardConsumer>getArgument(0).accept("c1", "u1", "ACTIVE");
+            return null;
+        }).given(store).loadCards(any());
+        engine = new CardAuthorizationEngine(store, new SpendWriter(store, 10));
+        engine.recover();
+        sync = new CardStatusSync(engine, redis);
+    }
+
+    private Decision authorize() {
+        return engine.authorize(engine.card("c1").orElseThrow(), 100, 10_000, 10_000).decision();
+    }
+
+    @Test
+    @DisplayName("should apply committed status locally and broadcast the card id")
+    void onStatusChanged_appliesAndBroadcasts() {
+        sync.onStatusChanged(new CardStatusChangedEvent("u1", "c1", "FROZEN", LocalDateTime.now()));
+
+        assertThat(authorize()).isEqualTo(Decision.CARD_NOT_ACTIVE);
+        var payload = ArgumentCaptor.forClass(String.class);
+        verify(redis).convertAndSend(eq(CardStatusSync.CHANNEL), payload.capture());
+        assertThat(payload.getValue()).endsWith(":c1");
+    }
+
+    @Test
+    @DisplayName("should still apply locally when the broadcast fails")
+    void onStatusChanged_redisDown() {
+        willThrow(new RuntimeException("redis down")).given(redis).convertAndSend(any(), any());
+
+        sync.onStatusChanged(new CardStatusChangedEvent("u1", "c1", "FROZEN", LocalDateTime.now()));
+
+        assertThat(authorize()).isEqualTo(Decision.CARD_NOT_ACTIVE);
+    }
+
+    @Test
+    @DisplayName("should reload status from the database on a broadcast from another node")
+    void onMessage_reloadsStatus() {
+        given(store.loadCard("c1")).willReturn(Optional.of(new CardState("c1", "u1", "FROZEN")));
+
+        sync.onMessage(new DefaultMessage(CardStatusSync.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "other-node:c1".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(authorize()).isEqualTo(Decision.CARD_NOT_ACTIVE);
+    }
+
+    @Test
+    @DisplayName("should ignore its own broadcasts")
+    void onMessage_ignoresOwnBroadcast() {
+        sync.onStatusChanged(new CardStatusChangedEvent("u1", "c1", "FROZEN", LocalDateTime.now()));
+        var payload = ArgumentCaptor.forClass(String.class);
+        verify(redis).convertAndSend(eq(CardStatusSync.CHANNEL), payload.capture());
+
+        sync.onMessage(new DefaultMessage(CardStatusSync.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                payload.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        verify(store, never()).loadCard("c1");
+    }
+
+    @Test
+    @DisplayName("should resync statuses missed by broadcasts")
+    void resyncStatuses() {
+        willAnswer(inv -> {
+            inv.<CardConsumer>getArgument(0).accept("c1", "u1", "FROZEN");
+            return null;
+        }).given(store).loadCards(any());
+
+        engine.resyncStatuses();
+
+        assertThat(authorize()).isEqualTo(Decision.CARD_NOT_ACTIVE);
+    }
+}
@@ -0,0 +1,189 @@
+package com.lbk.socialbanking.card.internal.service;
+
+import com.lbk.socialbanking.card.events.CardStatusChangedEvent;
+import com.lbk.socialbanking.card.internal.persistence.entity.DebitCardStatusEntity;
+import com.lbk.socialbanking.card.internal.persistence.repo.DebitCardRepository;
+import com.lbk.socialbanking.card.internal.persistence.repo.DebitCardRepository.CardSummaryView;
+import com.lbk.socialbanking.card.internal.persistence.repo.DebitCardStatusRepository;
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.dto.PageRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CardServiceImplTest {
+
+    @Mock
+    private DebitCardRepository debitCardRepository;
+
+    @Mock
+    private DebitCardStatusRepository debitCardStatusRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CardSummaryLoader loader;
+    private CardServiceImpl cardService;
+
+    @BeforeEach
+    void setUp() {
+        loader = spy(new CardSummaryLoader(debitCardRepository));
+        cardService = new CardServiceImpl(loader, debitCardStatusRepository, eventPublisher);
+    }
+
+    private static CardSummaryView card(String cardId, String status) {
+        return new Card(cardId, "My Card " + cardId, status, "TestLab", "9440 78xx xxxx 1234", "#00a1e2", "#ffffff");
+    }
+
+    @Nested
+    @DisplayName("listCards")
+    class ListCards {
+
+        @Test
+        @DisplayName("should map joined projection rows to card summaries")
+        void listCards_mapsProjection() {
+            given(debitCardRepository.findCardSummariesByUserId("u1")).willReturn(List.of(card("c1", "Active")));
+
+            var result = cardService.listCards("u1");
+
+            assertThat(result).hasSize(1);
+            var summary = result.getFirst();
+            assertThat(summary.cardId()).isEqualTo("c1");
+            assertThat(summary.status()).isEqualTo("Active");
+            assertThat(summary.issuer()).isEqualTo("TestLab");
+            assertThat(summary.number()).isEqualTo("9440 78xx xxxx 1234");
+            assertThat(summary.color()).isEqualTo("#00a1e2");
+            assertThat(summary.borderColor()).isEqualTo("#ffffff");
+        }
+
+        @Test
+        @DisplayName("should page the user's cards")
+        void listCards_paginated() {
+            given(debitCardRepository.findCardSummariesByUserId("u1"))
+                    .willReturn(List.of(card("c1", "Active"), card("c2", "Active"), card("c3", "Inactive")));
+
+            var result = cardService.listCards("u1", new PageRequest(2, 2));
+
+            assertThat(result.data()).extracting("cardId").containsExactly("c3");
+            assertThat(result.pagination().total()).isEqualTo(3);
+            assertThat(result.pagination().totalPages()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("freeze / unfreeze")
+    class ChangeStatus {
+
+        @Test
+        @DisplayName("should freeze active card, evict cached cards and publish event")
+        void freeze_active() {
+            given(debitCardStatusRepository.updateStatus("u1", "c1", "ACTIVE", "FROZEN")).willReturn(1);
+
+            var result = cardService.freeze("u1", "c1");
+
+            assertThat(result.status()).isEqualTo("FROZEN");
+            verify(loader).evict("u1");
+            verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof CardStatusChangedEvent c
+                    && c.getCardId().equals("c1") && c.getStatus().equals("FROZEN")));
+        }
+
+        @Test
+        @DisplayName("should treat unfreezing an active card as a no-op")
+        void unfreeze_alreadyActive() {
+            given(debitCardStatusRepository.updateStatus("u1", "c1", "FROZEN", "ACTIVE")).willReturn(0);
+            given(debitCardStatusRepository.findById("c1")).willReturn(Optional.of(status("u1", "Active")));
+
+            var result = cardService.unfreeze("u1", "c1");
+
+            assertThat(result.status()).isEqualTo("ACTIVE");
+            verify(loader, never()).evict("u1");
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("should refuse to unfreeze a card in another status")
+        void unfreeze_invalidStatus() {
+            given(debitCardStatusRepository.updateStatus("u1", "c1", "FROZEN", "ACTIVE")).willReturn(0);
+            given(debitCardStatusRepository.findById("c1")).willReturn(Optional.of(status("u1", "CLOSED")));
+
+            assertThatThrownBy(() -> cardService.unfreeze("u1", "c1"))
+                    .isInstanceOf(ApiException.class)
+                    .hasMessageContaining("cannot change to ACTIVE");
+        }
+
+        @Test
+        @DisplayName("should throw when card does not belong to user")
+        void freeze_notFound() {
+            given(debitCardStatusRepository.updateStatus("u1", "c9", "ACTIVE", "FROZEN")).willReturn(0);
+            given(debitCardStatusRepository.findById("c9")).willReturn(Optional.of(status("u2", "ACTIVE")));
+
+            assertThatThrownBy(() -> cardService.freeze("u1", "c9"))
+                    .isInstanceOf(ApiException.class)
+                    .hasMessageContaining("Card not found");
+            verify(loader, never()).evict("u1");
+        }
+    }
+
+    private static DebitCardStatusEntity status(String userId, String status) {
+        var entity = new DebitCardStatusEntity();
+        entity.setUserId(userId);
+        entity.setStatus(status);
+        return entity;
+    }
+
+    private record Card(String cardId, String name, String status, String issuer, String number,
+                        String color, String borderColor) implements CardSummaryView {
+        @Override
+        public String getCardId() {
+            return cardId;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getStatus() {
+            return status;
+        }
+
+        @Override
+        public String getIssuer() {
+            return issuer;
+        }
+
+        @Override
+        public String getNumber() {
+            return number;
+        }
+
+        @Override
+        public String getColor() {
+            return color;
+        }
+
+        @Override
+        public String getBorderColor() {
+            return borderColor;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.lbk.socialbanking.card.web;
+
+import com.lbk.socialbanking.card.api.CardAuthorizationService;
+import com.lbk.socialbanking.card.api.CardService;
+import com.lbk.socialbanking.card.api.dto.CardAuthorization;
+import com.lbk.socialbanking.card.api.dto.CardStatus;
+import com.lbk.socialbanking.card.api.dto.CardSummary;
+import com.lbk.socialbanking.common.api.JwtService;
+import com.lbk.socialbanking.common.api.dto.PageInfo;
+import com.lbk.socialbanking.common.api.dto.PageRequest;
+import com.lbk.socialbanking.common.api.dto.PaginatedResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = CardController.class)
+class CardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private CardService cardService;
+
+    @MockBean
+    private CardAuthorizationService cardAuthorizationService;
+
+    @Nested
+    @DisplayName("GET /v1/cards - List Cards")
+    class ListCardsTests {
+
+        @Test
+        @DisplayName("should return paginated list of cards")
+        @WithMockUser(username = "u1")
+        void list_shouldReturnPaginatedCards() throws Exception {
+            var response = PaginatedResponse.of(
+                    List.of(new CardSummary("c1", "My Salary", "Active", "TestLab", "9440 78xx xxxx 1234", "#00a1e2", "#ffffff")),
+                    PageInfo.of(1, 20, 1)
+            );
+            when(cardService.listCards("u1", new PageRequest(1, 20))).thenReturn(response);
+
+            mockMvc.perform(get("/v1/cards"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].cardId").value("c1"))
+                    .andExpect(jsonPath("$.data[0].status").value("Active"))
+                    .andExpect(jsonPath("$.pagination.total").value(1));
+        }
+
+        @Test
+        @DisplayName("should reject limit above maximum")
+        @WithMockUser(username = "u1")
+        void list_shouldRejectInvalidLimit() throws Exception {
+            mockMvc.perform(get("/v1/cards").param("limit", "101"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("should require authentication")
+        void list_shouldRequireAuthentication() throws Exception {
+            mockMvc.perform(get("/v1/cards"))
+                    .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /v1/cards/{cardId}/authorizations - Authorize Card Spend")
+    class AuthorizeTests {
+
+        @Test
+        @DisplayName("should return authorization outcome")
+        @WithMockUser(username = "u1")
+        void authorize_shouldReturnOutcome() throws Exception {
+            when(cardAuthorizationService.authorize("u1", "c1", new BigDecimal("120.50"))).thenReturn(
+                    new CardAuthorization("a1", "c1", true, null, new BigDecimal("120.50"),
+                            new BigDecimal("49879.50"), new BigDecimal("199879.50")));
+
+            mockMvc.perform(post("/v1/cards/c1/authorizations")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\":120.50}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.approved").value(true))
+                    .andExpect(jsonPath("$.data.authorizationId").value("a1"))
+                    .andExpect(jsonPath("$.data.dailyRemaining").value(49879.50));
+        }
+
+        @Test
+        @DisplayName("should reject amount with more than 2 decimals")
+        @WithMockUser(username = "u1")
+        void authorize_shouldRejectInvalidAmount() throws Exception {
+            mockMvc.perform(post("/v1/cards/c1/authorizations")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"amount\":1.005}"))
+                    .andExpect(status().isBadRequest());
+
+            verify(cardAuthorizationService, never()).authorize(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /v1/cards/{cardId}/freeze|unfreeze - Change Card Status")
+    class ChangeStatusTests {
+
+        @Test
+        @DisplayName("should freeze card")
+        @WithMockUser(username = "u1")
+        void freeze_shouldReturnStatus() throws Exception {
+            when(cardService.freeze("u1", "c1")).thenReturn(new CardStatus("c1", CardStatus.FROZEN));
+
+            mockMvc.perform(post("/v1/cards/c1/freeze").with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.status").value("FROZEN"));
+        }
+
+        @Test
+        @DisplayName("should unfreeze card")
+        @WithMockUser(username = "u1")
+        void unfreeze_shouldReturnStatus() throws Exception {
+            when(cardService.unfreeze("u1", "c1")).thenReturn(new CardStatus("c1", CardStatus.ACTIVE));
+
+            mockMvc.perform(post("/v1/cards/c1/unfreeze").with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.status").value("ACTIVE"));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.lbk.socialbanking.common.api;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTest {
+
+    private static final CursorCodec.Scope SCOPE = CursorCodec.scope("test.items");
+
+    private final CursorCodec codec = new CursorCodec("test-cursor-secret-of-at-least-32-bytes".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    @DisplayName("should round-trip typed fields and the sort direction")
+    void roundTrip() {
+        var at = Instant.parse("2025-06-01T10:15:30.123456Z");
+        String cursor = codec.writer(SCOPE, true)
+                .putTimestamp(at)
+                .putString("tx-ไทย-42")
+                .putLong(-1L)
+                .putLong(Long.MAX_VALUE)
+                .encode();
+
+        var reader = codec.reader(SCOPE, cursor);
+
+        assertThat(reader.descending()).isTrue();
+        assertThat(reader.getTimestamp()).isEqualTo(at);
+        assertThat(reader.getString()).isEqualTo("tx-ไทย-42");
+        assertThat(reader.getLong()).isEqualTo(-1L);
+        assertThat(reader.getLong()).isEqualTo(Long.MAX_VALUE);
+        reader.finish();
+    }
+
+    @Test
+    @DisplayName("should keep cursors compact")
+    void compact() {
+        String cursor = codec.writer(SCOPE, false).putString("acc-000123").encode();
+
+        // version + flags + (type + length + 10 bytes) + 8 byte tag = 22 bytes
+        assertThat(Base64.getUrlDecoder().decode(cursor)).hasSize(22);
+        assertThat(cursor).hasSize(30);
+    }
+
+    @Test
+    @DisplayName("should reject a cursor with any byte changed")
+    void rejectsTampering() {
+        byte[] bytes = Base64.getUrlDecoder().decode(codec.writer(SCOPE, false).putString("acc-1").encode());
+
+        for (int i = 0; i < bytes.length; i++) {
+            byte[] tampered = bytes.clone();
+            tampered[i] ^= 0x04;
+            String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(tampered);
+
+            assertThatThrownBy(() -> codec.reader(SCOPE, cursor)).as("byte %d", i).isInstanceOf(ApiException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("should reject a cursor issued for another scope or with another key")
+    void rejectsForeignCursors() {
+        String cursor = codec.writer(SCOPE, false).putString("acc-1").encode();
+        var otherKey = new CursorCodec("another-cursor-secret-of-32-bytes-min".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> codec.reader(CursorCodec.scope("test.other"), cursor)).isInstanceOf(ApiException.class);
+        assertThatThrownBy(() -> otherKey.reader(SCOPE, cursor)).isInstanceOf(ApiException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "!!!", "AQA", "b2s6MTA"})
+    @DisplayName("should reject malformed cursors with a bad request")
+    void rejectsMalformed(String cursor) {
+        assertThatThrownBy(() -> codec.reader(SCOPE, cursor))
+                .isInstanceOfSatisfying(ApiException.class,
+                        e -> assertThat(e.status()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("should reject oversized cursors before decoding them")
+    void rejectsOversized() {
+        assertThatThrownBy(() -> codec.reader(SCOPE, "A".repeat(CursorCodec.MAX_TOKEN_LENGTH + 1)))
+                .isInstanceOf(ApiException.class);
+    }
+
+    @Test
+    @DisplayName("should reject reading fields of another type or leaving fields unread")
+    void rejectsLayoutMismatch() {
+        String cursor = codec.writer(SCOPE, false).putString("acc-1").putLong(7).encode();
+
+        assertThatThrownBy(() -> codec.reader(SCOPE, cursor).getLong()).isInstanceOf(ApiException.class);
+
+        var reader = codec.reader(SCOPE, cursor);
+        reader.getString();
+        assertThatThrownBy(reader::finish).isInstanceOf(ApiException.class);
+    }
+
+    @Test
+    @DisplayName("should refuse short secrets")
+    void rejectsShortSecret() {
+        assertThatThrownBy(() -> new CursorCodec("short".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
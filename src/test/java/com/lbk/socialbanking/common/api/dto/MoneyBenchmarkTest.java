@@ -0,0 +1,80 @@
+package com.lbk.socialbanking.common.api.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time and heap allocated per row when mapping {@value #ROWS} balances: the {@code DECIMAL(15,2)} text MySQL sends,
+ * parsed into a {@link BigDecimal} as the driver did and turned into a {@code double} as account summaries used to
+ * carry it, versus the {@code BIGINT} minor units the balance queries now return, wrapped in {@link Money}.
+ * {@code Money.of(BigDecimal)} is measured as well. Skipped unless {@code BENCHMARK} is set, e.g.
+ * <pre>
+ * BENCHMARK=1 ./gradlew test --tests '*MoneyBenchmarkTest' -i
+ * </pre>
+ * This is a plain loop, not JMH: the JIT may remove allocations it can prove do not escape, so each mapping writes to
+ * an array that is read afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = ".+")
+class MoneyBenchmarkTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final int RUNS = 10;
+
+    private final long[] minorUnits = ThreadLocalRandom.current()
+            .longs(ROWS, -1_000_000_000L, 1_000_000_000L)
+            .toArray();
+    private final String[] decimals = new String[ROWS];
+    private final double[] doubles = new double[ROWS];
+    private final Money[] monies = new Money[ROWS];
+
+    @Test
+    @DisplayName("benchmark DECIMAL to double against minor units to Money")
+    void benchmark() {
+        for (int i = 0; i < ROWS; i++) {
+            decimals[i] = Money.of(minorUnits[i], null).toPlainString();
+        }
+
+        report("DECIMAL->double", i -> doubles[i] = new BigDecimal(decimals[i]).doubleValue());
+        report("DECIMAL->Money", i -> monies[i] = Money.of(new BigDecimal(decimals[i]), "THB"));
+        report("BIGINT->Money", i -> monies[i] = Money.of(minorUnits[i], "THB"));
+
+        for (int i = 0; i < ROWS; i += ROWS / 100) {
+            assertThat(monies[i].toBigDecimal().doubleValue()).isEqualTo(doubles[i]);
+        }
+    }
+
+    /**
+     * Prints the best of {@value #RUNS} runs after as many warm-up runs. Allocation is per thread and is left out
+     * when the JVM cannot measure it.
+     */
+    private static void report(String label, IntConsumer mapRow) {
+        var threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mx
+                && mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled() ? mx : null;
+        long threadId = Thread.currentThread().threadId();
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS * 2; run++) {
+            long bytesBefore = threads == null ? 0 : threads.getThreadAllocatedBytes(threadId);
+            long started = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                mapRow.accept(i);
+            }
+            long nanos = System.nanoTime() - started;
+            long bytes = threads == null ? 0 : threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            if (run >= RUNS) {
+                bestNanos = Math.min(bestNanos, nanos);
+                bestBytes = Math.min(bestBytes, bytes);
+            }
+        }
+        System.out.printf("%-20s %6.2f ns/row %10s%n", label, (double) bestNanos / ROWS,
+                threads == null ? "n/a" : "%d B/row".formatted(bestBytes / ROWS));
+    }
+}
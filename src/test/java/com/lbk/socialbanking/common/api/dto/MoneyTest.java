@@ -0,0 +1,70 @@
+package com.lbk.socialbanking.common.api.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource({"1000.50,100050", "0.05,5", "-12.3,-1230", "7,700", "0.00,0"})
+    @DisplayName("should convert decimal amounts to minor units exactly")
+    void of_bigDecimal(String amount, long minorUnits) {
+        assertThat(Money.of(new BigDecimal(amount), "THB").minorUnits()).isEqualTo(minorUnits);
+    }
+
+    @Test
+    @DisplayName("should treat a missing amount as zero and reject sub-minor precision")
+    void of_edgeCases() {
+        assertThat(Money.of((BigDecimal) null, "THB")).isEqualTo(Money.zero("THB"));
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"), "THB")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"100050,1000.50", "5,0.05", "-1230,-12.30", "-5,-0.05", "0,0.00"})
+    @DisplayName("should format with exactly two decimals")
+    void toPlainString(long minorUnits, String expected) {
+        assertThat(Money.of(minorUnits, "THB").toPlainString()).isEqualTo(expected);
+        assertThat(Money.of(minorUnits, "THB").toBigDecimal()).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    @DisplayName("should only add amounts of the same currency")
+    void plus() {
+        assertThat(Money.of(150, "THB").plus(Money.of(275, "THB"))).isEqualTo(Money.of(425, "THB"));
+        assertThatThrownBy(() -> Money.of(1, "THB").plus(Money.of(1, "USD")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("should serialize amount as a fixed-scale number with its currency")
+    void json_roundTrip() throws Exception {
+        String json = mapper.writeValueAsString(Money.of(100050, "THB"));
+
+        assertThat(json).isEqualTo("{\"amount\":1000.50,\"currency\":\"THB\"}");
+        assertThat(mapper.readValue(json, Money.class)).isEqualTo(Money.of(100050, "THB"));
+        assertThat(mapper.readValue("{\"currency\":\"THB\",\"amount\":0.1}", Money.class)).isEqualTo(Money.of(10, "THB"));
+    }
+
+    @Test
+    @DisplayName("should survive the Redis cache serializer, which adds type information")
+    void redis_roundTrip() {
+        var serializer = new GenericJackson2JsonRedisSerializer();
+        var value = List.of(Money.of(-1230, "THB"), Money.of(5, null));
+
+        Object restored = serializer.deserialize(serializer.serialize(new java.util.ArrayList<>(value)));
+
+        assertThat(restored).isEqualTo(value);
+    }
+}
@@ -42,6 +42,25 @@ class PaginationTest {
         assertEquals(15, pageInfo.totalPages());
     }
 
+    @Test
+    void testPageRequestCursorImpliesUncounted() {
+        var pageRequest = new com.lbk.socialbanking.common.api.dto.PageRequest(3, 10, true, "abc");
+        assertFalse(pageRequest.counted());
+        assertTrue(new com.lbk.socialbanking.common.api.dto.PageRequest(3, 10, true, " ").counted());
+        assertTrue(new com.lbk.socialbanking.common.api.dto.PageRequest(3, 10).counted());
+    }
+
+    @Test
+    void testPageInfoHasNext() {
+        assertTrue(PageInfo.of(1, 10, 11L).hasNext());
+        assertFalse(PageInfo.of(2, 10, 11L).hasNext());
+
+        var uncounted = PageInfo.uncounted(null, 10, true, "next");
+        assertNull(uncounted.total());
+        assertNull(uncounted.totalPages());
+        assertEquals("next", uncounted.nextCursor());
+    }
+
     @Test
     void testPaginatedResponseFromSpringPage() {
         var data = List.of("item1", "item2", "item3");
@@ -0,0 +1,25 @@
+package com.lbk.socialbanking.common.config;
+
+import com.lbk.socialbanking.common.api.dto.PartialResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTest {
+
+    private record Response(boolean partial) implements PartialResponse {
+    }
+
+    @Test
+    @DisplayName("should keep partial responses only briefly and complete ones until evicted")
+    void shortTtlWhenPartial() {
+        var ttl = CacheConfig.shortTtlWhenPartial(Duration.ofSeconds(30));
+
+        assertThat(ttl.getTimeToLive("u1", new Response(true))).isEqualTo(Duration.ofSeconds(30));
+        assertThat(ttl.getTimeToLive("u1", new Response(false))).isEqualTo(Duration.ZERO);
+        assertThat(ttl.getTimeToLive("u1", "not a response")).isEqualTo(Duration.ZERO);
+    }
+}
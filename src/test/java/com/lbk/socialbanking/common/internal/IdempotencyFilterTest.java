@@ -0,0 +1,328 @@
+package com.lbk.socialbanking.common.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"fromAccountId\":\"acc-1\",\"toAccountId\":\"acc-2\",\"amount\":10}";
+    private static final String RESPONSE = "{\"data\":{\"transferId\":\"tr-1\"}}";
+
+    @Mock
+    private IdempotencyStore store;
+
+    private IdempotencyFilter filter;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    // Stands in for the controller: reads the body and answers with the given status.
+    private FilterChain chain(int status) {
+        return (req, res) -> {
+            calls.incrementAndGet();
+            assertThat(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+            var response = (jakarta.servlet.http.HttpServletResponse) res;
+            response.setStatus(status);
+            response.setContentType("application/json");
+            response.getOutputStream().write(RESPONSE.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(store, new ObjectMapper(), Executors.newSingleThreadScheduledExecutor());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("u1", null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    // The key is free: the request claims it and runs.
+    private ArgumentCaptor<String> claimed(Duration refreshInterval) {
+        var claimId = ArgumentCaptor.forClass(String.class);
+        when(store.claim(eq("u1"), eq("key-1"), eq(fingerprint()), claimId.capture())).thenReturn(null);
+        when(store.refreshInterval()).thenReturn(refreshInterval);
+        return claimId;
+    }
+
+    private static MockHttpServletRequest request(String key) {
+        var request = new MockHttpServletRequest("POST", "/v1/accounts/transfers");
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        return request;
+    }
+
+    private static String fingerprint() {
+        return IdempotencyFilter.fingerprint(request("k"), BODY.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("first request")
+    class FirstRequest {
+
+        @Test
+        @DisplayName("should pass requests without a key straight through")
+        void noKey() throws Exception {
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request(null), response, chain(201));
+
+            assertThat(calls).hasValue(1);
+            assertThat(response.getStatus()).isEqualTo(201);
+            verifyNoInteractions(store);
+        }
+
+        @Test
+        @DisplayName("should claim the key, run the request and store its response")
+        void claimAndStore() throws Exception {
+            var claimId = claimed(Duration.ofMinutes(1));
+            when(store.complete(eq("u1"), eq("key-1"), anyString(), any())).thenReturn(true);
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request("key-1"), response, chain(201));
+
+            var captor = ArgumentCaptor.forClass(IdempotencyRecord.class);
+            verify(store).complete(eq("u1"), eq("key-1"), eq(claimId.getValue()), captor.capture());
+            assertThat(captor.getValue().status()).isEqualTo(201);
+            assertThat(captor.getValue().fingerprint()).isEqualTo(fingerprint());
+            assertThat(new String(captor.getValue().body(), StandardCharsets.UTF_8)).isEqualTo(RESPONSE);
+            assertThat(response.getContentAsString()).isEqualTo(RESPONSE);
+            assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        }
+
+        @Test
+        @DisplayName("should release the key when the request fails, so it can be retried")
+        void releaseOnFailure() throws Exception {
+            var claimId = claimed(Duration.ofMinutes(1));
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request("key-1"), response, chain(422));
+
+            verify(store).release("u1", "key-1", claimId.getValue());
+            verify(store, never()).complete(anyString(), anyString(), anyString(), any());
+            assertThat(response.getStatus()).isEqualTo(422);
+        }
+
+        @Test
+        @DisplayName("should let a data access error from the request propagate and release the key")
+        void chainFails() {
+            var claimId = claimed(Duration.ofMinutes(1));
+            FilterChain failing = (req, res) -> {
+                throw new QueryTimeoutException("statement timeout");
+            };
+
+            assertThatThrownBy(() -> filter.doFilter(request("key-1"), new MockHttpServletResponse(), failing))
+                    .isInstanceOf(QueryTimeoutException.class);
+
+            verify(store).release("u1", "key-1", claimId.getValue());
+            verify(store, never()).complete(anyString(), anyString(), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("should keep extending the claim while a slow request runs")
+        void refreshWhileRunning() throws Exception {
+            var claimId = claimed(Duration.ofMillis(10));
+            var refreshed = new CountDownLatch(3);
+            when(store.refresh(eq("u1"), eq("key-1"), anyString())).thenAnswer(inv -> {
+                refreshed.countDown();
+                return true;
+            });
+            when(store.complete(eq("u1"), eq("key-1"), anyString(), any())).thenReturn(true);
+            FilterChain slow = (req, res) -> {
+                try {
+                    assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                chain(201).doFilter(req, res);
+            };
+
+            filter.doFilter(request("key-1"), new MockHttpServletResponse(), slow);
+
+            verify(store, atLeast(3)).refresh("u1", "key-1", claimId.getValue());
+            verify(store).complete(eq("u1"), eq("key-1"), eq(claimId.getValue()), any());
+        }
+
+        @Test
+        @DisplayName("should still answer when the claim expired before the response could be stored")
+        void claimLost() throws Exception {
+            claimed(Duration.ofMinutes(1));
+            when(store.complete(eq("u1"), eq("key-1"), anyString(), any())).thenReturn(false);
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request("key-1"), response, chain(201));
+
+            assertThat(response.getStatus()).isEqualTo(201);
+            assertThat(response.getContentAsString()).isEqualTo(RESPONSE);
+            verify(store, never()).release(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("should hand the cached body to a read listener")
+        void readListener() throws Exception {
+            claimed(Duration.ofMinutes(1));
+            when(store.complete(eq("u1"), eq("key-1"), anyString(), any())).thenReturn(true);
+            var read = new ByteArrayOutputStream();
+            var allRead = new AtomicBoolean();
+            FilterChain async = (req, res) -> {
+                var in = req.getInputStream();
+                in.setReadListener(new ReadListener() {
+                    @Override
+                    public void onDataAvailable() throws IOException {
+                        byte[] buffer = new byte[16];
+                        while (in.isReady() && !in.isFinished()) {
+                            read.write(buffer, 0, in.read(buffer));
+                        }
+                    }
+
+                    @Override
+                    public void onAllDataRead() {
+                        allRead.set(true);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        throw new AssertionError(t);
+                    }
+                });
+                ((jakarta.servlet.http.HttpServletResponse) res).setStatus(201);
+            };
+
+            filter.doFilter(request("key-1"), new MockHttpServletResponse(), async);
+
+            assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+            assertThat(allRead).isTrue();
+        }
+
+        @Test
+        @DisplayName("should reject malformed keys")
+        void malformedKey() throws Exception {
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request("user:other"), response, chain(201));
+
+            assertThat(response.getStatus()).isEqualTo(400);
+            assertThat(response.getContentAsString()).contains("VALIDATION_ERROR");
+            assertThat(calls).hasValue(0);
+            verifyNoInteractions(store);
+        }
+
+        @Test
+        @DisplayName("should refuse keyed requests when the store is unavailable")
+        void storeUnavailable() throws Exception {
+            when(store.claim(anyString(), anyString(), anyString(), anyString()))
+                    .thenThrow(new RedisConnectionFailureException("down"));
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request("key-1"), response, chain(201));
+
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(calls).hasValue(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("retries")
+    class Retries {
+
+        @Test
+        @DisplayName("should replay the stored response without running the request")
+        void replay() throws Exception {
+            when(store.claim(eq("u1"), eq("key-1"), eq(fingerprint()), anyString())).thenReturn(
+                    IdempotencyRecord.completed(fingerprint(), 201, "application/json", RESPONSE.getBytes(StandardCharsets.UTF_8)));
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request("key-1"), response, chain(201));
+
+            assertThat(calls).hasValue(0);
+            assertThat(response.getStatus()).isEqualTo(201);
+            assertThat(response.getContentType()).isEqualTo("application/json");
+            assertThat(response.getContentAsString()).isEqualTo(RESPONSE);
+            assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        }
+
+        @Test
+        @DisplayName("should report a key that is still being processed as a conflict")
+        void pending() throws Exception {
+            when(store.claim(eq("u1"), eq("key-1"), eq(fingerprint()), anyString()))
+                    .thenReturn(IdempotencyRecord.pending(fingerprint(), "claim-of-first"));
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request("key-1"), response, chain(201));
+
+            assertThat(calls).hasValue(0);
+            assertThat(response.getStatus()).isEqualTo(409);
+            assertThat(response.getContentAsString()).contains("IDEMPOTENCY_KEY_IN_USE");
+        }
+
+        @Test
+        @DisplayName("should reject a key reused for a different request")
+        void reused() throws Exception {
+            when(store.claim(eq("u1"), eq("key-1"), eq(fingerprint()), anyString())).thenReturn(
+                    IdempotencyRecord.completed("other", 201, "application/json", RESPONSE.getBytes(StandardCharsets.UTF_8)));
+            var response = new MockHttpServletResponse();
+
+            filter.doFilter(request("key-1"), response, chain(201));
+
+            assertThat(calls).hasValue(0);
+            assertThat(response.getStatus()).isEqualTo(422);
+            assertThat(response.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+        }
+    }
+
+    @Test
+    @DisplayName("should fingerprint path and body")
+    void fingerprint_differs() {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        var other = new MockHttpServletRequest("POST", "/v1/transactions/batch");
+
+        assertThat(IdempotencyFilter.fingerprint(request("k"), body))
+                .isEqualTo(fingerprint())
+                .isNotEqualTo(IdempotencyFilter.fingerprint(other, body))
+                .isNotEqualTo(IdempotencyFilter.fingerprint(request("k"), "{}".getBytes(StandardCharsets.UTF_8)));
+    }
+}
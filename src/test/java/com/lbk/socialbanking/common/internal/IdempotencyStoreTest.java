@@ -0,0 +1,92 @@
+package com.lbk.socialbanking.common.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lbk.socialbanking.common.config.IdempotencyProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final Duration TTL = Duration.ofHours(24);
+
+    @Mock
+    private StringRedisTemplate redis;
+
+    private IdempotencyStore store() {
+        return new IdempotencyStore(redis, new ObjectMapper(), new IdempotencyProperties(TTL, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    @DisplayName("should claim a free key with the pending TTL")
+    @SuppressWarnings("unchecked")
+    void claim_free() {
+        when(redis.execute(any(RedisScript.class), eq(List.of("idempotency:u1:key-1")), any(), eq("60000")))
+                .thenReturn(null);
+
+        assertThat(store().claim("u1", "key-1", "fp", "claim-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("should return a completed record as it was stored")
+    @SuppressWarnings("unchecked")
+    void complete_thenClaim() {
+        var record = IdempotencyRecord.completed("fp", 201, "application/json", "{\"ok\":true}".getBytes(StandardCharsets.UTF_8));
+        when(redis.execute(any(RedisScript.class), eq(List.of("idempotency:u1:key-1")), eq("claim-1"), any(), eq("86400000")))
+                .thenReturn(1L);
+
+        assertThat(store().complete("u1", "key-1", "claim-1", record)).isTrue();
+
+        var json = ArgumentCaptor.forClass(String.class);
+        verify(redis).execute(any(RedisScript.class), any(List.class), eq("claim-1"), json.capture(), any());
+        when(redis.execute(any(RedisScript.class), any(List.class), any(), any())).thenReturn(json.getValue());
+
+        var claimed = store().claim("u1", "key-1", "fp", "claim-2");
+        assertThat(claimed.isPending()).isFalse();
+        assertThat(claimed.status()).isEqualTo(201);
+        assertThat(claimed.contentType()).isEqualTo("application/json");
+        assertThat(claimed.body()).isEqualTo(record.body());
+    }
+
+    @Test
+    @DisplayName("should report a claim that expired and was not refreshed")
+    @SuppressWarnings("unchecked")
+    void refresh_expired() {
+        when(redis.execute(any(RedisScript.class), eq(List.of("idempotency:u1:key-1")), eq("claim-1"), eq("60000")))
+                .thenReturn(1L, 0L);
+
+        assertThat(store().refresh("u1", "key-1", "claim-1")).isTrue();
+        assertThat(store().refresh("u1", "key-1", "claim-1")).isFalse();
+    }
+
+    @Test
+    @DisplayName("should write the claim ID into the pending record")
+    @SuppressWarnings("unchecked")
+    void claim_recordsClaimId() throws Exception {
+        var json = ArgumentCaptor.forClass(String.class);
+        when(redis.execute(any(RedisScript.class), any(List.class), json.capture(), any())).thenReturn(null);
+
+        store().claim("u1", "key-1", "fp", "claim-1");
+
+        var pending = new ObjectMapper().readValue(json.getValue(), IdempotencyRecord.class);
+        assertThat(pending.isPending()).isTrue();
+        assertThat(pending.claimId()).isEqualTo("claim-1");
+        assertThat(store().refreshInterval()).isEqualTo(Duration.ofSeconds(20));
+    }
+}
@@ -0,0 +1,122 @@
+package com.lbk.socialbanking.customer.internal.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCacheTest {
+
+    private static final GenericJackson2JsonRedisSerializer VALUES = new GenericJackson2JsonRedisSerializer();
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        var cacheManager = RedisCacheManager.builder(mock(RedisCacheWriter.class))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .serializeKeysWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new StringRedisSerializer()))
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(VALUES)))
+                .withCacheConfiguration("greetings", RedisCacheConfiguration.defaultCacheConfig()
+                        .serializeKeysWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new StringRedisSerializer()))
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(VALUES))
+                        .entryTtl(Duration.ofDays(7)))
+                .build();
+        cacheManager.afterPropertiesSet();
+        cache = cacheManager.getCache("greetings");
+    }
+
+    private BulkCache connected() {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        return new BulkCache(connectionFactory);
+    }
+
+    private static byte[] key(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("should read all keys with one MGET on the cache's prefixed keys")
+    void getAll_oneMget() {
+        var bulkCache = connected();
+        when(stringCommands.mGet(any(byte[][].class)))
+                .thenReturn(Arrays.asList(VALUES.serialize("Hi u1"), null, VALUES.serialize("Hi u3")));
+
+        List<String> values = bulkCache.getAll(cache, List.of("u1", "u2", "u3"), String.class);
+
+        assertThat(values).containsExactly("Hi u1", null, "Hi u3");
+        ArgumentCaptor<byte[][]> keys = ArgumentCaptor.forClass(byte[][].class);
+        verify(stringCommands, times(1)).mGet(keys.capture());
+        assertThat(keys.getValue())
+                .isEqualTo(new byte[][]{key("greetings::u1"), key("greetings::u2"), key("greetings::u3")});
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("should write all entries in one pipeline with the cache's TTL")
+    void putAll_pipelined() {
+        connected().putAll(cache, Map.of("u1", "Hi u1"));
+
+        var order = inOrder(connection, stringCommands);
+        order.verify(connection).openPipeline();
+        order.verify(stringCommands).set(eq(key("greetings::u1")), eq(VALUES.serialize("Hi u1")),
+                eq(Expiration.from(Duration.ofDays(7))), eq(SetOption.upsert()));
+        order.verify(connection).closePipeline();
+        order.verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("should fall back to one call per entry for a cache that is not Redis")
+    void fallback() {
+        var local = new ConcurrentMapCache("greetings");
+        var bulkCache = new BulkCache(connectionFactory);
+
+        bulkCache.putAll(local, Map.of("u1", "Hi u1"));
+
+        assertThat(bulkCache.getAll(local, List.of("u1", "u2"), String.class)).containsExactly("Hi u1", null);
+    }
+}
@@ -2,18 +2,28 @@ package com.lbk.socialbanking.customer.internal.service;
 
 import com.lbk.socialbanking.customer.internal.persistence.entity.UserGreetingEntity;
 import com.lbk.socialbanking.customer.internal.persistence.repo.UserGreetingRepository;
+import com.lbk.socialbanking.customer.internal.persistence.repo.UserRepository;
+import com.lbk.socialbanking.customer.internal.persistence.repo.UserRepository.ProfileView;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class CustomerServiceImplTest {
@@ -21,9 +31,24 @@ class CustomerServiceImplTest {
     @Mock
     private UserGreetingRepository userGreetingRepository;
 
-    @InjectMocks
+    @Mock
+    private UserRepository userRepository;
+
     private CustomerServiceImpl customerService;
 
+    @BeforeEach
+    void setUp() {
+        customerService = new CustomerServiceImpl(userGreetingRepository, userRepository, new ConcurrentMapCacheManager(),
+                new BulkCache(null));
+    }
+
+    private static UserGreetingEntity greeting(String userId, String greeting) {
+        UserGreetingEntity entity = new UserGreetingEntity();
+        entity.setUserId(userId);
+        entity.setGreeting(greeting);
+        return entity;
+    }
+
     @Nested
     @DisplayName("getGreeting")
     class GetGreeting {
@@ -32,10 +57,7 @@ class CustomerServiceImplTest {
         @DisplayName("should return greeting from repository when present")
         void getGreeting_found() {
             String userId = "u1";
-            UserGreetingEntity entity = new UserGreetingEntity();
-            entity.setUserId(userId);
-            entity.setGreeting("Hello u1");
-            given(userGreetingRepository.findById(userId)).willReturn(Optional.of(entity));
+            given(userGreetingRepository.findByUserIdIn(List.of(userId))).willReturn(List.of(greeting(userId, "Hello u1")));
 
             String result = customerService.getGreeting(userId);
 
@@ -46,12 +68,140 @@ class CustomerServiceImplTest {
         @DisplayName("should return default greeting when not found")
         void getGreeting_notFound() {
             String userId = "u2";
-            given(userGreetingRepository.findById(userId)).willReturn(Optional.empty());
+            given(userGreetingRepository.findByUserIdIn(List.of(userId))).willReturn(List.of());
 
             String result = customerService.getGreeting(userId);
 
             assertThat(result).isEqualTo("Welcome");
         }
+
+        @Test
+        @DisplayName("should serve repeated reads from cache")
+        void getGreeting_cached() {
+            given(userGreetingRepository.findByUserIdIn(List.of("u1"))).willReturn(List.of(greeting("u1", "Hello u1")));
+
+            customerService.getGreeting("u1");
+            String result = customerService.getGreeting("u1");
+
+            assertThat(result).isEqualTo("Hello u1");
+            verify(userGreetingRepository, times(1)).findByUserIdIn(any());
+        }
     }
-}
 
+    @Nested
+    @DisplayName("getGreetings")
+    class GetGreetings {
+
+        @Test
+        @DisplayName("should load only cache misses in one query and default missing users")
+        void getGreetings_batchesMisses() {
+            given(userGreetingRepository.findByUserIdIn(List.of("u1"))).willReturn(List.of(greeting("u1", "Hello u1")));
+            customerService.getGreeting("u1");
+            given(userGreetingRepository.findByUserIdIn(List.of("u2", "u3"))).willReturn(List.of(greeting("u2", "Hi u2")));
+
+            var result = customerService.getGreetings(List.of("u1", "u2", "u3", "u2"));
+
+            assertThat(result).containsExactly(
+                    entry("u1", "Hello u1"),
+                    entry("u2", "Hi u2"),
+                    entry("u3", "Welcome"));
+            verify(userGreetingRepository).findByUserIdIn(List.of("u2", "u3"));
+        }
+
+        @Test
+        @DisplayName("should not query when every greeting is cached")
+        void getGreetings_allCached() {
+            given(userGreetingRepository.findByUserIdIn(List.of("u1", "u2"))).willReturn(List.of());
+            customerService.getGreetings(List.of("u1", "u2"));
+
+            customerService.getGreetings(List.of("u2", "u1"));
+
+            verify(userGreetingRepository, times(1)).findByUserIdIn(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("updateGreeting")
+    class UpdateGreeting {
+
+        @Test
+        @DisplayName("should save greeting and invalidate cached value")
+        void updateGreeting_evicts() {
+            given(userGreetingRepository.findByUserIdIn(List.of("u1")))
+                    .willReturn(List.of(greeting("u1", "Hello")))
+                    .willReturn(List.of(greeting("u1", "Sawasdee")));
+            given(userGreetingRepository.findById("u1")).willReturn(Optional.of(greeting("u1", "Hello")));
+            assertThat(customerService.getGreeting("u1")).isEqualTo("Hello");
+
+            customerService.updateGreeting("u1", "Sawasdee");
+
+            verify(userGreetingRepository).save(argThat(e -> "Sawasdee".equals(e.getGreeting())));
+            assertThat(customerService.getGreeting("u1")).isEqualTo("Sawasdee");
+        }
+
+        @Test
+        @DisplayName("should create greeting row when user has none")
+        void updateGreeting_creates() {
+            given(userGreetingRepository.findById("u9")).willReturn(Optional.empty());
+
+            customerService.updateGreeting("u9", "Hello u9");
+
+            verify(userGreetingRepository).save(argThat(e -> "u9".equals(e.getUserId())));
+            verify(userGreetingRepository, never()).findByUserIdIn(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("getProfile")
+    class GetProfile {
+
+        @Test
+        @DisplayName("should return name and greeting from one projection")
+        void getProfile_found() {
+            given(userRepository.findProfileByUserId("u1")).willReturn(Optional.of(new Profile("u1", "John", "Hello John")));
+
+            var profile = customerService.getProfile("u1");
+
+            assertThat(profile.name()).isEqualTo("John");
+            assertThat(profile.greeting()).isEqualTo("Hello John");
+            verify(userGreetingRepository, never()).findByUserIdIn(any());
+        }
+
+        @Test
+        @DisplayName("should default greeting when user has no greeting row")
+        void getProfile_noGreeting() {
+            given(userRepository.findProfileByUserId("u1")).willReturn(Optional.of(new Profile("u1", "John", null)));
+
+            assertThat(customerService.getProfile("u1").greeting()).isEqualTo("Welcome");
+        }
+
+        @Test
+        @DisplayName("should fall back to greeting lookup when user row is missing")
+        void getProfile_userMissing() {
+            given(userRepository.findProfileByUserId("u2")).willReturn(Optional.empty());
+            given(userGreetingRepository.findByUserIdIn(List.of("u2"))).willReturn(List.of(greeting("u2", "Hi u2")));
+
+            var profile = customerService.getProfile("u2");
+
+            assertThat(profile.name()).isNull();
+            assertThat(profile.greeting()).isEqualTo("Hi u2");
+        }
+    }
+
+    private record Profile(String userId, String name, String greeting) implements ProfileView {
+        @Override
+        public String getUserId() {
+            return userId;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getGreeting() {
+            return greeting;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.lbk.socialbanking.dashboard.internal.handlers;
 
 import com.lbk.socialbanking.account.api.AccountService;
+import com.lbk.socialbanking.account.events.AccountsChangedEvent;
 import com.lbk.socialbanking.auth.events.UserLoggedInEvent;
+import com.lbk.socialbanking.card.events.CardStatusChangedEvent;
 import com.lbk.socialbanking.dashboard.internal.servcie.DashboardService;
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import com.lbk.socialbanking.transaction.events.TransactionsCompletedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,7 +16,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -82,4 +88,45 @@ class DashboardEventHandlerTest {
 
         verify(cacheManager, atLeastOnce()).getCache(anyString());
     }
+
+    @Test
+    @DisplayName("Should invalidate dashboard cache without pre-warming when a card status changes")
+    void shouldEvictDashboardOnCardStatusChanged() {
+        eventHandler.handleCardStatusChanged(new CardStatusChangedEvent("user123", "c1", "FROZEN", LocalDateTime.now()));
+
+        verify(cache).evict("user123");
+        verify(dashboardService, never()).getDashboard(anyString());
+    }
+
+    @Test
+    @DisplayName("Should evict dashboard when an account is opened or closed")
+    void shouldEvictDashboardOnAccountsChanged() {
+        eventHandler.handleAccountsChanged(new AccountsChangedEvent("user123", LocalDateTime.now()));
+
+        verify(cache).evict("user123");
+        verify(dashboardService, never()).getDashboard(anyString());
+    }
+
+    @Test
+    @DisplayName("Should evict dashboard when a transaction completes")
+    void shouldEvictDashboardOnTransactionCompleted() {
+        eventHandler.handleTransactionCompleted(new TransactionCompletedEvent("t1", "user123", "a1", "a2",
+                new BigDecimal("10.00"), "THB", "TRANSFER", LocalDateTime.now(), "rent"));
+
+        verify(cache).evict("user123");
+        verify(dashboardService, never()).getDashboard(anyString());
+    }
+
+    @Test
+    @DisplayName("Should evict dashboard once per user for a batch of completed transactions")
+    void shouldEvictDashboardOncePerUserOnTransactionsCompleted() {
+        var event = new TransactionsCompletedEvent(List.of(
+                new TransactionCompletedEvent("t1", "user123", null, null, null, null, "INGESTED", LocalDateTime.now(), "a"),
+                new TransactionCompletedEvent("t2", "user123", null, null, null, null, "INGESTED", LocalDateTime.now(), "b")));
+
+        eventHandler.handleTransactionsCompleted(event);
+
+        verify(cache, times(1)).evict("user123");
+        verify(dashboardService, never()).getDashboard(anyString());
+    }
 }
@@ -1,14 +1,19 @@
 package com.lbk.socialbanking.dashboard.internal.servcie;
 
 import com.lbk.socialbanking.account.api.AccountService;
+import com.lbk.socialbanking.account.api.dto.AccountPresence;
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
 import com.lbk.socialbanking.account.api.dto.GoalItem;
 import com.lbk.socialbanking.account.api.dto.LoanItem;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
+import com.lbk.socialbanking.card.api.CardService;
+import com.lbk.socialbanking.card.api.dto.CardSummary;
+import com.lbk.socialbanking.common.api.dto.Money;
 import com.lbk.socialbanking.common.api.dto.PageInfo;
 import com.lbk.socialbanking.common.api.dto.PageRequest;
 import com.lbk.socialbanking.common.api.dto.PaginatedResponse;
 import com.lbk.socialbanking.customer.api.CustomerService;
+import com.lbk.socialbanking.customer.api.dto.CustomerProfile;
 import com.lbk.socialbanking.dashboard.web.DashboardResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -21,7 +26,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.BDDMockito.when;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class DashboardServiceImplTest {
@@ -32,9 +41,15 @@ class DashboardServiceImplTest {
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private CardService cardService;
+
     @InjectMocks
     private DashboardServiceImpl dashboardService;
 
+    private static final AccountPresence ALL_SECTIONS = new AccountPresence(
+            AccountPresence.SAVING | AccountPresence.GOAL | AccountPresence.LOAN | AccountPresence.PAYEES);
+
     @Nested
     @DisplayName("getDashboard")
     class GetDashboard {
@@ -43,28 +58,31 @@ class DashboardServiceImplTest {
         @DisplayName("should build dashboard with primary saving, goals, loans and quick payees")
         void getDashboard_fullData() {
             String userId = "u1";
-            when(customerService.getGreeting(userId)).thenReturn("Hello John");
+            when(customerService.getProfile(userId)).thenReturn(new CustomerProfile(userId, "John", "Hello John"));
+            when(accountService.getAccountPresence(userId)).thenReturn(ALL_SECTIONS);
 
-            var acc1 = new AccountSummary("acc-saving", "SAVING", "THB", "123-456", "KBank", "#111", 1000.0, "ACTIVE");
-            var acc2 = new AccountSummary("acc-goal", "GOAL", "THB", "999-111", "KBank", "#222", 200.0, "IN_PROGRESS");
-            var acc3 = new AccountSummary("acc-loan", "LOAN", "THB", "555-666", "KBank", "#333", 5000.0, "ACTIVE");
+            var acc1 = new AccountSummary("acc-saving", "SAVING", "THB", "123-456", "KBank", "#111", Money.of(100_000, "THB"), "ACTIVE", null);
+            var acc2 = new AccountSummary("acc-goal", "GOAL", "THB", "999-111", "KBank", "#222", Money.of(20_000, "THB"), "IN_PROGRESS", null);
+            var acc3 = new AccountSummary("acc-loan", "LOAN", "THB", "555-666", "KBank", "#333", Money.of(500_000, "THB"), "ACTIVE", null);
             when(accountService.listAccounts(userId)).thenReturn(List.of(acc1, acc2, acc3));
 
             var p1 = new PayeeItem("p1", "Alice", "img1", true);
             var p2 = new PayeeItem("p2", "Bob", "img2", false);
             when(accountService.listQuickPayees(userId, 10)).thenReturn(List.of(p1, p2));
 
-            var goals = List.of(new GoalItem("acc-goal", "999-111", "IN_PROGRESS", "KBank", 200.0));
+            var goals = List.of(new GoalItem("acc-goal", "999-111", "IN_PROGRESS", "KBank", Money.of(20_000, "THB")));
             when(accountService.listGoalAccounts(userId, new PageRequest(1, 10)))
                     .thenReturn(PaginatedResponse.of(goals, PageInfo.of(1, 10, 1)));
 
-            var loans = List.of(new LoanItem("acc-loan", "555-666", "IN_PROGRESS", 5000.0));
+            var loans = List.of(new LoanItem("acc-loan", "555-666", "IN_PROGRESS", Money.of(500_000, "THB")));
             when(accountService.listLoanAccounts(userId, new PageRequest(1, 10)))
                     .thenReturn(PaginatedResponse.of(loans, PageInfo.of(1, 10, 1)));
 
             DashboardResponse response = dashboardService.getDashboard(userId);
 
             assertThat(response.greeting()).isEqualTo("Hello John");
+            assertThat(response.cards()).isEmpty();
+            assertThat(response.name()).isEqualTo("John");
             assertThat(response.primaryAccount()).isNotNull();
             assertThat(response.primaryAccount().accountId()).isEqualTo("acc-saving");
 
@@ -76,27 +94,23 @@ class DashboardServiceImplTest {
             assertThat(goal.id()).isEqualTo("acc-goal");
             assertThat(goal.title()).isEqualTo("999-111");
             assertThat(goal.status()).isEqualTo("IN_PROGRESS");
-            assertThat(goal.amount()).isEqualTo(200.0);
+            assertThat(goal.amount()).isEqualTo(Money.of(20_000, "THB"));
 
             assertThat(response.loans()).hasSize(1);
             DashboardResponse.LoanCard loan = response.loans().getFirst();
             assertThat(loan.id()).isEqualTo("acc-loan");
             assertThat(loan.title()).isEqualTo("555-666");
             assertThat(loan.status()).isEqualTo("IN_PROGRESS");
-            assertThat(loan.outstandingAmount()).isEqualTo(5000.0);
+            assertThat(loan.outstandingAmount()).isEqualTo(Money.of(500_000, "THB"));
         }
 
         @Test
         @DisplayName("should handle no accounts")
         void getDashboard_noAccounts() {
             String userId = "u2";
-            when(customerService.getGreeting(userId)).thenReturn("Hi");
+            when(customerService.getProfile(userId)).thenReturn(new CustomerProfile(userId, "John", "Hi"));
+            when(accountService.getAccountPresence(userId)).thenReturn(AccountPresence.NONE);
             when(accountService.listAccounts(userId)).thenReturn(List.of());
-            when(accountService.listQuickPayees(userId, 10)).thenReturn(List.of());
-            when(accountService.listGoalAccounts(userId, new PageRequest(1, 10)))
-                    .thenReturn(PaginatedResponse.of(List.of(), PageInfo.of(1, 10, 0)));
-            when(accountService.listLoanAccounts(userId, new PageRequest(1, 10)))
-                    .thenReturn(PaginatedResponse.of(List.of(), PageInfo.of(1, 10, 0)));
 
             DashboardResponse response = dashboardService.getDashboard(userId);
 
@@ -108,21 +122,42 @@ class DashboardServiceImplTest {
             assertThat(response.quickPayees()).isEmpty();
         }
 
+        @Test
+        @DisplayName("should skip sections the presence bitmap marks as empty")
+        void getDashboard_skipsEmptySections() {
+            String userId = "u8";
+            when(customerService.getProfile(userId)).thenReturn(new CustomerProfile(userId, "John", "Hi"));
+            when(accountService.getAccountPresence(userId)).thenReturn(new AccountPresence(AccountPresence.SAVING));
+            var acc1 = new AccountSummary("acc-saving", "SAVING", "THB", "000-000", "KBank", "#000", Money.of(1000, "THB"), "ACTIVE", null);
+            when(accountService.listAccounts(userId)).thenReturn(List.of(acc1));
+
+            DashboardResponse response = dashboardService.getDashboard(userId);
+
+            assertThat(response.primaryAccount().accountId()).isEqualTo("acc-saving");
+            assertThat(response.goals()).isEmpty();
+            assertThat(response.loans()).isEmpty();
+            assertThat(response.quickPayees()).isEmpty();
+            verify(accountService, never()).listGoalAccounts(any(), any());
+            verify(accountService, never()).listLoanAccounts(any(), any());
+            verify(accountService, never()).listQuickPayees(any(), anyInt());
+        }
+
         @Test
         @DisplayName("should pick first account as primary when no saving type")
         void getDashboard_noSavingType() {
             String userId = "u3";
-            when(customerService.getGreeting(userId)).thenReturn("Hi");
+            when(customerService.getProfile(userId)).thenReturn(new CustomerProfile(userId, "John", "Hi"));
+            when(accountService.getAccountPresence(userId)).thenReturn(ALL_SECTIONS);
 
-            var acc1 = new AccountSummary("acc-1", "GOAL", "THB", "111-222", "KBank", "#111", 100.0, "IN_PROGRESS");
-            var acc2 = new AccountSummary("acc-2", "LOAN", "THB", "333-444", "KBank", "#222", 200.0, "ACTIVE");
+            var acc1 = new AccountSummary("acc-1", "GOAL", "THB", "111-222", "KBank", "#111", Money.of(10_000, "THB"), "IN_PROGRESS", null);
+            var acc2 = new AccountSummary("acc-2", "LOAN", "THB", "333-444", "KBank", "#222", Money.of(20_000, "THB"), "ACTIVE", null);
             when(accountService.listAccounts(userId)).thenReturn(List.of(acc1, acc2));
             when(accountService.listQuickPayees(userId, 10)).thenReturn(List.of());
 
             when(accountService.listGoalAccounts(userId, new PageRequest(1, 10)))
-                    .thenReturn(PaginatedResponse.of(List.of(new GoalItem("acc-1", "111-222", "IN_PROGRESS", "KBank", 100.0)), PageInfo.of(1, 10, 1)));
+                    .thenReturn(PaginatedResponse.of(List.of(new GoalItem("acc-1", "111-222", "IN_PROGRESS", "KBank", Money.of(10_000, "THB"))), PageInfo.of(1, 10, 1)));
             when(accountService.listLoanAccounts(userId, new PageRequest(1, 10)))
-                    .thenReturn(PaginatedResponse.of(List.of(new LoanItem("acc-2", "333-444", "IN_PROGRESS", 200.0)), PageInfo.of(1, 10, 1)));
+                    .thenReturn(PaginatedResponse.of(List.of(new LoanItem("acc-2", "333-444", "IN_PROGRESS", Money.of(20_000, "THB"))), PageInfo.of(1, 10, 1)));
 
             DashboardResponse response = dashboardService.getDashboard(userId);
 
@@ -136,22 +171,23 @@ class DashboardServiceImplTest {
         @DisplayName("should include multiple goals and loans")
         void getDashboard_multipleGoalsAndLoans() {
             String userId = "u4";
-            when(customerService.getGreeting(userId)).thenReturn("Yo");
+            when(customerService.getProfile(userId)).thenReturn(new CustomerProfile(userId, "John", "Yo"));
+            when(accountService.getAccountPresence(userId)).thenReturn(
+                    new AccountPresence(AccountPresence.SAVING | AccountPresence.GOAL | AccountPresence.LOAN));
 
-            var acc1 = new AccountSummary("acc-saving", "SAVING", "THB", "000-000", "KBank", "#000", 10.0, "ACTIVE");
+            var acc1 = new AccountSummary("acc-saving", "SAVING", "THB", "000-000", "KBank", "#000", Money.of(1000, "THB"), "ACTIVE", null);
             when(accountService.listAccounts(userId)).thenReturn(List.of(acc1));
-            when(accountService.listQuickPayees(userId, 10)).thenReturn(List.of());
 
             var goals = List.of(
-                    new GoalItem("goal-1", "111-111", "IN_PROGRESS", "KBank", 100.0),
-                    new GoalItem("goal-2", "222-222", "COMPLETED", "KBank", 200.0)
+                    new GoalItem("goal-1", "111-111", "IN_PROGRESS", "KBank", Money.of(10_000, "THB")),
+                    new GoalItem("goal-2", "222-222", "COMPLETED", "KBank", Money.of(20_000, "THB"))
             );
             when(accountService.listGoalAccounts(userId, new PageRequest(1, 10)))
                     .thenReturn(PaginatedResponse.of(goals, PageInfo.of(1, 10, 2)));
 
             var loans = List.of(
-                    new LoanItem("loan-1", "333-333", "IN_PROGRESS", 300.0),
-                    new LoanItem("loan-2", "444-444", "IN_PROGRESS", 400.0)
+                    new LoanItem("loan-1", "333-333", "IN_PROGRESS", Money.of(30_000, "THB")),
+                    new LoanItem("loan-2", "444-444", "IN_PROGRESS", Money.of(40_000, "THB"))
             );
             when(accountService.listLoanAccounts(userId, new PageRequest(1, 10)))
                     .thenReturn(PaginatedResponse.of(loans, PageInfo.of(1, 10, 2)));
@@ -161,5 +197,55 @@ class DashboardServiceImplTest {
             assertThat(response.goals()).hasSize(2);
             assertThat(response.loans()).hasSize(2);
         }
+
+        @Test
+        @DisplayName("should include cards section")
+        void getDashboard_withCards() {
+            String userId = "u5";
+            givenEmptyCriticalSections(userId);
+            when(cardService.listCards(userId)).thenReturn(List.of(
+                    new CardSummary("c1", "My Salary", "ACTIVE", "TestLab", "9440 78xx xxxx 1234", "#00a1e2", "#ffffff")));
+
+            DashboardResponse response = dashboardService.getDashboard(userId);
+
+            assertThat(response.cards()).extracting(CardSummary::cardId).containsExactly("c1");
+        }
+
+        @Test
+        @DisplayName("should drop cards section when it fails")
+        void getDashboard_cardsFailure() {
+            String userId = "u6";
+            givenEmptyCriticalSections(userId);
+            when(cardService.listCards(userId)).thenThrow(new RuntimeException("redis down"));
+
+            DashboardResponse response = dashboardService.getDashboard(userId);
+
+            assertThat(response.cards()).isNull();
+            assertThat(response.partial()).isTrue();
+            assertThat(response.greeting()).isEqualTo("Hi");
+        }
+
+        @Test
+        @DisplayName("should not wait for cards beyond their latency budget")
+        void getDashboard_cardsSlow() {
+            String userId = "u7";
+            givenEmptyCriticalSections(userId);
+            when(cardService.listCards(userId)).thenAnswer(inv -> {
+                Thread.sleep(2_000);
+                return List.of();
+            });
+
+            long start = System.currentTimeMillis();
+            DashboardResponse response = dashboardService.getDashboard(userId);
+
+            assertThat(response.cards()).isNull();
+            assertThat(System.currentTimeMillis() - start).isLessThan(1_500);
+        }
+
+        private void givenEmptyCriticalSections(String userId) {
+            when(customerService.getProfile(userId)).thenReturn(new CustomerProfile(userId, "John", "Hi"));
+            when(accountService.getAccountPresence(userId)).thenReturn(AccountPresence.NONE);
+            when(accountService.listAccounts(userId)).thenReturn(List.of());
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.lbk.socialbanking.dashboard.web;
 import com.lbk.socialbanking.account.api.dto.AccountSummary;
 import com.lbk.socialbanking.account.api.dto.PayeeItem;
 import com.lbk.socialbanking.common.api.JwtService;
+import com.lbk.socialbanking.common.api.dto.Money;
 import com.lbk.socialbanking.dashboard.internal.servcie.DashboardService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -41,19 +42,21 @@ class DashboardControllerTest {
         @DisplayName("should return dashboard data for authenticated user")
         void getDashboard_success() throws Exception {
             String userId = "u1";
-            var primary = new AccountSummary("acc-1", "SAVING", "THB", "123-456", "KBank", "#111", 1000.0, "ACTIVE");
-            var acc2 = new AccountSummary("acc-2", "GOAL", "THB", "999-111", "KBank", "#222", 200.0, "ACTIVE");
+            var primary = new AccountSummary("acc-1", "SAVING", "THB", "123-456", "KBank", "#111", Money.of(100_000, "THB"), "ACTIVE", null);
+            var acc2 = new AccountSummary("acc-2", "GOAL", "THB", "999-111", "KBank", "#222", Money.of(20_000, "THB"), "ACTIVE", null);
             var p1 = new PayeeItem("p1", "Alice", "img1", true);
             var p2 = new PayeeItem("p2", "Bob", "img2", false);
-            var goal1 = new DashboardResponse.GoalCard("g1", "Trip", "IN_PROGRESS", 100.0);
-            var loan1 = new DashboardResponse.LoanCard("l1", "Loan", "ACTIVE", 5000.0);
+            var goal1 = new DashboardResponse.GoalCard("g1", "Trip", "IN_PROGRESS", Money.of(10_000, "THB"));
+            var loan1 = new DashboardResponse.LoanCard("l1", "Loan", "ACTIVE", Money.of(500_000, "THB"));
             var response = new DashboardResponse(
                     "Hello u1",
+                    "John",
                     primary,
                     List.of(primary, acc2),
                     List.of(p1, p2),
                     List.of(goal1),
-                    List.of(loan1)
+                    List.of(loan1),
+                    List.of()
             );
 
             given(dashboardService.getDashboard(userId)).willReturn(response);
@@ -62,9 +65,11 @@ class DashboardControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$.data.greeting").value("Hello u1"))
+                    .andExpect(jsonPath("$.data.name").value("John"))
                     .andExpect(jsonPath("$.data.primaryAccount.accountId").value("acc-1"))
                     .andExpect(jsonPath("$.data.accounts.length()").value(2))
                     .andExpect(jsonPath("$.data.quickPayees.length()").value(2))
+                    .andExpect(jsonPath("$.data.partial").doesNotExist())
                     .andExpect(jsonPath("$.data.goals.length()").value(1))
                     .andExpect(jsonPath("$.data.loans.length()").value(1));
         }
@@ -0,0 +1,68 @@
+package com.lbk.socialbanking.transaction.internal.ingest;
+
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService.NewTransaction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rows per second of {@link TransactionBatchStore#insert} for several JDBC batch sizes, against a migrated MySQL
+ * schema. Skipped unless {@code BENCHMARK_DB_URL} is set, e.g.
+ * <pre>
+ * BENCHMARK_DB_URL='jdbc:mysql://localhost:3306/social_banking_db?rewriteBatchedStatements=true' \
+ *   ./gradlew test --tests '*TransactionBatchStoreBenchmarkTest'
+ * </pre>
+ * Rows are written under a throwaway user ID and deleted afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DB_URL", matches = ".+")
+class TransactionBatchStoreBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int[] BATCH_SIZES = {1, 50, 100, 500, 1_000, 5_000};
+
+    @Test
+    @DisplayName("benchmark batch insert throughput")
+    void benchmark() {
+        var dataSource = new DriverManagerDataSource(
+                System.getenv("BENCHMARK_DB_URL"),
+                Objects.requireNonNullElse(System.getenv("BENCHMARK_DB_USERNAME"), "app"),
+                Objects.requireNonNullElse(System.getenv("BENCHMARK_DB_PASSWORD"), "app"));
+        var jdbc = new JdbcTemplate(dataSource);
+        var tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        var store = new TransactionBatchStore(jdbc);
+        String userId = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+
+        try {
+            run(store, tx, userId, "warmup", 1_000, 2_000);
+            for (int batchSize : BATCH_SIZES) {
+                long nanos = run(store, tx, userId, "b" + batchSize, batchSize, ROWS);
+                System.out.printf("batch size %5d: %,10.0f rows/s%n", batchSize, ROWS / (nanos / 1e9));
+            }
+            Integer count = jdbc.queryForObject("SELECT COUNT(*) FROM transactions WHERE user_id = ?", Integer.class, userId);
+            assertThat(count).isEqualTo(2_000 + ROWS * BATCH_SIZES.length);
+        } finally {
+            jdbc.update("DELETE FROM transactions WHERE user_id = ?", userId);
+        }
+    }
+
+    private static long run(TransactionBatchStore store, TransactionTemplate tx, String userId, String prefix,
+                            int batchSize, int rows) {
+        List<NewTransaction> batch = IntStream.range(0, rows)
+                .mapToObj(i -> new NewTransaction(userId + "-" + prefix + "-" + i, "Payee " + i, "img.png", i % 2 == 0))
+                .toList();
+        long started = System.nanoTime();
+        tx.executeWithoutResult(status -> store.insert(userId, batch, batchSize));
+        return System.nanoTime() - started;
+    }
+}
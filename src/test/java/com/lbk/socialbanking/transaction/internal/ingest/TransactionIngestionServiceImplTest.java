@@ -0,0 +1,175 @@
+package com.lbk.socialbanking.transaction.internal.ingest;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService.NewTransaction;
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import com.lbk.socialbanking.transaction.internal.config.TransactionIngestProperties;
+import com.lbk.socialbanking.transaction.internal.service.TransactionEventPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionIngestionServiceImplTest {
+
+    @Mock
+    private TransactionBatchStore store;
+
+    @Mock
+    private TransactionEventPublisher eventPublisher;
+
+    private TransactionIngestionServiceImpl service() {
+        return new TransactionIngestionServiceImpl(store, eventPublisher, new TransactionIngestProperties(100, 1_200));
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static List<NewTransaction> transactions(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new NewTransaction("tx-" + i, "Payee " + i, "img.png", i % 2 == 0))
+                .toList();
+    }
+
+    private static void assertRejected(Runnable call, HttpStatus status, String messagePart) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(ApiException.class, e -> {
+                    assertThat(e.status()).isEqualTo(status);
+                    assertThat(e.getMessage()).contains(messagePart);
+                });
+    }
+
+    @Nested
+    @DisplayName("validation")
+    class Validation {
+
+        @Test
+        @DisplayName("should reject empty and oversized batches")
+        void ingest_batchSize() {
+            assertRejected(() -> service().ingest("u1", List.of()), HttpStatus.BAD_REQUEST, "must not be empty");
+            assertRejected(() -> service().ingest("u1", transactions(1_201)), HttpStatus.BAD_REQUEST, "at most 1200");
+            verifyNoInteractions(store);
+        }
+
+        @Test
+        @DisplayName("should name the first invalid record")
+        void ingest_invalidRecord() {
+            var tooLong = new ArrayList<>(transactions(3));
+            tooLong.set(1, new NewTransaction("tx-1", "x".repeat(101), null, null));
+            var blankId = new ArrayList<>(transactions(3));
+            blankId.set(2, new NewTransaction(" ", "Payee", null, null));
+            var repeated = new ArrayList<>(transactions(3));
+            repeated.set(2, new NewTransaction("tx-0", "Payee", null, null));
+
+            assertRejected(() -> service().ingest("u1", tooLong), HttpStatus.BAD_REQUEST, "transactions[1].name");
+            assertRejected(() -> service().ingest("u1", blankId), HttpStatus.BAD_REQUEST, "transactions[2].transactionId is required");
+            assertRejected(() -> service().ingest("u1", repeated), HttpStatus.BAD_REQUEST, "repeats tx-0");
+            verifyNoInteractions(store);
+        }
+
+        @Test
+        @DisplayName("should refuse the whole batch when a transaction already exists")
+        void ingest_existing() {
+            when(store.findExistingIds(anyList())).thenReturn(Set.of("tx-1"));
+
+            assertRejected(() -> service().ingest("u1", transactions(3)), HttpStatus.CONFLICT, "tx-1");
+            verify(store, never()).insert(anyString(), anyList(), anyInt());
+        }
+
+        @Test
+        @DisplayName("should report a concurrent insert of the same ID as a conflict")
+        void ingest_race() {
+            doThrow(new DuplicateKeyException("Duplicate entry")).when(store).insert(eq("u1"), anyList(), eq(100));
+
+            assertRejected(() -> service().ingest("u1", transactions(3)), HttpStatus.CONFLICT, "concurrently");
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    @Nested
+    @DisplayName("writing and events")
+    class WritingAndEvents {
+
+        @Test
+        @DisplayName("should insert with the configured JDBC batch size")
+        void ingest_inserts() {
+            var batch = transactions(250);
+
+            var result = service().ingest("u1", batch);
+
+            assertThat(result.inserted()).isEqualTo(250);
+            verify(store).insert("u1", batch, 100);
+        }
+
+        @Test
+        @DisplayName("should publish the events only after commit, as one batch")
+        @SuppressWarnings("unchecked")
+        void ingest_publishesAfterCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+
+            service().ingest("u1", transactions(1_100));
+
+            verifyNoInteractions(eventPublisher);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            ArgumentCaptor<List<TransactionCompletedEvent>> captor = ArgumentCaptor.forClass(List.class);
+            verify(eventPublisher).publishTransactionsCompleted(captor.capture());
+            assertThat(captor.getValue()).hasSize(1_100);
+            var first = captor.getValue().getFirst();
+            assertThat(first.transactionId()).isEqualTo("tx-0");
+            assertThat(first.userId()).isEqualTo("u1");
+            assertThat(first.transactionType()).isEqualTo(TransactionIngestionServiceImpl.TRANSACTION_TYPE);
+        }
+
+        @Test
+        @DisplayName("should publish nothing when the transaction rolls back")
+        void ingest_rollback() {
+            TransactionSynchronizationManager.initSynchronization();
+
+            service().ingest("u1", transactions(10));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            verify(eventPublisher, never()).publishTransactionsCompleted(any());
+        }
+    }
+
+    @Test
+    @DisplayName("should check every ID for an existing transaction")
+    void ingest_checksAllIds() {
+        service().ingest("u1", transactions(3));
+
+        verify(store).findExistingIds(List.of("tx-0", "tx-1", "tx-2"));
+    }
+}
@@ -0,0 +1,137 @@
+package com.lbk.socialbanking.transaction.internal.persistence.repo;
+
+import com.lbk.socialbanking.transaction.api.TransactionService.TransactionSummary;
+import com.lbk.socialbanking.transaction.internal.persistence.entity.TransactionEntity;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time and heap allocated per read of {@value #ROWS} transactions through {@link TransactionRepository}: loading
+ * {@link TransactionEntity} rows and copying them into {@link TransactionSummary}, as the service used to, versus the
+ * projection query, against a migrated MySQL schema. Both run in a read-only transaction, as the service does, so the
+ * entity path pays for the persistence context. Skipped unless {@code BENCHMARK_DB_URL} is set, e.g.
+ * <pre>
+ * BENCHMARK_DB_URL='jdbc:mysql://localhost:3306/social_banking_db?useCursorFetch=true' \
+ *   ./gradlew test --tests '*TransactionProjectionBenchmarkTest'
+ * </pre>
+ * Rows are written under a throwaway user ID and deleted afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK_DB_URL", matches = ".+")
+class TransactionProjectionBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int RUNS = 5;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private EntityManagerFactory entityManagerFactory;
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getenv("BENCHMARK_DB_URL"));
+        dataSource.setUsername(Objects.requireNonNullElse(System.getenv("BENCHMARK_DB_USERNAME"), "app"));
+        dataSource.setPassword(Objects.requireNonNullElse(System.getenv("BENCHMARK_DB_PASSWORD"), "app"));
+        jdbc = new JdbcTemplate(dataSource);
+        userId = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM transactions WHERE user_id = ?", userId);
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("benchmark entity reads against projection reads")
+    void benchmark() {
+        jdbc.batchUpdate("INSERT INTO transactions (transaction_id, user_id, name, image, is_bank) VALUES (?, ?, ?, ?, ?)",
+                IntStream.range(0, ROWS)
+                        .mapToObj(i -> new Object[]{"%s-%05d".formatted(userId, i), userId, "Payee " + i, "img-" + i + ".png", false})
+                        .toList());
+        TransactionRepository repository = repository();
+        var readTx = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        readTx.setReadOnly(true);
+
+        Supplier<List<TransactionSummary>> viaEntities = () -> readTx.execute(status ->
+                repository.findByUserIdOrderByTransactionIdAsc(userId, PageRequest.of(0, ROWS)).stream()
+                        .map(t -> new TransactionSummary(t.getTransactionId(), t.getName(), t.getImage()))
+                        .toList());
+        Supplier<List<TransactionSummary>> viaProjection = () -> readTx.execute(status ->
+                repository.findSummariesByUserIdOrderByTransactionIdAsc(userId));
+
+        assertThat(viaProjection.get()).hasSize(ROWS).isEqualTo(viaEntities.get());
+        report("entities + copy", viaEntities);
+        report("projection", viaProjection);
+    }
+
+    /**
+     * The repository as the application builds it.
+     */
+    private TransactionRepository repository() {
+        var factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.lbk.socialbanking.transaction.internal.persistence.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                CamelCaseToUnderscoresNamingStrategy.class.getName()));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+        var entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        return new JpaRepositoryFactory(entityManager).getRepository(TransactionRepository.class);
+    }
+
+    /**
+     * Prints the best of {@value #RUNS} runs after as many warm-up runs. Allocation is per thread, which includes the
+     * driver's own work, and is left out when the JVM cannot measure it.
+     */
+    private static void report(String label, Supplier<List<TransactionSummary>> read) {
+        var threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mx
+                && mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled() ? mx : null;
+        long threadId = Thread.currentThread().threadId();
+        long bestNanos = Long.MAX_VALUE;
+        long bestBytes = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS * 2; run++) {
+            long bytesBefore = threads == null ? 0 : threads.getThreadAllocatedBytes(threadId);
+            long started = System.nanoTime();
+            assertThat(read.get()).hasSize(ROWS);
+            long nanos = System.nanoTime() - started;
+            long bytes = threads == null ? 0 : threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+            if (run >= RUNS) {
+                bestNanos = Math.min(bestNanos, nanos);
+                bestBytes = Math.min(bestBytes, bytes);
+            }
+        }
+        System.out.printf("%-16s %8.1f ms %10s%n", label, bestNanos / 1e6,
+                threads == null ? "n/a" : "%,d B/row".formatted(bestBytes / ROWS));
+    }
+}
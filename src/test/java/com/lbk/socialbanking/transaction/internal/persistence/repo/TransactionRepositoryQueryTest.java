@@ -0,0 +1,78 @@
+package com.lbk.socialbanking.transaction.internal.persistence.repo;
+
+import com.lbk.socialbanking.transaction.api.TransactionService.TransactionItem;
+import com.lbk.socialbanking.transaction.api.TransactionService.TransactionSummary;
+import com.lbk.socialbanking.transaction.internal.persistence.entity.TransactionEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.parser.PartTree;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the listing reads of {@link TransactionRepository}: they must select into records rather than entities and
+ * carry the read-only and fetch-size hints.
+ */
+class TransactionRepositoryQueryTest {
+
+    private static final Set<Class<?>> PROJECTIONS = Set.of(TransactionSummary.class, TransactionItem.class);
+
+    @Test
+    @DisplayName("listing reads should project into records with read-only and fetch-size hints")
+    void listingReads_projectWithHints() {
+        var listingReads = Arrays.stream(TransactionRepository.class.getDeclaredMethods())
+                .filter(m -> PROJECTIONS.contains(elementType(m)))
+                .toList();
+
+        assertThat(listingReads).hasSize(6);
+        for (Method method : listingReads) {
+            Map<String, String> hints = Arrays.stream(method.getAnnotation(QueryHints.class).value())
+                    .collect(Collectors.toMap(QueryHint::name, QueryHint::value));
+
+            assertThat(hints).as(method.getName())
+                    .containsEntry(HibernateHints.HINT_READ_ONLY, "true")
+                    .containsEntry(HibernateHints.HINT_FETCH_SIZE, TransactionRepository.FETCH_SIZE);
+            new PartTree(method.getName(), TransactionEntity.class);
+        }
+    }
+
+    @Test
+    @DisplayName("no list, slice or stream read should hydrate entities")
+    void noEntityListings() {
+        assertThat(Arrays.stream(TransactionRepository.class.getDeclaredMethods())
+                .filter(m -> elementType(m) == TransactionEntity.class)
+                .map(Method::getName))
+                .containsOnly("findByUserIdOrderByTransactionIdAsc");
+    }
+
+    @Test
+    @DisplayName("projection components should name entity properties")
+    void projections_matchEntityProperties() {
+        var properties = Arrays.stream(TransactionEntity.class.getDeclaredFields())
+                .map(java.lang.reflect.Field::getName)
+                .collect(Collectors.toSet());
+
+        for (Class<?> projection : PROJECTIONS) {
+            assertThat(Arrays.stream(projection.getRecordComponents()).map(RecordComponent::getName))
+                    .as(projection.getSimpleName())
+                    .allMatch(properties::contains);
+        }
+    }
+
+    private static Type elementType(Method method) {
+        Type type = method.getGenericReturnType();
+        return type instanceof ParameterizedType p ? p.getActualTypeArguments()[0] : type;
+    }
+}
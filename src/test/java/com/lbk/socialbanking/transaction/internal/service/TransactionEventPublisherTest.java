@@ -0,0 +1,56 @@
+package com.lbk.socialbanking.transaction.internal.service;
+
+import com.lbk.socialbanking.transaction.events.TransactionCompletedEvent;
+import com.lbk.socialbanking.transaction.events.TransactionsCompletedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionEventPublisherTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TransactionEventPublisher transactionEventPublisher;
+
+    private static TransactionCompletedEvent event(String transactionId) {
+        return new TransactionCompletedEvent(transactionId, "u1", null, null, null, null, "INGESTED",
+                LocalDateTime.now(), "Payee");
+    }
+
+    @Test
+    @DisplayName("should publish a batch as one event")
+    void publishTransactionsCompleted_oneEvent() {
+        var first = event("tx-1");
+        var second = event("tx-2");
+
+        transactionEventPublisher.publishTransactionsCompleted(List.of(first, second));
+
+        verify(eventPublisher).publishEvent(new TransactionsCompletedEvent(List.of(first, second)));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("should not propagate a failing listener")
+    void publishTransactionsCompleted_listenerFails() {
+        doThrow(new IllegalStateException("listener")).when(eventPublisher).publishEvent(any(Object.class));
+
+        transactionEventPublisher.publishTransactionsCompleted(List.of(event("tx-1")));
+
+        verify(eventPublisher).publishEvent(any(Object.class));
+    }
+}
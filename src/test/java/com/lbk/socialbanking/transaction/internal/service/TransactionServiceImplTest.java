@@ -1,7 +1,8 @@
 package com.lbk.socialbanking.transaction.internal.service;
 
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.CursorCodec;
 import com.lbk.socialbanking.transaction.api.TransactionService;
-import com.lbk.socialbanking.transaction.internal.persistence.entity.TransactionEntity;
 import com.lbk.socialbanking.transaction.internal.persistence.repo.TransactionRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,12 +10,29 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.when;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceImplTest {
@@ -22,6 +40,9 @@ class TransactionServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Spy
+    private CursorCodec cursorCodec = new CursorCodec("test-cursor-secret-of-at-least-32-bytes".getBytes());
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -34,10 +55,10 @@ class TransactionServiceImplTest {
         void listTransactions_firstPage() {
             String userId = "u1";
 
-            TransactionEntity t1 = createTransactionEntity("tx-1", userId, "T1", "img1", true);
-            TransactionEntity t2 = createTransactionEntity("tx-2", userId, "T2", "img2", false);
-            TransactionEntity t3 = createTransactionEntity("tx-3", userId, "T3", "img3", true);
-            when(transactionRepository.findByUserIdOrderByTransactionIdAsc(userId))
+            var t1 = new TransactionService.TransactionItem("tx-1", "T1", "img1", true);
+            var t2 = new TransactionService.TransactionItem("tx-2", "T2", "img2", false);
+            var t3 = new TransactionService.TransactionItem("tx-3", "T3", "img3", true);
+            when(transactionRepository.findItemsByUserIdOrderByTransactionIdAsc(userId, Limit.of(3)))
                     .thenReturn(List.of(t1, t2, t3));
 
             TransactionService.TransactionsPage page = transactionService.listTransactions(userId, "acc-1", null, 2);
@@ -49,15 +70,17 @@ class TransactionServiceImplTest {
         }
 
         @Test
-        @DisplayName("should return second page and null next cursor when at end")
+        @DisplayName("should continue after the transaction in the cursor and return null next cursor when at end")
         void listTransactions_secondPage_end() {
             String userId = "u1";
 
-            TransactionEntity t1 = createTransactionEntity("tx-1", userId, "T1", "img1", true);
-            TransactionEntity t2 = createTransactionEntity("tx-2", userId, "T2", "img2", false);
-            TransactionEntity t3 = createTransactionEntity("tx-3", userId, "T3", "img3", true);
-            when(transactionRepository.findByUserIdOrderByTransactionIdAsc(userId))
+            var t1 = new TransactionService.TransactionItem("tx-1", "T1", "img1", true);
+            var t2 = new TransactionService.TransactionItem("tx-2", "T2", "img2", false);
+            var t3 = new TransactionService.TransactionItem("tx-3", "T3", "img3", true);
+            when(transactionRepository.findItemsByUserIdOrderByTransactionIdAsc(userId, Limit.of(3)))
                     .thenReturn(List.of(t1, t2, t3));
+            when(transactionRepository.findItemsByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc(userId, "tx-2", Limit.of(3)))
+                    .thenReturn(List.of(t3));
 
             TransactionService.TransactionsPage first = transactionService.listTransactions(userId, "acc-1", null, 2);
             String cursor = first.nextCursor();
@@ -67,45 +90,32 @@ class TransactionServiceImplTest {
             assertThat(second.items()).hasSize(1);
             assertThat(second.items().getFirst().transactionId()).isEqualTo("tx-3");
             assertThat(second.nextCursor()).isNull();
+            verify(transactionRepository, never()).findSummariesByUserIdOrderByTransactionIdAsc(userId);
         }
 
         @Test
-        @DisplayName("should handle cursor beyond list size")
-        void listTransactions_cursorBeyondSize() {
-            String userId = "u1";
-
-            TransactionEntity t1 = createTransactionEntity("tx-1", userId, "T1", "img1", true);
-            when(transactionRepository.findByUserIdOrderByTransactionIdAsc(userId))
-                    .thenReturn(List.of(t1));
-
-            String cursor = encodeOffset();
-            TransactionService.TransactionsPage page = transactionService.listTransactions(userId, "acc-1", cursor, 10);
-
-            assertThat(page.items()).isEmpty();
-            assertThat(page.nextCursor()).isNull();
+        @DisplayName("should reject a malformed cursor instead of restarting the scan")
+        void listTransactions_invalidCursor() {
+            assertThatThrownBy(() -> transactionService.listTransactions("u1", "acc-1", "invalid", 10))
+                    .isInstanceOf(ApiException.class)
+                    .hasMessageContaining("cursor is invalid");
+            verifyNoInteractions(transactionRepository);
         }
 
         @Test
-        @DisplayName("should treat invalid cursor as start from 0")
-        void listTransactions_invalidCursor() {
-            String userId = "u1";
-
-            TransactionEntity t1 = createTransactionEntity("tx-1", userId, "T1", "img1", true);
-            TransactionEntity t2 = createTransactionEntity("tx-2", userId, "T2", "img2", false);
-            when(transactionRepository.findByUserIdOrderByTransactionIdAsc(userId))
-                    .thenReturn(List.of(t1, t2));
+        @DisplayName("should reject a cursor issued by another listing")
+        void listTransactions_foreignCursor() {
+            String foreign = cursorCodec.writer(CursorCodec.scope("account.payees"), false).putString("tx-1").encode();
 
-            TransactionService.TransactionsPage page = transactionService.listTransactions(userId, "acc-1", "invalid", 10);
-
-            assertThat(page.items()).hasSize(2);
-            assertThat(page.items().getFirst().transactionId()).isEqualTo("tx-1");
+            assertThatThrownBy(() -> transactionService.listTransactions("u1", "acc-1", foreign, 10))
+                    .isInstanceOf(ApiException.class);
         }
 
         @Test
         @DisplayName("should return empty list and null cursor when no transactions")
         void listTransactions_empty() {
             String userId = "u-empty";
-            when(transactionRepository.findByUserIdOrderByTransactionIdAsc(userId))
+            when(transactionRepository.findItemsByUserIdOrderByTransactionIdAsc(userId, Limit.of(11)))
                     .thenReturn(List.of());
 
             TransactionService.TransactionsPage page = transactionService.listTransactions(userId, "acc-1", null, 10);
@@ -120,13 +130,13 @@ class TransactionServiceImplTest {
     class ListTransactionSummaries {
 
         @Test
-        @DisplayName("should map entities to summaries")
+        @DisplayName("should return the projected summaries")
         void listTransactionSummaries_success() {
             String userId = "u1";
 
-            TransactionEntity t1 = createTransactionEntity("tx-1", userId, "T1", "img1", true);
-            TransactionEntity t2 = createTransactionEntity("tx-2", userId, "T2", "img2", false);
-            when(transactionRepository.findByUserIdOrderByTransactionIdAsc(userId))
+            var t1 = new TransactionService.TransactionSummary("tx-1", "T1", "img1");
+            var t2 = new TransactionService.TransactionSummary("tx-2", "T2", "img2");
+            when(transactionRepository.findSummariesByUserIdOrderByTransactionIdAsc(userId))
                     .thenReturn(List.of(t1, t2));
 
             List<TransactionService.TransactionSummary> result = transactionService.listTransactionSummaries(userId);
@@ -141,27 +151,119 @@ class TransactionServiceImplTest {
         @DisplayName("should return empty list when no transactions")
         void listTransactionSummaries_empty() {
             String userId = "u-empty";
-            when(transactionRepository.findByUserIdOrderByTransactionIdAsc(userId))
+            when(transactionRepository.findSummariesByUserIdOrderByTransactionIdAsc(userId))
                     .thenReturn(List.of());
 
             List<TransactionService.TransactionSummary> result = transactionService.listTransactionSummaries(userId);
 
             assertThat(result).isEmpty();
         }
-    }
 
-    private TransactionEntity createTransactionEntity(String id, String userId, String name, String image, Boolean isBank) {
-        TransactionEntity e = new TransactionEntity();
-        e.setTransactionId(id);
-        e.setUserId(userId);
-        e.setName(name);
-        e.setImage(image);
-        e.setIsBank(isBank);
-        return e;
+        @Test
+        @DisplayName("should read one extra row after the keyset position to tell whether more follow")
+        void listTransactionSummaries_afterKey() {
+            String userId = "u1";
+
+            var t2 = new TransactionService.TransactionSummary("tx-2", "T2", "img2");
+            var t3 = new TransactionService.TransactionSummary("tx-3", "T3", "img3");
+            when(transactionRepository.findSummariesByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc(userId, "tx-1", Limit.of(2)))
+                    .thenReturn(List.of(t2, t3));
+
+            var slice = transactionService.listTransactionSummaries(userId, "tx-1", 1, 1);
+
+            assertThat(slice.items()).extracting(TransactionService.TransactionSummary::transactionId).containsExactly("tx-2");
+            assertThat(slice.hasNext()).isTrue();
+        }
+
+        @Test
+        @DisplayName("should read an offset page as a slice without counting")
+        void listTransactionSummaries_byPage() {
+            String userId = "u1";
+
+            var t3 = new TransactionService.TransactionSummary("tx-3", "T3", "img3");
+            var pageable = PageRequest.of(1, 2);
+            when(transactionRepository.findSummarySliceByUserIdOrderByTransactionIdAsc(userId, pageable))
+                    .thenReturn(new SliceImpl<>(List.of(t3), pageable, false));
+
+            var slice = transactionService.listTransactionSummaries(userId, null, 2, 2);
+
+            assertThat(slice.items()).extracting(TransactionService.TransactionSummary::transactionId).containsExactly("tx-3");
+            assertThat(slice.hasNext()).isFalse();
+            verify(transactionRepository, never()).findByUserIdOrderByTransactionIdAsc(eq(userId), any(Pageable.class));
+        }
     }
 
-    private String encodeOffset() {
-        return java.util.Base64.getUrlEncoder().withoutPadding()
-                .encodeToString(("o:" + 5).getBytes(java.nio.charset.StandardCharsets.UTF_8));
+    @Nested
+    @DisplayName("exportTransactions")
+    class ExportTransactions {
+
+        @Test
+        @DisplayName("should write CSV with a header, quoting and formula guarding")
+        void exportTransactions_csv() throws IOException {
+            var closed = new AtomicBoolean();
+            when(transactionRepository.streamItemsByUserIdOrderByTransactionIdAsc("u1")).thenReturn(Stream.of(
+                    new TransactionService.TransactionItem("tx-1", "Coffee, \"Large\"", "img1.png", false),
+                    new TransactionService.TransactionItem("tx-2", "=HYPERLINK(1)", null, null),
+                    new TransactionService.TransactionItem("tx-3", "ไทย", "img3.png", true)
+            ).onClose(() -> closed.set(true)));
+            var out = new ByteArrayOutputStream();
+
+            long rows = transactionService.exportTransactions("u1", "acc-1", TransactionService.ExportFormat.CSV, out);
+
+            assertThat(rows).isEqualTo(3);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                    transactionId,name,image,isBank\r
+                    tx-1,"Coffee, ""Large\"\"",img1.png,false\r
+                    tx-2,"'=HYPERLINK(1)",,\r
+                    tx-3,ไทย,img3.png,true\r
+                    """);
+            assertThat(closed).isTrue();
+        }
+
+        @Test
+        @DisplayName("should write one JSON object per line")
+        void exportTransactions_ndjson() throws IOException {
+            when(transactionRepository.streamItemsByUserIdOrderByTransactionIdAsc("u1")).thenReturn(Stream.of(
+                    new TransactionService.TransactionItem("tx-1", "Line\nbreak", "img1.png", true),
+                    new TransactionService.TransactionItem("tx-2", "T2", null, null)
+            ));
+            var out = new ByteArrayOutputStream();
+
+            transactionService.exportTransactions("u1", "acc-1", TransactionService.ExportFormat.NDJSON, out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                    {"transactionId":"tx-1","name":"Line\\nbreak","image":"img1.png","isBank":true}
+                    {"transactionId":"tx-2","name":"T2","image":null,"isBank":null}
+                    """);
+        }
+
+        @Test
+        @DisplayName("should close the database stream when the client goes away")
+        void exportTransactions_clientGone() {
+            var closed = new AtomicBoolean();
+            var consumed = new java.util.concurrent.atomic.AtomicInteger();
+            when(transactionRepository.streamItemsByUserIdOrderByTransactionIdAsc("u1")).thenReturn(Stream
+                    .iterate(0, i -> i + 1)
+                    .map(i -> new TransactionService.TransactionItem("tx-" + i, "T" + i, "img.png", false))
+                    .peek(item -> consumed.incrementAndGet())
+                    .onClose(() -> closed.set(true)));
+            OutputStream gone = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("Broken pipe");
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    throw new IOException("Broken pipe");
+                }
+            };
+
+            assertThatThrownBy(() -> transactionService.exportTransactions("u1", "acc-1", TransactionService.ExportFormat.CSV, gone))
+                    .isInstanceOf(IOException.class);
+            assertThat(closed).isTrue();
+            // Only what fits in the write buffer was read before the failed write stopped the export.
+            assertThat(consumed.get()).isLessThan(1_000);
+        }
     }
 }
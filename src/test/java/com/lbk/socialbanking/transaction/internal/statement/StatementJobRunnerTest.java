@@ -0,0 +1,155 @@
+package com.lbk.socialbanking.transaction.internal.statement;
+
+import com.lbk.socialbanking.transaction.api.StatementJobService.JobStatus;
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+import com.lbk.socialbanking.transaction.api.TransactionService.TransactionItem;
+import com.lbk.socialbanking.transaction.internal.config.StatementJobProperties;
+import com.lbk.socialbanking.transaction.internal.persistence.repo.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatementJobRunnerTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final URI NODE = URI.create("http://10.0.0.1:8080");
+
+    @Mock
+    private StatementJobStore store;
+
+    @Mock
+    private TransactionRepository transactions;
+
+    @TempDir
+    Path dir;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    private StatementJobRunner runner(int workers) {
+        var props = new StatementJobProperties(dir, workers, 2, Duration.ofHours(24), Duration.ofMinutes(5), NODE);
+        Executor executor = submitted::add;
+        return new StatementJobRunner(store, transactions, props, executor, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static StatementJobRow job(String jobId, ExportFormat format) {
+        return new StatementJobRow(jobId, "u1", "acc-1", format, JobStatus.RUNNING, 0, null, NOW, null, null);
+    }
+
+    private static TransactionItem item(int i) {
+        return new TransactionItem("tx-" + i, "T" + i, "img" + i, i % 2 == 0);
+    }
+
+    @Test
+    @DisplayName("should write the statement in keyset chunks and mark it done")
+    void run_writesChunks() throws IOException {
+        when(transactions.findItemsByUserIdOrderByTransactionIdAsc("u1", Limit.of(2))).thenReturn(List.of(item(1), item(2)));
+        when(transactions.findItemsByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc("u1", "tx-2", Limit.of(2)))
+                .thenReturn(List.of(item(3), item(4)));
+        when(transactions.findItemsByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc("u1", "tx-4", Limit.of(2)))
+                .thenReturn(List.of(item(5)));
+        when(store.heartbeat(eq("job-1"), anyString(), anyLong(), eq(NOW))).thenReturn(true);
+        when(store.complete(eq("job-1"), anyString(), eq(5L), anyLong(), eq(NODE.toString()), eq(NOW))).thenReturn(true);
+
+        runner(1).run(job("job-1", ExportFormat.CSV));
+
+        Path file = dir.resolve("job-1.csv");
+        assertThat(Files.readAllLines(file)).containsExactly(
+                "transactionId,name,image,isBank",
+                "tx-1,T1,img1,false",
+                "tx-2,T2,img2,true",
+                "tx-3,T3,img3,false",
+                "tx-4,T4,img4,true",
+                "tx-5,T5,img5,false");
+        assertThat(dir.resolve("job-1.csv.part")).doesNotExist();
+        verify(store).heartbeat(eq("job-1"), anyString(), eq(2L), eq(NOW));
+        verify(store).heartbeat(eq("job-1"), anyString(), eq(4L), eq(NOW));
+        verify(store).complete(eq("job-1"), anyString(), eq(5L), eq(Files.size(file)), eq(NODE.toString()), eq(NOW));
+    }
+
+    @Test
+    @DisplayName("should stop without completing when another node took the job over")
+    void run_lostClaim() {
+        when(transactions.findItemsByUserIdOrderByTransactionIdAsc("u1", Limit.of(2))).thenReturn(List.of(item(1), item(2)));
+        when(store.heartbeat(eq("job-1"), anyString(), eq(2L), eq(NOW))).thenReturn(false);
+
+        runner(1).run(job("job-1", ExportFormat.NDJSON));
+
+        assertThat(dir.resolve("job-1.ndjson")).doesNotExist();
+        assertThat(dir.resolve("job-1.ndjson.part")).doesNotExist();
+        verify(store, never()).complete(anyString(), anyString(), anyLong(), anyLong(), anyString(), any());
+        verify(store, never()).fail(anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("should mark the job failed and remove the partial file when reading fails")
+    void run_failure() {
+        when(transactions.findItemsByUserIdOrderByTransactionIdAsc("u1", Limit.of(2))).thenReturn(List.of(item(1), item(2)));
+        when(store.heartbeat(eq("job-1"), anyString(), eq(2L), eq(NOW))).thenReturn(true);
+        when(transactions.findItemsByUserIdAndTransactionIdGreaterThanOrderByTransactionIdAsc("u1", "tx-2", Limit.of(2)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        runner(1).run(job("job-1", ExportFormat.CSV));
+
+        verify(store).fail(eq("job-1"), anyString(), eq(NOW));
+        assertThat(dir.resolve("job-1.csv.part")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("should skip jobs claimed by another node and only claim while a worker is free")
+    void dispatch_boundedByWorkers() {
+        when(store.findPending(10)).thenReturn(List.of("job-1", "job-2"));
+        when(store.claim(eq("job-1"), anyString(), eq(NOW))).thenReturn(false);
+        when(store.claim(eq("job-2"), anyString(), eq(NOW))).thenReturn(true);
+        when(store.find("job-2")).thenReturn(Optional.of(job("job-2", ExportFormat.CSV)));
+
+        var runner = runner(1);
+        runner.dispatch();
+        runner.dispatch();
+
+        assertThat(submitted).hasSize(1);
+        verify(store).findPending(10);
+    }
+
+    @Test
+    @DisplayName("should requeue stale jobs and delete the expired ones whose files it wrote on poll")
+    void poll_housekeeping() throws IOException {
+        var expired = new StatementJobRow("old", "u1", "acc-1", ExportFormat.CSV, JobStatus.DONE, 1, 10L,
+                NOW.minus(Duration.ofDays(2)), NOW.minus(Duration.ofDays(2)), NODE.toString());
+        Files.writeString(dir.resolve("old.csv"), "x");
+        when(store.findExpired(NOW.minus(Duration.ofHours(24)), NODE.toString(), NOW.minus(Duration.ofHours(48)), 100))
+                .thenReturn(List.of(expired));
+
+        runner(1).poll();
+
+        verify(store).releaseStale(NOW.minus(Duration.ofMinutes(5)), 3, NOW);
+        verify(store).delete("old");
+        assertThat(dir.resolve("old.csv")).doesNotExist();
+    }
+}
@@ -0,0 +1,153 @@
+package com.lbk.socialbanking.transaction.internal.statement;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.transaction.api.StatementJobService.JobStatus;
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+import com.lbk.socialbanking.transaction.internal.config.StatementJobProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatementJobServiceImplTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final URI NODE = URI.create("http://10.0.0.1:8080");
+
+    @Mock
+    private StatementJobStore store;
+
+    @Mock
+    private StatementJobRunner runner;
+
+    @TempDir
+    Path dir;
+
+    private StatementJobServiceImpl service() {
+        var props = new StatementJobProperties(dir, 2, 1000, Duration.ofHours(24), Duration.ofMinutes(5), NODE);
+        return new StatementJobServiceImpl(store, runner, props, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static StatementJobRow row(JobStatus status) {
+        return row(status, status == JobStatus.DONE ? NODE.toString() : null);
+    }
+
+    private static StatementJobRow row(JobStatus status, String fileNode) {
+        return new StatementJobRow("job-1", "u1", "acc-1", ExportFormat.CSV, status, 5, 33L, NOW, null, fileNode);
+    }
+
+    private static void assertStatus(Runnable call, HttpStatus status) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.status()).isEqualTo(status));
+    }
+
+    @Test
+    @DisplayName("should store a pending job and try to start it right away")
+    void submit_queuesAndDispatches() {
+        var job = service().submit("u1", "acc-1", ExportFormat.NDJSON);
+
+        var captor = ArgumentCaptor.forClass(StatementJobRow.class);
+        verify(store).insert(captor.capture());
+        assertThat(captor.getValue().userId()).isEqualTo("u1");
+        assertThat(captor.getValue().status()).isEqualTo(JobStatus.PENDING);
+        assertThat(job.jobId()).isEqualTo(captor.getValue().jobId());
+        assertThat(job.format()).isEqualTo(ExportFormat.NDJSON);
+        assertThat(job.createdAt()).isEqualTo(NOW);
+        verify(runner).dispatch();
+    }
+
+    @Test
+    @DisplayName("should keep the job queued when it cannot start right away")
+    void submit_dispatchFails() {
+        doThrow(new IllegalStateException("pool")).when(runner).dispatch();
+
+        var job = service().submit("u1", "acc-1", ExportFormat.CSV);
+
+        assertThat(job.status()).isEqualTo(JobStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("should refuse more unfinished jobs than the per-user limit")
+    void submit_tooMany() {
+        when(store.countUnfinished("u1")).thenReturn(StatementJobServiceImpl.MAX_UNFINISHED_PER_USER);
+
+        assertStatus(() -> service().submit("u1", "acc-1", ExportFormat.CSV), HttpStatus.TOO_MANY_REQUESTS);
+        verify(store, never()).insert(org.mockito.ArgumentMatchers.any());
+        verifyNoInteractions(runner);
+    }
+
+    @Test
+    @DisplayName("should only show a job to the user who submitted it")
+    void getJob_notFound() {
+        when(store.find("u2", "job-1")).thenReturn(Optional.empty());
+
+        assertStatus(() -> service().getJob("u2", "job-1"), HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("should refuse to serve a file before the job is done")
+    void getFile_notReady() {
+        when(store.find("u1", "job-1")).thenReturn(Optional.of(row(JobStatus.RUNNING)));
+
+        assertStatus(() -> service().getFile("u1", "job-1"), HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("should report a missing file as gone")
+    void getFile_missing() {
+        when(store.find("u1", "job-1")).thenReturn(Optional.of(row(JobStatus.DONE)));
+
+        assertStatus(() -> service().getFile("u1", "job-1"), HttpStatus.GONE);
+    }
+
+    @Test
+    @DisplayName("should return the file of a finished job")
+    void getFile_done() throws IOException {
+        Files.writeString(dir.resolve("job-1.csv"), "transactionId,name,image,isBank\r\n");
+        when(store.find("u1", "job-1")).thenReturn(Optional.of(row(JobStatus.DONE)));
+
+        var file = service().getFile("u1", "job-1");
+
+        assertThat(file.path()).isEqualTo(dir.resolve("job-1.csv"));
+        assertThat(file.node()).isNull();
+        assertThat(file.size()).isEqualTo(33);
+        assertThat(file.fileName()).isEqualTo("statement-acc-1.csv");
+        assertThat(file.mediaType()).isEqualTo("text/csv");
+    }
+
+    @Test
+    @DisplayName("should point at the node that wrote the file instead of reporting it gone")
+    void getFile_onAnotherNode() {
+        when(store.find("u1", "job-1")).thenReturn(Optional.of(row(JobStatus.DONE, "http://10.0.0.2:8080")));
+
+        var file = service().getFile("u1", "job-1");
+
+        assertThat(file.path()).isNull();
+        assertThat(file.node()).isEqualTo(URI.create("http://10.0.0.2:8080"));
+        assertThat(file.size()).isEqualTo(33);
+        assertThat(file.fileName()).isEqualTo("statement-acc-1.csv");
+    }
+}
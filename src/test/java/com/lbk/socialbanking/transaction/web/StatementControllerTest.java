@@ -0,0 +1,171 @@
+package com.lbk.socialbanking.transaction.web;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.JwtService;
+import com.lbk.socialbanking.transaction.api.StatementJobService;
+import com.lbk.socialbanking.transaction.api.StatementJobService.JobStatus;
+import com.lbk.socialbanking.transaction.api.StatementJobService.StatementFile;
+import com.lbk.socialbanking.transaction.api.StatementJobService.StatementJob;
+import com.lbk.socialbanking.transaction.api.TransactionService.ExportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = StatementController.class)
+class StatementControllerTest {
+
+    private static final Instant CREATED = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private StatementJobService statementJobService;
+
+    @MockBean
+    private StatementFileForwarder forwarder;
+
+    @TempDir
+    Path dir;
+
+    @Nested
+    @DisplayName("POST /v1/statements - Request Statement")
+    class SubmitTests {
+
+        @Test
+        @DisplayName("should accept the job and point at its status")
+        @WithMockUser(username = "u1")
+        void submit_shouldAccept() throws Exception {
+            when(statementJobService.submit("u1", "acc-1", ExportFormat.CSV))
+                    .thenReturn(new StatementJob("job-1", "acc-1", ExportFormat.CSV, JobStatus.PENDING, 0, CREATED, null));
+
+            mockMvc.perform(post("/v1/statements").with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"accountId\":\"acc-1\"}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/v1/statements/job-1"))
+                    .andExpect(jsonPath("$.data.jobId").value("job-1"))
+                    .andExpect(jsonPath("$.data.status").value("PENDING"));
+        }
+
+        @Test
+        @DisplayName("should reject an unknown format or a missing account")
+        @WithMockUser(username = "u1")
+        void submit_shouldValidate() throws Exception {
+            mockMvc.perform(post("/v1/statements").with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"accountId\":\"acc-1\",\"format\":\"pdf\"}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/v1/statements").with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"format\":\"csv\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /v1/statements/{jobId} - Get Statement Job")
+    class GetTests {
+
+        @Test
+        @DisplayName("should return the job status")
+        @WithMockUser(username = "u1")
+        void get_shouldReturnJob() throws Exception {
+            when(statementJobService.getJob("u1", "job-1"))
+                    .thenReturn(new StatementJob("job-1", "acc-1", ExportFormat.NDJSON, JobStatus.DONE, 42, CREATED, CREATED));
+
+            mockMvc.perform(get("/v1/statements/{jobId}", "job-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.status").value("DONE"))
+                    .andExpect(jsonPath("$.data.rowCount").value(42));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /v1/statements/{jobId}/file - Download Statement")
+    class DownloadTests {
+
+        @Test
+        @DisplayName("should send the file as an attachment")
+        @WithMockUser(username = "u1")
+        void download_shouldSendFile() throws Exception {
+            Path path = Files.writeString(dir.resolve("job-1.csv"), "transactionId,name,image,isBank\r\n");
+            when(statementJobService.getFile("u1", "job-1"))
+                    .thenReturn(StatementFile.local(path, Files.size(path), "statement-acc-1.csv", "text/csv"));
+
+            mockMvc.perform(get("/v1/statements/{jobId}/file", "job-1"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().longValue("Content-Length", Files.size(path)))
+                    .andExpect(header().string("Content-Disposition", "attachment; filename=\"statement-acc-1.csv\""))
+                    .andExpect(content().string("transactionId,name,image,isBank\r\n"));
+        }
+
+        @Test
+        @DisplayName("should hand the file to the connector when it supports sendfile")
+        @WithMockUser(username = "u1")
+        void download_shouldUseSendfile() throws Exception {
+            Path path = Files.writeString(dir.resolve("job-1.csv"), "transactionId,name,image,isBank\r\n");
+            when(statementJobService.getFile("u1", "job-1"))
+                    .thenReturn(StatementFile.local(path, Files.size(path), "statement-acc-1.csv", "text/csv"));
+
+            mockMvc.perform(get("/v1/statements/{jobId}/file", "job-1")
+                            .requestAttr(StatementController.SENDFILE_SUPPORTED, Boolean.TRUE))
+                    .andExpect(status().isOk())
+                    .andExpect(request().attribute(StatementController.SENDFILE_FILENAME, path.toAbsolutePath().toString()))
+                    .andExpect(request().attribute(StatementController.SENDFILE_END, Files.size(path)))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("should fetch a file another node wrote from that node")
+        @WithMockUser(username = "u1")
+        void download_shouldForward() throws Exception {
+            var node = URI.create("http://10.0.0.2:8080");
+            when(statementJobService.getFile("u1", "job-1"))
+                    .thenReturn(StatementFile.remote(node, 33, "statement-acc-1.csv", "text/csv"));
+
+            mockMvc.perform(get("/v1/statements/{jobId}/file", "job-1"))
+                    .andExpect(status().isOk());
+
+            verify(forwarder).forward(eq(node), eq("job-1"), any(), any());
+        }
+
+        @Test
+        @DisplayName("should report a job that is not done yet as a conflict")
+        @WithMockUser(username = "u1")
+        void download_notReady() throws Exception {
+            when(statementJobService.getFile("u1", "job-1"))
+                    .thenThrow(new ApiException(HttpStatus.CONFLICT, "STATEMENT_NOT_READY", "Statement is RUNNING"));
+
+            mockMvc.perform(get("/v1/statements/{jobId}/file", "job-1"))
+                    .andExpect(status().isConflict())
+                    .andExpect(jsonPath("$.error.code").value("STATEMENT_NOT_READY"));
+        }
+    }
+}
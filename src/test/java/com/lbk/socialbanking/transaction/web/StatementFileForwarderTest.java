@@ -0,0 +1,110 @@
+package com.lbk.socialbanking.transaction.web;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StatementFileForwarderTest {
+
+    private static final String BODY = "transactionId,name,image,isBank\r\n";
+
+    private HttpServer owner;
+    private final AtomicReference<String> seenAuthorization = new AtomicReference<>();
+    private final AtomicReference<String> seenMarker = new AtomicReference<>();
+
+    @BeforeEach
+    void startOwner() throws IOException {
+        owner = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        owner.createContext("/v1/statements/", exchange -> {
+            seenAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            seenMarker.set(exchange.getRequestHeaders().getFirst(StatementFileForwarder.FORWARDED_HEADER));
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            if (exchange.getRequestURI().getPath().equals("/v1/statements/job-1/file")) {
+                exchange.getResponseHeaders().set("Content-Type", "text/csv");
+                exchange.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"statement-acc-1.csv\"");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } else {
+                exchange.sendResponseHeaders(410, -1);
+            }
+            exchange.close();
+        });
+        owner.start();
+    }
+
+    @AfterEach
+    void stopOwner() {
+        owner.stop(0);
+    }
+
+    private URI ownerUrl() {
+        return URI.create("http://127.0.0.1:" + owner.getAddress().getPort());
+    }
+
+    @Test
+    @DisplayName("should fetch the file from its node with the caller's credentials and stream it back")
+    void forward_streamsOwnerResponse() throws IOException {
+        var request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer token");
+        var response = new MockHttpServletResponse();
+
+        new StatementFileForwarder().forward(ownerUrl(), "job-1", request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("text/csv");
+        assertThat(response.getHeader("Content-Length")).isEqualTo(String.valueOf(BODY.length()));
+        assertThat(response.getHeader("Content-Disposition")).isEqualTo("attachment; filename=\"statement-acc-1.csv\"");
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+        assertThat(seenAuthorization.get()).isEqualTo("Bearer token");
+        assertThat(seenMarker.get()).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("should pass the node's answer on when it no longer has the file")
+    void forward_passesStatusOn() throws IOException {
+        var response = new MockHttpServletResponse();
+
+        new StatementFileForwarder().forward(ownerUrl(), "job-2", new MockHttpServletRequest(), response);
+
+        assertThat(response.getStatus()).isEqualTo(410);
+    }
+
+    @Test
+    @DisplayName("should report a node that cannot be reached as unavailable")
+    void forward_unreachable() {
+        var node = ownerUrl();
+        owner.stop(0);
+
+        assertThatThrownBy(() -> new StatementFileForwarder()
+                .forward(node, "job-1", new MockHttpServletRequest(), new MockHttpServletResponse()))
+                .isInstanceOfSatisfying(ApiException.class,
+                        e -> assertThat(e.status()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("should never forward a download that was already forwarded")
+    void forward_onlyOnce() {
+        var request = new MockHttpServletRequest();
+        request.addHeader(StatementFileForwarder.FORWARDED_HEADER, "1");
+
+        assertThatThrownBy(() -> new StatementFileForwarder()
+                .forward(ownerUrl(), "job-1", request, new MockHttpServletResponse()))
+                .isInstanceOf(ApiException.class);
+        assertThat(seenMarker.get()).isNull();
+    }
+}
@@ -0,0 +1,86 @@
+package com.lbk.socialbanking.transaction.web;
+
+import com.lbk.socialbanking.common.api.ApiException;
+import com.lbk.socialbanking.common.api.JwtService;
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService;
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService.IngestResult;
+import com.lbk.socialbanking.transaction.api.TransactionIngestionService.NewTransaction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TransactionController.class)
+class TransactionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private TransactionIngestionService transactionIngestionService;
+
+    @Test
+    @DisplayName("POST /v1/transactions/batch should record the batch for the authenticated user")
+    @WithMockUser(username = "u1")
+    void ingest_shouldRecordBatch() throws Exception {
+        var batch = List.of(
+                new NewTransaction("tx-1", "Coffee", "img1.png", false),
+                new NewTransaction("tx-2", "KBank", null, true)
+        );
+        when(transactionIngestionService.ingest("u1", batch)).thenReturn(new IngestResult(2));
+
+        mockMvc.perform(post("/v1/transactions/batch").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"transactions": [
+                                  {"transactionId": "tx-1", "name": "Coffee", "image": "img1.png", "isBank": false},
+                                  {"transactionId": "tx-2", "name": "KBank", "isBank": true}
+                                ]}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.inserted").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /v1/transactions/batch should reject an empty batch")
+    @WithMockUser(username = "u1")
+    void ingest_shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/v1/transactions/batch").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactions\": []}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(transactionIngestionService);
+    }
+
+    @Test
+    @DisplayName("POST /v1/transactions/batch should report existing transactions as a conflict")
+    @WithMockUser(username = "u1")
+    void ingest_shouldReportConflict() throws Exception {
+        when(transactionIngestionService.ingest(eq("u1"), any()))
+                .thenThrow(new ApiException(HttpStatus.CONFLICT, "DUPLICATE_TRANSACTION", "1 transactions already exist, e.g. tx-1"));
+
+        mockMvc.perform(post("/v1/transactions/batch").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactions\": [{\"transactionId\": \"tx-1\"}]}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error.code").value("DUPLICATE_TRANSACTION"));
+    }
+}